@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.benchmarks;
+
+import id.xfunction.XByte;
+import id.xfunction.logging.TracingToken;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
+import pinorobotics.rtpstalk.impl.spec.messages.Guid;
+import pinorobotics.rtpstalk.impl.spec.messages.Header;
+import pinorobotics.rtpstalk.impl.spec.messages.ProtocolId;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityKind;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.VendorId;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public interface BenchmarkConstants {
+
+    TracingToken BENCHMARK_TRACING_TOKEN = new TracingToken("BENCHMARK");
+    GuidPrefix BENCHMARK_GUID_PREFIX = new GuidPrefix(XByte.fromHex("cafe3d7efd6c2e0b46d2ee00"));
+    EntityId BENCHMARK_READER_ENTITY_ID = new EntityId(0x101, EntityKind.READER_NO_KEY);
+    EntityId BENCHMARK_WRITER_ENTITY_ID = new EntityId(0x102, EntityKind.WRITER_NO_KEY);
+    Guid BENCHMARK_GUID_WRITER = new Guid(BENCHMARK_GUID_PREFIX, BENCHMARK_WRITER_ENTITY_ID);
+    RtpsTalkConfigurationInternal BENCHMARK_CONFIG_INTERNAL =
+            new RtpsTalkConfigurationInternal(
+                    new RtpsTalkConfiguration.Builder()
+                            .guidPrefix(BENCHMARK_GUID_PREFIX.value)
+                            .build());
+    RtpsTalkConfiguration BENCHMARK_CONFIG = BENCHMARK_CONFIG_INTERNAL.publicConfig();
+    Header BENCHMARK_HEADER =
+            new Header(
+                    ProtocolId.Predefined.RTPS.getValue(),
+                    ProtocolVersion.Predefined.Version_2_3.getValue(),
+                    VendorId.Predefined.RTPSTALK.getValue(),
+                    BENCHMARK_GUID_PREFIX);
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.benchmarks.behavior.reader;
+
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_CONFIG_INTERNAL;
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_READER_ENTITY_ID;
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_TRACING_TOKEN;
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_WRITER_ENTITY_ID;
+
+import id.xfunction.util.stream.XStream;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pinorobotics.rtpstalk.impl.behavior.reader.DataFragmentJoiner;
+import pinorobotics.rtpstalk.impl.behavior.writer.DataFragmentSplitter;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
+import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DataFragmentJoinerBenchmark {
+
+    /** 64KB, 1MB, 16MB */
+    @Param({"65536", "1048576", "16777216"})
+    public int dataSize;
+
+    private List<DataFrag> fragments;
+
+    @Setup
+    public void setup() {
+        fragments =
+                XStream.of(
+                                new DataFragmentSplitter(
+                                                BENCHMARK_TRACING_TOKEN,
+                                                BENCHMARK_READER_ENTITY_ID,
+                                                BENCHMARK_WRITER_ENTITY_ID,
+                                                1,
+                                                Optional.empty(),
+                                                new byte[dataSize],
+                                                BENCHMARK_CONFIG_INTERNAL.maxSubmessageSize())
+                                        .iterator())
+                        .toList();
+    }
+
+    @Benchmark
+    public RtpsTalkDataMessage join() {
+        var joiner = new DataFragmentJoiner(BENCHMARK_TRACING_TOKEN, fragments.get(0));
+        for (var fragment : fragments) {
+            joiner.add(fragment);
+        }
+        return joiner.join().get();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.benchmarks.behavior.reader;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pinorobotics.rtpstalk.impl.behavior.reader.ReaderSequenceNumberStateBuilder;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReaderSequenceNumberStateBuilderBenchmark {
+
+    private static final long FIRST_MISSING = 1_000;
+
+    /** Number of missing changes, every second change starting from {@link #FIRST_MISSING} */
+    @Param({"0", "16", "512"})
+    public int missingCount;
+
+    private ReaderSequenceNumberStateBuilder builder = new ReaderSequenceNumberStateBuilder();
+    private long[] missingSorted;
+    private long lastMissing;
+    private long availableChangesMax;
+
+    @Setup
+    public void setup() {
+        missingSorted = LongStream.range(0, missingCount).map(i -> FIRST_MISSING + i * 2).toArray();
+        lastMissing = FIRST_MISSING + Math.max(0, missingCount - 1) * 2L;
+        availableChangesMax = lastMissing + 1;
+    }
+
+    @Benchmark
+    public SequenceNumberSet build() {
+        return builder.build(FIRST_MISSING, lastMissing, missingSorted, availableChangesMax);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.benchmarks.behavior.writer;
+
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_CONFIG_INTERNAL;
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_GUID_PREFIX;
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_READER_ENTITY_ID;
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_TRACING_TOKEN;
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_WRITER_ENTITY_ID;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pinorobotics.rtpstalk.impl.behavior.writer.RtpsDataMessageBuilder;
+import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RtpsDataMessageBuilderBenchmark {
+
+    /** Number of messages added to the builder */
+    @Param({"1", "10"})
+    public int messageCount;
+
+    /** Size of data in each message. Data which exceed maxSubmessageSize is fragmented. */
+    @Param({"128", "1024", "65536"})
+    public int dataSize;
+
+    private RtpsDataMessageBuilder builder;
+
+    @Setup
+    public void setup() {
+        builder =
+                new RtpsDataMessageBuilder(
+                        BENCHMARK_CONFIG_INTERNAL, BENCHMARK_TRACING_TOKEN, BENCHMARK_GUID_PREFIX);
+        for (int i = 1; i <= messageCount; i++) {
+            builder.add(i, new RtpsTalkDataMessage(new byte[dataSize]));
+        }
+    }
+
+    @Benchmark
+    public List<RtpsMessage> build() {
+        return builder.build(BENCHMARK_READER_ENTITY_ID, BENCHMARK_WRITER_ENTITY_ID);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.benchmarks.spec.structure.history;
+
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_GUID_WRITER;
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_TRACING_TOKEN;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pinorobotics.rtpstalk.impl.spec.structure.history.CacheChange;
+import pinorobotics.rtpstalk.impl.spec.structure.history.HistoryCache;
+import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
+
+/**
+ * {@link HistoryCache} (and {@link pinorobotics.rtpstalk.impl.spec.structure.history.WriterChanges}
+ * which it delegates to) as it is used by the writers: one thread adds new changes and removes the
+ * old ones while other threads look up changes to be repaired.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HistoryCacheBenchmark {
+
+    /** Number of changes kept in the cache */
+    private static final int WINDOW_SIZE = 1_000;
+
+    /** Number of changes looked up at once (similar to number of changes requested by AckNack) */
+    private static final int LOOKUP_SIZE = 16;
+
+    @State(Scope.Group)
+    public static class CacheState {
+        private HistoryCache<RtpsTalkDataMessage> cache;
+        private AtomicLong seqNum;
+
+        @Setup
+        public void setup() {
+            cache = new HistoryCache<>(BENCHMARK_TRACING_TOKEN);
+            for (long i = 1; i <= WINDOW_SIZE; i++) {
+                cache.addChange(new CacheChange<>(BENCHMARK_GUID_WRITER, i, null));
+            }
+            seqNum = new AtomicLong(WINDOW_SIZE);
+        }
+
+        /** Add new change and remove the oldest one */
+        private void addChange() {
+            var newSeqNum = seqNum.incrementAndGet();
+            cache.addChange(new CacheChange<>(BENCHMARK_GUID_WRITER, newSeqNum, null));
+            cache.removeAllBelow(newSeqNum - WINDOW_SIZE + 1);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LookupState {
+        private List<Long> seqNums = new ArrayList<>(LOOKUP_SIZE);
+
+        /** Every second change from the middle of the cache */
+        private List<Long> seqNums(HistoryCache<RtpsTalkDataMessage> cache) {
+            var start = cache.getSeqNumMax(BENCHMARK_GUID_WRITER) - WINDOW_SIZE / 2;
+            seqNums.clear();
+            LongStream.range(0, LOOKUP_SIZE).forEach(i -> seqNums.add(start + i * 2));
+            return seqNums;
+        }
+    }
+
+    @Benchmark
+    public void add(CacheState state) {
+        state.addChange();
+    }
+
+    @Benchmark
+    public List<CacheChange<RtpsTalkDataMessage>> findAll(
+            CacheState state, LookupState lookupState) {
+        return state.cache
+                .findAll(BENCHMARK_GUID_WRITER, lookupState.seqNums(state.cache))
+                .toList();
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(1)
+    public void contention_add(CacheState state) {
+        state.addChange();
+    }
+
+    @Benchmark
+    @Group("contention")
+    @GroupThreads(3)
+    public List<CacheChange<RtpsTalkDataMessage>> contention_findAll(
+            CacheState state, LookupState lookupState) {
+        return state.cache
+                .findAll(BENCHMARK_GUID_WRITER, lookupState.seqNums(state.cache))
+                .toList();
+    }
+}
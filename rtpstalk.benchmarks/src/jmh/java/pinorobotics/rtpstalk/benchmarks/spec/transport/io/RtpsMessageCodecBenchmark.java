@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.benchmarks.spec.transport.io;
+
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_CONFIG;
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_HEADER;
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_READER_ENTITY_ID;
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_TRACING_TOKEN;
+import static pinorobotics.rtpstalk.benchmarks.BenchmarkConstants.BENCHMARK_WRITER_ENTITY_ID;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import pinorobotics.rtpstalk.impl.behavior.writer.DataFragmentSplitter;
+import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.AckNack;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.RawData;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.SerializedPayload;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Submessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
+import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsMessageReader;
+import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsMessageWriter;
+
+/**
+ * Serialization and deserialization of RTPS messages which are sent and received most often.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RtpsMessageCodecBenchmark {
+
+    private static final int DATA_SIZE = 1024;
+
+    @Param({"DATA", "DATA_FRAG", "HEARTBEAT", "ACKNACK"})
+    public String submessageKind;
+
+    /**
+     * Use flat codec or kineticstreamer (see {@link RtpsMessageReader#RtpsMessageReader(boolean)})
+     */
+    @Param({"true", "false"})
+    public boolean flatCodec;
+
+    private RtpsMessage message;
+    private RtpsMessageReader reader;
+    private RtpsMessageWriter writer;
+    private ByteBuffer readBuf;
+    private ByteBuffer writeBuf;
+
+    @Setup
+    public void setup() throws Exception {
+        message = new RtpsMessage(BENCHMARK_HEADER, createSubmessage());
+        reader = new RtpsMessageReader(flatCodec);
+        writer = new RtpsMessageWriter(flatCodec);
+        writeBuf = ByteBuffer.allocate(BENCHMARK_CONFIG.packetBufferSize());
+        writer.writeRtpsMessage(message, writeBuf);
+        writeBuf.flip();
+        readBuf = ByteBuffer.allocate(writeBuf.limit());
+        readBuf.put(writeBuf).flip();
+    }
+
+    private Submessage createSubmessage() {
+        return switch (submessageKind) {
+            case "DATA" -> new Data(
+                    BENCHMARK_READER_ENTITY_ID,
+                    BENCHMARK_WRITER_ENTITY_ID,
+                    new SequenceNumber(1),
+                    new SerializedPayload(new RawData(new byte[DATA_SIZE]), true));
+            case "DATA_FRAG" -> new DataFragmentSplitter(
+                            BENCHMARK_TRACING_TOKEN,
+                            BENCHMARK_READER_ENTITY_ID,
+                            BENCHMARK_WRITER_ENTITY_ID,
+                            1,
+                            Optional.empty(),
+                            new byte[DATA_SIZE * 4],
+                            DATA_SIZE)
+                    .next();
+            case "HEARTBEAT" -> new Heartbeat(
+                    BENCHMARK_READER_ENTITY_ID, BENCHMARK_WRITER_ENTITY_ID, 1, 100, 1);
+            case "ACKNACK" -> new AckNack(
+                    BENCHMARK_READER_ENTITY_ID,
+                    BENCHMARK_WRITER_ENTITY_ID,
+                    new SequenceNumberSet(1, 9, 511),
+                    1);
+            default -> throw new IllegalArgumentException(submessageKind);
+        };
+    }
+
+    @Benchmark
+    public Optional<RtpsMessage> readRtpsMessage() throws Exception {
+        return reader.readRtpsMessage(readBuf.rewind());
+    }
+
+    @Benchmark
+    public ByteBuffer writeRtpsMessage() throws Exception {
+        writer.writeRtpsMessage(message, writeBuf.clear());
+        return writeBuf;
+    }
+}
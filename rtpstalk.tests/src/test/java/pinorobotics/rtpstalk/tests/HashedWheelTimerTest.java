@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.tests;
+
+import static pinorobotics.rtpstalk.tests.TestConstants.TEST_TRACING_TOKEN;
+
+import id.xfunction.PreconditionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class HashedWheelTimerTest {
+
+    @Test
+    public void test_schedule() throws Exception {
+        try (var timer = new HashedWheelTimer(TEST_TRACING_TOKEN, Duration.ofMillis(1))) {
+            var startAt = System.nanoTime();
+            var future = new CompletableFuture<Long>();
+            // delay is longer than one full rotation of the wheel
+            timer.schedule(() -> future.complete(System.nanoTime()), Duration.ofMillis(700));
+            Assertions.assertTrue(
+                    Duration.ofNanos(future.get() - startAt).compareTo(Duration.ofMillis(700))
+                            >= 0);
+        }
+    }
+
+    @Test
+    public void test_scheduleWithFixedDelay() throws Exception {
+        try (var timer = new HashedWheelTimer(TEST_TRACING_TOKEN)) {
+            var counter = new AtomicInteger();
+            var latch = new CountDownLatch(3);
+            var task =
+                    timer.scheduleWithFixedDelay(
+                            () -> {
+                                counter.incrementAndGet();
+                                latch.countDown();
+                                // failing task keeps being executed
+                                throw new RuntimeException();
+                            },
+                            Duration.ZERO,
+                            Duration.ofMillis(20));
+            latch.await();
+            task.cancel();
+            var count = counter.get();
+            Thread.sleep(100);
+            Assertions.assertTrue(counter.get() <= count + 1);
+        }
+    }
+
+    @Test
+    public void test_cancel() throws Exception {
+        try (var timer = new HashedWheelTimer(TEST_TRACING_TOKEN)) {
+            var counter = new AtomicInteger();
+            timer.schedule(counter::incrementAndGet, Duration.ofMillis(50)).cancel();
+            Thread.sleep(100);
+            Assertions.assertEquals(0, counter.get());
+        }
+    }
+
+    @Test
+    public void test_threadFactory() throws Exception {
+        var threads = new ArrayList<Thread>();
+        ThreadFactory factory =
+                r -> {
+                    var thread = new Thread(r, "custom");
+                    threads.add(thread);
+                    return thread;
+                };
+        try (var timer =
+                new HashedWheelTimer(
+                        TEST_TRACING_TOKEN,
+                        HashedWheelTimer.DEFAULT_TICK_DURATION,
+                        Optional.of(factory))) {
+            var future = new CompletableFuture<String>();
+            timer.schedule(() -> future.complete(Thread.currentThread().getName()), Duration.ZERO);
+            Assertions.assertEquals("custom", future.get());
+            Assertions.assertEquals(1, threads.size());
+        }
+    }
+
+    @Test
+    public void test_close() {
+        var timer = new HashedWheelTimer(TEST_TRACING_TOKEN);
+        timer.close();
+        Assertions.assertThrows(
+                PreconditionException.class, () -> timer.schedule(() -> {}, Duration.ZERO));
+    }
+}
@@ -24,6 +24,7 @@ import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.util.concurrent.Executor;
 import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.Header;
@@ -70,6 +71,7 @@ public interface TestConstants {
     NetworkInterface LOOPBACK_NETWORK_IFACE = Unchecked.get(() -> NetworkInterface.getByName("lo"));
     Executor TEST_PUBLISHER_EXECUTOR =
             RtpsTalkConfiguration.Builder.DEFAULT_PUBLISHER_EXECUTOR.get();
+    HashedWheelTimer TEST_TIMER = new HashedWheelTimer(TEST_TRACING_TOKEN);
     Header TEST_HEADER =
             new Header(
                     ProtocolId.Predefined.RTPS.getValue(),
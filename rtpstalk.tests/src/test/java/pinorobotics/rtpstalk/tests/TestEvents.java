@@ -50,7 +50,7 @@ public class TestEvents {
         line =
                 line.replaceAll(
                         """
-                        .*"guidPrefix": .* "value": "(.*)" ., "entityId": "(\\d+)" .* "reliabilityKind": "(.*)", "durabilityKind": "(.*)".*
+                        .*"guidPrefix": .* "value": "(.*)" ., "entityId": "(\\d+)" .* "reliabilityKind": "(.*)", "durabilityKind": "([^"]*)".*
                         """
                                 .strip(),
                         "$1 $2 $3 $4");
@@ -59,7 +59,8 @@ public class TestEvents {
                 new Guid(a[0], a[1]),
                 List.of(),
                 ReliabilityQosPolicy.Kind.valueOf(a[2]),
-                DurabilityQosPolicy.Kind.valueOf(a[3]));
+                DurabilityQosPolicy.Kind.valueOf(a[3]),
+                List.of());
     }
 
     public static void waitForDisposedParticipant(Guid participant) throws Exception {
@@ -76,12 +77,12 @@ public class TestEvents {
     public void test_extractRemoteActorDetails() {
         var line =
                 """
-            Discovered Publisher for topic test with following details { "endpointGuid": { "guidPrefix": { "vendorId": "FASTRTPS", "value": "010f43472b59302f01000000" }, "entityId": "00000103" }, "writerUnicastLocator": [{ "transportType": "LOCATOR_KIND_UDPv4", "port": "7415", "address": "/172.19.0.11" }], "reliabilityKind": "RELIABLE", "durabilityKind": "VOLATILE_DURABILITY_QOS" }
+            Discovered Publisher for topic test with following details { "endpointGuid": { "guidPrefix": { "vendorId": "FASTRTPS", "value": "010f43472b59302f01000000" }, "entityId": "00000103" }, "writerUnicastLocator": [{ "transportType": "LOCATOR_KIND_UDPv4", "port": "7415", "address": "/172.19.0.11" }], "reliabilityKind": "RELIABLE", "durabilityKind": "VOLATILE_DURABILITY_QOS", "multicastLocators": [{ "transportType": "LOCATOR_KIND_UDPv4", "port": "7401", "address": "/239.255.0.1" }] }
             """
                         .strip();
         Assertions.assertEquals(
                 """
-                { "endpointGuid": { "guidPrefix": { "vendorId": "FASTRTPS", "value": "010f43472b59302f01000000" }, "entityId": "00000103" }, "writerUnicastLocator": [], "reliabilityKind": "RELIABLE", "durabilityKind": "VOLATILE_DURABILITY_QOS" }
+                { "endpointGuid": { "guidPrefix": { "vendorId": "FASTRTPS", "value": "010f43472b59302f01000000" }, "entityId": "00000103" }, "writerUnicastLocator": [], "reliabilityKind": "RELIABLE", "durabilityKind": "VOLATILE_DURABILITY_QOS", "multicastLocators": [] }
                 """
                         .strip(),
                 extractRemoteActorDetails(line).toString());
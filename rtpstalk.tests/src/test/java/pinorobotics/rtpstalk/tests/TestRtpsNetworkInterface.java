@@ -19,6 +19,7 @@ package pinorobotics.rtpstalk.tests;
 
 import static pinorobotics.rtpstalk.tests.TestConstants.TEST_GUID_PREFIX;
 
+import java.util.List;
 import pinorobotics.rtpstalk.impl.RtpsNetworkInterface;
 import pinorobotics.rtpstalk.tests.spec.discovery.spdp.TestDataChannel;
 
@@ -33,6 +34,7 @@ public class TestRtpsNetworkInterface extends RtpsNetworkInterface {
                 new TestDataChannel(TEST_GUID_PREFIX, true),
                 TestConstants.TEST_DEFAULT_UNICAST_LOCATOR,
                 new TestDataChannel(TEST_GUID_PREFIX, true),
-                TestConstants.TEST_METATRAFFIC_UNICAST_LOCATOR);
+                TestConstants.TEST_METATRAFFIC_UNICAST_LOCATOR,
+                List.of());
     }
 }
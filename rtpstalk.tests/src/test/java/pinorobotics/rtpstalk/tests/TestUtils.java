@@ -54,6 +54,7 @@ public class TestUtils {
                 TestConstants.TEST_CONFIG_INTERNAL,
                 TestConstants.TEST_TRACING_TOKEN,
                 TestConstants.TEST_PUBLISHER_EXECUTOR,
+                TestConstants.TEST_TIMER,
                 channelFactory,
                 operatingEntities);
     }
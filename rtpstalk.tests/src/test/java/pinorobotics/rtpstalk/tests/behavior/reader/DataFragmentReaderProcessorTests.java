@@ -18,6 +18,8 @@
 package pinorobotics.rtpstalk.tests.behavior.reader;
 
 import id.xfunction.PreconditionException;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -278,4 +280,182 @@ public class DataFragmentReaderProcessorTests {
                 "TEST-dataSequenceNumber16: Last fragment length delta underflow: -1",
                 e.getMessage());
     }
+
+    @Test
+    public void test_completed_message_is_removed() {
+        var proc = new DataFragmentReaderProcessor(TestConstants.TEST_TRACING_TOKEN);
+        var writer = new Guid(TestConstants.TEST_GUID_PREFIX, new EntityId(1));
+        Assertions.assertEquals(
+                Optional.empty(), proc.addDataFrag(writer, firstFragment(writer, 1)));
+        Assertions.assertEquals(1, proc.getNumberOfPendingMessages());
+        Assertions.assertEquals(
+                new RtpsTalkDataMessage("aaabbb").toString(),
+                proc.addDataFrag(writer, lastFragment(writer, 1)).get().toString());
+        Assertions.assertEquals(0, proc.getNumberOfPendingMessages());
+        // duplicate fragments of already delivered message should not deliver it again
+        Assertions.assertEquals(
+                Optional.empty(), proc.addDataFrag(writer, lastFragment(writer, 1)));
+    }
+
+    @Test
+    public void test_removeAllBelow() {
+        var proc = new DataFragmentReaderProcessor(TestConstants.TEST_TRACING_TOKEN);
+        var writer1 = new Guid(TestConstants.TEST_GUID_PREFIX, new EntityId(1));
+        var writer2 = new Guid(TestConstants.TEST_GUID_PREFIX, new EntityId(2));
+        proc.addDataFrag(writer1, firstFragment(writer1, 1));
+        proc.addDataFrag(writer1, firstFragment(writer1, 2));
+        proc.addDataFrag(writer2, firstFragment(writer2, 1));
+        Assertions.assertEquals(3, proc.getNumberOfPendingMessages());
+        proc.removeAllBelow(writer1, 2);
+        Assertions.assertEquals(2, proc.getNumberOfPendingMessages());
+        // fragments of removed message are ignored
+        Assertions.assertEquals(
+                Optional.empty(), proc.addDataFrag(writer1, lastFragment(writer1, 1)));
+        Assertions.assertEquals(
+                new RtpsTalkDataMessage("aaabbb").toString(),
+                proc.addDataFrag(writer1, lastFragment(writer1, 2)).get().toString());
+        Assertions.assertEquals(
+                new RtpsTalkDataMessage("aaabbb").toString(),
+                proc.addDataFrag(writer2, lastFragment(writer2, 1)).get().toString());
+        Assertions.assertEquals(0, proc.getNumberOfPendingMessages());
+    }
+
+    @Test
+    public void test_max_memory() {
+        var proc =
+                new DataFragmentReaderProcessor(
+                        TestConstants.TEST_TRACING_TOKEN, Duration.ofMinutes(1), 20);
+        var writer = new Guid(TestConstants.TEST_GUID_PREFIX, new EntityId(1));
+        proc.addDataFrag(writer, firstFragment(writer, 1));
+        proc.addDataFrag(writer, firstFragment(writer, 2));
+        proc.addDataFrag(writer, firstFragment(writer, 3));
+        Assertions.assertEquals(2, proc.getNumberOfPendingMessages());
+        Assertions.assertTrue(proc.addDataFrag(writer, lastFragment(writer, 2)).isPresent());
+        Assertions.assertTrue(proc.addDataFrag(writer, lastFragment(writer, 3)).isPresent());
+        // oldest message was evicted
+        Assertions.assertEquals(
+                Optional.empty(), proc.addDataFrag(writer, lastFragment(writer, 1)));
+    }
+
+    /** Test that data which exceeds the memory limit is rejected before memory is allocated */
+    @Test
+    public void test_max_memory_data_size() {
+        var proc =
+                new DataFragmentReaderProcessor(
+                        TestConstants.TEST_TRACING_TOKEN, Duration.ofMinutes(1), 20);
+        var writer = new Guid(TestConstants.TEST_GUID_PREFIX, new EntityId(1));
+        proc.addDataFrag(writer, firstFragment(writer, 1));
+        var dataFrag =
+                new DataFragGenerator(
+                                new EntityId(),
+                                writer.entityId,
+                                new SequenceNumber(2),
+                                Short.MAX_VALUE,
+                                // allocating buffer of such size fails with OutOfMemoryError
+                                Integer.MAX_VALUE,
+                                Optional.empty())
+                        .generate(1, 1, new SerializedPayload(new RawData("a".getBytes()), true));
+        Assertions.assertEquals(Optional.empty(), proc.addDataFrag(writer, dataFrag));
+        // pending messages were not evicted because of it
+        Assertions.assertEquals(1, proc.getNumberOfPendingMessages());
+        Assertions.assertTrue(proc.addDataFrag(writer, lastFragment(writer, 1)).isPresent());
+    }
+
+    @Test
+    public void test_timeout() throws Exception {
+        var proc =
+                new DataFragmentReaderProcessor(
+                        TestConstants.TEST_TRACING_TOKEN, Duration.ofMillis(1), 1000);
+        var writer = new Guid(TestConstants.TEST_GUID_PREFIX, new EntityId(1));
+        proc.addDataFrag(writer, firstFragment(writer, 1));
+        Thread.sleep(50);
+        Assertions.assertEquals(
+                Optional.empty(), proc.addDataFrag(writer, lastFragment(writer, 1)));
+        // expired message was removed and last fragment started a new one
+        Assertions.assertEquals(1, proc.getNumberOfPendingMessages());
+    }
+
+    /** Test that expired messages are removed even when no new fragments arrive */
+    @Test
+    public void test_removeExpired() throws Exception {
+        var proc =
+                new DataFragmentReaderProcessor(
+                        TestConstants.TEST_TRACING_TOKEN, Duration.ofMillis(1), 1000);
+        var writer = new Guid(TestConstants.TEST_GUID_PREFIX, new EntityId(1));
+        proc.addDataFrag(writer, firstFragment(writer, 1));
+        Thread.sleep(50);
+        proc.removeExpired();
+        Assertions.assertEquals(0, proc.getNumberOfPendingMessages());
+    }
+
+    @Test
+    public void test_removeWriter() {
+        var proc = new DataFragmentReaderProcessor(TestConstants.TEST_TRACING_TOKEN);
+        var writer1 = new Guid(TestConstants.TEST_GUID_PREFIX, new EntityId(1));
+        var writer2 = new Guid(TestConstants.TEST_GUID_PREFIX, new EntityId(2));
+        proc.addDataFrag(writer1, firstFragment(writer1, 1));
+        proc.addDataFrag(writer1, firstFragment(writer1, 2));
+        proc.addDataFrag(writer2, firstFragment(writer2, 1));
+        proc.removeAllBelow(writer1, 2);
+        proc.removeWriter(writer1);
+        Assertions.assertEquals(1, proc.getNumberOfPendingMessages());
+        Assertions.assertTrue(proc.addDataFrag(writer2, lastFragment(writer2, 1)).isPresent());
+        // writer which is matched again starts from scratch
+        proc.addDataFrag(writer1, firstFragment(writer1, 1));
+        Assertions.assertTrue(proc.addDataFrag(writer1, lastFragment(writer1, 1)).isPresent());
+    }
+
+    @Test
+    public void test_getMissingFragments() {
+        var proc = new DataFragmentReaderProcessor(TestConstants.TEST_TRACING_TOKEN);
+        var writer = new Guid(TestConstants.TEST_GUID_PREFIX, new EntityId(1));
+        var dataFragGenerator =
+                new DataFragGenerator(
+                        new EntityId(),
+                        writer.entityId,
+                        new SequenceNumber(1),
+                        4,
+                        20,
+                        Optional.empty());
+        // unknown change
+        Assertions.assertEquals(Optional.empty(), proc.getMissingFragments(writer, 1, 5));
+        proc.addDataFrag(
+                writer,
+                dataFragGenerator.generate(
+                        2, 1, new SerializedPayload(new RawData("bbbb".getBytes()), false)));
+        proc.addDataFrag(
+                writer,
+                dataFragGenerator.generate(
+                        4, 1, new SerializedPayload(new RawData("dddd".getBytes()), false)));
+        Assertions.assertEquals(
+                "[1, 3, 5]",
+                Arrays.toString(proc.getMissingFragments(writer, 1, 5).get().stream().toArray()));
+        // writer has only first 3 fragments available
+        Assertions.assertEquals(
+                "[1, 3]",
+                Arrays.toString(proc.getMissingFragments(writer, 1, 3).get().stream().toArray()));
+        Assertions.assertEquals(Optional.empty(), proc.getMissingFragments(writer, 2, 5));
+    }
+
+    private DataFrag firstFragment(Guid writer, long seqNum) {
+        return new DataFragGenerator(
+                        new EntityId(),
+                        writer.entityId,
+                        new SequenceNumber(seqNum),
+                        5,
+                        10,
+                        Optional.empty())
+                .generate(1, 1, new SerializedPayload(new RawData("a".getBytes()), true));
+    }
+
+    private DataFrag lastFragment(Guid writer, long seqNum) {
+        return new DataFragGenerator(
+                        new EntityId(),
+                        writer.entityId,
+                        new SequenceNumber(seqNum),
+                        5,
+                        10,
+                        Optional.empty())
+                .generate(2, 1, new SerializedPayload(new RawData("aabbb".getBytes()), false));
+    }
 }
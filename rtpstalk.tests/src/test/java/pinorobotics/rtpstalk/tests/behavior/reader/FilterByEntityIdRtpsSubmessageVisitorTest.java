@@ -17,10 +17,14 @@
  */
 package pinorobotics.rtpstalk.tests.behavior.reader;
 
+import java.util.List;
+import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import pinorobotics.rtpstalk.impl.behavior.reader.FilterByEntityIdRtpsSubmessageVisitor;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Gap;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.RawData;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.SerializedPayload;
@@ -28,6 +32,7 @@ import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.Count;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
 import pinorobotics.rtpstalk.impl.spec.messages.walk.Result;
 import pinorobotics.rtpstalk.impl.spec.messages.walk.RtpsSubmessageVisitor;
 import pinorobotics.rtpstalk.tests.TestConstants;
@@ -78,11 +83,57 @@ public class FilterByEntityIdRtpsSubmessageVisitorTest {
         Assertions.assertEquals(2, visited[1]);
     }
 
+    @Test
+    public void test_onDataFrag_onGap() {
+        var visited = new int[2];
+        var filter =
+                new FilterByEntityIdRtpsSubmessageVisitor(
+                        TestConstants.TEST_READER_ENTITY_ID,
+                        new RtpsSubmessageVisitor() {
+                            @Override
+                            public Result onDataFrag(GuidPrefix guidPrefix, DataFrag data) {
+                                visited[0]++;
+                                return Result.CONTINUE;
+                            }
+
+                            @Override
+                            public Result onGap(GuidPrefix guidPrefix, Gap gap) {
+                                visited[1]++;
+                                return Result.CONTINUE;
+                            }
+                        });
+        for (var readerId :
+                List.of(
+                        TestConstants.TEST_READER_ENTITY_ID,
+                        TestConstants.TEST_WRITER_ENTITY_ID,
+                        EntityId.Predefined.ENTITYID_UNKNOWN.getValue())) {
+            filter.onDataFrag(TestConstants.TEST_GUID_PREFIX, createDataFrag(readerId));
+            filter.onGap(
+                    TestConstants.TEST_GUID_PREFIX,
+                    new Gap(readerId, null, new SequenceNumber(1), new SequenceNumberSet(2)));
+        }
+        Assertions.assertEquals(2, visited[0]);
+        Assertions.assertEquals(2, visited[1]);
+    }
+
     private Heartbeat createHeartbeat(EntityId readerEntityId) {
         return new Heartbeat(
                 readerEntityId, null, new SequenceNumber(1), new SequenceNumber(2), new Count(1));
     }
 
+    private DataFrag createDataFrag(EntityId readerEntityId) {
+        return new DataFrag(
+                readerEntityId,
+                null,
+                new SequenceNumber(1),
+                1,
+                1,
+                4,
+                8,
+                Optional.empty(),
+                new SerializedPayload(new RawData(new byte[4]), false));
+    }
+
     private Data createData(EntityId readerEntityId) {
         return new Data(
                 readerEntityId,
@@ -23,6 +23,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import pinorobotics.rtpstalk.impl.behavior.reader.ReaderSequenceNumberStateBuilder;
+import pinorobotics.rtpstalk.impl.spec.behavior.reader.ChangeFromWriter;
+import pinorobotics.rtpstalk.impl.spec.behavior.reader.ChangesFromWriter;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
 
 /**
@@ -76,4 +78,15 @@ public class ReaderSequenceNumberStateBuilderTest {
                         .build(testCase.first, testCase.last, testCase.missing, 123);
         Assertions.assertEquals(testCase.expected, sets.toString());
     }
+
+    @ParameterizedTest
+    @MethodSource("dataProvider")
+    public void test_changes_from_writer(TestCase testCase) {
+        var changes = new ChangesFromWriter();
+        for (var sn : testCase.missing) changes.set(sn, sn, ChangeFromWriter.MISSING);
+        var sets =
+                new ReaderSequenceNumberStateBuilder()
+                        .build(testCase.first, testCase.last, changes, 123, sn -> true);
+        Assertions.assertEquals(testCase.expected, sets.toString());
+    }
 }
@@ -20,13 +20,18 @@ package pinorobotics.rtpstalk.tests.behavior.reader;
 import id.xfunctiontests.XAsserts;
 import java.util.List;
 import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.behavior.reader.DataFragmentReaderProcessor;
 import pinorobotics.rtpstalk.impl.behavior.reader.WriterHeartbeatProcessor;
 import pinorobotics.rtpstalk.impl.spec.behavior.reader.WriterProxy;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
+import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.AckNack;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
+import pinorobotics.rtpstalk.impl.spec.transport.ControlMessageAggregator;
 import pinorobotics.rtpstalk.tests.TestConstants;
 import pinorobotics.rtpstalk.tests.spec.discovery.spdp.TestDataChannelFactory;
 
@@ -73,4 +78,106 @@ public class WriterHeartbeatProcessorTest {
                         .get(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR);
         XAsserts.assertMatches(getClass(), "test_heartbeat", dataChannel.getDataQueue().toString());
     }
+
+    @Test
+    public void test_positive_acknack_suppression() {
+        var dataChannelFactory = new TestDataChannelFactory();
+        var wp =
+                new WriterProxy(
+                        TestConstants.TEST_TRACING_TOKEN,
+                        dataChannelFactory,
+                        TestConstants.TEST_CONFIG_INTERNAL.maxSubmessageSize(),
+                        new Guid(
+                                TestConstants.TEST_GUID_PREFIX,
+                                EntityId.Predefined.ENTITYID_PARTICIPANT.getValue()),
+                        new Guid(
+                                TestConstants.TEST_REMOTE_GUID_PREFIX,
+                                EntityId.Predefined.ENTITYID_PARTICIPANT.getValue()),
+                        List.of(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR));
+        IntStream.range(1, 6).forEach(wp::receivedChangeSet);
+        var proc =
+                new WriterHeartbeatProcessor(
+                        TestConstants.TEST_TRACING_TOKEN,
+                        wp,
+                        new DataFragmentReaderProcessor(TestConstants.TEST_TRACING_TOKEN),
+                        1,
+                        new ControlMessageAggregator(
+                                TestConstants.TEST_TRACING_TOKEN,
+                                TestConstants.TEST_GUID_PREFIX,
+                                RtpsTalkConfiguration.MIN_PACKET_BUFFER_SIZE));
+
+        proc.addHeartbeat(
+                new Heartbeat(
+                        TestConstants.TEST_READER_ENTITY_ID,
+                        TestConstants.TEST_WRITER_ENTITY_ID,
+                        1,
+                        5,
+                        1));
+        proc.ack();
+        Assertions.assertFalse(proc.hasPendingHeartbeats());
+        var dataQueue =
+                dataChannelFactory
+                        .getChannels()
+                        .get(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR)
+                        .getDataQueue();
+        Assertions.assertEquals(6, ackNackOf(dataQueue.poll()).readerSNState.bitmapBase.value);
+
+        // nothing changed since last positive AckNack
+        proc.addHeartbeat(
+                new Heartbeat(
+                        TestConstants.TEST_READER_ENTITY_ID,
+                        TestConstants.TEST_WRITER_ENTITY_ID,
+                        1,
+                        5,
+                        2));
+        proc.ack();
+        Assertions.assertTrue(dataQueue.isEmpty());
+
+        // writer keeps sending heartbeats so previous positive AckNack could be lost
+        proc.addHeartbeat(
+                new Heartbeat(
+                        TestConstants.TEST_READER_ENTITY_ID,
+                        TestConstants.TEST_WRITER_ENTITY_ID,
+                        1,
+                        5,
+                        3));
+        proc.ack();
+        var resentAckNack = ackNackOf(dataQueue.poll());
+        Assertions.assertEquals(6, resentAckNack.readerSNState.bitmapBase.value);
+        Assertions.assertEquals(2, resentAckNack.count.value);
+
+        // negative AckNacks are never suppressed
+        for (int count = 4; count <= 5; count++) {
+            proc.addHeartbeat(
+                    new Heartbeat(
+                            TestConstants.TEST_READER_ENTITY_ID,
+                            TestConstants.TEST_WRITER_ENTITY_ID,
+                            1,
+                            6,
+                            count));
+            proc.ack();
+            var ackNack = ackNackOf(dataQueue.poll());
+            Assertions.assertEquals(6, ackNack.readerSNState.bitmapBase.value);
+            Assertions.assertEquals(
+                    "[6]", ackNack.readerSNState.stream().boxed().toList().toString());
+        }
+
+        // positive AckNack which acknowledges new changes
+        wp.receivedChangeSet(6);
+        proc.addHeartbeat(
+                new Heartbeat(
+                        TestConstants.TEST_READER_ENTITY_ID,
+                        TestConstants.TEST_WRITER_ENTITY_ID,
+                        1,
+                        6,
+                        6));
+        proc.ack();
+        var ackNack = ackNackOf(dataQueue.poll());
+        Assertions.assertEquals(7, ackNack.readerSNState.bitmapBase.value);
+        Assertions.assertEquals(5, ackNack.count.value);
+    }
+
+    private static AckNack ackNackOf(RtpsMessage message) {
+        return (AckNack) message.submessages[1];
+    }
 }
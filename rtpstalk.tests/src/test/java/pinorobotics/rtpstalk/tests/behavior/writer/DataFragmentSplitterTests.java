@@ -93,6 +93,10 @@ public class DataFragmentSplitterTests {
                         testCase.maxSubmessageSize);
         var fragments = XStream.of(splitter.iterator()).toList();
         XAsserts.assertEquals(getClass(), testCase.expectedFragmentsResource, fragments.toString());
+        Assertions.assertEquals(fragments.size(), splitter.getFragmentsCount());
+        for (int i = 0; i < fragments.size(); i++) {
+            Assertions.assertEquals(fragments.get(i).toString(), splitter.get(i + 1).toString());
+        }
     }
 
     @Test
@@ -17,17 +17,25 @@
  */
 package pinorobotics.rtpstalk.tests.behavior.writer;
 
+import id.xfunction.function.Unchecked;
 import id.xfunctiontests.XAsserts;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import pinorobotics.rtpstalk.RtpsTalkConfiguration;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.behavior.writer.RtpsDataMessageBuilder;
+import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoTimestamp;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Submessage;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
+import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsMessageReader;
+import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsMessageWriter;
 import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
 import pinorobotics.rtpstalk.tests.TestConstants;
 
@@ -104,4 +112,71 @@ public class RtpsDataMessageBuilderTest {
 
         Assertions.assertEquals(fragmentSize, fragmentSizeNoReader);
     }
+
+    @Test
+    public void test_encoded() throws Exception {
+        var config =
+                new RtpsTalkConfigurationInternal(
+                        new RtpsTalkConfiguration.Builder().packetBufferSize(10_000).build());
+        var sharedBuilder =
+                new RtpsDataMessageBuilder(
+                        config, TestConstants.TEST_TRACING_TOKEN, TestConstants.TEST_GUID_PREFIX);
+        sharedBuilder.add(1, new RtpsTalkDataMessage(new byte[13]));
+        sharedBuilder.add(2, new RtpsTalkDataMessage("a".repeat(10_123).getBytes()));
+        var remoteReader =
+                new Guid(
+                        TestConstants.TEST_REMOTE_GUID_PREFIX, TestConstants.TEST_READER_ENTITY_ID);
+        var builder =
+                new RtpsDataMessageBuilder(
+                                config,
+                                TestConstants.TEST_TRACING_TOKEN,
+                                TestConstants.TEST_GUID_PREFIX,
+                                remoteReader.guidPrefix)
+                        .addAll(sharedBuilder);
+        var otherBuilder =
+                new RtpsDataMessageBuilder(
+                                config,
+                                TestConstants.TEST_TRACING_TOKEN,
+                                TestConstants.TEST_GUID_PREFIX,
+                                new GuidPrefix("aaaaaaaaaaaaaaaaaaaaaaaa"))
+                        .addAll(sharedBuilder);
+        // builders of different readers share same encoded messages
+        Assertions.assertSame(
+                otherBuilder.buildEncoded(TestConstants.TEST_WRITER_ENTITY_ID).get(),
+                builder.buildEncoded(TestConstants.TEST_WRITER_ENTITY_ID).get());
+        for (var b : List.of(sharedBuilder, builder)) {
+            var encoded = b.buildEncoded(TestConstants.TEST_WRITER_ENTITY_ID).get();
+            // serialized only once
+            Assertions.assertSame(
+                    encoded, b.buildEncoded(TestConstants.TEST_WRITER_ENTITY_ID).get());
+            var writer = new RtpsMessageWriter();
+            var expected =
+                    b.build(remoteReader.entityId, TestConstants.TEST_WRITER_ENTITY_ID).stream()
+                            .map(
+                                    message -> {
+                                        var buf = ByteBuffer.allocate(10_000);
+                                        Unchecked.run(() -> writer.writeRtpsMessage(message, buf));
+                                        return read(buf.flip());
+                                    })
+                            .toList();
+            var actual =
+                    encoded.stream()
+                            .map(
+                                    message -> {
+                                        var buf = ByteBuffer.allocate(message.getLength());
+                                        message.writeTo(buf, remoteReader);
+                                        return read(buf.flip());
+                                    })
+                            .toList();
+            Assertions.assertEquals(expected.toString(), actual.toString());
+        }
+    }
+
+    /** Read message ignoring its timestamp */
+    private List<Submessage> read(ByteBuffer buf) {
+        var message = Unchecked.get(() -> new RtpsMessageReader().readRtpsMessage(buf).get());
+        return Arrays.stream(message.submessages)
+                .filter(submessage -> !(submessage instanceof InfoTimestamp))
+                .toList();
+    }
 }
@@ -23,15 +23,23 @@ import id.opentelemetry.exporters.extensions.ElasticsearchMetricsExtension;
 import id.pubsubtests.PubSubClientTestCase;
 import id.pubsubtests.PubSubClientTests;
 import id.xfunction.concurrent.flow.FixedCollectorSubscriber;
+import java.nio.file.Files;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import pinorobotics.rtpstalk.FlowControllerSettings;
 import pinorobotics.rtpstalk.RtpsTalkClient;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.WriterSettings;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.messages.Parameters;
 import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
@@ -85,6 +93,107 @@ public class RtpsTalkClientTests extends PubSubClientTests {
         }
     }
 
+    @Test
+    public void test_publish_over_local_transports() throws Exception {
+        var directory = Files.createTempDirectory("rtpstalk");
+        // each participant needs its own configuration since they should have different guid
+        // prefixes
+        List<Supplier<RtpsTalkConfiguration>> configs =
+                List.of(
+                        () -> new RtpsTalkConfiguration.Builder().intraProcessTransport().build(),
+                        () ->
+                                new RtpsTalkConfiguration.Builder()
+                                        .sharedMemoryTransport(directory)
+                                        .build());
+        for (var config : configs) {
+            try (var subscriberClient = new RtpsTalkClient(config.get());
+                    var publisherClient = new RtpsTalkClient(config.get())) {
+                var topicName = HelloWorldConfig.DEFAULT_TOPIC_NAME;
+                var topicType = HelloWorldConfig.DEFAULT_TOPIC_TYPE;
+                var collector =
+                        new FixedCollectorSubscriber<>(new ArrayList<RtpsTalkDataMessage>(), 100);
+                subscriberClient.subscribe(topicName, topicType, collector);
+                var publisher = new SubmissionPublisher<RtpsTalkDataMessage>();
+                publisherClient.publish(topicName, topicType, publisher);
+                var expected =
+                        IntStream.range(0, 100)
+                                .mapToObj(i -> new RtpsTalkDataMessage("%04d".formatted(i)))
+                                .toList();
+                expected.forEach(publisher::submit);
+                Assertions.assertEquals(
+                        expected.toString(), collector.getFuture().get().toString());
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test
+    public void test_publish_with_flow_controller() throws Exception {
+        try (var subscriberClient = new RtpsTalkClient();
+                var publisherClient = new RtpsTalkClient()) {
+            var topicName = HelloWorldConfig.DEFAULT_TOPIC_NAME;
+            var topicType = HelloWorldConfig.DEFAULT_TOPIC_TYPE;
+            var collector =
+                    new FixedCollectorSubscriber<>(new ArrayList<RtpsTalkDataMessage>(), 100);
+            subscriberClient.subscribe(topicName, topicType, collector);
+            var publisher = new SubmissionPublisher<RtpsTalkDataMessage>();
+            var flowController =
+                    new FlowControllerSettings.Builder()
+                            .packetsPerPeriod(10)
+                            .period(Duration.ofMillis(20))
+                            .scheduler(FlowControllerSettings.Scheduler.ROUND_ROBIN)
+                            .build();
+            publisherClient.publish(
+                    topicName,
+                    topicType,
+                    new PublisherQosPolicy(),
+                    new WriterSettings(true, flowController),
+                    publisher);
+            var expected =
+                    IntStream.range(0, 100)
+                            .mapToObj(i -> new RtpsTalkDataMessage("%04d".formatted(i)))
+                            .toList();
+            expected.forEach(publisher::submit);
+            Assertions.assertEquals(expected.toString(), collector.getFuture().get().toString());
+        }
+    }
+
+    /**
+     * Changes are sent only when subscriber requests them, so they are limited by both the flow
+     * controller and the repair rate
+     */
+    @Test
+    public void test_publish_with_flow_controller_pull_mode() throws Exception {
+        try (var subscriberClient = new RtpsTalkClient();
+                var publisherClient =
+                        new RtpsTalkClient(
+                                new RtpsTalkConfiguration.Builder().repairRate(10_000).build())) {
+            var topicName = HelloWorldConfig.DEFAULT_TOPIC_NAME;
+            var topicType = HelloWorldConfig.DEFAULT_TOPIC_TYPE;
+            var collector =
+                    new FixedCollectorSubscriber<>(new ArrayList<RtpsTalkDataMessage>(), 100);
+            subscriberClient.subscribe(topicName, topicType, collector);
+            var publisher = new SubmissionPublisher<RtpsTalkDataMessage>();
+            var flowController =
+                    new FlowControllerSettings.Builder()
+                            .packetsPerPeriod(1)
+                            .period(Duration.ofMillis(20))
+                            .build();
+            publisherClient.publish(
+                    topicName,
+                    topicType,
+                    new PublisherQosPolicy(),
+                    new WriterSettings(false, flowController),
+                    publisher);
+            var expected =
+                    IntStream.range(0, 100)
+                            .mapToObj(i -> new RtpsTalkDataMessage("%04d".formatted(i)))
+                            .toList();
+            expected.forEach(publisher::submit);
+            Assertions.assertEquals(expected.toString(), collector.getFuture().get().toString());
+        }
+    }
+
     @Test
     public void test_inlineQos() throws Exception {
         try (var subscriberClient = new RtpsTalkClient();
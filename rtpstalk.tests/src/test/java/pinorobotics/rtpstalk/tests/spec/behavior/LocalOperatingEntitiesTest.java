@@ -43,6 +43,7 @@ public class LocalOperatingEntitiesTest {
                         TestConstants.TEST_CONFIG_INTERNAL,
                         TestConstants.TEST_TRACING_TOKEN,
                         TestConstants.TEST_PUBLISHER_EXECUTOR,
+                        TestConstants.TEST_TIMER,
                         new TestDataChannelFactory(),
                         operatingEntities,
                         TestConstants.TEST_WRITER_ENTITY_ID,
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.tests.spec.behavior.reader;
+
+import static pinorobotics.rtpstalk.impl.spec.behavior.reader.ChangeFromWriter.IRRELEVANT;
+import static pinorobotics.rtpstalk.impl.spec.behavior.reader.ChangeFromWriter.MISSING;
+import static pinorobotics.rtpstalk.impl.spec.behavior.reader.ChangeFromWriter.RECEIVED;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.rtpstalk.impl.spec.behavior.reader.ChangesFromWriter;
+
+/**
+ * @author aeon_flux aeon_flux@eclipso.ch
+ */
+public class ChangesFromWriterTest {
+
+    @Test
+    public void test() {
+        var changes = new ChangesFromWriter();
+        Assertions.assertEquals(ChangesFromWriter.NONE, changes.nextMissing(1));
+        Assertions.assertEquals(Optional.empty(), changes.get(1));
+
+        changes.set(1, 1_000_000, IRRELEVANT);
+        changes.set(1_000_001, 1_000_001, RECEIVED);
+        changes.setMissing(1, 1_000_010);
+        Assertions.assertArrayEquals(
+                new long[] {
+                    1_000_002, 1_000_003, 1_000_004, 1_000_005, 1_000_006, 1_000_007, 1_000_008,
+                    1_000_009, 1_000_010
+                },
+                changes.missingSorted());
+        Assertions.assertEquals(Optional.of(IRRELEVANT), changes.get(500_000));
+        Assertions.assertEquals(Optional.of(RECEIVED), changes.get(1_000_001));
+
+        changes.set(1_000_005, 1_000_005, RECEIVED);
+        Assertions.assertEquals(1_000_002, changes.nextMissing(1));
+        Assertions.assertEquals(1_000_006, changes.nextMissing(1_000_005));
+        Assertions.assertEquals(1_000_004, changes.lastMissing(1_000_005));
+        Assertions.assertEquals(1_000_010, changes.lastMissing(2_000_000));
+        Assertions.assertEquals(ChangesFromWriter.NONE, changes.nextMissing(1_000_011));
+        Assertions.assertEquals(ChangesFromWriter.NONE, changes.lastMissing(1_000_001));
+
+        Assertions.assertEquals(2, changes.removeAllBelow(1_000_004));
+        Assertions.assertEquals(Optional.empty(), changes.get(500_000));
+        Assertions.assertArrayEquals(
+                new long[] {1_000_004, 1_000_006, 1_000_007, 1_000_008, 1_000_009, 1_000_010},
+                changes.missingSorted());
+
+        changes.set(1_000_004, 1_000_010, RECEIVED);
+        Assertions.assertArrayEquals(new long[0], changes.missingSorted());
+        Assertions.assertEquals(0, changes.removeAllBelow(1_000_011));
+    }
+}
@@ -17,28 +17,43 @@
  */
 package pinorobotics.rtpstalk.tests.spec.behavior.reader;
 
+import static pinorobotics.rtpstalk.BufferPoolMode.PER_THREAD;
+
 import id.xfunction.concurrent.SameThreadExecutorService;
 import id.xfunction.concurrent.flow.CollectorSubscriber;
+import id.xfunction.concurrent.flow.SimpleSubscriber;
 import id.xfunction.concurrent.flow.SynchronousPublisher;
 import id.xfunctiontests.XAsserts;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow.Subscription;
 import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
 import pinorobotics.rtpstalk.impl.spec.behavior.LocalOperatingEntities;
 import pinorobotics.rtpstalk.impl.spec.behavior.reader.RtpsReader;
 import pinorobotics.rtpstalk.impl.spec.behavior.reader.StatefullReliableRtpsReader;
 import pinorobotics.rtpstalk.impl.spec.messages.DurabilityQosPolicy;
+import pinorobotics.rtpstalk.impl.spec.messages.HistoryQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.ReliabilityQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.RawData;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.SerializedPayload;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityKind;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
+import pinorobotics.rtpstalk.impl.spec.transport.ByteBufferPool;
+import pinorobotics.rtpstalk.impl.spec.transport.PooledByteBuffer;
+import pinorobotics.rtpstalk.impl.spec.transport.PooledPayloadView;
 import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
 import pinorobotics.rtpstalk.tests.TestConstants;
 
@@ -99,6 +114,7 @@ public class RtpsReaderTest {
                                 TestConstants.TEST_TRACING_TOKEN,
                                 RtpsTalkDataMessage.class,
                                 new SameThreadExecutorService(),
+                                TestConstants.TEST_TIMER,
                                 new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
                                 TestConstants.TEST_READER_ENTITY_ID,
                                 new ReaderQosPolicySet(
@@ -130,6 +146,7 @@ public class RtpsReaderTest {
                                 TestConstants.TEST_TRACING_TOKEN,
                                 RtpsTalkDataMessage.class,
                                 new SameThreadExecutorService(),
+                                TestConstants.TEST_TIMER,
                                 new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
                                 TestConstants.TEST_READER_ENTITY_ID,
                                 new ReaderQosPolicySet(
@@ -154,6 +171,7 @@ public class RtpsReaderTest {
                                 TestConstants.TEST_TRACING_TOKEN,
                                 RtpsTalkDataMessage.class,
                                 new SameThreadExecutorService(),
+                                TestConstants.TEST_TIMER,
                                 new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
                                 TestConstants.TEST_READER_ENTITY_ID,
                                 new ReaderQosPolicySet(
@@ -172,6 +190,7 @@ public class RtpsReaderTest {
                                 TestConstants.TEST_TRACING_TOKEN,
                                 RtpsTalkDataMessage.class,
                                 new SameThreadExecutorService(),
+                                TestConstants.TEST_TIMER,
                                 new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
                                 TestConstants.TEST_READER_ENTITY_ID,
                                 new ReaderQosPolicySet(
@@ -206,6 +225,174 @@ public class RtpsReaderTest {
         }
     }
 
+    /**
+     * Test that buffers of zero-copy payloads are retained once per subscriber and released by the
+     * reader once the change is removed from its cache
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 3})
+    public void test_zero_copy_ref_count(int subscribersCount) {
+        var pool = new ByteBufferPool(TestConstants.TEST_TRACING_TOKEN, 10, false, PER_THREAD, 4);
+        var items = new ArrayList<RtpsTalkDataMessage>();
+        try (var reader = newZeroCopyReader();
+                var publisher = new SynchronousPublisher<RtpsMessage>()) {
+            for (int i = 0; i < subscribersCount; i++)
+                reader.subscribe(new CollectorSubscriber<>(items));
+            publisher.subscribe(reader);
+
+            var buf1 = pool.acquire();
+            publisher.submit(newRtpsMessage(1, buf1, "aaaa"));
+            // receiver releases its own reference once message is processed
+            buf1.release();
+            // reference of the reader cache plus one per subscriber
+            Assertions.assertEquals(1 + subscribersCount, buf1.refCount());
+            Assertions.assertEquals(subscribersCount, items.size());
+            items.forEach(RtpsTalkDataMessage::release);
+            Assertions.assertEquals(1, buf1.refCount());
+
+            // with KEEP_LAST 1 previous change is removed from the cache
+            var buf2 = pool.acquire();
+            publisher.submit(newRtpsMessage(2, buf2, "bbbb"));
+            buf2.release();
+            Assertions.assertEquals(0, buf1.refCount());
+            Assertions.assertEquals(1 + subscribersCount, buf2.refCount());
+            items.stream().skip(subscribersCount).forEach(RtpsTalkDataMessage::release);
+            Assertions.assertEquals(1, buf2.refCount());
+            Assertions.assertSame(buf1, pool.acquire());
+
+            reader.close();
+            Assertions.assertEquals(0, buf2.refCount());
+        }
+    }
+
+    /** Test that messages which were not delivered are released when subscriber cancels */
+    @Test
+    public void test_zero_copy_cancel() {
+        var pool = new ByteBufferPool(TestConstants.TEST_TRACING_TOKEN, 10, false, PER_THREAD, 4);
+        var subscriptionFuture = new CompletableFuture<Subscription>();
+        try (var reader = newZeroCopyReader();
+                var publisher = new SynchronousPublisher<RtpsMessage>()) {
+            reader.subscribe(
+                    new SimpleSubscriber<>() {
+                        @Override
+                        public void onSubscribe(Subscription s) {
+                            // do not request anything so that messages stay buffered
+                            subscriptionFuture.complete(s);
+                        }
+                    });
+            publisher.subscribe(reader);
+            var buf = pool.acquire();
+            publisher.submit(newRtpsMessage(1, buf, "aaaa"));
+            buf.release();
+            Assertions.assertEquals(2, buf.refCount());
+            subscriptionFuture.join().cancel();
+            Assertions.assertEquals(1, buf.refCount());
+            // new subscribers do not get the reference of the message which was already
+            // submitted
+            var items = new ArrayList<RtpsTalkDataMessage>();
+            reader.subscribe(new CollectorSubscriber<>(items));
+            Assertions.assertEquals(1, buf.refCount());
+            Assertions.assertTrue(items.isEmpty());
+        }
+    }
+
+    /** Test that changes kept forever by KEEP_ALL history do not hold the network buffers */
+    @Test
+    public void test_zero_copy_keep_all() {
+        var pool = new ByteBufferPool(TestConstants.TEST_TRACING_TOKEN, 10, false, PER_THREAD, 4);
+        var items = new ArrayList<RtpsTalkDataMessage>();
+        try (var reader =
+                        newZeroCopyReader(
+                                new HistoryQosPolicy(
+                                        HistoryQosPolicy.Kind.KEEP_ALL_HISTORY_QOS, 1));
+                var publisher = new SynchronousPublisher<RtpsMessage>()) {
+            reader.subscribe(new CollectorSubscriber<>(items));
+            publisher.subscribe(reader);
+            for (int i = 1; i <= 3; i++) {
+                var buf = pool.acquire();
+                publisher.submit(newRtpsMessage(i, buf, "aaaa"));
+                buf.release();
+                Assertions.assertEquals(0, buf.refCount());
+            }
+            Assertions.assertEquals(3, reader.getReaderCache().getAll().count());
+            Assertions.assertEquals(3, items.size());
+            for (var item : items) {
+                Assertions.assertTrue(item.dataView().isEmpty());
+                Assertions.assertEquals("aaaa", new String(item.data().get()));
+            }
+        }
+    }
+
+    /**
+     * Test that Reader assembles fragments which writer sent to the multicast group (where readerId
+     * is ENTITYID_UNKNOWN)
+     */
+    @Test
+    public void test_multicast_fragments() {
+        var items = new ArrayList<RtpsTalkDataMessage>();
+        try (var reader =
+                        new RtpsReader<>(
+                                TestConstants.TEST_CONFIG,
+                                TestConstants.TEST_TRACING_TOKEN,
+                                RtpsTalkDataMessage.class,
+                                new SameThreadExecutorService(),
+                                TestConstants.TEST_GUID_READER,
+                                ReliabilityQosPolicy.Kind.BEST_EFFORT);
+                var publisher = new SynchronousPublisher<RtpsMessage>()) {
+            reader.subscribe(new CollectorSubscriber<>(items));
+            publisher.subscribe(reader);
+            publisher.submit(newMulticastRtpsMessage(1, true, "a"));
+            Assertions.assertTrue(items.isEmpty());
+            publisher.submit(newMulticastRtpsMessage(2, false, "aabbb"));
+            Assertions.assertEquals(
+                    List.of(new RtpsTalkDataMessage("aaabbb")).toString(), items.toString());
+        }
+    }
+
+    private static RtpsReader<RtpsTalkDataMessage> newZeroCopyReader() {
+        return newZeroCopyReader(new HistoryQosPolicy());
+    }
+
+    private static RtpsReader<RtpsTalkDataMessage> newZeroCopyReader(
+            HistoryQosPolicy historyQosPolicy) {
+        return new RtpsReader<>(
+                new RtpsTalkConfiguration.Builder().zeroCopyPayloads(true).build(),
+                TestConstants.TEST_TRACING_TOKEN,
+                RtpsTalkDataMessage.class,
+                new SameThreadExecutorService(),
+                TestConstants.TEST_GUID_READER,
+                ReliabilityQosPolicy.Kind.BEST_EFFORT,
+                historyQosPolicy);
+    }
+
+    private static RtpsMessage newRtpsMessage(int seqNum, PooledByteBuffer buf, String data) {
+        buf.buffer().put(data.getBytes());
+        return new RtpsMessage(
+                TestConstants.TEST_HEADER,
+                new Data(
+                        TestConstants.TEST_READER_ENTITY_ID,
+                        TestConstants.TEST_WRITER_ENTITY_ID,
+                        new SequenceNumber(seqNum),
+                        new SerializedPayload(
+                                new RawData(new PooledPayloadView(buf, 0, data.length())), true)));
+    }
+
+    private static RtpsMessage newMulticastRtpsMessage(
+            long fragmentNum, boolean hasHeader, String data) {
+        return new RtpsMessage(
+                TestConstants.TEST_HEADER,
+                new DataFrag(
+                        EntityId.Predefined.ENTITYID_UNKNOWN.getValue(),
+                        TestConstants.TEST_WRITER_ENTITY_ID,
+                        new SequenceNumber(1),
+                        fragmentNum,
+                        1,
+                        5,
+                        10,
+                        Optional.empty(),
+                        new SerializedPayload(new RawData(data.getBytes()), hasHeader)));
+    }
+
     public static RtpsMessage newRtpsMessage(int seqNum, String data) {
         return new RtpsMessage(
                 TestConstants.TEST_HEADER,
@@ -21,22 +21,29 @@ import id.xfunction.concurrent.SameThreadExecutorService;
 import id.xfunction.concurrent.flow.CollectorSubscriber;
 import id.xfunction.concurrent.flow.SynchronousPublisher;
 import id.xfunctiontests.XAsserts;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
 import pinorobotics.rtpstalk.impl.spec.behavior.LocalOperatingEntities;
 import pinorobotics.rtpstalk.impl.spec.behavior.reader.StatefullReliableRtpsReader;
 import pinorobotics.rtpstalk.impl.spec.messages.DurabilityQosPolicy;
+import pinorobotics.rtpstalk.impl.spec.messages.HistoryQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.ReliabilityQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.AckNack;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Gap;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
 import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
 import pinorobotics.rtpstalk.tests.TestConstants;
+import pinorobotics.rtpstalk.tests.spec.discovery.spdp.TestDataChannel;
 import pinorobotics.rtpstalk.tests.spec.discovery.spdp.TestDataChannelFactory;
 
 /**
@@ -52,6 +59,7 @@ public class StatefullReliableRtpsReaderTest {
                         TestConstants.TEST_TRACING_TOKEN,
                         RtpsTalkDataMessage.class,
                         new SameThreadExecutorService(),
+                        TestConstants.TEST_TIMER,
                         new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
                         TestConstants.TEST_READER_ENTITY_ID,
                         new ReaderQosPolicySet(
@@ -83,14 +91,20 @@ public class StatefullReliableRtpsReaderTest {
     }
 
     @Test
-    public void test_transient_local_marks_previous_missing() {
+    public void test_transient_local_marks_previous_missing() throws Exception {
         var dataChannelFactory = new TestDataChannelFactory();
+        var config =
+                new RtpsTalkConfiguration.Builder()
+                        .guidPrefix(TestConstants.TEST_GUID_PREFIX.value)
+                        .heartbeatResponseDelay(Duration.ZERO)
+                        .build();
         var reader =
                 new StatefullReliableRtpsReader<>(
-                        TestConstants.TEST_CONFIG_INTERNAL,
+                        new RtpsTalkConfigurationInternal(config),
                         TestConstants.TEST_TRACING_TOKEN,
                         RtpsTalkDataMessage.class,
                         new SameThreadExecutorService(),
+                        TestConstants.TEST_TIMER,
                         new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
                         TestConstants.TEST_READER_ENTITY_ID,
                         new ReaderQosPolicySet(
@@ -114,16 +128,70 @@ public class StatefullReliableRtpsReaderTest {
                             11));
             publisher.submit(RtpsReaderTest.newRtpsMessage(3, "ccc"));
             Assertions.assertEquals("[]", items.toString());
-            XAsserts.assertEquals(
-                    getClass(),
-                    "test_transient_local_marks_previous_missing",
+            // AckNack is sent on the next tick of the timer
+            var ackNack =
                     dataChannelFactory
                             .getChannels()
                             .values()
                             .iterator()
                             .next()
                             .getDataQueue()
-                            .toString());
+                            .poll(1, TimeUnit.SECONDS);
+            XAsserts.assertEquals(
+                    getClass(),
+                    "test_transient_local_marks_previous_missing",
+                    List.of(ackNack).toString());
+        }
+    }
+
+    @Test
+    public void test_heartbeats_are_coalesced() throws Exception {
+        var config =
+                new RtpsTalkConfiguration.Builder()
+                        .guidPrefix(TestConstants.TEST_GUID_PREFIX.value)
+                        .heartbeatResponseDelay(Duration.ofMillis(200))
+                        .build();
+        var dataChannelFactory = new TestDataChannelFactory(config);
+        var channel = new TestDataChannel(TestConstants.TEST_GUID_PREFIX, false);
+        dataChannelFactory.addChannel(TestConstants.TEST_DEFAULT_UNICAST_LOCATOR, channel);
+        var reader =
+                new StatefullReliableRtpsReader<>(
+                        new RtpsTalkConfigurationInternal(config),
+                        TestConstants.TEST_TRACING_TOKEN,
+                        RtpsTalkDataMessage.class,
+                        new SameThreadExecutorService(),
+                        TestConstants.TEST_TIMER,
+                        new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
+                        TestConstants.TEST_READER_ENTITY_ID,
+                        new ReaderQosPolicySet(
+                                ReliabilityQosPolicy.Kind.RELIABLE,
+                                DurabilityQosPolicy.Kind.VOLATILE_DURABILITY_QOS),
+                        dataChannelFactory);
+        try (var publisher = new SynchronousPublisher<RtpsMessage>()) {
+            publisher.subscribe(reader);
+            reader.matchedWriterAdd(
+                    TestConstants.TEST_GUID_WRITER,
+                    List.of(TestConstants.TEST_DEFAULT_UNICAST_LOCATOR));
+            for (int i = 1; i <= 3; i++) {
+                reader.onHeartbeat(
+                        TestConstants.TEST_GUID_WRITER.guidPrefix,
+                        new Heartbeat(
+                                TestConstants.TEST_READER_ENTITY_ID,
+                                TestConstants.TEST_WRITER_ENTITY_ID,
+                                1,
+                                i,
+                                i));
+                publisher.submit(RtpsReaderTest.newRtpsMessage(i, "a"));
+            }
+            Assertions.assertTrue(channel.getDataQueue().isEmpty());
+            var message = channel.getDataQueue().poll(1, TimeUnit.SECONDS);
+            Assertions.assertNotNull(message);
+            var ackNack = (AckNack) message.submessages[1];
+            Assertions.assertEquals(4, ackNack.readerSNState.bitmapBase.value);
+            Assertions.assertEquals(1, ackNack.count.value);
+            Assertions.assertNull(channel.getDataQueue().poll(300, TimeUnit.MILLISECONDS));
+        } finally {
+            reader.close();
         }
     }
 
@@ -136,6 +204,7 @@ public class StatefullReliableRtpsReaderTest {
                         TestConstants.TEST_TRACING_TOKEN,
                         RtpsTalkDataMessage.class,
                         new SameThreadExecutorService(),
+                        TestConstants.TEST_TIMER,
                         new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
                         TestConstants.TEST_READER_ENTITY_ID,
                         new ReaderQosPolicySet(
@@ -166,4 +235,49 @@ public class StatefullReliableRtpsReaderTest {
                     items.toString());
         }
     }
+
+    @Test
+    public void test_submitted_changes_are_removed() {
+        var reader =
+                new StatefullReliableRtpsReader<>(
+                        TestConstants.TEST_CONFIG_INTERNAL,
+                        TestConstants.TEST_TRACING_TOKEN,
+                        RtpsTalkDataMessage.class,
+                        new SameThreadExecutorService(),
+                        TestConstants.TEST_TIMER,
+                        new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
+                        TestConstants.TEST_READER_ENTITY_ID,
+                        new ReaderQosPolicySet(
+                                ReliabilityQosPolicy.Kind.RELIABLE,
+                                DurabilityQosPolicy.Kind.TRANSIENT_LOCAL_DURABILITY_QOS,
+                                new HistoryQosPolicy(
+                                        HistoryQosPolicy.Kind.KEEP_LAST_HISTORY_QOS, 2)),
+                        TestConstants.TEST_DATA_CHANNEL_FACTORY);
+        var items = new ArrayList<RtpsTalkDataMessage>();
+        reader.subscribe(new CollectorSubscriber<>(items));
+        try (var publisher = new SynchronousPublisher<RtpsMessage>()) {
+            publisher.subscribe(reader);
+            reader.matchedWriterAdd(
+                    TestConstants.TEST_GUID_WRITER,
+                    List.of(TestConstants.TEST_DEFAULT_UNICAST_LOCATOR));
+            var cache = reader.getReaderCache();
+            publisher.submit(RtpsReaderTest.newRtpsMessage(1, "a"));
+            publisher.submit(RtpsReaderTest.newRtpsMessage(2, "b"));
+            publisher.submit(RtpsReaderTest.newRtpsMessage(3, "c"));
+            Assertions.assertEquals(3, items.size());
+            Assertions.assertEquals(2, cache.getNumberOfChanges(TestConstants.TEST_GUID_WRITER));
+            Assertions.assertEquals(2, cache.getSeqNumMin(TestConstants.TEST_GUID_WRITER));
+
+            // changes which are not submitted yet are kept
+            publisher.submit(RtpsReaderTest.newRtpsMessage(5, "e"));
+            Assertions.assertEquals(3, cache.getNumberOfChanges(TestConstants.TEST_GUID_WRITER));
+
+            // already submitted changes are not submitted again
+            publisher.submit(RtpsReaderTest.newRtpsMessage(1, "a"));
+            publisher.submit(RtpsReaderTest.newRtpsMessage(4, "d"));
+            Assertions.assertEquals(5, items.size());
+            Assertions.assertEquals(2, cache.getNumberOfChanges(TestConstants.TEST_GUID_WRITER));
+            Assertions.assertEquals(4, cache.getSeqNumMin(TestConstants.TEST_GUID_WRITER));
+        }
+    }
 }
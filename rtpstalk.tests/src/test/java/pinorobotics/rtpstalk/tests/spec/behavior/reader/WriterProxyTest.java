@@ -58,4 +58,31 @@ public class WriterProxyTest {
         wp.missingChangesUpdate(10, 14);
         Assertions.assertArrayEquals(new long[] {11, 12, 14}, wp.missingChangesSorted());
     }
+
+    @Test
+    public void test_removeAllBelow() {
+        var wp =
+                new WriterProxy(
+                        TestConstants.TEST_TRACING_TOKEN,
+                        new TestDataChannelFactory(),
+                        TestConstants.TEST_CONFIG_INTERNAL.maxSubmessageSize(),
+                        new Guid(
+                                TestConstants.TEST_GUID_PREFIX,
+                                EntityId.Predefined.ENTITYID_PARTICIPANT.getValue()),
+                        new Guid(
+                                TestConstants.TEST_REMOTE_GUID_PREFIX,
+                                EntityId.Predefined.ENTITYID_PARTICIPANT.getValue()),
+                        List.of());
+        wp.missingChangesUpdate(1, 10);
+        wp.receivedChangeSet(12);
+        wp.removeAllBelow(6);
+        Assertions.assertArrayEquals(new long[] {6, 7, 8, 9, 10}, wp.missingChangesSorted());
+
+        // changes below low-water mark are not tracked anymore
+        wp.missingChangesUpdate(1, 14);
+        wp.irrelevantChangeSetClosed(1, 6);
+        Assertions.assertArrayEquals(
+                new long[] {7, 8, 9, 10, 11, 13, 14}, wp.missingChangesSorted());
+        Assertions.assertEquals(12, wp.availableChangesMax());
+    }
 }
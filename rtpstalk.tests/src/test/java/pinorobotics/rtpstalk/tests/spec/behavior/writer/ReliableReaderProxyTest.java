@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
 import pinorobotics.rtpstalk.impl.spec.behavior.writer.ReliableReaderProxy;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
 import pinorobotics.rtpstalk.tests.TestConstants;
 
 /**
@@ -40,16 +41,16 @@ public class ReliableReaderProxyTest {
         readerProxy.ackedChanges(100);
         Assertions.assertEquals("[]", readerProxy.requestedChanges().toString());
         Assertions.assertEquals(100, readerProxy.getHighestAckedSeqNum());
-        readerProxy.requestedChanges(List.of(1L));
+        readerProxy.requestedChanges(new SequenceNumberSet(1, 1, 1));
         Assertions.assertEquals("[1]", readerProxy.requestedChanges().toString());
         Assertions.assertEquals(100, readerProxy.getHighestAckedSeqNum());
-        readerProxy.requestedChanges(List.of(1L, 1L, 1L, 1L));
+        readerProxy.requestedChanges(new SequenceNumberSet(1, 1, 1));
         Assertions.assertEquals("[1]", readerProxy.requestedChanges().toString());
         Assertions.assertEquals(100, readerProxy.getHighestAckedSeqNum());
-        readerProxy.requestedChanges(List.of(2L, 2L));
+        readerProxy.requestedChanges(new SequenceNumberSet(2, 1, 1));
         Assertions.assertEquals("[2]", readerProxy.requestedChanges().toString());
         Assertions.assertEquals(100, readerProxy.getHighestAckedSeqNum());
-        readerProxy.requestedChanges(List.of(102L, 121L, 15L, 121L));
+        readerProxy.requestedChanges(new SequenceNumberSet(15, 107, 1, 0, 1 << 23, 1 << 10));
         Assertions.assertEquals("[15, 102, 121]", readerProxy.requestedChanges().toString());
         Assertions.assertEquals(100, readerProxy.getHighestAckedSeqNum());
         readerProxy.ackedChanges(110);
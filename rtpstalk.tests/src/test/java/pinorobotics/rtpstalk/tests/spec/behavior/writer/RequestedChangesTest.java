@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.tests.spec.behavior.writer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.rtpstalk.impl.spec.behavior.writer.RequestedChanges;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
+
+/**
+ * @author aeon_flux aeon_flux@eclipso.ch
+ */
+public class RequestedChangesTest {
+
+    @Test
+    public void test() {
+        var requested = new RequestedChanges();
+        Assertions.assertEquals(true, requested.isEmpty());
+        Assertions.assertEquals("[]", requested.toString());
+
+        requested.set(new SequenceNumberSet(11, 10, 1023));
+        Assertions.assertEquals("[11, 12, 13, 14, 15, 16, 17, 18, 19, 20]", requested.toString());
+        Assertions.assertEquals(10, requested.size());
+
+        requested.set(new SequenceNumberSet(100, 256, 1, 0, 0, 0, 0, 0, 0, 1 << 31 | 1));
+        Assertions.assertEquals("[100, 324, 355]", requested.toString());
+        Assertions.assertEquals(true, requested.contains(324));
+        Assertions.assertEquals(false, requested.contains(325));
+        Assertions.assertEquals(false, requested.contains(356));
+
+        requested.removeAllBelow(101);
+        Assertions.assertEquals("[324, 355]", requested.toString());
+        requested.removeAllBelow(355);
+        Assertions.assertEquals("[355]", requested.toString());
+        requested.removeAllBelow(1000);
+        Assertions.assertEquals(true, requested.isEmpty());
+    }
+}
@@ -21,10 +21,16 @@ import id.xfunction.concurrent.flow.SynchronousPublisher;
 import id.xfunction.lang.XThread;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
 import pinorobotics.rtpstalk.WriterSettings;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
 import pinorobotics.rtpstalk.impl.qos.WriterQosPolicySet;
@@ -33,11 +39,15 @@ import pinorobotics.rtpstalk.impl.spec.behavior.writer.StatefullReliableRtpsWrit
 import pinorobotics.rtpstalk.impl.spec.messages.DurabilityQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.Header;
+import pinorobotics.rtpstalk.impl.spec.messages.Locator;
+import pinorobotics.rtpstalk.impl.spec.messages.LocatorKind;
 import pinorobotics.rtpstalk.impl.spec.messages.ProtocolId;
 import pinorobotics.rtpstalk.impl.spec.messages.ReliabilityQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.ReliabilityQosPolicy.Kind;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.AckNack;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.Count;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityKind;
@@ -46,6 +56,7 @@ import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNum
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.VendorId;
 import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
 import pinorobotics.rtpstalk.tests.TestConstants;
+import pinorobotics.rtpstalk.tests.spec.discovery.spdp.TestDataChannel;
 import pinorobotics.rtpstalk.tests.spec.discovery.spdp.TestDataChannelFactory;
 
 /**
@@ -75,6 +86,7 @@ public class StatefullReliableRtpsWriterTest {
                                 config,
                                 TestConstants.TEST_TRACING_TOKEN,
                                 TestConstants.TEST_PUBLISHER_EXECUTOR,
+                                TestConstants.TEST_TIMER,
                                 new TestDataChannelFactory(config.publicConfig()),
                                 operatingEntities,
                                 writerGuid.entityId,
@@ -130,6 +142,79 @@ public class StatefullReliableRtpsWriterTest {
         }
     }
 
+    @Test
+    public void test_multicast() throws Exception {
+        var config =
+                new RtpsTalkConfigurationInternal(
+                        new RtpsTalkConfiguration.Builder()
+                                .guidPrefix(TestConstants.TEST_GUID_PREFIX.value)
+                                .userDataMulticast()
+                                .build());
+        var multicastLocator =
+                Locator.createDefaultUserDataMulticastLocator(config.publicConfig().domainId());
+        var unicastLocator2 =
+                new Locator(
+                        LocatorKind.LOCATOR_KIND_UDPv4, 7014, TestConstants.TEST_REMOTE_ADDRESS);
+        var writerGuid =
+                new Guid(
+                        TestConstants.TEST_GUID_PREFIX, new EntityId(22, EntityKind.WRITER_NO_KEY));
+        var channelFactory = new TestDataChannelFactory(config.publicConfig());
+        try (var writer =
+                        new StatefullReliableRtpsWriter<>(
+                                config,
+                                TestConstants.TEST_TRACING_TOKEN,
+                                TestConstants.TEST_PUBLISHER_EXECUTOR,
+                                TestConstants.TEST_TIMER,
+                                channelFactory,
+                                new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
+                                writerGuid.entityId,
+                                new WriterQosPolicySet(
+                                        ReliabilityQosPolicy.Kind.RELIABLE,
+                                        DurabilityQosPolicy.Kind.VOLATILE_DURABILITY_QOS),
+                                new WriterSettings(false));
+                var publisher = new SynchronousPublisher<RtpsTalkDataMessage>(); ) {
+            publisher.subscribe(writer);
+            var qosPolicy =
+                    new ReaderQosPolicySet(
+                            Kind.BEST_EFFORT, DurabilityQosPolicy.Kind.VOLATILE_DURABILITY_QOS);
+            writer.matchedReaderAdd(
+                    new Guid(
+                            TestConstants.TEST_REMOTE_GUID_PREFIX,
+                            new EntityId(22, EntityKind.READER_NO_KEY)),
+                    List.of(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR),
+                    List.of(multicastLocator),
+                    qosPolicy);
+            writer.matchedReaderAdd(
+                    new Guid(
+                            TestConstants.TEST_GUID_PREFIX,
+                            new EntityId(23, EntityKind.READER_NO_KEY)),
+                    List.of(unicastLocator2),
+                    List.of(multicastLocator),
+                    qosPolicy);
+            publisher.submit(new RtpsTalkDataMessage("hello"));
+
+            // change is sent once to the multicast group and not to each of the readers
+            var channels = channelFactory.getChannels();
+            var message = channels.get(multicastLocator).getDataQueue().poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(message);
+            var data =
+                    Arrays.stream(message.getSubmessages())
+                            .filter(Data.class::isInstance)
+                            .map(Data.class::cast)
+                            .findFirst()
+                            .orElseThrow();
+            Assertions.assertEquals(EntityId.Predefined.ENTITYID_UNKNOWN.getValue(), data.readerId);
+            Assertions.assertEquals(1, data.writerSN.value);
+            XThread.sleep(100);
+            Assertions.assertTrue(channels.get(multicastLocator).getDataQueue().isEmpty());
+            Assertions.assertTrue(
+                    channels.get(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR)
+                            .getDataQueue()
+                            .isEmpty());
+            Assertions.assertTrue(channels.get(unicastLocator2).getDataQueue().isEmpty());
+        }
+    }
+
     @Test
     public void test_ignore_pendings_changes_for_best_effort_readers() throws IOException {
         var writerGuid =
@@ -144,6 +229,7 @@ public class StatefullReliableRtpsWriterTest {
                                 TestConstants.TEST_CONFIG_INTERNAL,
                                 TestConstants.TEST_TRACING_TOKEN,
                                 TestConstants.TEST_PUBLISHER_EXECUTOR,
+                                TestConstants.TEST_TIMER,
                                 new TestDataChannelFactory(),
                                 operatingEntities,
                                 writerGuid.entityId,
@@ -163,4 +249,487 @@ public class StatefullReliableRtpsWriterTest {
         }
         // writer is closed and pending changes discarded
     }
+
+    @Test
+    public void test_piggyback_heartbeat() throws Exception {
+        var writerGuid =
+                new Guid(
+                        TestConstants.TEST_GUID_PREFIX, new EntityId(22, EntityKind.WRITER_NO_KEY));
+        var readerGuid =
+                new Guid(
+                        TestConstants.TEST_REMOTE_GUID_PREFIX,
+                        new EntityId(22, EntityKind.READER_NO_KEY));
+        var channelFactory = new TestDataChannelFactory();
+        try (var writer =
+                        new StatefullReliableRtpsWriter<>(
+                                TestConstants.TEST_CONFIG_INTERNAL,
+                                TestConstants.TEST_TRACING_TOKEN,
+                                TestConstants.TEST_PUBLISHER_EXECUTOR,
+                                TestConstants.TEST_TIMER,
+                                channelFactory,
+                                new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
+                                writerGuid.entityId,
+                                new WriterQosPolicySet(
+                                        ReliabilityQosPolicy.Kind.RELIABLE,
+                                        DurabilityQosPolicy.Kind.VOLATILE_DURABILITY_QOS),
+                                new WriterSettings(true));
+                var publisher = new SynchronousPublisher<RtpsTalkDataMessage>(); ) {
+            publisher.subscribe(writer);
+            writer.matchedReaderAdd(
+                    readerGuid,
+                    List.of(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR),
+                    new ReaderQosPolicySet());
+            publisher.submit(new RtpsTalkDataMessage("hello"));
+            var channel =
+                    channelFactory
+                            .getChannels()
+                            .get(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR);
+            RtpsMessage message;
+            do {
+                message = channel.getDataQueue().poll(5, TimeUnit.SECONDS);
+                Assertions.assertNotNull(message);
+            } while (Arrays.stream(message.getSubmessages()).noneMatch(Data.class::isInstance));
+            // heartbeat follows the data inside the same message
+            var submessages = message.getSubmessages();
+            var heartbeat = (Heartbeat) submessages[submessages.length - 1];
+            Assertions.assertEquals(readerGuid.entityId, heartbeat.readerId);
+            Assertions.assertEquals(1, heartbeat.firstSN.value);
+            Assertions.assertEquals(1, heartbeat.lastSN.value);
+            Assertions.assertFalse(heartbeat.isFinal());
+            // reader never acknowledges the change so we remove it to let writer close
+            writer.matchedReaderRemove(readerGuid);
+        }
+    }
+
+    /**
+     * Writer timer task is run by the test itself with the fake clock, so that the periods between
+     * the heartbeats do not depend on how busy the timer thread is.
+     */
+    @Test
+    public void test_adaptive_heartbeat() throws Exception {
+        var config =
+                new RtpsTalkConfigurationInternal(
+                        new RtpsTalkConfiguration.Builder()
+                                .guidPrefix(TestConstants.TEST_GUID_PREFIX.value)
+                                .heartbeatPeriod(Duration.ofMillis(200))
+                                .fastHeartbeatPeriod(Duration.ofMillis(50))
+                                .maxHeartbeatPeriod(Duration.ofMillis(400))
+                                .build());
+        var writerGuid =
+                new Guid(
+                        TestConstants.TEST_GUID_PREFIX, new EntityId(22, EntityKind.WRITER_NO_KEY));
+        var readerGuid =
+                new Guid(
+                        TestConstants.TEST_REMOTE_GUID_PREFIX,
+                        new EntityId(22, EntityKind.READER_NO_KEY));
+        var channelFactory = new TestDataChannelFactory(config.publicConfig());
+        var clock = new AtomicLong();
+        // timer never runs the writer task during the test
+        try (var timer =
+                        new HashedWheelTimer(
+                                TestConstants.TEST_TRACING_TOKEN, Duration.ofHours(1));
+                var writer =
+                        new StatefullReliableRtpsWriter<>(
+                                config,
+                                TestConstants.TEST_TRACING_TOKEN,
+                                TestConstants.TEST_PUBLISHER_EXECUTOR,
+                                timer,
+                                channelFactory,
+                                new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
+                                writerGuid.entityId,
+                                new WriterQosPolicySet(
+                                        ReliabilityQosPolicy.Kind.RELIABLE,
+                                        DurabilityQosPolicy.Kind.VOLATILE_DURABILITY_QOS),
+                                new WriterSettings(false),
+                                clock::get);
+                var publisher = new SynchronousPublisher<RtpsTalkDataMessage>();
+                var receiver = new SynchronousPublisher<RtpsMessage>(); ) {
+            receiver.subscribe(writer.getWriterReader());
+            publisher.subscribe(writer);
+            writer.matchedReaderAdd(
+                    readerGuid,
+                    List.of(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR),
+                    new ReaderQosPolicySet());
+            publisher.submit(new RtpsTalkDataMessage("hello"));
+            var channel =
+                    channelFactory
+                            .getChannels()
+                            .get(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR);
+            var aggregator =
+                    channelFactory.getControlMessageAggregator(
+                            timer, TestConstants.TEST_PUBLISHER_EXECUTOR);
+            var heartbeatTimes = new ArrayList<Long>();
+            for (long millis = 0; millis <= 2000; millis += 10) {
+                if (millis == 500) {
+                    // change is acknowledged
+                    receiver.submit(
+                            new RtpsMessage(
+                                    new Header(
+                                            ProtocolId.Predefined.RTPS.getValue(),
+                                            ProtocolVersion.Predefined.Version_2_3.getValue(),
+                                            VendorId.Predefined.FASTRTPS.getValue(),
+                                            readerGuid.guidPrefix),
+                                    new AckNack(
+                                            readerGuid.entityId,
+                                            writerGuid.entityId,
+                                            new SequenceNumberSet(2, 0),
+                                            new Count(1))));
+                }
+                clock.set(TimeUnit.MILLISECONDS.toNanos(millis));
+                writer.run();
+                aggregator.flush();
+                if (countHeartbeats(channel) > 0) heartbeatTimes.add(millis);
+            }
+            // heartbeats are sent with fast period while change is not acknowledged, and then
+            // with periods 200, 400, 400...
+            Assertions.assertEquals(
+                    List.of(
+                            0L, 50L, 100L, 150L, 200L, 250L, 300L, 350L, 400L, 450L, 500L, 700L,
+                            1100L, 1500L, 1900L),
+                    heartbeatTimes);
+        }
+    }
+
+    /** Changes requested by the reader are sent before the new change pushed right after them */
+    @Test
+    public void test_push_mode_order() throws Exception {
+        var config =
+                new RtpsTalkConfigurationInternal(
+                        new RtpsTalkConfiguration.Builder()
+                                .guidPrefix(TestConstants.TEST_GUID_PREFIX.value)
+                                // requested changes are not resent by the timer during the test
+                                .heartbeatPeriod(Duration.ofSeconds(5))
+                                .fastHeartbeatPeriod(Duration.ofSeconds(5))
+                                .build());
+        var writerGuid =
+                new Guid(
+                        TestConstants.TEST_GUID_PREFIX, new EntityId(22, EntityKind.WRITER_NO_KEY));
+        var readerGuid =
+                new Guid(
+                        TestConstants.TEST_REMOTE_GUID_PREFIX,
+                        new EntityId(22, EntityKind.READER_NO_KEY));
+        var channelFactory = new TestDataChannelFactory(config.publicConfig());
+        try (var writer =
+                        new StatefullReliableRtpsWriter<>(
+                                config,
+                                TestConstants.TEST_TRACING_TOKEN,
+                                TestConstants.TEST_PUBLISHER_EXECUTOR,
+                                TestConstants.TEST_TIMER,
+                                channelFactory,
+                                new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
+                                writerGuid.entityId,
+                                new WriterQosPolicySet(
+                                        ReliabilityQosPolicy.Kind.RELIABLE,
+                                        DurabilityQosPolicy.Kind.VOLATILE_DURABILITY_QOS),
+                                new WriterSettings(true));
+                var publisher = new SynchronousPublisher<RtpsTalkDataMessage>();
+                var receiver = new SynchronousPublisher<RtpsMessage>(); ) {
+            receiver.subscribe(writer.getWriterReader());
+            publisher.subscribe(writer);
+            writer.matchedReaderAdd(
+                    readerGuid,
+                    List.of(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR),
+                    new ReaderQosPolicySet());
+            var channel =
+                    channelFactory
+                            .getChannels()
+                            .get(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR);
+            publisher.submit(new RtpsTalkDataMessage("c1"));
+            Assertions.assertEquals(List.of(1L), pollDataSeqNums(channel, 1));
+
+            // reader lost c1 and requests it again
+            receiver.submit(
+                    new RtpsMessage(
+                            new Header(
+                                    ProtocolId.Predefined.RTPS.getValue(),
+                                    ProtocolVersion.Predefined.Version_2_3.getValue(),
+                                    VendorId.Predefined.FASTRTPS.getValue(),
+                                    readerGuid.guidPrefix),
+                            new AckNack(
+                                    readerGuid.entityId,
+                                    writerGuid.entityId,
+                                    new SequenceNumberSet(1, 1, 1),
+                                    new Count(1))));
+            publisher.submit(new RtpsTalkDataMessage("c2"));
+            Assertions.assertEquals(List.of(1L, 2L), pollDataSeqNums(channel, 2));
+
+            // reader never acknowledges the changes so we remove it to let writer close
+            writer.matchedReaderRemove(readerGuid);
+        }
+    }
+
+    /**
+     * In push mode changes which reliable readers of the multicast group requested are sent to them
+     * before the new change is pushed to the group
+     */
+    @Test
+    public void test_push_mode_multicast() throws Exception {
+        var config =
+                new RtpsTalkConfigurationInternal(
+                        new RtpsTalkConfiguration.Builder()
+                                .guidPrefix(TestConstants.TEST_GUID_PREFIX.value)
+                                .userDataMulticast()
+                                .build());
+        var multicastLocator =
+                Locator.createDefaultUserDataMulticastLocator(config.publicConfig().domainId());
+        var writerGuid =
+                new Guid(
+                        TestConstants.TEST_GUID_PREFIX, new EntityId(22, EntityKind.WRITER_NO_KEY));
+        var readerGuid =
+                new Guid(
+                        TestConstants.TEST_REMOTE_GUID_PREFIX,
+                        new EntityId(22, EntityKind.READER_NO_KEY));
+        var channelFactory = new TestDataChannelFactory(config.publicConfig());
+        // timer never runs the writer task during the test so requested changes can be sent only
+        // when the new change is pushed
+        try (var timer =
+                        new HashedWheelTimer(
+                                TestConstants.TEST_TRACING_TOKEN, Duration.ofHours(1));
+                var writer =
+                        new StatefullReliableRtpsWriter<>(
+                                config,
+                                TestConstants.TEST_TRACING_TOKEN,
+                                TestConstants.TEST_PUBLISHER_EXECUTOR,
+                                timer,
+                                channelFactory,
+                                new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
+                                writerGuid.entityId,
+                                new WriterQosPolicySet(
+                                        ReliabilityQosPolicy.Kind.RELIABLE,
+                                        DurabilityQosPolicy.Kind.VOLATILE_DURABILITY_QOS),
+                                new WriterSettings(true));
+                var publisher = new SynchronousPublisher<RtpsTalkDataMessage>();
+                var receiver = new SynchronousPublisher<RtpsMessage>(); ) {
+            receiver.subscribe(writer.getWriterReader());
+            publisher.subscribe(writer);
+            writer.matchedReaderAdd(
+                    readerGuid,
+                    List.of(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR),
+                    List.of(multicastLocator),
+                    new ReaderQosPolicySet());
+            var channels = channelFactory.getChannels();
+            var multicastChannel = channels.get(multicastLocator);
+            var unicastChannel = channels.get(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR);
+            publisher.submit(new RtpsTalkDataMessage("c1"));
+            Assertions.assertEquals(List.of(1L), pollDataSeqNums(multicastChannel, 1));
+
+            // reader lost c1 and requests it again
+            receiver.submit(
+                    new RtpsMessage(
+                            new Header(
+                                    ProtocolId.Predefined.RTPS.getValue(),
+                                    ProtocolVersion.Predefined.Version_2_3.getValue(),
+                                    VendorId.Predefined.FASTRTPS.getValue(),
+                                    readerGuid.guidPrefix),
+                            new AckNack(
+                                    readerGuid.entityId,
+                                    writerGuid.entityId,
+                                    new SequenceNumberSet(1, 1, 1),
+                                    new Count(1))));
+            publisher.submit(new RtpsTalkDataMessage("c2"));
+            Assertions.assertEquals(List.of(2L), pollDataSeqNums(multicastChannel, 1));
+            Assertions.assertEquals(List.of(1L), pollDataSeqNums(unicastChannel, 1));
+
+            // reader never acknowledges the changes so we remove it to let writer close
+            writer.matchedReaderRemove(readerGuid);
+        }
+    }
+
+    /** Changes requested by the reader are resent only once per each ACKNACK */
+    @Test
+    public void test_resend_once_per_acknack() throws Exception {
+        var config =
+                new RtpsTalkConfigurationInternal(
+                        new RtpsTalkConfiguration.Builder()
+                                .guidPrefix(TestConstants.TEST_GUID_PREFIX.value)
+                                .heartbeatPeriod(Duration.ofMillis(20))
+                                .fastHeartbeatPeriod(Duration.ofMillis(20))
+                                .build());
+        var writerGuid =
+                new Guid(
+                        TestConstants.TEST_GUID_PREFIX, new EntityId(22, EntityKind.WRITER_NO_KEY));
+        var readerGuid =
+                new Guid(
+                        TestConstants.TEST_REMOTE_GUID_PREFIX,
+                        new EntityId(22, EntityKind.READER_NO_KEY));
+        var channelFactory = new TestDataChannelFactory(config.publicConfig());
+        try (var writer =
+                        new StatefullReliableRtpsWriter<>(
+                                config,
+                                TestConstants.TEST_TRACING_TOKEN,
+                                TestConstants.TEST_PUBLISHER_EXECUTOR,
+                                TestConstants.TEST_TIMER,
+                                channelFactory,
+                                new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
+                                writerGuid.entityId,
+                                new WriterQosPolicySet(
+                                        ReliabilityQosPolicy.Kind.RELIABLE,
+                                        DurabilityQosPolicy.Kind.VOLATILE_DURABILITY_QOS),
+                                new WriterSettings(false));
+                var publisher = new SynchronousPublisher<RtpsTalkDataMessage>();
+                var receiver = new SynchronousPublisher<RtpsMessage>(); ) {
+            receiver.subscribe(writer.getWriterReader());
+            publisher.subscribe(writer);
+            writer.matchedReaderAdd(
+                    readerGuid,
+                    List.of(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR),
+                    new ReaderQosPolicySet());
+            publisher.submit(new RtpsTalkDataMessage("c1"));
+            publisher.submit(new RtpsTalkDataMessage("c2"));
+            var channel =
+                    channelFactory
+                            .getChannels()
+                            .get(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR);
+            var ackNack =
+                    new RtpsMessage(
+                            new Header(
+                                    ProtocolId.Predefined.RTPS.getValue(),
+                                    ProtocolVersion.Predefined.Version_2_3.getValue(),
+                                    VendorId.Predefined.FASTRTPS.getValue(),
+                                    readerGuid.guidPrefix),
+                            new AckNack(
+                                    readerGuid.entityId,
+                                    writerGuid.entityId,
+                                    new SequenceNumberSet(1, 2, 0b11),
+                                    new Count(1)));
+            try {
+                for (int i = 0; i < 2; i++) {
+                    receiver.submit(ackNack);
+                    // writer timer runs many times during this period
+                    XThread.sleep(300);
+                    Assertions.assertEquals(List.of(1L, 2L), drainDataSeqNums(channel));
+                }
+            } finally {
+                // reader never acknowledges the changes so we remove it to let writer close
+                writer.matchedReaderRemove(readerGuid);
+            }
+        }
+    }
+
+    /**
+     * Requested changes which exceed the repair rate are sent later, as the rate allows, without
+     * waiting for the reader to request them again
+     */
+    @Test
+    public void test_repair_rate() throws Exception {
+        var packetBufferSize = RtpsTalkConfiguration.MIN_PACKET_BUFFER_SIZE;
+        var config =
+                new RtpsTalkConfigurationInternal(
+                        new RtpsTalkConfiguration.Builder()
+                                .guidPrefix(TestConstants.TEST_GUID_PREFIX.value)
+                                .packetBufferSize(packetBufferSize)
+                                .repairRate(packetBufferSize)
+                                .repairBurstSize(packetBufferSize)
+                                .build());
+        var writerGuid =
+                new Guid(
+                        TestConstants.TEST_GUID_PREFIX, new EntityId(22, EntityKind.WRITER_NO_KEY));
+        var readerGuid =
+                new Guid(
+                        TestConstants.TEST_REMOTE_GUID_PREFIX,
+                        new EntityId(22, EntityKind.READER_NO_KEY));
+        var channelFactory = new TestDataChannelFactory(config.publicConfig());
+        var clock = new AtomicLong();
+        // timer never runs the writer task during the test and requested changes are sent by the
+        // test thread
+        try (var timer =
+                        new HashedWheelTimer(
+                                TestConstants.TEST_TRACING_TOKEN, Duration.ofHours(1));
+                var writer =
+                        new StatefullReliableRtpsWriter<>(
+                                config,
+                                TestConstants.TEST_TRACING_TOKEN,
+                                Runnable::run,
+                                timer,
+                                channelFactory,
+                                new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
+                                writerGuid.entityId,
+                                new WriterQosPolicySet(
+                                        ReliabilityQosPolicy.Kind.RELIABLE,
+                                        DurabilityQosPolicy.Kind.VOLATILE_DURABILITY_QOS),
+                                new WriterSettings(false),
+                                clock::get);
+                var publisher = new SynchronousPublisher<RtpsTalkDataMessage>();
+                var receiver = new SynchronousPublisher<RtpsMessage>(); ) {
+            receiver.subscribe(writer.getWriterReader());
+            publisher.subscribe(writer);
+            writer.matchedReaderAdd(
+                    readerGuid,
+                    List.of(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR),
+                    new ReaderQosPolicySet());
+            // each change takes more than half of the repair burst
+            var data = new byte[packetBufferSize * 6 / 10];
+            for (int i = 0; i < 3; i++) publisher.submit(new RtpsTalkDataMessage(data));
+            var channel =
+                    channelFactory
+                            .getChannels()
+                            .get(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR);
+            receiver.submit(
+                    new RtpsMessage(
+                            new Header(
+                                    ProtocolId.Predefined.RTPS.getValue(),
+                                    ProtocolVersion.Predefined.Version_2_3.getValue(),
+                                    VendorId.Predefined.FASTRTPS.getValue(),
+                                    readerGuid.guidPrefix),
+                            new AckNack(
+                                    readerGuid.entityId,
+                                    writerGuid.entityId,
+                                    new SequenceNumberSet(1, 3, 0b111),
+                                    new Count(1))));
+            try {
+                writer.run();
+                Assertions.assertEquals(List.of(1L), drainDataSeqNums(channel));
+                // bucket is not refilled yet
+                writer.run();
+                Assertions.assertEquals(List.of(), drainDataSeqNums(channel));
+                clock.set(TimeUnit.SECONDS.toNanos(1));
+                writer.run();
+                Assertions.assertEquals(List.of(2L), drainDataSeqNums(channel));
+                clock.set(TimeUnit.SECONDS.toNanos(2));
+                writer.run();
+                Assertions.assertEquals(List.of(3L), drainDataSeqNums(channel));
+                clock.set(TimeUnit.SECONDS.toNanos(3));
+                writer.run();
+                Assertions.assertEquals(List.of(), drainDataSeqNums(channel));
+            } finally {
+                // reader never acknowledges the changes so we remove it to let writer close
+                writer.matchedReaderRemove(readerGuid);
+            }
+        }
+    }
+
+    private List<Long> drainDataSeqNums(TestDataChannel channel) {
+        var seqNums = new ArrayList<Long>();
+        RtpsMessage message;
+        while ((message = channel.getDataQueue().poll()) != null) {
+            Arrays.stream(message.getSubmessages())
+                    .filter(Data.class::isInstance)
+                    .map(Data.class::cast)
+                    .forEach(data -> seqNums.add(data.writerSN.value));
+        }
+        return seqNums;
+    }
+
+    private List<Long> pollDataSeqNums(TestDataChannel channel, int count) throws Exception {
+        var seqNums = new ArrayList<Long>();
+        while (seqNums.size() < count) {
+            var message = channel.getDataQueue().poll(5, TimeUnit.SECONDS);
+            Assertions.assertNotNull(message);
+            Arrays.stream(message.getSubmessages())
+                    .filter(Data.class::isInstance)
+                    .map(Data.class::cast)
+                    .forEach(data -> seqNums.add(data.writerSN.value));
+        }
+        return seqNums;
+    }
+
+    private int countHeartbeats(TestDataChannel channel) {
+        var count = 0;
+        RtpsMessage message;
+        while ((message = channel.getDataQueue().poll()) != null) {
+            if (Arrays.stream(message.getSubmessages()).anyMatch(Heartbeat.class::isInstance))
+                count++;
+        }
+        return count;
+    }
 }
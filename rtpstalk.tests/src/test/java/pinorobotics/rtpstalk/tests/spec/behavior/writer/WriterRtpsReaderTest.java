@@ -50,6 +50,7 @@ public class WriterRtpsReaderTest {
                         TestConstants.TEST_CONFIG_INTERNAL,
                         TestConstants.TEST_TRACING_TOKEN,
                         TestConstants.TEST_PUBLISHER_EXECUTOR,
+                        TestConstants.TEST_TIMER,
                         new TestDataChannelFactory(TestConstants.TEST_CONFIG),
                         new LocalOperatingEntities(TestConstants.TEST_TRACING_TOKEN),
                         TestConstants.TEST_WRITER_ENTITY_ID,
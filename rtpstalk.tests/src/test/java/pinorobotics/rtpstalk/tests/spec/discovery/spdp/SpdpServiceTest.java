@@ -88,6 +88,7 @@ public class SpdpServiceTest {
                 new MetatrafficMulticastService(
                         TestConstants.TEST_CONFIG_INTERNAL,
                         TestConstants.TEST_PUBLISHER_EXECUTOR,
+                        TestConstants.TEST_TIMER,
                         channelFactory,
                         receiverFactory);
     }
@@ -128,6 +129,7 @@ public class SpdpServiceTest {
                                                 java.time.Duration.ofMillis(50))
                                         .build()),
                         TestConstants.TEST_PUBLISHER_EXECUTOR,
+                        TestConstants.TEST_TIMER,
                         channelFactory,
                         receiverFactory)) {
             service.start(
@@ -19,6 +19,7 @@ package pinorobotics.rtpstalk.tests.spec.discovery.spdp;
 
 import id.xfunction.function.Unchecked;
 import id.xfunction.logging.TracingToken;
+import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
@@ -28,6 +29,8 @@ import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
 import pinorobotics.rtpstalk.impl.spec.transport.DataChannel;
+import pinorobotics.rtpstalk.impl.spec.transport.io.EncodedRtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsMessageReader;
 
 /**
  * @author lambdaprime intid@protonmail.com
@@ -37,13 +40,20 @@ public class TestDataChannel extends DataChannel {
     private BlockingQueue<RtpsMessage> dataQueue = new LinkedBlockingQueue<>();
     private BlockingQueue<RtpsMessage> inputQueue = new LinkedBlockingQueue<>();
     private boolean blockReceiveForever;
+    private RtpsMessageReader reader = new RtpsMessageReader();
 
     public TestDataChannel(GuidPrefix prefix, boolean blockReceiveForever) {
         this(prefix.value, blockReceiveForever);
     }
 
     public TestDataChannel(byte[] prefix, boolean blockReceiveForever) {
-        super(new TracingToken("test"), Unchecked.get(DatagramChannel::open), null, prefix, 0);
+        super(
+                new TracingToken("test"),
+                Unchecked.get(DatagramChannel::open),
+                null,
+                prefix,
+                null,
+                false);
         this.blockReceiveForever = blockReceiveForever;
     }
 
@@ -72,6 +82,13 @@ public class TestDataChannel extends DataChannel {
         dataQueue.add(message);
     }
 
+    @Override
+    public void send(Guid guid, EncodedRtpsMessage message) {
+        var buf = ByteBuffer.allocate(message.getLength());
+        message.writeTo(buf, guid);
+        dataQueue.add(Unchecked.get(() -> reader.readRtpsMessage(buf.flip()).get()));
+    }
+
     public BlockingQueue<RtpsMessage> getDataQueue() {
         return dataQueue;
     }
@@ -59,6 +59,12 @@ public class TestDataChannelFactory extends DataChannelFactory {
         return getOrCreateDataChannel(locator);
     }
 
+    @Override
+    public DataChannel connectMulticast(TracingToken tracingToken, Locator locator)
+            throws IOException {
+        return getOrCreateDataChannel(locator);
+    }
+
     public void addChannel(Locator locator, TestDataChannel channel) {
         channels.put(locator, channel);
     }
@@ -136,6 +136,55 @@ public class WriterChangesTest {
                 "[1129999, 97465223]", toString(changes.findAll(List.of(97465223L, 1129999L))));
     }
 
+    @Test
+    public void test_wrap_around() {
+        var changes = new WriterChanges<RtpsTalkDataMessage>(TEST_TRACING_TOKEN);
+        for (long i = 1; i <= 1000; i++) {
+            changes.addChange(new CacheChange<RtpsTalkDataMessage>(TEST_GUID_READER, i, null));
+            changes.removeAllBelow(i - 9);
+        }
+        Assertions.assertEquals(10, changes.getNumberOfChanges());
+        Assertions.assertEquals(991, changes.getSeqNumMin());
+        Assertions.assertEquals(1000, changes.getSeqNumMax());
+        Assertions.assertEquals(
+                "[991, 992, 993, 994, 995, 996, 997, 998, 999, 1000]",
+                toString(changes.getAllSortedBySeqNum()));
+        Assertions.assertEquals("[999, 1000]", toString(changes.getAllSortedBySeqNum(998)));
+        Assertions.assertEquals(false, changes.containsChange(990));
+        Assertions.assertEquals(true, changes.containsChange(991));
+        Assertions.assertEquals(
+                "[991, 1000]", toString(changes.findAll(List.of(1000L, 990L, 991L, 1000L))));
+    }
+
+    @Test
+    public void test_grow_and_overflow() {
+        var changes = new WriterChanges<RtpsTalkDataMessage>(TEST_TRACING_TOKEN);
+        for (long i = 1; i <= 100; i++) {
+            changes.addChange(new CacheChange<RtpsTalkDataMessage>(TEST_GUID_READER, i, null));
+        }
+        Assertions.assertEquals(100, changes.getNumberOfChanges());
+        Assertions.assertEquals(
+                5050,
+                changes.getAllSortedBySeqNum().mapToLong(CacheChange::getSequenceNumber).sum());
+
+        changes.addChange(new CacheChange<RtpsTalkDataMessage>(TEST_GUID_READER, 10_000_000, null));
+        changes.addChange(new CacheChange<RtpsTalkDataMessage>(TEST_GUID_READER, 5_000_000, null));
+        Assertions.assertEquals(102, changes.getNumberOfChanges());
+        Assertions.assertEquals(
+                "[100, 5000000, 10000000]", toString(changes.getAllSortedBySeqNum(99)));
+        Assertions.assertEquals(true, changes.containsChange(5_000_000));
+
+        changes.removeAllBelow(5_000_000);
+        Assertions.assertEquals(2, changes.getNumberOfChanges());
+        Assertions.assertEquals("[5000000, 10000000]", toString(changes.getAllSortedBySeqNum()));
+
+        changes.removeAllBelow(5_000_001);
+        changes.addChange(new CacheChange<RtpsTalkDataMessage>(TEST_GUID_READER, 9_999_999, null));
+        Assertions.assertEquals(2, changes.getNumberOfChanges());
+        Assertions.assertEquals("[9999999, 10000000]", toString(changes.getAllSortedBySeqNum()));
+        Assertions.assertEquals("[10000000]", toString(changes.getAllSortedBySeqNum(9_999_999)));
+    }
+
     private String toString(Stream<CacheChange<RtpsTalkDataMessage>> changes) {
         return changes.map(CacheChange::getSequenceNumber).toList().toString();
     }
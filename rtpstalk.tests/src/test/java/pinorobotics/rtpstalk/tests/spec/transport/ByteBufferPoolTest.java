@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.tests.spec.transport;
+
+import static pinorobotics.rtpstalk.tests.TestConstants.TEST_TRACING_TOKEN;
+
+import id.xfunction.PreconditionException;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.rtpstalk.BufferPoolMode;
+import pinorobotics.rtpstalk.impl.spec.transport.ByteBufferPool;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ByteBufferPoolTest {
+
+    @Test
+    public void test_per_thread() throws Exception {
+        var pool = new ByteBufferPool(TEST_TRACING_TOKEN, 100, false, BufferPoolMode.PER_THREAD, 2);
+        var a = pool.acquire();
+        var b = pool.acquire();
+        var c = pool.acquire();
+        Assertions.assertEquals(100, a.buffer().capacity());
+        Assertions.assertFalse(a.buffer().isDirect());
+        Assertions.assertTrue(a.release());
+        Assertions.assertTrue(b.release());
+        // pool is full so buffer is dropped
+        Assertions.assertTrue(c.release());
+        Assertions.assertSame(b, pool.acquire());
+        Assertions.assertSame(a, pool.acquire());
+        Assertions.assertNotSame(c, pool.acquire());
+        // other threads use their own pools
+        Assertions.assertNotSame(a, CompletableFuture.supplyAsync(pool::acquire).get());
+    }
+
+    @Test
+    public void test_per_thread_release_by_other_thread() throws Exception {
+        var pool = new ByteBufferPool(TEST_TRACING_TOKEN, 100, false, BufferPoolMode.PER_THREAD, 1);
+        var a = pool.acquire();
+        Assertions.assertTrue(CompletableFuture.supplyAsync(a::release).get());
+        // buffer is returned to the pool of the thread which acquired it
+        Assertions.assertNotSame(a, CompletableFuture.supplyAsync(pool::acquire).get());
+        Assertions.assertSame(a, pool.acquire());
+        // pool is full
+        var b = pool.acquire();
+        a.release();
+        CompletableFuture.runAsync(b::release).get();
+        Assertions.assertSame(a, pool.acquire());
+        Assertions.assertNotSame(b, pool.acquire());
+    }
+
+    @Test
+    public void test_striped() throws Exception {
+        var pool = new ByteBufferPool(TEST_TRACING_TOKEN, 100, true, BufferPoolMode.STRIPED, 1);
+        var a = pool.acquire();
+        Assertions.assertTrue(a.buffer().isDirect());
+        a.buffer().putInt(123);
+        a.release();
+        // single stripe is shared between all threads
+        var b = CompletableFuture.supplyAsync(pool::acquire).get();
+        Assertions.assertSame(a, b);
+        Assertions.assertEquals(0, b.buffer().position());
+        Assertions.assertEquals(100, b.buffer().limit());
+    }
+
+    @Test
+    public void test_ref_count() {
+        var pool = new ByteBufferPool(TEST_TRACING_TOKEN, 100, false, BufferPoolMode.PER_THREAD, 2);
+        var a = pool.acquire().retain();
+        Assertions.assertEquals(2, a.refCount());
+        Assertions.assertFalse(a.release());
+        Assertions.assertNotSame(a, pool.acquire());
+        Assertions.assertTrue(a.release());
+        Assertions.assertThrows(PreconditionException.class, a::release);
+        Assertions.assertThrows(PreconditionException.class, a::retain);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.tests.spec.transport;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
+import pinorobotics.rtpstalk.impl.spec.messages.Guid;
+import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.AckNack;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoDestination;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Submessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityKind;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
+import pinorobotics.rtpstalk.impl.spec.transport.ControlMessageAggregator;
+import pinorobotics.rtpstalk.tests.TestConstants;
+import pinorobotics.rtpstalk.tests.spec.discovery.spdp.TestDataChannel;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ControlMessageAggregatorTest {
+
+    private static final Guid REMOTE_READER =
+            new Guid(
+                    TestConstants.TEST_REMOTE_GUID_PREFIX,
+                    new EntityId(22, EntityKind.READER_NO_KEY));
+    private static final Guid REMOTE_WRITER =
+            new Guid(
+                    TestConstants.TEST_REMOTE_GUID_PREFIX,
+                    new EntityId(23, EntityKind.WRITER_NO_KEY));
+
+    @Test
+    public void test_aggregation() throws Exception {
+        // timer which does not tick during the test so that flush happens only when requested
+        try (var timer =
+                new HashedWheelTimer(TestConstants.TEST_TRACING_TOKEN, Duration.ofHours(1))) {
+            var aggregator =
+                    new ControlMessageAggregator(
+                            TestConstants.TEST_TRACING_TOKEN,
+                            TestConstants.TEST_GUID_PREFIX,
+                            RtpsTalkConfiguration.MIN_PACKET_BUFFER_SIZE,
+                            Optional.of(timer),
+                            TestConstants.TEST_PUBLISHER_EXECUTOR);
+            var channel = new TestDataChannel(TestConstants.TEST_GUID_PREFIX, false);
+            var locators = List.of(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR);
+            var otherChannel = new TestDataChannel(TestConstants.TEST_GUID_PREFIX, false);
+            var otherLocators = List.of(TestConstants.TEST_REMOTE_METATRAFFIC_UNICAST_LOCATOR);
+            aggregator.add(channel, REMOTE_READER, locators, List.of(newHeartbeat(1)));
+            aggregator.add(channel, REMOTE_WRITER, locators, List.of(newAckNack(1)));
+            aggregator.add(otherChannel, REMOTE_READER, otherLocators, List.of(newHeartbeat(2)));
+            aggregator.add(channel, REMOTE_READER, locators, List.of(newHeartbeat(3)));
+            Assertions.assertTrue(channel.getDataQueue().isEmpty());
+            Assertions.assertTrue(otherChannel.getDataQueue().isEmpty());
+
+            aggregator.flush();
+
+            var message = channel.getDataQueue().poll();
+            Assertions.assertNotNull(message);
+            Assertions.assertEquals(
+                    List.of(InfoDestination.class, Heartbeat.class, AckNack.class, Heartbeat.class),
+                    submessageTypes(message));
+            Assertions.assertEquals(
+                    TestConstants.TEST_REMOTE_GUID_PREFIX,
+                    ((InfoDestination) message.submessages[0]).guidPrefix);
+            Assertions.assertEquals(TestConstants.TEST_GUID_PREFIX, message.header.guidPrefix);
+
+            // different locators of the same participant are not mixed
+            message = otherChannel.getDataQueue().poll();
+            Assertions.assertNotNull(message);
+            Assertions.assertEquals(
+                    List.of(InfoDestination.class, Heartbeat.class), submessageTypes(message));
+
+            Assertions.assertTrue(channel.getDataQueue().isEmpty());
+            Assertions.assertTrue(otherChannel.getDataQueue().isEmpty());
+        }
+    }
+
+    /** Timer thread only triggers sending, messages are sent by the executor */
+    @Test
+    public void test_send_on_executor() throws Exception {
+        var tasks = new LinkedBlockingQueue<Runnable>();
+        try (var timer =
+                new HashedWheelTimer(TestConstants.TEST_TRACING_TOKEN, Duration.ofMillis(1))) {
+            var aggregator =
+                    new ControlMessageAggregator(
+                            TestConstants.TEST_TRACING_TOKEN,
+                            TestConstants.TEST_GUID_PREFIX,
+                            RtpsTalkConfiguration.MIN_PACKET_BUFFER_SIZE,
+                            Optional.of(timer),
+                            tasks::add);
+            var channel = new TestDataChannel(TestConstants.TEST_GUID_PREFIX, false);
+            aggregator.add(
+                    channel,
+                    REMOTE_READER,
+                    List.of(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR),
+                    List.of(newHeartbeat(1)));
+            var task = tasks.poll(1, TimeUnit.MINUTES);
+            Assertions.assertNotNull(task);
+            Assertions.assertTrue(channel.getDataQueue().isEmpty());
+            task.run();
+            Assertions.assertEquals(1, channel.getDataQueue().size());
+        }
+    }
+
+    @Test
+    public void test_without_timer() {
+        var aggregator =
+                new ControlMessageAggregator(
+                        TestConstants.TEST_TRACING_TOKEN,
+                        TestConstants.TEST_GUID_PREFIX,
+                        RtpsTalkConfiguration.MIN_PACKET_BUFFER_SIZE);
+        var channel = new TestDataChannel(TestConstants.TEST_GUID_PREFIX, false);
+        var locators = List.of(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR);
+        aggregator.add(channel, REMOTE_READER, locators, List.of(newHeartbeat(1)));
+        Assertions.assertEquals(1, channel.getDataQueue().size());
+        aggregator.add(channel, REMOTE_WRITER, locators, List.of());
+        Assertions.assertEquals(1, channel.getDataQueue().size());
+    }
+
+    @Test
+    public void test_message_is_full() {
+        var aggregator =
+                new ControlMessageAggregator(
+                        TestConstants.TEST_TRACING_TOKEN,
+                        TestConstants.TEST_GUID_PREFIX,
+                        RtpsTalkConfiguration.MIN_PACKET_BUFFER_SIZE);
+        var channel = new TestDataChannel(TestConstants.TEST_GUID_PREFIX, false);
+        List<Submessage> heartbeats =
+                IntStream.rangeClosed(1, 500)
+                        .mapToObj(ControlMessageAggregatorTest::newHeartbeat)
+                        .map(Submessage.class::cast)
+                        .toList();
+        aggregator.add(
+                channel,
+                REMOTE_READER,
+                List.of(TestConstants.TEST_REMOTE_DEFAULT_UNICAST_LOCATOR),
+                heartbeats);
+        var messages = List.copyOf(channel.getDataQueue());
+        Assertions.assertTrue(messages.size() > 1);
+        var count = 0;
+        for (var message : messages) {
+            Assertions.assertInstanceOf(InfoDestination.class, message.submessages[0]);
+            count += message.submessages.length - 1;
+        }
+        Assertions.assertEquals(heartbeats.size(), count);
+    }
+
+    private static List<Class<?>> submessageTypes(RtpsMessage message) {
+        return Arrays.stream(message.submessages).<Class<?>>map(Object::getClass).toList();
+    }
+
+    private static Heartbeat newHeartbeat(int count) {
+        return new Heartbeat(REMOTE_READER.entityId, REMOTE_WRITER.entityId, 1, 10, count);
+    }
+
+    private static AckNack newAckNack(int count) {
+        return new AckNack(
+                REMOTE_READER.entityId, REMOTE_WRITER.entityId, new SequenceNumberSet(11), count);
+    }
+}
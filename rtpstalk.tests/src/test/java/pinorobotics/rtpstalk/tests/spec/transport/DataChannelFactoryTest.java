@@ -36,7 +36,8 @@ public class DataChannelFactoryTest {
     public void test() throws UnknownHostException {
         var addr = InetAddress.getByAddress(XByte.copyAsByteLiterals(0x1, 0x1, 0x1, 0x1));
         var locator =
-                new DataChannelFactory(TestConstants.TEST_TRACING_TOKEN, null)
+                new DataChannelFactory(
+                                TestConstants.TEST_TRACING_TOKEN, TestConstants.TEST_CONFIG)
                         .findLocator(
                                 List.of(
                                         new Locator(LocatorKind.LOCATOR_KIND_INVALID, 0, addr),
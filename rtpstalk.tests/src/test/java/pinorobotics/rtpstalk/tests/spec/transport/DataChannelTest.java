@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.tests.spec.transport;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.spec.messages.Header;
+import pinorobotics.rtpstalk.impl.spec.messages.Locator;
+import pinorobotics.rtpstalk.impl.spec.messages.LocatorKind;
+import pinorobotics.rtpstalk.impl.spec.messages.ProtocolId;
+import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.VendorId;
+import pinorobotics.rtpstalk.impl.spec.transport.DataChannel;
+import pinorobotics.rtpstalk.impl.spec.transport.DataChannelFactory;
+import pinorobotics.rtpstalk.impl.spec.transport.LocalDataChannel;
+import pinorobotics.rtpstalk.tests.TestConstants;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class DataChannelTest {
+
+    private static final Header REMOTE_HEADER =
+            new Header(
+                    ProtocolId.Predefined.RTPS.getValue(),
+                    ProtocolVersion.Predefined.Version_2_3.getValue(),
+                    VendorId.Predefined.RTPSTALK.getValue(),
+                    TestConstants.TEST_REMOTE_GUID_PREFIX);
+
+    @Test
+    public void test_receive_batch() throws Exception {
+        var factory =
+                new DataChannelFactory(TestConstants.TEST_TRACING_TOKEN, TestConstants.TEST_CONFIG);
+        var loopback = InetAddress.getLoopbackAddress();
+        try (var receiver =
+                        factory.bind(
+                                TestConstants.TEST_TRACING_TOKEN,
+                                Optional.of(loopback),
+                                Optional.empty());
+                var sender =
+                        factory.connect(
+                                TestConstants.TEST_TRACING_TOKEN,
+                                List.of(
+                                        new Locator(
+                                                LocatorKind.LOCATOR_KIND_UDPv4,
+                                                receiver.getLocalPort(),
+                                                loopback)))) {
+            assertReceiveBatch(receiver, sender);
+        }
+    }
+
+    @Test
+    public void test_transports() throws Exception {
+        var directory = Files.createTempDirectory("rtpstalk");
+        var config =
+                new RtpsTalkConfiguration.Builder()
+                        .intraProcessTransport()
+                        .sharedMemoryTransport(directory)
+                        .build();
+        var factory = new DataChannelFactory(TestConstants.TEST_TRACING_TOKEN, config);
+        var udpLocator =
+                new Locator(LocatorKind.LOCATOR_KIND_UDPv4, 7411, InetAddress.getLoopbackAddress());
+        var channels = factory.bindTransports(TestConstants.TEST_TRACING_TOKEN, 7411);
+        Assertions.assertEquals(
+                List.of(LocatorKind.LOCATOR_KIND_INTRAPROCESS, LocatorKind.LOCATOR_KIND_SHM),
+                channels.stream().map(c -> c.locator().kind()).toList());
+        Assertions.assertTrue(Files.exists(directory.resolve("rtpstalk-7411")));
+        for (var channel : channels) {
+            // locator of another process or host
+            var otherLocator =
+                    new Locator(
+                            channel.locator().kind(),
+                            7411,
+                            Inet6Address.getByAddress(null, new byte[16], -1));
+            try (var sender =
+                    factory.connect(
+                            TestConstants.TEST_TRACING_TOKEN, List.of(udpLocator, otherLocator))) {
+                Assertions.assertFalse(sender instanceof LocalDataChannel);
+            }
+            try (var receiver = channel.channel();
+                    var sender =
+                            factory.connect(
+                                    TestConstants.TEST_TRACING_TOKEN,
+                                    List.of(udpLocator, channel.locator()))) {
+                Assertions.assertInstanceOf(LocalDataChannel.class, sender);
+                assertReceiveBatch(receiver, sender);
+            }
+        }
+        // files are deleted when channels are closed
+        try (var files = Files.list(directory)) {
+            Assertions.assertEquals(0, files.count());
+        }
+        Files.delete(directory);
+    }
+
+    /** Shared memory file is replaced only when the participant which owns it is gone */
+    @Test
+    public void test_shared_memory_file_owner() throws Exception {
+        var directory = Files.createTempDirectory("rtpstalk");
+        var config = new RtpsTalkConfiguration.Builder().sharedMemoryTransport(directory).build();
+        var file = directory.resolve("rtpstalk-7412");
+        // left by the participant which was not closed properly
+        Files.writeString(file, "stale");
+        var channels =
+                new DataChannelFactory(TestConstants.TEST_TRACING_TOKEN, config)
+                        .bindTransports(TestConstants.TEST_TRACING_TOKEN, 7412);
+        Assertions.assertEquals(1, channels.size());
+        Assertions.assertEquals(
+                PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(file));
+        var size = Files.size(file);
+        try (var channel = channels.get(0).channel()) {
+            // file is in use
+            Assertions.assertEquals(
+                    List.of(),
+                    new DataChannelFactory(TestConstants.TEST_TRACING_TOKEN, config)
+                            .bindTransports(TestConstants.TEST_TRACING_TOKEN, 7412));
+            Assertions.assertEquals(size, Files.size(file));
+        }
+        Assertions.assertFalse(Files.exists(file));
+        Files.delete(directory);
+    }
+
+    private void assertReceiveBatch(DataChannel receiver, DataChannel sender) throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            sender.send(
+                    TestConstants.TEST_GUID_READER,
+                    new RtpsMessage(
+                            REMOTE_HEADER,
+                            new Heartbeat(
+                                    TestConstants.TEST_READER_ENTITY_ID,
+                                    TestConstants.TEST_WRITER_ENTITY_ID,
+                                    1,
+                                    i,
+                                    i)));
+        }
+        var messages = receiver.receive(2, Duration.ofSeconds(1));
+        Assertions.assertEquals(2, messages.size());
+        Assertions.assertEquals(1, ((Heartbeat) messages.get(0).submessages[0]).count.value);
+        Assertions.assertEquals(2, ((Heartbeat) messages.get(1).submessages[0]).count.value);
+        messages = receiver.receive(2, Duration.ofMillis(100));
+        Assertions.assertEquals(1, messages.size());
+        Assertions.assertEquals(3, ((Heartbeat) messages.get(0).submessages[0]).count.value);
+
+        // close should wake up blocked receiver
+        var future =
+                CompletableFuture.runAsync(
+                        () -> {
+                            try {
+                                receiver.receive(2, Duration.ZERO);
+                            } catch (Exception e) {
+                                throw new RuntimeException(e);
+                            }
+                        });
+        Thread.sleep(100);
+        receiver.close();
+        var e = Assertions.assertThrows(ExecutionException.class, future::get);
+        Assertions.assertEquals(
+                AsynchronousCloseException.class, e.getCause().getCause().getClass());
+    }
+
+    @Test
+    public void test_shared_sender_channel() throws Exception {
+        var factory =
+                new DataChannelFactory(TestConstants.TEST_TRACING_TOKEN, TestConstants.TEST_CONFIG);
+        var loopback = InetAddress.getLoopbackAddress();
+        try (var receiver =
+                factory.bind(
+                        TestConstants.TEST_TRACING_TOKEN,
+                        Optional.of(loopback),
+                        Optional.empty())) {
+            var locators =
+                    List.of(
+                            new Locator(
+                                    LocatorKind.LOCATOR_KIND_UDPv4,
+                                    receiver.getLocalPort(),
+                                    loopback));
+            var sender1 = factory.connect(TestConstants.TEST_TRACING_TOKEN, locators);
+            var sender2 = factory.connect(TestConstants.TEST_TRACING_TOKEN, locators);
+            Assertions.assertEquals(sender1.getLocalPort(), sender2.getLocalPort());
+
+            // closing one of the senders should not affect the others
+            sender1.close();
+            sender1.close();
+            sender2.send(TestConstants.TEST_GUID_READER, newHeartbeatMessage(1));
+            var messages = receiver.receive(1, Duration.ofSeconds(1));
+            Assertions.assertEquals(1, messages.size());
+            Assertions.assertEquals(1, ((Heartbeat) messages.get(0).submessages[0]).count.value);
+            sender2.close();
+        }
+    }
+
+    private RtpsMessage newHeartbeatMessage(int count) {
+        return new RtpsMessage(
+                REMOTE_HEADER,
+                new Heartbeat(
+                        TestConstants.TEST_READER_ENTITY_ID,
+                        TestConstants.TEST_WRITER_ENTITY_ID,
+                        1,
+                        count,
+                        count));
+    }
+}
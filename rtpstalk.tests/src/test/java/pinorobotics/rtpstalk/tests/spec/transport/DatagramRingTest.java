@@ -0,0 +1,187 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.tests.spec.transport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.rtpstalk.impl.spec.transport.DatagramRing;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class DatagramRingTest {
+
+    /** Offsets of the cursors inside the ring header */
+    private static final int WRITE_CURSOR_OFFSET = 64;
+
+    private static final int READ_CURSOR_OFFSET = 128;
+
+    @Test
+    public void test_wrap() throws Exception {
+        var buffer = ByteBuffer.allocateDirect(DatagramRing.calculateBufferSize(64));
+        var ring = DatagramRing.create(buffer, 64, 123);
+        var dst = ByteBuffer.allocate(100);
+        Assertions.assertFalse(ring.poll(dst));
+        for (int i = 0; i < 10; i++) {
+            // records take 24 and 16 bytes so ring wraps with or without the padding
+            var datagram = new byte[16];
+            datagram[15] = (byte) i;
+            Assertions.assertTrue(ring.offer(ByteBuffer.wrap(datagram)));
+            Assertions.assertTrue(ring.offer(ByteBuffer.wrap(new byte[] {4, 5, 6, 7, 8, 9})));
+            dst.clear();
+            Assertions.assertTrue(ring.poll(dst));
+            Assertions.assertEquals(16, dst.position());
+            Assertions.assertEquals(i, dst.get(15));
+            dst.clear();
+            Assertions.assertTrue(ring.poll(dst));
+            Assertions.assertEquals(6, dst.position());
+            Assertions.assertFalse(ring.poll(dst));
+        }
+    }
+
+    @Test
+    public void test_full() throws Exception {
+        var buffer = ByteBuffer.allocateDirect(DatagramRing.calculateBufferSize(64));
+        var ring = DatagramRing.create(buffer, 64, 123);
+        // too big for the ring
+        Assertions.assertFalse(ring.offer(ByteBuffer.allocate(30)));
+        Assertions.assertTrue(ring.offer(ByteBuffer.allocate(20)));
+        Assertions.assertTrue(ring.offer(ByteBuffer.allocate(20)));
+        Assertions.assertFalse(ring.offer(ByteBuffer.allocate(1)));
+        var dst = ByteBuffer.allocate(100);
+        Assertions.assertTrue(ring.poll(dst));
+        Assertions.assertTrue(ring.offer(ByteBuffer.allocate(1)));
+    }
+
+    @Test
+    public void test_attach() throws Exception {
+        var buffer = ByteBuffer.allocateDirect(DatagramRing.calculateBufferSize(64));
+        Assertions.assertThrows(IOException.class, () -> DatagramRing.attach(buffer));
+        var consumer = DatagramRing.create(buffer, 64, 123);
+        var producer = DatagramRing.attach(buffer.duplicate());
+        Assertions.assertEquals(123, producer.getSessionId());
+        Assertions.assertEquals(64, producer.getCapacity());
+        Assertions.assertTrue(producer.offer(ByteBuffer.wrap(new byte[] {1, 2, 3})));
+        var dst = ByteBuffer.allocate(2);
+        // datagram is truncated
+        Assertions.assertTrue(consumer.poll(dst));
+        Assertions.assertEquals(ByteBuffer.wrap(new byte[] {1, 2}), dst.flip());
+    }
+
+    /** Producer died after it reserved the record and before it published it */
+    @Test
+    public void test_unpublished_record() throws Exception {
+        var clock = new AtomicLong();
+        var buffer = ByteBuffer.allocateDirect(DatagramRing.calculateBufferSize(64));
+        var ring = DatagramRing.create(buffer, 64, 123, clock::get);
+        var layout = buffer.duplicate().order(ByteOrder.nativeOrder());
+        layout.putLong(WRITE_CURSOR_OFFSET, 16);
+        Assertions.assertTrue(ring.offer(ByteBuffer.wrap(new byte[] {1, 2, 3})));
+        var dst = ByteBuffer.allocate(100);
+        Assertions.assertFalse(ring.poll(dst));
+        clock.set(DatagramRing.PUBLISH_TIMEOUT.toNanos() - 1);
+        Assertions.assertFalse(ring.poll(dst));
+        clock.set(DatagramRing.PUBLISH_TIMEOUT.toNanos());
+        // all reserved records are discarded
+        Assertions.assertFalse(ring.poll(dst));
+        // producer publishes the record after it was discarded
+        layout.putLong(DatagramRing.HEADER_SIZE, 3 + 1);
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertTrue(ring.offer(ByteBuffer.wrap(new byte[] {4, 5, 6})));
+            Assertions.assertTrue(ring.poll(dst.clear()));
+            Assertions.assertEquals(ByteBuffer.wrap(new byte[] {4, 5, 6}), dst.flip());
+        }
+        // ring wrapped to the record published after it was discarded
+        Assertions.assertFalse(ring.poll(dst.clear()));
+        Assertions.assertTrue(ring.offer(ByteBuffer.wrap(new byte[] {7})));
+        Assertions.assertTrue(ring.poll(dst.clear()));
+        Assertions.assertEquals(ByteBuffer.wrap(new byte[] {7}), dst.flip());
+    }
+
+    @Test
+    public void test_invalid_length() throws Exception {
+        var buffer = ByteBuffer.allocateDirect(DatagramRing.calculateBufferSize(64));
+        var ring = DatagramRing.create(buffer, 64, 123);
+        var layout = buffer.duplicate().order(ByteOrder.nativeOrder());
+        for (var length : List.of(1000, Integer.MAX_VALUE - 1)) {
+            var producer = DatagramRing.attach(buffer.duplicate());
+            Assertions.assertTrue(producer.offer(ByteBuffer.wrap(new byte[] {1, 2, 3})));
+            var cursor = layout.getLong(READ_CURSOR_OFFSET);
+            var index = DatagramRing.HEADER_SIZE + (int) (cursor % 64);
+            layout.putLong(index, (cursor << 32) | (length + 1));
+            var dst = ByteBuffer.allocate(100);
+            Assertions.assertFalse(ring.poll(dst));
+            Assertions.assertEquals(0, dst.position());
+            Assertions.assertTrue(producer.offer(ByteBuffer.wrap(new byte[] {4, 5})));
+            Assertions.assertTrue(ring.poll(dst));
+            Assertions.assertEquals(ByteBuffer.wrap(new byte[] {4, 5}), dst.flip());
+        }
+    }
+
+    @Test
+    public void test_multiple_producers() throws Exception {
+        var capacity = 1024;
+        var ring =
+                DatagramRing.create(
+                        ByteBuffer.allocateDirect(DatagramRing.calculateBufferSize(capacity)),
+                        capacity,
+                        123);
+        var producersCount = 4;
+        var datagramsCount = 10_000;
+        var producers = new ArrayList<CompletableFuture<Void>>();
+        for (int p = 0; p < producersCount; p++) {
+            var producerId = p;
+            producers.add(
+                    CompletableFuture.runAsync(
+                            () -> {
+                                var datagram = ByteBuffer.allocate(Integer.BYTES * 2);
+                                for (int i = 0; i < datagramsCount; i++) {
+                                    datagram.clear().putInt(producerId).putInt(i).flip();
+                                    while (!ring.offer(datagram)) Thread.onSpinWait();
+                                }
+                            }));
+        }
+        var lastReceived = new int[producersCount];
+        Arrays.fill(lastReceived, -1);
+        var received = new HashSet<Long>();
+        var dst = ByteBuffer.allocate(100);
+        while (received.size() < producersCount * datagramsCount) {
+            dst.clear();
+            if (!ring.poll(dst)) continue;
+            dst.flip();
+            Assertions.assertEquals(Integer.BYTES * 2, dst.remaining());
+            var producerId = dst.getInt();
+            var i = dst.getInt();
+            // datagrams of each producer are received in order
+            Assertions.assertEquals(lastReceived[producerId] + 1, i);
+            lastReceived[producerId] = i;
+            received.add(((long) producerId << 32) | i);
+        }
+        producers.forEach(CompletableFuture::join);
+        Assertions.assertFalse(ring.poll(dst.clear()));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.tests.spec.transport;
+
+import id.xfunction.PreconditionException;
+import id.xfunction.logging.TracingToken;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.rtpstalk.FlowControllerSettings;
+import pinorobotics.rtpstalk.FlowControllerSettings.Scheduler;
+import pinorobotics.rtpstalk.impl.spec.transport.FlowController;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class FlowControllerTest {
+
+    private static final TracingToken TOKEN = new TracingToken("test");
+
+    @Test
+    public void test_packets_per_period() throws Exception {
+        var controller =
+                new FlowController(
+                        TOKEN,
+                        new FlowControllerSettings.Builder()
+                                .packetsPerPeriod(2)
+                                .period(Duration.ofMillis(200))
+                                .build());
+        var startAt = System.nanoTime();
+        controller.acquire("writer", 10);
+        controller.acquire("writer", 10);
+        // waits for the next period
+        controller.acquire("writer", 10);
+        Assertions.assertTrue(
+                Duration.ofNanos(System.nanoTime() - startAt).toMillis() >= 200,
+                "Limits should be reset only after the period");
+    }
+
+    @Test
+    public void test_bytes_per_period() throws Exception {
+        var startAt = System.nanoTime();
+        var controller =
+                new FlowController(
+                        TOKEN,
+                        new FlowControllerSettings.Builder()
+                                .bytesPerPeriod(100)
+                                .period(Duration.ofMillis(100))
+                                .build());
+        controller.acquire("writer", 60);
+        controller.acquire("writer", 40);
+        // waits for the next period
+        controller.acquire("writer", 1);
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - startAt).toMillis() >= 100);
+        // message larger than the limit is allowed only at the beginning of the period
+        controller.acquire("writer", 150);
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - startAt).toMillis() >= 200);
+    }
+
+    @Test
+    public void test_fifo() throws Exception {
+        Assertions.assertEquals("[A, A, A, B, B, B]", schedule(Scheduler.FIFO).toString());
+    }
+
+    @Test
+    public void test_round_robin() throws Exception {
+        Assertions.assertEquals("[A, B, A, B, A, B]", schedule(Scheduler.ROUND_ROBIN).toString());
+    }
+
+    @Test
+    public void test_validation() {
+        Assertions.assertThrows(
+                PreconditionException.class,
+                () -> new FlowControllerSettings.Builder().bytesPerPeriod(0).build());
+        Assertions.assertThrows(
+                PreconditionException.class,
+                () -> new FlowControllerSettings.Builder().packetsPerPeriod(0).build());
+        Assertions.assertThrows(
+                PreconditionException.class,
+                () -> new FlowControllerSettings.Builder().period(Duration.ZERO).build());
+    }
+
+    /**
+     * Writers A and B submit 3 messages each while the limits of the current period are exhausted
+     * and all their messages wait for the next period.
+     */
+    private List<String> schedule(Scheduler scheduler) throws Exception {
+        var controller =
+                new FlowController(
+                        TOKEN,
+                        new FlowControllerSettings.Builder()
+                                .packetsPerPeriod(1)
+                                .period(Duration.ofMillis(100))
+                                .scheduler(scheduler)
+                                .build());
+        controller.acquire("exhaust", 1);
+        var sent = new ArrayList<String>();
+        var executor = Executors.newCachedThreadPool();
+        var latch = new CountDownLatch(6);
+        for (var writer : List.of("A", "B")) {
+            for (int i = 0; i < 3; i++) {
+                executor.submit(
+                        () -> {
+                            controller.acquire(writer, 1);
+                            synchronized (sent) {
+                                sent.add(writer);
+                            }
+                            latch.countDown();
+                            return null;
+                        });
+                // make sure requests are submitted in order
+                Thread.sleep(5);
+            }
+        }
+        Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        return sent;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.tests.spec.transport;
+
+import id.xfunction.concurrent.SameThreadExecutorService;
+import id.xfunction.concurrent.flow.CollectorSubscriber;
+import id.xfunction.concurrent.flow.SynchronousPublisher;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.rtpstalk.impl.spec.messages.Guid;
+import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.AckNack;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoTimestamp;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.RawData;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.SerializedPayload;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Submessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityKind;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.Timestamp;
+import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageDemultiplexer;
+import pinorobotics.rtpstalk.tests.TestConstants;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class RtpsMessageDemultiplexerTest {
+
+    private static final EntityId READER1 = new EntityId(0x11, EntityKind.READER_NO_KEY);
+    private static final EntityId READER2 = new EntityId(0x12, EntityKind.READER_NO_KEY);
+    private static final EntityId WRITER = new EntityId(0x13, EntityKind.WRITER_NO_KEY);
+    private static final EntityId REMOTE_WRITER = new EntityId(0x21, EntityKind.WRITER_NO_KEY);
+
+    @Test
+    public void test_dispatch() {
+        var reader1Messages = new ArrayList<RtpsMessage>();
+        var reader2Messages = new ArrayList<RtpsMessage>();
+        var writerMessages = new ArrayList<RtpsMessage>();
+        try (var demultiplexer =
+                new RtpsMessageDemultiplexer(
+                        TestConstants.TEST_CONFIG,
+                        TestConstants.TEST_TRACING_TOKEN,
+                        new SameThreadExecutorService())) {
+            demultiplexer.subscribeReader(READER1, new CollectorSubscriber<>(reader1Messages));
+            demultiplexer.subscribeReader(READER2, new CollectorSubscriber<>(reader2Messages));
+            demultiplexer.subscribeWriter(WRITER, new CollectorSubscriber<>(writerMessages));
+            Assertions.assertTrue(demultiplexer.isReaderSubscribed(READER1));
+            Assertions.assertFalse(demultiplexer.isWriterSubscribed(READER1));
+
+            var infoTimestamp = new InfoTimestamp(new Timestamp(1, 2));
+            var data1 = newData(READER1, 1);
+            var data2 = newData(READER2, 2);
+            var heartbeat =
+                    new Heartbeat(
+                            EntityId.Predefined.ENTITYID_UNKNOWN.getValue(),
+                            REMOTE_WRITER,
+                            1,
+                            2,
+                            1);
+            var ackNack =
+                    new AckNack(
+                            new EntityId(0x31, EntityKind.READER_NO_KEY),
+                            WRITER,
+                            new SequenceNumberSet(1),
+                            1);
+            var unknownReaderData = newData(new EntityId(0x14, EntityKind.READER_NO_KEY), 3);
+            var message =
+                    new RtpsMessage(
+                            TestConstants.TEST_HEADER,
+                            infoTimestamp,
+                            data1,
+                            data2,
+                            heartbeat,
+                            ackNack,
+                            unknownReaderData);
+            try (var publisher = new SynchronousPublisher<RtpsMessage>()) {
+                publisher.subscribe(demultiplexer);
+                publisher.submit(message);
+            }
+
+            assertSubmessages(reader1Messages, infoTimestamp, data1, heartbeat);
+            assertSubmessages(reader2Messages, infoTimestamp, data2, heartbeat);
+            assertSubmessages(writerMessages, infoTimestamp, ackNack);
+        }
+    }
+
+    @Test
+    public void test_dispatch_single_endpoint() {
+        var readerMessages = new ArrayList<RtpsMessage>();
+        try (var demultiplexer =
+                new RtpsMessageDemultiplexer(
+                        TestConstants.TEST_CONFIG,
+                        TestConstants.TEST_TRACING_TOKEN,
+                        new SameThreadExecutorService())) {
+            demultiplexer.subscribeReader(READER1, new CollectorSubscriber<>(readerMessages));
+            var message =
+                    new RtpsMessage(
+                            TestConstants.TEST_HEADER, newData(READER1, 1), newData(READER1, 2));
+            try (var publisher = new SynchronousPublisher<RtpsMessage>()) {
+                publisher.subscribe(demultiplexer);
+                publisher.submit(message);
+            }
+            // message which belongs to single endpoint is delivered as is
+            Assertions.assertEquals(1, readerMessages.size());
+            Assertions.assertSame(message, readerMessages.get(0));
+        }
+    }
+
+    @Test
+    public void test_dispatch_matched_writer() {
+        var reader1Messages = new ArrayList<RtpsMessage>();
+        var reader2Messages = new ArrayList<RtpsMessage>();
+        try (var demultiplexer =
+                new RtpsMessageDemultiplexer(
+                        TestConstants.TEST_CONFIG,
+                        TestConstants.TEST_TRACING_TOKEN,
+                        new SameThreadExecutorService())) {
+            demultiplexer.subscribeReader(READER1, new CollectorSubscriber<>(reader1Messages));
+            demultiplexer.subscribeReader(READER2, new CollectorSubscriber<>(reader2Messages));
+            demultiplexer.matchedWriterAdd(
+                    READER1, new Guid(TestConstants.TEST_HEADER.guidPrefix, REMOTE_WRITER));
+            var data = newData(EntityId.Predefined.ENTITYID_UNKNOWN.getValue(), 1);
+            var otherWriterData =
+                    new Data(
+                            EntityId.Predefined.ENTITYID_UNKNOWN.getValue(),
+                            new EntityId(0x22, EntityKind.WRITER_NO_KEY),
+                            new SequenceNumber(1),
+                            new SerializedPayload(new RawData("hello".getBytes()), true));
+            // messages sent to multicast group usually come from the separate source
+            try (var publisher = new SynchronousPublisher<RtpsMessage>()) {
+                demultiplexer.addSource(publisher);
+                publisher.submit(new RtpsMessage(TestConstants.TEST_HEADER, data, otherWriterData));
+            }
+
+            // submessages directed to ENTITYID_UNKNOWN are delivered only to the readers matched
+            // with the writer, unless writer is not matched with any of them
+            assertSubmessages(reader1Messages, data, otherWriterData);
+            assertSubmessages(reader2Messages, otherWriterData);
+        }
+    }
+
+    @Test
+    public void test_unsubscribe() {
+        var reader1Messages = new ArrayList<RtpsMessage>();
+        var reader2Messages = new ArrayList<RtpsMessage>();
+        var writerGuid = new Guid(TestConstants.TEST_HEADER.guidPrefix, REMOTE_WRITER);
+        try (var demultiplexer =
+                new RtpsMessageDemultiplexer(
+                        TestConstants.TEST_CONFIG,
+                        TestConstants.TEST_TRACING_TOKEN,
+                        new SameThreadExecutorService())) {
+            demultiplexer.subscribeReader(READER1, new CollectorSubscriber<>(reader1Messages));
+            demultiplexer.subscribeReader(READER2, new CollectorSubscriber<>(reader2Messages));
+            demultiplexer.matchedWriterAdd(READER1, writerGuid);
+            demultiplexer.matchedWriterAdd(READER2, writerGuid);
+            demultiplexer.matchedWriterRemove(READER2, writerGuid);
+            var data1 = newData(EntityId.Predefined.ENTITYID_UNKNOWN.getValue(), 1);
+            var data2 = newData(EntityId.Predefined.ENTITYID_UNKNOWN.getValue(), 2);
+            try (var publisher = new SynchronousPublisher<RtpsMessage>()) {
+                publisher.subscribe(demultiplexer);
+                publisher.submit(new RtpsMessage(TestConstants.TEST_HEADER, data1));
+                demultiplexer.unsubscribeReader(READER1);
+                Assertions.assertFalse(demultiplexer.isReaderSubscribed(READER1));
+                Assertions.assertTrue(demultiplexer.isReaderSubscribed(READER2));
+                // writer is not matched with any of the subscribed readers anymore
+                publisher.submit(new RtpsMessage(TestConstants.TEST_HEADER, data2));
+            }
+            assertSubmessages(reader1Messages, data1);
+            assertSubmessages(reader2Messages, data2);
+        }
+    }
+
+    private static void assertSubmessages(List<RtpsMessage> actual, Submessage... expected) {
+        Assertions.assertEquals(1, actual.size());
+        Assertions.assertEquals(TestConstants.TEST_HEADER, actual.get(0).header);
+        Assertions.assertArrayEquals(expected, actual.get(0).getSubmessages());
+    }
+
+    private static Data newData(EntityId readerId, long seqNum) {
+        return new Data(
+                readerId,
+                REMOTE_WRITER,
+                new SequenceNumber(seqNum),
+                new SerializedPayload(new RawData("hello".getBytes()), true));
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.tests.spec.transport;
+
+import id.xfunction.PreconditionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import pinorobotics.rtpstalk.impl.spec.transport.TokenBucket;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TokenBucketTest {
+
+    @Test
+    public void test_burst() {
+        var bucket = new TokenBucket(1, 100, () -> 0);
+        Assertions.assertTrue(bucket.tryConsume(60));
+        // not enough tokens left and they are not consumed partially
+        Assertions.assertFalse(bucket.tryConsume(60));
+        Assertions.assertTrue(bucket.tryConsume(40));
+        Assertions.assertFalse(bucket.tryConsume(10));
+    }
+
+    @Test
+    public void test_refill() {
+        var clock = new AtomicLong();
+        var bucket = new TokenBucket(1_000, 100, clock::get);
+        Assertions.assertTrue(bucket.tryConsume(100));
+        Assertions.assertFalse(bucket.tryConsume(50));
+        clock.set(TimeUnit.MILLISECONDS.toNanos(40));
+        Assertions.assertFalse(bucket.tryConsume(41));
+        Assertions.assertTrue(bucket.tryConsume(40));
+        Assertions.assertFalse(bucket.tryConsume(1));
+        clock.set(TimeUnit.MILLISECONDS.toNanos(240));
+        // refilled only up to the capacity
+        Assertions.assertFalse(bucket.tryConsume(101));
+        Assertions.assertTrue(bucket.tryConsume(100));
+    }
+
+    @Test
+    public void test_isAvailable() {
+        var bucket = new TokenBucket(1, 100, () -> 0);
+        Assertions.assertTrue(bucket.isAvailable(100));
+        // tokens are not consumed
+        Assertions.assertTrue(bucket.isAvailable(100));
+        Assertions.assertFalse(bucket.isAvailable(101));
+        Assertions.assertTrue(bucket.tryConsume(100));
+        Assertions.assertFalse(bucket.isAvailable(1));
+    }
+
+    @Test
+    public void test_validation() {
+        Assertions.assertThrows(PreconditionException.class, () -> new TokenBucket(0, 100));
+        Assertions.assertThrows(PreconditionException.class, () -> new TokenBucket(100, 0));
+    }
+}
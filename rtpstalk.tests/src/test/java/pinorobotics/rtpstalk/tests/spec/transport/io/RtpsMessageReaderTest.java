@@ -30,10 +30,13 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
+import pinorobotics.rtpstalk.BufferPoolMode;
 import pinorobotics.rtpstalk.RtpsTalkConfiguration;
 import pinorobotics.rtpstalk.impl.spec.messages.SampleIdentity;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
+import pinorobotics.rtpstalk.impl.spec.transport.ByteBufferPool;
 import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsMessageReader;
+import pinorobotics.rtpstalk.tests.TestConstants;
 import pinorobotics.rtpstalk.tests.spec.transport.io.DataProviders.TestCase;
 
 /**
@@ -53,6 +56,43 @@ public class RtpsMessageReaderTest {
         assertEquals(expected.toString(), actual.toString());
     }
 
+    /** Cross-check flat codec against kineticstreamer */
+    @ParameterizedTest
+    @MethodSource(
+            "pinorobotics.rtpstalk.tests.spec.transport.io.DataProviders#rtpsMessageConversion")
+    public void test_flat_codec(TestCase testData) throws Exception {
+        var expected =
+                new RtpsMessageReader(false)
+                        .readRtpsMessage(ByteBuffer.wrap(testData.serializedMessage()))
+                        .get();
+        var actual =
+                new RtpsMessageReader(true)
+                        .readRtpsMessage(ByteBuffer.wrap(testData.serializedMessage()))
+                        .get();
+        assertEquals(testData.message().toString(), expected.toString());
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource(
+            "pinorobotics.rtpstalk.tests.spec.transport.io.DataProviders#rtpsMessageConversion")
+    public void test_zero_copy(TestCase testData) throws Exception {
+        var pool =
+                new ByteBufferPool(
+                        TestConstants.TEST_TRACING_TOKEN,
+                        testData.serializedMessage().length,
+                        false,
+                        BufferPoolMode.PER_THREAD,
+                        1);
+        var pooledBuf = pool.acquire();
+        pooledBuf.buffer().put(testData.serializedMessage()).flip();
+        var expected = testData.message();
+        var actual = new RtpsMessageReader().readRtpsMessageZeroCopy(pooledBuf).get();
+        assertEquals(expected.toString(), actual.toString());
+        // views do not own any references
+        assertEquals(1, pooledBuf.refCount());
+    }
+
     @Test
     public void test_validate() throws Exception {
         var buf = ByteBuffer.wrap(DataProviders.readAllBytes("test_data_invalid_zero_writerSN"));
@@ -17,15 +17,28 @@
  */
 package pinorobotics.rtpstalk.tests.spec.transport.io;
 
+import id.xfunction.util.ImmutableMultiMap;
+import java.net.Inet6Address;
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import pinorobotics.rtpstalk.impl.spec.messages.Locator;
+import pinorobotics.rtpstalk.impl.spec.messages.LocatorKind;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.messages.UnsignedInt;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.HeartbeatFrag;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.NackFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.RawData;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.SerializedPayload;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.Count;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityKind;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.FragmentNumberSet;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ParameterId;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ParameterList;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
 import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsMessageReader;
 import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsMessageWriter;
@@ -54,4 +67,80 @@ public class RtpsMessageTransportTest {
         var actual = new RtpsMessageReader().readRtpsMessage(buf).get();
         Assertions.assertEquals(expected.toString(), actual.toString());
     }
+
+    @Test
+    public void test_fragments_reliability() throws Exception {
+        var expected =
+                new RtpsMessage(
+                        TestConstants.TEST_HEADER,
+                        new NackFrag(
+                                new EntityId(0x12, EntityKind.READER_NO_KEY),
+                                new EntityId(0x01, EntityKind.WRITER_NO_KEY),
+                                new SequenceNumber(3),
+                                new FragmentNumberSet(5, 40, 0b101, 0b1),
+                                new Count(7)),
+                        new HeartbeatFrag(
+                                new EntityId(0x12, EntityKind.READER_NO_KEY),
+                                new EntityId(0x01, EntityKind.WRITER_NO_KEY),
+                                new SequenceNumber(3),
+                                new UnsignedInt(44),
+                                new Count(8)));
+        var buf = ByteBuffer.allocate(TestConstants.TEST_CONFIG.packetBufferSize());
+        new RtpsMessageWriter().writeRtpsMessage(expected, buf);
+        buf.limit(buf.position());
+        buf.rewind();
+        var actual = new RtpsMessageReader().readRtpsMessage(buf).get();
+        Assertions.assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    public void test_multiple_locators() throws Exception {
+        var locators =
+                List.of(
+                        TestConstants.TEST_DEFAULT_UNICAST_LOCATOR,
+                        new Locator(
+                                LocatorKind.LOCATOR_KIND_SHM,
+                                7411,
+                                Inet6Address.getByAddress(null, new byte[16], -1)),
+                        new Locator(
+                                LocatorKind.LOCATOR_KIND_INTRAPROCESS,
+                                7411,
+                                Inet6Address.getByAddress(
+                                        null,
+                                        new byte[] {
+                                            1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16
+                                        },
+                                        -1)));
+        var params =
+                locators.stream()
+                        .map(
+                                l ->
+                                        Map.<ParameterId, Object>entry(
+                                                ParameterId.PID_DEFAULT_UNICAST_LOCATOR, l))
+                        .toList();
+        var expected =
+                new RtpsMessage(
+                        TestConstants.TEST_HEADER,
+                        new Data(
+                                EntityId.Predefined.ENTITYID_SPDP_BUILTIN_PARTICIPANT_DETECTOR
+                                        .getValue(),
+                                EntityId.Predefined.ENTITYID_SPDP_BUILTIN_PARTICIPANT_ANNOUNCER
+                                        .getValue(),
+                                new SequenceNumber(1),
+                                new SerializedPayload(
+                                        ParameterList.ofProtocolParameters(
+                                                new ImmutableMultiMap<>(params)),
+                                        true)));
+        var buf = ByteBuffer.allocate(TestConstants.TEST_CONFIG.packetBufferSize());
+        new RtpsMessageWriter().writeRtpsMessage(expected, buf);
+        buf.limit(buf.position());
+        buf.rewind();
+        var actual = new RtpsMessageReader().readRtpsMessage(buf).get();
+        Assertions.assertEquals(expected.toString(), actual.toString());
+        var pl =
+                (ParameterList) ((Data) actual.submessages[0]).getSerializedPayload().get().payload;
+        ImmutableMultiMap<ParameterId, Object> actualParams = pl.getProtocolParameters();
+        Assertions.assertEquals(
+                locators, actualParams.get(ParameterId.PID_DEFAULT_UNICAST_LOCATOR));
+    }
 }
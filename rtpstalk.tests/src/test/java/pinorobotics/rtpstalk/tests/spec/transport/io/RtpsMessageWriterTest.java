@@ -22,9 +22,18 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 import id.xfunction.XByte;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import pinorobotics.rtpstalk.impl.spec.messages.Guid;
+import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoDestination;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.RawData;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.SerializedPayload;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
 import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsMessageWriter;
 import pinorobotics.rtpstalk.tests.TestConstants;
@@ -49,10 +58,52 @@ public class RtpsMessageWriterTest {
         assertEquals(XByte.toHexPairs(testData.serializedMessage()), XByte.toHexPairs(actual));
     }
 
+    /** Cross-check flat codec against kineticstreamer */
+    @ParameterizedTest
+    @MethodSource(
+            "pinorobotics.rtpstalk.tests.spec.transport.io.DataProviders#rtpsMessageConversion")
+    public void test_flat_codec(TestCase testData) throws Exception {
+        var expected = ByteBuffer.allocate(TestConstants.TEST_CONFIG.packetBufferSize());
+        new RtpsMessageWriter(false).writeRtpsMessage(testData.message(), expected);
+        var actual = ByteBuffer.allocate(TestConstants.TEST_CONFIG.packetBufferSize());
+        new RtpsMessageWriter(true).writeRtpsMessage(testData.message(), actual);
+        assertEquals(expected.flip(), actual.flip());
+        assertEquals(
+                XByte.toHexPairs(testData.serializedMessage()),
+                XByte.toHexPairs(Arrays.copyOf(expected.array(), expected.limit())));
+    }
+
     @Test
     public void test_write_sequenceNumber() throws Exception {
         var buf = ByteBuffer.allocate(SequenceNumber.SIZE);
         new RtpsMessageWriter().write(SequenceNumber.SEQUENCENUMBER_UNKNOWN, buf);
         assertArrayEquals(XByte.copyToByteArray(-1, 0), buf.array());
     }
+
+    @Test
+    public void test_encode() throws Exception {
+        var readerId = EntityId.Predefined.ENTITYID_SEDP_BUILTIN_SUBSCRIPTIONS_DETECTOR;
+        var writerId = EntityId.Predefined.ENTITYID_SEDP_BUILTIN_SUBSCRIPTIONS_ANNOUNCER;
+        var data = new byte[] {0x11, 0x22, 0x33};
+        var message =
+                new RtpsMessage(
+                        TestConstants.TEST_HEADER,
+                        new InfoDestination(TestConstants.TEST_REMOTE_GUID_PREFIX),
+                        new Data(
+                                readerId,
+                                writerId,
+                                new SequenceNumber(1),
+                                new SerializedPayload(new RawData(data), true)),
+                        new Heartbeat(readerId.getValue(), writerId.getValue(), 1, 1, 1));
+        var writer = new RtpsMessageWriter();
+        var encoded = writer.encode(message);
+        // payload is not copied
+        data[0] = 0x10;
+        var expected = ByteBuffer.allocate(TestConstants.TEST_CONFIG.packetBufferSize());
+        writer.writeRtpsMessage(message, expected);
+        var actual = ByteBuffer.allocate(encoded.getLength());
+        encoded.writeTo(
+                actual, new Guid(TestConstants.TEST_REMOTE_GUID_PREFIX, readerId.getValue()));
+        assertEquals(expected.flip(), actual.flip());
+    }
 }
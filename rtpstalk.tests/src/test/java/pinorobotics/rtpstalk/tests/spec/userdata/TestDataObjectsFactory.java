@@ -24,12 +24,14 @@ import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Flow;
 import java.util.concurrent.ForkJoinPool;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
 import pinorobotics.rtpstalk.impl.spec.behavior.LocalOperatingEntities;
 import pinorobotics.rtpstalk.impl.spec.behavior.reader.RtpsReader;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.transport.DataChannelFactory;
+import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageDemultiplexer;
 import pinorobotics.rtpstalk.impl.spec.userdata.DataObjectsFactory;
 import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
 
@@ -62,13 +64,21 @@ public class TestDataObjectsFactory extends DataObjectsFactory {
             RtpsTalkConfigurationInternal config,
             TracingToken tracingToken,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             LocalOperatingEntities operatingEntities,
             EntityId eid,
             ReaderQosPolicySet subscriberQosPolicy,
-            DataChannelFactory channelFactory) {
+            DataChannelFactory channelFactory,
+            RtpsMessageDemultiplexer demultiplexer) {
         var reader =
                 new TestDataReader(
-                        config, tracingToken, operatingEntities, eid, executor, maxBufferCapacity);
+                        config,
+                        tracingToken,
+                        operatingEntities,
+                        eid,
+                        executor,
+                        maxBufferCapacity,
+                        demultiplexer);
         dataReaders.add(reader);
         return reader;
     }
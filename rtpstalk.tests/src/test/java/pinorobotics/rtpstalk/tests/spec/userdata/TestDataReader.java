@@ -24,6 +24,7 @@ import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
 import pinorobotics.rtpstalk.impl.spec.behavior.LocalOperatingEntities;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
+import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageDemultiplexer;
 import pinorobotics.rtpstalk.impl.spec.userdata.ReliableDataReader;
 import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
 import pinorobotics.rtpstalk.tests.TestConstants;
@@ -41,15 +42,18 @@ public class TestDataReader extends ReliableDataReader {
             LocalOperatingEntities operatingEntities,
             EntityId entityId,
             Executor executor,
-            int maxBufferCapacity) {
+            int maxBufferCapacity,
+            RtpsMessageDemultiplexer demultiplexer) {
         super(
                 config,
                 tracingToken,
                 executor,
+                TestConstants.TEST_TIMER,
                 operatingEntities,
                 entityId,
                 new ReaderQosPolicySet(),
-                TestConstants.TEST_DATA_CHANNEL_FACTORY);
+                TestConstants.TEST_DATA_CHANNEL_FACTORY,
+                demultiplexer);
     }
 
     @Override
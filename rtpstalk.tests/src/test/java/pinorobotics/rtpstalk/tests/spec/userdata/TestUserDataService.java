@@ -34,6 +34,7 @@ public class TestUserDataService extends UserDataService {
         super(
                 TestConstants.TEST_CONFIG_INTERNAL,
                 new SameThreadExecutorService(),
+                TestConstants.TEST_TIMER,
                 new TestDataChannelFactory(TestConstants.TEST_CONFIG),
                 new TestDataObjectsFactory(true),
                 new TestRtpsMessageReceiverFactory());
@@ -63,6 +63,7 @@ public class UserDataServiceTest {
                 new UserDataService(
                         CONFIG,
                         TestConstants.TEST_PUBLISHER_EXECUTOR,
+                        TestConstants.TEST_TIMER,
                         new TestDataChannelFactory(CONFIG.publicConfig()),
                         dataFactory,
                         receiverFactory); ) {
@@ -111,6 +112,7 @@ public class UserDataServiceTest {
                 new UserDataService(
                         CONFIG,
                         TestConstants.TEST_PUBLISHER_EXECUTOR,
+                        TestConstants.TEST_TIMER,
                         new TestDataChannelFactory(CONFIG.publicConfig()),
                         dataFactory,
                         receiverFactory); ) {
@@ -123,7 +125,8 @@ public class UserDataServiceTest {
             service.publish(writerEntityId, details2);
             assertThrows(
                     PreconditionException.class, () -> service.publish(writerEntityId, details3));
-            assertEquals(2, receiverFactory.getReceivers().get(0).getSubscribeCount());
+            // writers are subscribed to the demultiplexer and not to the receiver itself
+            assertEquals(1, receiverFactory.getReceivers().get(0).getSubscribeCount());
         }
     }
 }
@@ -57,6 +57,7 @@ public class TopicSubscriptionsManagerTest {
                         new UserDataService(
                                 TestConstants.TEST_CONFIG_INTERNAL,
                                 TestConstants.TEST_PUBLISHER_EXECUTOR,
+                                TestConstants.TEST_TIMER,
                                 channelFactory,
                                 new TestDataObjectsFactory(),
                                 new TestRtpsMessageReceiverFactory());
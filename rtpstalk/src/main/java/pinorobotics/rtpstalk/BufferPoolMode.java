@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk;
+
+/**
+ * Defines how <b>rtpstalk</b> pools network buffers which are used to send and receive RTPS
+ * messages.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public enum BufferPoolMode {
+
+    /**
+     * Each thread keeps its own pool of buffers. There is no contention between the threads but
+     * maximum size of the pool is applied to each thread separately.
+     *
+     * <p>Buffers released by other threads are returned to the pool of the thread which acquired
+     * them. Such releases are slower than releases by the acquiring thread, so this mode suits best
+     * when buffers are acquired and released by the same thread (which is the case for receiver
+     * threads).
+     */
+    PER_THREAD,
+
+    /**
+     * All threads share single pool of buffers which is split into several stripes to reduce
+     * contention. Maximum size of the pool is shared between all the stripes.
+     */
+    STRIPED
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk;
+
+import id.xfunction.Preconditions;
+import id.xfunction.XJsonStringBuilder;
+import java.time.Duration;
+
+/**
+ * Limits the amount of data which writers send over the network during each period of time.
+ *
+ * <p>Without limits writers send all messages (including all fragments of large changes) as fast as
+ * they can. When remote participants do not keep up with it, or their socket receive buffers are
+ * too small, most of such burst is dropped and needs to be resent again.
+ *
+ * <p>All writers of the same {@link RtpsTalkClient} which are configured with equal settings share
+ * one flow controller and its limits. Writers which exceeded the limits wait until the next period
+ * starts and then are allowed to send in the order defined by {@link #scheduler()}.
+ *
+ * <p>Limits apply only to the messages with the changes. Control messages (HEARTBEAT, ACKNACK,
+ * NACK_FRAG) are small and they are sent without waiting for the flow controller, otherwise readers
+ * would learn about the changes they lost only after all the data queued before them is sent.
+ *
+ * <p>Detailed description of parameters see in {@link Builder}
+ *
+ * @see WriterSettings#flowController()
+ * @author lambdaprime intid@protonmail.com
+ */
+public record FlowControllerSettings(
+        long bytesPerPeriod, int packetsPerPeriod, Duration period, Scheduler scheduler) {
+
+    /** Order in which writers which share the flow controller are allowed to send */
+    public enum Scheduler {
+        /** Messages are sent in the same order in which writers submitted them */
+        FIFO,
+
+        /**
+         * Writers take turns sending one message each, so that writer which submits many messages
+         * at once (for example all fragments of a large change) does not delay the other writers
+         */
+        ROUND_ROBIN
+    }
+
+    public static final Duration DEFAULT_PERIOD = Duration.ofMillis(100);
+    public static final Scheduler DEFAULT_SCHEDULER = Scheduler.FIFO;
+
+    public FlowControllerSettings {
+        Preconditions.isLess(0L, bytesPerPeriod, "bytesPerPeriod must be positive");
+        Preconditions.isLess(0, packetsPerPeriod, "packetsPerPeriod must be positive");
+        Preconditions.isTrue(!period.isNegative() && !period.isZero(), "period must be positive");
+        Preconditions.notNull(scheduler, "scheduler is null");
+    }
+
+    @Override
+    public String toString() {
+        XJsonStringBuilder builder = new XJsonStringBuilder(this);
+        builder.append("bytesPerPeriod", bytesPerPeriod);
+        builder.append("packetsPerPeriod", packetsPerPeriod);
+        builder.append("period", period);
+        builder.append("scheduler", scheduler);
+        return builder.toString();
+    }
+
+    /**
+     * @author lambdaprime intid@protonmail.com
+     */
+    public static class Builder {
+        private long bytesPerPeriod = Long.MAX_VALUE;
+        private int packetsPerPeriod = Integer.MAX_VALUE;
+        private Duration period = DEFAULT_PERIOD;
+        private Scheduler scheduler = DEFAULT_SCHEDULER;
+
+        /** Builder of the settings without any limits, with default period and scheduler */
+        public Builder() {}
+
+        /**
+         * Maximum number of bytes which writers can send during one {@link #period(Duration)}.
+         *
+         * <p>Message which is larger than this limit is sent only at the beginning of the period
+         * (when nothing else was sent yet), so it does not block the writer forever.
+         *
+         * <p>By default there is no limit.
+         */
+        public Builder bytesPerPeriod(long bytesPerPeriod) {
+            this.bytesPerPeriod = bytesPerPeriod;
+            return this;
+        }
+
+        /**
+         * Maximum number of RTPS messages (UDP datagrams) which writers can send during one {@link
+         * #period(Duration)}.
+         *
+         * <p>By default there is no limit.
+         */
+        public Builder packetsPerPeriod(int packetsPerPeriod) {
+            this.packetsPerPeriod = packetsPerPeriod;
+            return this;
+        }
+
+        /** Period after which the limits are reset (see {@link #DEFAULT_PERIOD}) */
+        public Builder period(Duration period) {
+            this.period = period;
+            return this;
+        }
+
+        /** See {@link #DEFAULT_SCHEDULER} */
+        public Builder scheduler(Scheduler scheduler) {
+            this.scheduler = scheduler;
+            return this;
+        }
+
+        public FlowControllerSettings build() {
+            return new FlowControllerSettings(bytesPerPeriod, packetsPerPeriod, period, scheduler);
+        }
+    }
+}
@@ -21,19 +21,27 @@ import id.xfunction.Preconditions;
 import id.xfunction.XByte;
 import id.xfunction.XJsonStringBuilder;
 import id.xfunction.function.Unchecked;
+import java.net.Inet4Address;
+import java.net.InetSocketAddress;
 import java.net.NetworkInterface;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Supplier;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
+import pinorobotics.rtpstalk.impl.spec.messages.Locator;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
 import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsMessageWriter;
+import pinorobotics.rtpstalk.messages.PayloadView;
+import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
 
 /**
  * Configuration for {@link RtpsTalkClient}.
@@ -62,7 +70,25 @@ public record RtpsTalkConfiguration(
         Optional<ExecutorService> publisherExecutor,
         int publisherMaxBufferSize,
         int receiveBufferSize,
-        int sendBufferSize) {
+        int sendBufferSize,
+        boolean directBuffers,
+        BufferPoolMode bufferPoolMode,
+        int bufferPoolMaxSize,
+        boolean zeroCopyPayloads,
+        int receiveBatchSize,
+        Duration receiveBatchMaxLatency,
+        Duration dataFragmentsTimeout,
+        long dataFragmentsMaxMemory,
+        Optional<ThreadFactory> threadFactory,
+        Optional<Long> repairRate,
+        int repairBurstSize,
+        Optional<InetSocketAddress> userDataMulticastGroup,
+        boolean intraProcessTransport,
+        Optional<Path> sharedMemoryTransport,
+        int sharedMemorySegmentSize,
+        Duration fastHeartbeatPeriod,
+        Duration maxHeartbeatPeriod,
+        Duration heartbeatResponseDelay) {
 
     /**
      * A UDP datagram is carried in a single IP packet and is hence limited to a maximum payload of
@@ -84,6 +110,42 @@ public record RtpsTalkConfiguration(
                 "packetBufferSize cannot exceed UDP packet maximum size");
         Preconditions.isTrue(
                 packetBufferSize % 4 == 0, "packetBufferSize must be aligned on 32-bit boundary");
+        Preconditions.isTrue(bufferPoolMaxSize > 0, "bufferPoolMaxSize must be positive");
+        Preconditions.isTrue(receiveBatchSize > 0, "receiveBatchSize must be positive");
+        Preconditions.isTrue(
+                !receiveBatchMaxLatency.isNegative(), "receiveBatchMaxLatency cannot be negative");
+        Preconditions.isTrue(
+                !dataFragmentsTimeout.isNegative() && !dataFragmentsTimeout.isZero(),
+                "dataFragmentsTimeout must be positive");
+        Preconditions.isTrue(dataFragmentsMaxMemory > 0, "dataFragmentsMaxMemory must be positive");
+        Preconditions.isTrue(
+                repairRate.map(rate -> rate > 0).orElse(true), "repairRate must be positive");
+        Preconditions.isTrue(
+                repairBurstSize >= packetBufferSize,
+                "repairBurstSize cannot be less than packetBufferSize");
+        userDataMulticastGroup.ifPresent(
+                group ->
+                        Preconditions.isTrue(
+                                group.getAddress() instanceof Inet4Address
+                                        && group.getAddress().isMulticastAddress(),
+                                "userDataMulticastGroup must be IPv4 multicast address"));
+        Preconditions.isTrue(
+                Integer.bitCount(sharedMemorySegmentSize) == 1,
+                "sharedMemorySegmentSize must be power of two");
+        Preconditions.isTrue(
+                sharedMemorySegmentSize >= 4 * packetBufferSize,
+                "sharedMemorySegmentSize cannot be less than four packetBufferSize");
+        Preconditions.isTrue(
+                !fastHeartbeatPeriod.isNegative() && !fastHeartbeatPeriod.isZero(),
+                "fastHeartbeatPeriod must be positive");
+        Preconditions.isTrue(
+                fastHeartbeatPeriod.compareTo(heartbeatPeriod) <= 0,
+                "fastHeartbeatPeriod cannot be greater than heartbeatPeriod");
+        Preconditions.isTrue(
+                maxHeartbeatPeriod.compareTo(heartbeatPeriod) >= 0,
+                "maxHeartbeatPeriod cannot be less than heartbeatPeriod");
+        Preconditions.isTrue(
+                !heartbeatResponseDelay.isNegative(), "heartbeatResponseDelay cannot be negative");
     }
 
     /** E=0 means big-endian, E=1 means little-endian. */
@@ -111,6 +173,25 @@ public record RtpsTalkConfiguration(
         builder.append("historyCacheMaxSize", historyCacheMaxSize);
         builder.append("publisherExecutor", publisherExecutor);
         builder.append("receiveBufferSize", receiveBufferSize);
+        builder.append("directBuffers", directBuffers);
+        builder.append("bufferPoolMode", bufferPoolMode);
+        builder.append("bufferPoolMaxSize", bufferPoolMaxSize);
+        builder.append("zeroCopyPayloads", zeroCopyPayloads);
+        builder.append("receiveBatchSize", receiveBatchSize);
+        builder.append("receiveBatchMaxLatency", receiveBatchMaxLatency);
+        builder.append("dataFragmentsTimeout", dataFragmentsTimeout);
+        builder.append("dataFragmentsMaxMemory", dataFragmentsMaxMemory);
+        builder.append("threadFactory", threadFactory);
+        builder.append("repairRate", repairRate);
+        builder.append("repairBurstSize", repairBurstSize);
+        builder.append("userDataMulticastGroup", userDataMulticastGroup);
+        builder.append("intraProcessTransport", intraProcessTransport);
+        builder.append("sharedMemoryTransport", sharedMemoryTransport);
+        builder.append("sharedMemorySegmentSize", sharedMemorySegmentSize);
+        builder.append("heartbeatPeriod", heartbeatPeriod);
+        builder.append("fastHeartbeatPeriod", fastHeartbeatPeriod);
+        builder.append("maxHeartbeatPeriod", maxHeartbeatPeriod);
+        builder.append("heartbeatResponseDelay", heartbeatResponseDelay);
         return builder.toString();
     }
 
@@ -145,8 +226,23 @@ public record RtpsTalkConfiguration(
 
         public static final int DEFAULT_DOMAIN_ID = 0;
 
+        public static final boolean DEFAULT_DIRECT_BUFFERS = false;
+        public static final BufferPoolMode DEFAULT_BUFFER_POOL_MODE = BufferPoolMode.PER_THREAD;
+        public static final int DEFAULT_BUFFER_POOL_MAX_SIZE = 16;
+        public static final boolean DEFAULT_ZERO_COPY_PAYLOADS = false;
+        public static final int DEFAULT_RECEIVE_BATCH_SIZE = 1;
+        public static final Duration DEFAULT_RECEIVE_BATCH_MAX_LATENCY = Duration.ZERO;
+        public static final Duration DEFAULT_DATA_FRAGMENTS_TIMEOUT = Duration.ofSeconds(30);
+        public static final long DEFAULT_DATA_FRAGMENTS_MAX_MEMORY = 268_435_456;
+        public static final int DEFAULT_REPAIR_BURST_SIZE = 1_048_576;
+        public static final Path DEFAULT_SHARED_MEMORY_DIRECTORY = Paths.get("/dev/shm");
+        public static final int DEFAULT_SHARED_MEMORY_SEGMENT_SIZE = 4_194_304;
+
         public static final Duration DEFAULT_DISCOVERY_PERIOD = Duration.ofSeconds(5);
         public static final Duration DEFAULT_HEARTBEAT_PERIOD = Duration.ofSeconds(1);
+        public static final Duration DEFAULT_FAST_HEARTBEAT_PERIOD = Duration.ofMillis(100);
+        public static final Duration DEFAULT_MAX_HEARTBEAT_PERIOD = Duration.ofSeconds(8);
+        public static final Duration DEFAULT_HEARTBEAT_RESPONSE_DELAY = Duration.ofMillis(10);
         public static final Duration DEFAULT_READER_ACK_TOPIC_DURATION =
                 DEFAULT_HEARTBEAT_PERIOD.multipliedBy(15);
 
@@ -168,6 +264,25 @@ public record RtpsTalkConfiguration(
         private int receiveBufferSize = DEFAULT_RECEIVE_BUFFER_SIZE;
         private int sendBufferSize = DEFAULT_SEND_BUFFER_SIZE;
         private Duration readerAckTopicDuration = DEFAULT_READER_ACK_TOPIC_DURATION;
+        private boolean directBuffers = DEFAULT_DIRECT_BUFFERS;
+        private BufferPoolMode bufferPoolMode = DEFAULT_BUFFER_POOL_MODE;
+        private int bufferPoolMaxSize = DEFAULT_BUFFER_POOL_MAX_SIZE;
+        private boolean zeroCopyPayloads = DEFAULT_ZERO_COPY_PAYLOADS;
+        private int receiveBatchSize = DEFAULT_RECEIVE_BATCH_SIZE;
+        private Duration receiveBatchMaxLatency = DEFAULT_RECEIVE_BATCH_MAX_LATENCY;
+        private Duration dataFragmentsTimeout = DEFAULT_DATA_FRAGMENTS_TIMEOUT;
+        private long dataFragmentsMaxMemory = DEFAULT_DATA_FRAGMENTS_MAX_MEMORY;
+        private Optional<ThreadFactory> threadFactory = Optional.empty();
+        private Optional<Long> repairRate = Optional.empty();
+        private int repairBurstSize = DEFAULT_REPAIR_BURST_SIZE;
+        private boolean isUserDataMulticastEnabled;
+        private Optional<InetSocketAddress> userDataMulticastGroup = Optional.empty();
+        private boolean intraProcessTransport;
+        private Optional<Path> sharedMemoryTransport = Optional.empty();
+        private int sharedMemorySegmentSize = DEFAULT_SHARED_MEMORY_SEGMENT_SIZE;
+        private Optional<Duration> fastHeartbeatPeriod = Optional.empty();
+        private Optional<Duration> maxHeartbeatPeriod = Optional.empty();
+        private Duration heartbeatResponseDelay = DEFAULT_HEARTBEAT_RESPONSE_DELAY;
 
         /**
          * @see #networkInterface(String)
@@ -276,12 +391,61 @@ public record RtpsTalkConfiguration(
             return this;
         }
 
-        /** Heartbeat period for Statefull Reliable DataWriter */
+        /**
+         * Heartbeat period for Statefull Reliable DataWriter
+         *
+         * <p>Writer uses this period once all the readers acknowledged all the changes and then
+         * keeps increasing it twice with each heartbeat, up to {@link
+         * #maxHeartbeatPeriod(Duration)}. While some of the readers did not acknowledge all the
+         * changes yet, writer sends heartbeats with {@link #fastHeartbeatPeriod(Duration)}.
+         */
         public Builder heartbeatPeriod(Duration heartbeatPeriod) {
             this.heartbeatPeriod = heartbeatPeriod;
             return this;
         }
 
+        /**
+         * Heartbeat period which Statefull Reliable DataWriter uses while there are changes which
+         * are not acknowledged by some of the readers. It reduces the time it takes for the readers
+         * to discover and request the changes they lost. Requested changes are resent with the same
+         * period.
+         *
+         * <p>It cannot be greater than {@link #heartbeatPeriod(Duration)}. By default it is {@link
+         * #DEFAULT_FAST_HEARTBEAT_PERIOD} or {@link #heartbeatPeriod(Duration)}, whichever is
+         * smaller.
+         */
+        public Builder fastHeartbeatPeriod(Duration fastHeartbeatPeriod) {
+            this.fastHeartbeatPeriod = Optional.of(fastHeartbeatPeriod);
+            return this;
+        }
+
+        /**
+         * Maximum heartbeat period which Statefull Reliable DataWriter reaches when all the readers
+         * acknowledged all the changes and writer does not have anything new to send.
+         *
+         * <p>It cannot be less than {@link #heartbeatPeriod(Duration)}. By default it is {@link
+         * #DEFAULT_MAX_HEARTBEAT_PERIOD} or {@link #heartbeatPeriod(Duration)}, whichever is
+         * greater.
+         */
+        public Builder maxHeartbeatPeriod(Duration maxHeartbeatPeriod) {
+            this.maxHeartbeatPeriod = Optional.of(maxHeartbeatPeriod);
+            return this;
+        }
+
+        /**
+         * Delay after which Statefull Reliable DataReader responds to the heartbeats received from
+         * the writer.
+         *
+         * <p>All heartbeats received from the same writer within this delay are answered with a
+         * single AckNack. It prevents reader from sending AckNack for every incoming RTPS message
+         * while large changes are being received. Zero means that reader responds immediately after
+         * processing each RTPS message. By default it is {@link #DEFAULT_HEARTBEAT_RESPONSE_DELAY}.
+         */
+        public Builder heartbeatResponseDelay(Duration heartbeatResponseDelay) {
+            this.heartbeatResponseDelay = heartbeatResponseDelay;
+            return this;
+        }
+
         /** Announcement period for SPDP */
         public Builder spdpDiscoveredParticipantDataPublishPeriod(
                 Duration spdpDiscoveredParticipantDataPublishPeriod) {
@@ -341,6 +505,232 @@ public record RtpsTalkConfiguration(
             return this;
         }
 
+        /**
+         * Network buffers used to send and receive RTPS messages are allocated outside of Java heap
+         * (see {@link ByteBuffer#allocateDirect(int)}).
+         *
+         * <p>Direct buffers save copying of the data by the system when it is sent or received but
+         * they are more expensive to allocate. Since all network buffers are pooled (see {@link
+         * #bufferPoolMaxSize(int)}) they are allocated only when pool is empty.
+         */
+        public Builder directBuffers(boolean directBuffers) {
+            this.directBuffers = directBuffers;
+            return this;
+        }
+
+        /** How network buffers are pooled between the threads (see {@link BufferPoolMode}) */
+        public Builder bufferPoolMode(BufferPoolMode bufferPoolMode) {
+            this.bufferPoolMode = bufferPoolMode;
+            return this;
+        }
+
+        /**
+         * Maximum number of network buffers (each of {@link #packetBufferSize(int)} size) which are
+         * kept in the pool for reuse. Buffers which are released when pool is full are left to
+         * garbage collector.
+         */
+        public Builder bufferPoolMaxSize(int bufferPoolMaxSize) {
+            this.bufferPoolMaxSize = bufferPoolMaxSize;
+            return this;
+        }
+
+        /**
+         * Deliver received user data to {@link Subscriber} without copying it.
+         *
+         * <p>When enabled {@link RtpsTalkDataMessage} which are not fragmented carry their user
+         * data as {@link PayloadView} of the network buffer where they were received. Each {@link
+         * Subscriber} should {@link RtpsTalkDataMessage#release()} such messages once it is done
+         * with them so that network buffer could be reused again. Messages which are not released
+         * are left to garbage collector and network buffers for them are allocated again.
+         *
+         * <p>Fragmented user data is joined directly from the network buffers into single array.
+         *
+         * <p>Readers with {@link pinorobotics.rtpstalk.qos.HistoryType#KEEP_ALL_HISTORY_QOS}
+         * history keep all received changes, so they always copy user data out of the network
+         * buffers.
+         *
+         * <p>Each {@link PayloadView} keeps whole network buffer alive (see {@link
+         * #packetBufferSize(int)}), so subscribers which hold many messages for a long time should
+         * copy their data (see {@link RtpsTalkDataMessage#data()}) and release them.
+         */
+        public Builder zeroCopyPayloads(boolean zeroCopyPayloads) {
+            this.zeroCopyPayloads = zeroCopyPayloads;
+            return this;
+        }
+
+        /**
+         * Maximum number of RTPS messages which are received from the network at once and then
+         * delivered to the local readers together.
+         *
+         * <p>By default (value 1) each message is received with blocking I/O and delivered to the
+         * readers right away. With bigger values channels switch to non-blocking I/O and, once
+         * first message arrives, all other messages which are already available in the socket
+         * receive buffer are read too (see {@link #receiveBatchMaxLatency(Duration)}). This reduces
+         * number of thread handoffs under bursty traffic (for example fragmented user data).
+         */
+        public Builder receiveBatchSize(int receiveBatchSize) {
+            this.receiveBatchSize = receiveBatchSize;
+            return this;
+        }
+
+        /**
+         * How long the first received message in the batch can wait for more messages to arrive
+         * before the batch is delivered to the local readers (see {@link #receiveBatchSize(int)}).
+         *
+         * <p>By default it is zero and batch is delivered as soon as there is no more messages
+         * available in the socket receive buffer.
+         */
+        public Builder receiveBatchMaxLatency(Duration receiveBatchMaxLatency) {
+            this.receiveBatchMaxLatency = receiveBatchMaxLatency;
+            return this;
+        }
+
+        /**
+         * Large user data messages are split by the remote writers on multiple fragments. This is
+         * the maximum time local reader waits for all fragments of the message to arrive. Messages
+         * which were not fully received during this time are dropped (see {@link
+         * #DEFAULT_DATA_FRAGMENTS_TIMEOUT}).
+         */
+        public Builder dataFragmentsTimeout(Duration dataFragmentsTimeout) {
+            this.dataFragmentsTimeout = dataFragmentsTimeout;
+            return this;
+        }
+
+        /**
+         * Maximum number of bytes which each local reader can use to store fragments of the user
+         * data messages which are not fully received yet. When limit is reached the oldest of such
+         * messages are dropped (see {@link #DEFAULT_DATA_FRAGMENTS_MAX_MEMORY}).
+         */
+        public Builder dataFragmentsMaxMemory(long dataFragmentsMaxMemory) {
+            this.dataFragmentsMaxMemory = dataFragmentsMaxMemory;
+            return this;
+        }
+
+        /**
+         * {@link ThreadFactory} which will be used to create all <b>rtpstalk</b> internal
+         * long-running threads (receivers of RTPS messages, participant timer etc).
+         *
+         * <p>By default each of such threads is a separate platform thread. On JVMs which support
+         * virtual threads, they can be used instead by passing virtual thread factory here together
+         * with virtual thread per task {@link ExecutorService} to {@link
+         * #publisherExecutor(ExecutorService)}. This allows to run many endpoints without
+         * allocating a platform thread for each of them.
+         */
+        public Builder threadFactory(ThreadFactory threadFactory) {
+            this.threadFactory = Optional.of(threadFactory);
+            return this;
+        }
+
+        /**
+         * Maximum rate (bytes per second) at which each reliable writer resends the changes
+         * requested by one remote reader (repair traffic).
+         *
+         * <p>Each remote reader has its own limit so that one slow reader, which keeps requesting
+         * the same changes, cannot take up the network bandwidth used by the other readers. Changes
+         * which did not fit into the limit are resent later, as the limit allows, unless reader
+         * requests other changes before that.
+         *
+         * <p>By default there is no limit.
+         */
+        public Builder repairRate(long repairRate) {
+            this.repairRate = Optional.of(repairRate);
+            return this;
+        }
+
+        /**
+         * Maximum number of bytes which each reliable writer can resend to one remote reader at
+         * once when {@link #repairRate(long)} is set (see {@link #DEFAULT_REPAIR_BURST_SIZE}). It
+         * cannot be less than {@link #packetBufferSize(int)}.
+         */
+        public Builder repairBurstSize(int repairBurstSize) {
+            this.repairBurstSize = repairBurstSize;
+            return this;
+        }
+
+        /**
+         * Receive and send user data over the default multicast group of the {@link
+         * #domainId(int)} (address 239.255.0.1, port defined by RTPS specification for the user
+         * traffic).
+         *
+         * <p>Subscribers join the multicast group and announce it to all remote participants.
+         * Publishers which push changes (see {@link WriterSettings#pushMode()}) send each change
+         * once to the multicast group instead of sending it to each of the subscribers separately.
+         * Changes requested by the subscribers (repairs) are still sent only to them directly.
+         *
+         * <p>By default user data is sent using unicast only.
+         *
+         * @see #userDataMulticastGroup(InetSocketAddress)
+         */
+        public Builder userDataMulticast() {
+            isUserDataMulticastEnabled = true;
+            return this;
+        }
+
+        /**
+         * Same as {@link #userDataMulticast()} but use given multicast group instead of the default
+         * one. Only IPv4 multicast addresses are supported.
+         */
+        public Builder userDataMulticastGroup(InetSocketAddress group) {
+            userDataMulticastGroup = Optional.of(group);
+            return userDataMulticast();
+        }
+
+        /**
+         * Exchange user data with other participants of the same JVM through the memory, without
+         * the network stack.
+         *
+         * <p>Such participants still discover each other and exchange metatraffic over UDP. Each of
+         * them announces additional intra-process locator (see {@link
+         * pinorobotics.rtpstalk.impl.spec.messages.LocatorKind#LOCATOR_KIND_INTRAPROCESS}) and
+         * remote writers which support it prefer it over UDP locators. Other participants (other
+         * processes, other RTPS implementations) ignore it and keep using UDP.
+         *
+         * <p>By default it is disabled.
+         */
+        public Builder intraProcessTransport() {
+            intraProcessTransport = true;
+            return this;
+        }
+
+        /**
+         * Exchange user data with other participants of the same host through the ring buffers in
+         * memory-mapped files created inside {@link #DEFAULT_SHARED_MEMORY_DIRECTORY}.
+         *
+         * <p>Similar to {@link #intraProcessTransport()} participant announces additional shared
+         * memory locator (see {@link
+         * pinorobotics.rtpstalk.impl.spec.messages.LocatorKind#LOCATOR_KIND_SHM}) and it is used
+         * only by participants which can access its ring buffer.
+         *
+         * <p>By default it is disabled.
+         *
+         * @see #sharedMemoryTransport(Path)
+         */
+        public Builder sharedMemoryTransport() {
+            return sharedMemoryTransport(DEFAULT_SHARED_MEMORY_DIRECTORY);
+        }
+
+        /**
+         * Same as {@link #sharedMemoryTransport()} but create ring buffers inside given directory.
+         * All participants which communicate through the shared memory must use the same directory.
+         */
+        public Builder sharedMemoryTransport(Path directory) {
+            sharedMemoryTransport = Optional.of(directory);
+            return this;
+        }
+
+        /**
+         * Size in bytes of the ring buffer which each participant allocates to receive messages
+         * sent through the {@link #sharedMemoryTransport()} or {@link #intraProcessTransport()}
+         * (see {@link #DEFAULT_SHARED_MEMORY_SEGMENT_SIZE}). Messages which do not fit into the
+         * ring buffer are dropped and later recovered by the reliable writers.
+         *
+         * <p>It must be power of two and not less than four {@link #packetBufferSize(int)}.
+         */
+        public Builder sharedMemorySegmentSize(int sharedMemorySegmentSize) {
+            this.sharedMemorySegmentSize = sharedMemorySegmentSize;
+            return this;
+        }
+
         public RtpsTalkConfiguration build() {
             var guid = ByteBuffer.allocate(Guid.SIZE);
             Unchecked.run(
@@ -367,7 +757,42 @@ public record RtpsTalkConfiguration(
                     publisherExecutor,
                     publisherMaxBufferCapacity,
                     receiveBufferSize,
-                    sendBufferSize);
+                    sendBufferSize,
+                    directBuffers,
+                    bufferPoolMode,
+                    bufferPoolMaxSize,
+                    zeroCopyPayloads,
+                    receiveBatchSize,
+                    receiveBatchMaxLatency,
+                    dataFragmentsTimeout,
+                    dataFragmentsMaxMemory,
+                    threadFactory,
+                    repairRate,
+                    repairBurstSize,
+                    isUserDataMulticastEnabled
+                            ? userDataMulticastGroup.or(
+                                    () ->
+                                            Optional.of(
+                                                    Locator.createDefaultUserDataMulticastLocator(
+                                                                    domainId)
+                                                            .getSocketAddress()))
+                            : Optional.empty(),
+                    intraProcessTransport,
+                    sharedMemoryTransport,
+                    sharedMemorySegmentSize,
+                    fastHeartbeatPeriod.orElseGet(
+                            () -> min(DEFAULT_FAST_HEARTBEAT_PERIOD, heartbeatPeriod)),
+                    maxHeartbeatPeriod.orElseGet(
+                            () -> max(DEFAULT_MAX_HEARTBEAT_PERIOD, heartbeatPeriod)),
+                    heartbeatResponseDelay);
+        }
+
+        private static Duration min(Duration a, Duration b) {
+            return a.compareTo(b) <= 0 ? a : b;
+        }
+
+        private static Duration max(Duration a, Duration b) {
+            return a.compareTo(b) >= 0 ? a : b;
         }
     }
 }
@@ -17,6 +17,7 @@
  */
 package pinorobotics.rtpstalk;
 
+import java.util.Optional;
 import java.util.concurrent.Flow.Publisher;
 import java.util.concurrent.Flow.Subscriber;
 import pinorobotics.rtpstalk.impl.spec.RtpsSpecReference;
@@ -25,7 +26,7 @@ import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVer
 /**
  * @author aeon_flux aeon_flux@eclipso.ch
  */
-public record WriterSettings(boolean pushMode) {
+public record WriterSettings(boolean pushMode, Optional<FlowControllerSettings> flowController) {
 
     /** Default pushMode */
     public static final boolean DEFAULT_PUSH_MODE = false;
@@ -34,11 +35,23 @@ public record WriterSettings(boolean pushMode) {
         this(DEFAULT_PUSH_MODE);
     }
 
+    public WriterSettings(boolean pushMode) {
+        this(pushMode, Optional.empty());
+    }
+
+    public WriterSettings(boolean pushMode, FlowControllerSettings flowController) {
+        this(pushMode, Optional.of(flowController));
+    }
+
     /**
      * Configures the mode in which the Writer operates. If pushMode==true, then the Writer will
      * push changes to the reader. If pushMode==false, changes will only be announced via heartbeats
      * and only be sent as response to the request of a reader.
      *
+     * <p>When pushMode enabled, new changes are sent to the reliable readers right away, but always
+     * in order of their sequence numbers together with the changes which readers requested to be
+     * resent.
+     *
      * <p>When pushMode enabled it may produce more network traffic between the RTPS participants.
      * Due to concurrent nature of published messages and heartbeats (see 8.4.1.1 {@link
      * RtpsSpecReference#RTPS23}) it is possible that message will be sent twice (through heartbeat
@@ -52,4 +65,16 @@ public record WriterSettings(boolean pushMode) {
     public boolean pushMode() {
         return pushMode;
     }
+
+    /**
+     * Limits the rate at which the Writer sends changes to the readers. Changes which are pushed
+     * wait until they fit into the limits. Changes which are sent as response to the request of a
+     * reader are sent only when they fit into the limits right away and are dropped otherwise, so
+     * that reader requests them again later.
+     *
+     * <p>By default there is no limit.
+     */
+    public Optional<FlowControllerSettings> flowController() {
+        return flowController;
+    }
 }
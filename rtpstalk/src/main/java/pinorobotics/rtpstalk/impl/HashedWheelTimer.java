@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl;
+
+import id.xfunction.Preconditions;
+import id.xfunction.function.Unchecked;
+import id.xfunction.logging.TracingToken;
+import id.xfunction.logging.XLogger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Participant-wide timer which drives all periodic activities of the RTPS endpoints (heartbeats,
+ * SPDP announcements, lease checks etc.) from a single thread.
+ *
+ * <p>Tasks are kept in a wheel of buckets where each bucket holds tasks which are due within the
+ * same tick. Scheduling and cancelling a task is O(1) and on each tick only tasks from the current
+ * bucket are visited.
+ *
+ * <p>Tasks are executed by the timer thread so they should not block. Same task is never executed
+ * concurrently with itself.
+ *
+ * <p>Thread-safe
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class HashedWheelTimer implements AutoCloseable {
+    public static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
+    private static final int WHEEL_SIZE = 512;
+
+    /** Handle of the task scheduled with {@link HashedWheelTimer} */
+    public static class ScheduledTask {
+        private final Runnable task;
+        private final long delayNanos;
+        private volatile boolean isCancelled;
+        private long remainingRounds;
+
+        private ScheduledTask(Runnable task, long delayNanos) {
+            this.task = task;
+            this.delayNanos = delayNanos;
+        }
+
+        /** Task will not be executed anymore, if it is being executed right now it will complete */
+        public void cancel() {
+            isCancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return isCancelled;
+        }
+
+        private boolean isPeriodic() {
+            return delayNanos > 0;
+        }
+    }
+
+    private final XLogger logger;
+    private final long tickNanos;
+    private final List<ScheduledTask>[] wheel;
+    private final Queue<PendingTask> pendingTasks = new ConcurrentLinkedQueue<>();
+    private final Thread thread;
+    private final long startTime;
+    private List<ScheduledTask> expiredTasks = new ArrayList<>();
+    private long tick;
+    private volatile boolean isClosed;
+
+    private record PendingTask(ScheduledTask task, long deadline) {}
+
+    public HashedWheelTimer(TracingToken tracingToken) {
+        this(tracingToken, DEFAULT_TICK_DURATION);
+    }
+
+    public HashedWheelTimer(TracingToken tracingToken, Duration tickDuration) {
+        this(tracingToken, tickDuration, Optional.empty());
+    }
+
+    /**
+     * @param threadFactory factory for the timer thread, by default new daemon platform thread is
+     *     created
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public HashedWheelTimer(
+            TracingToken tracingToken,
+            Duration tickDuration,
+            Optional<ThreadFactory> threadFactory) {
+        Preconditions.isTrue(
+                !tickDuration.isNegative() && !tickDuration.isZero(),
+                "Tick duration must be positive");
+        logger = XLogger.getLogger(getClass(), tracingToken);
+        tickNanos = tickDuration.toNanos();
+        wheel = new List[WHEEL_SIZE];
+        for (int i = 0; i < wheel.length; i++) wheel[i] = new ArrayList<>();
+        startTime = System.nanoTime();
+        thread =
+                threadFactory
+                        .map(factory -> factory.newThread(this::run))
+                        .orElseGet(
+                                () -> {
+                                    var thread = new Thread(this::run, tracingToken + "-timer");
+                                    thread.setDaemon(true);
+                                    return thread;
+                                });
+        thread.start();
+    }
+
+    /** Execute the task once after the given delay */
+    public ScheduledTask schedule(Runnable task, Duration delay) {
+        return schedule(new ScheduledTask(task, 0), delay);
+    }
+
+    /**
+     * Execute the task periodically. Next execution is scheduled only after the previous one is
+     * completed.
+     */
+    public ScheduledTask scheduleWithFixedDelay(
+            Runnable task, Duration initialDelay, Duration delay) {
+        Preconditions.isTrue(!delay.isNegative() && !delay.isZero(), "Delay must be positive");
+        return schedule(new ScheduledTask(task, delay.toNanos()), initialDelay);
+    }
+
+    private ScheduledTask schedule(ScheduledTask task, Duration delay) {
+        Preconditions.isTrue(!isClosed, "Timer is closed");
+        pendingTasks.add(new PendingTask(task, System.nanoTime() + delay.toNanos()));
+        return task;
+    }
+
+    private void run() {
+        logger.fine("Started");
+        while (!isClosed) {
+            var deadline = startTime + (tick + 1) * tickNanos;
+            var sleepNanos = deadline - System.nanoTime();
+            if (sleepNanos > 0) {
+                LockSupport.parkNanos(sleepNanos);
+                continue;
+            }
+            PendingTask pending;
+            while ((pending = pendingTasks.poll()) != null) {
+                if (!pending.task().isCancelled()) add(pending.task(), pending.deadline());
+            }
+            var bucket = (int) (tick % WHEEL_SIZE);
+            var tasks = wheel[bucket];
+            wheel[bucket] = expiredTasks;
+            expiredTasks = tasks;
+            tick++;
+            for (var task : tasks) {
+                if (task.isCancelled()) continue;
+                if (task.remainingRounds > 0) {
+                    task.remainingRounds--;
+                    wheel[bucket].add(task);
+                    continue;
+                }
+                execute(task);
+            }
+            tasks.clear();
+        }
+        logger.fine("Stopped");
+    }
+
+    private void execute(ScheduledTask task) {
+        try {
+            task.task.run();
+        } catch (Exception e) {
+            logger.severe("Timer task error", e);
+        }
+        if (task.isPeriodic() && !task.isCancelled())
+            add(task, System.nanoTime() + task.delayNanos);
+    }
+
+    /** Called only from the timer thread */
+    private void add(ScheduledTask task, long deadline) {
+        var ticks = Math.max((deadline - startTime + tickNanos - 1) / tickNanos - 1, tick);
+        task.remainingRounds = (ticks - tick) / WHEEL_SIZE;
+        wheel[(int) (ticks % WHEEL_SIZE)].add(task);
+    }
+
+    /** Tasks cannot be scheduled on the closed timer */
+    public boolean isClosed() {
+        return isClosed;
+    }
+
+    @Override
+    public void close() {
+        if (isClosed) return;
+        isClosed = true;
+        LockSupport.unpark(thread);
+        // wait for the task which may be executed right now
+        if (Thread.currentThread() != thread) Unchecked.run(thread::join);
+        logger.fine("Closed");
+    }
+}
@@ -93,12 +93,23 @@ public class RtpsDataPackager<M extends RtpsTalkMessage> {
                                             "Data message type mismatch",
                                             messageType,
                                             RtpsTalkDataMessage.class);
-                                yield new RtpsTalkDataMessage(
+                                var userInlineQos =
                                         inlineQos
                                                 .map(ParameterList::getUserParameters)
                                                 .map(ImmutableMultiMap::toMap)
-                                                .map(Parameters::new),
-                                        ((RawData) serializedPayload.payload).data);
+                                                .map(Parameters::new);
+                                var rawData = (RawData) serializedPayload.payload;
+                                // view is valid only while RTPS message is processed, so
+                                // message keeps its own reference to it
+                                yield rawData.getView()
+                                        .map(
+                                                view ->
+                                                        new RtpsTalkDataMessage(
+                                                                userInlineQos, view.retain()))
+                                        .orElseGet(
+                                                () ->
+                                                        new RtpsTalkDataMessage(
+                                                                userInlineQos, rawData.getData()));
                             }
                             case PL_CDR_LE -> {
                                 if (messageType != RtpsTalkParameterListMessage.class)
@@ -19,10 +19,13 @@ package pinorobotics.rtpstalk.impl;
 
 import id.xfunction.XJsonStringBuilder;
 import id.xfunction.logging.TracingToken;
+import java.util.ArrayList;
+import java.util.List;
 import pinorobotics.rtpstalk.impl.spec.behavior.LocalOperatingEntities;
 import pinorobotics.rtpstalk.impl.spec.behavior.ParticipantsRegistry;
 import pinorobotics.rtpstalk.impl.spec.messages.Locator;
 import pinorobotics.rtpstalk.impl.spec.transport.DataChannel;
+import pinorobotics.rtpstalk.impl.spec.transport.Transport;
 
 /**
  * Placeholder for all RTPS endpoints which are available on a certain network interface.
@@ -35,6 +38,7 @@ public class RtpsNetworkInterface {
     private Locator metatrafficUnicastLocator;
     private DataChannel defaultUnicastChannel;
     private DataChannel metatrafficUnicastChannel;
+    private List<Transport.BoundChannel> transportChannels;
     private LocalOperatingEntities operatingEntities;
     private ParticipantsRegistry participantsRegistry;
 
@@ -43,11 +47,13 @@ public class RtpsNetworkInterface {
             DataChannel defaultUnicastChannel,
             Locator defaultUnicastLocator,
             DataChannel metatrafficUnicastChannel,
-            Locator metatrafficUnicastLocator) {
+            Locator metatrafficUnicastLocator,
+            List<Transport.BoundChannel> transportChannels) {
         this.defaultUnicastChannel = defaultUnicastChannel;
         this.defaultUnicastLocator = defaultUnicastLocator;
         this.metatrafficUnicastChannel = metatrafficUnicastChannel;
         this.metatrafficUnicastLocator = metatrafficUnicastLocator;
+        this.transportChannels = transportChannels;
         operatingEntities = new LocalOperatingEntities(tracingToken);
         participantsRegistry = new ParticipantsRegistry(tracingToken, operatingEntities);
     }
@@ -56,6 +62,17 @@ public class RtpsNetworkInterface {
         return defaultUnicastLocator;
     }
 
+    /**
+     * All locators where user data can be received: UDP {@link #getLocalDefaultUnicastLocator()}
+     * followed by the locators of {@link #getTransportChannels()}
+     */
+    public List<Locator> getLocalDefaultUnicastLocators() {
+        var locators = new ArrayList<Locator>();
+        locators.add(defaultUnicastLocator);
+        transportChannels.stream().map(Transport.BoundChannel::locator).forEach(locators::add);
+        return locators;
+    }
+
     public Locator getLocalMetatrafficUnicastLocator() {
         return metatrafficUnicastLocator;
     }
@@ -68,6 +85,11 @@ public class RtpsNetworkInterface {
         return metatrafficUnicastChannel;
     }
 
+    /** Channels which receive user data through the additional transports */
+    public List<Transport.BoundChannel> getTransportChannels() {
+        return transportChannels;
+    }
+
     public LocalOperatingEntities getOperatingEntities() {
         return operatingEntities;
     }
@@ -81,6 +103,9 @@ public class RtpsNetworkInterface {
         XJsonStringBuilder builder = new XJsonStringBuilder(this);
         builder.append("metatrafficUnicastLocator", metatrafficUnicastLocator);
         builder.append("defaultUnicastLocator", defaultUnicastLocator);
+        builder.append(
+                "transportLocators",
+                transportChannels.stream().map(Transport.BoundChannel::locator).toList());
         return builder.toString();
     }
 }
@@ -70,9 +70,16 @@ public class RtpsNetworkInterfaceFactory {
                         LocatorKind.LOCATOR_KIND_UDPv4,
                         userDataChannel.getLocalPort(),
                         locatorAddress);
+        var transportChannels =
+                channelFactory.bindTransports(tracingToken, userDataChannel.getLocalPort());
 
         return new RtpsNetworkInterface(
-                tracingToken, userDataChannel, userDataLocator, builtinDataChannel, builtinLocator);
+                tracingToken,
+                userDataChannel,
+                userDataLocator,
+                builtinDataChannel,
+                builtinLocator,
+                transportChannels);
     }
 
     private static InetAddress getNetworkIfaceIp(NetworkInterface networkIface) {
@@ -64,6 +64,7 @@ public class RtpsServiceManager implements AutoCloseable {
     private RtpsMessageReceiverFactory receiverFactory;
     private RtpsNetworkInterfaceFactory networkIfaceFactory;
     private ExecutorService publisherExecutor;
+    private HashedWheelTimer timer;
 
     public RtpsServiceManager(
             RtpsTalkConfigurationInternal config,
@@ -86,6 +87,11 @@ public class RtpsServiceManager implements AutoCloseable {
                 config.publicConfig()
                         .publisherExecutor()
                         .orElseGet(RtpsTalkConfiguration.Builder.DEFAULT_PUBLISHER_EXECUTOR);
+        timer =
+                new HashedWheelTimer(
+                        tracingToken,
+                        HashedWheelTimer.DEFAULT_TICK_DURATION,
+                        config.publicConfig().threadFactory());
 
         // looks like FASTRTPS does not support participant which runs on multiple network
         // interfaces on different ports
@@ -99,11 +105,12 @@ public class RtpsServiceManager implements AutoCloseable {
             var rtpsIface = networkIfaceFactory.createRtpsNetworkInterface(tracingToken);
             sedpService =
                     new MetatrafficUnicastService(
-                            config, publisherExecutor, channelFactory, receiverFactory);
+                            config, publisherExecutor, timer, channelFactory, receiverFactory);
             userService =
                     new UserDataService(
                             config,
                             publisherExecutor,
+                            timer,
                             channelFactory,
                             new DataObjectsFactory(),
                             receiverFactory);
@@ -154,7 +161,7 @@ public class RtpsServiceManager implements AutoCloseable {
             try {
                 var spdp =
                         new MetatrafficMulticastService(
-                                config, publisherExecutor, channelFactory, receiverFactory);
+                                config, publisherExecutor, timer, channelFactory, receiverFactory);
                 spdp.start(tracingToken, rtpsIface, iface, sedpService.newSedpConfigurator());
                 spdpServices.add(spdp);
             } catch (Exception e) {
@@ -207,6 +214,8 @@ public class RtpsServiceManager implements AutoCloseable {
         // that publications/subscriptions are disposed. Otherwise if we close
         // userdata port early, Participants may get an exceptions trying to send us anything
         userService.close();
+        // all endpoints are closed and their timer tasks are cancelled
+        timer.close();
         // if publisherExecutor is set it is managed by the user, otherwise it
         // is managed by us and we should shut it down
         if (config.publicConfig().publisherExecutor().isEmpty()) {
@@ -53,7 +53,7 @@ public record RtpsTalkConfigurationInternal(
                 maxSubmessageSize > 0, "Unexpected maxMessageSize %s", maxSubmessageSize);
     }
 
-    private static int calcMaxSubmessageSize(RtpsTalkConfiguration config) {
+    public static int calcMaxSubmessageSize(RtpsTalkConfiguration config) {
         var maxMessageSize =
                 config.packetBufferSize()
                         - LengthCalculator.getInstance().getFixedLength(Header.class);
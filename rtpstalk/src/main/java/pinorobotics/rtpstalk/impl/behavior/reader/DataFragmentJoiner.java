@@ -31,6 +31,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.logging.Level;
+import java.util.stream.IntStream;
 import pinorobotics.rtpstalk.impl.spec.RtpsSpecReference;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.RawData;
@@ -162,7 +163,9 @@ public class DataFragmentJoiner {
         }
         // rawData is a user data and is part of message Data
         // message Data additionally may contain metadata (serializedPayloadHeader)
-        var rawData = ByteBuffer.wrap(((RawData) serializedPayload.getPayload()).getData());
+        // with zero-copy it is a view of the network buffer, so it needs to be copied before
+        // the RTPS message processing is complete
+        var rawData = ((RawData) serializedPayload.getPayload()).getBuffer();
         var expectedDataLen = expectedFragmentSize * fragmentsInSubmessage;
         var actuaDatalLen = rawData.capacity();
         if (fragmentStartingNum == 1) {
@@ -182,7 +185,7 @@ public class DataFragmentJoiner {
                         tracingToken,
                         "First fragment data underflow");
             userdata.position(0);
-            userdata.put(rawData.array(), 0, rawData.limit());
+            userdata.put(rawData);
             availableDataSize += actuaDatalLen;
         } else {
             Preconditions.isTrue(
@@ -217,7 +220,7 @@ public class DataFragmentJoiner {
                             "Fragment data underflow");
             }
             userdata.position(offset - SerializedPayloadHeader.SIZE);
-            userdata.put(rawData.array(), 0, rawData.limit());
+            userdata.put(rawData);
             availableDataSize += actuaDatalLen;
         }
         fragmentsCounter.markAllFragmentsAsPresent(fragmentStartingNum, fragmentEndingNum);
@@ -231,6 +234,16 @@ public class DataFragmentJoiner {
                 expectedDataSize);
     }
 
+    /** Size of the data (including serializedPayloadHeader) which is being joined */
+    public int getDataSize() {
+        return expectedDataSize;
+    }
+
+    /** Sorted fragment numbers which are not received yet */
+    public IntStream missingFragments() {
+        return fragmentsCounter.missingFragments();
+    }
+
     public Optional<RtpsTalkDataMessage> join() {
         if (completeDataMessage.isPresent()) return completeDataMessage;
         if (fragmentsCounter.getMissingFragmentsCount() != 0) return Optional.empty();
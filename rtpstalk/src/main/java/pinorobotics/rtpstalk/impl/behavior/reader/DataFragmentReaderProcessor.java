@@ -18,33 +18,262 @@
 package pinorobotics.rtpstalk.impl.behavior.reader;
 
 import id.xfunction.logging.TracingToken;
+import id.xfunction.logging.XLogger;
+import id.xfunction.util.IntBitSet;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.FragmentNumberSet;
 import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
+import pinorobotics.rtpstalk.metrics.RtpsTalkMetrics;
 
 /**
+ * Joins fragments of the data messages received from multiple writers.
+ *
+ * <p>Messages are kept only until all their fragments are received. Messages which are not fully
+ * received are dropped when:
+ *
+ * <ul>
+ *   <li>they are not completed within the timeout (see {@link #removeExpired()})
+ *   <li>memory limit is reached (oldest messages are dropped first)
+ *   <li>writer does not have them anymore (see {@link #removeAllBelow(Guid, long)})
+ *   <li>writer is removed (see {@link #removeWriter(Guid)})
+ * </ul>
+ *
+ * <p>Thread-safe.
+ *
  * @author aeon_flux aeon_flux@eclipso.ch
  */
 public class DataFragmentReaderProcessor {
 
+    private final Meter METER =
+            GlobalOpenTelemetry.getMeter(DataFragmentReaderProcessor.class.getSimpleName());
+    private final LongCounter FRAGMENTED_MESSAGES_DROPPED_METER =
+            METER.counterBuilder(RtpsTalkMetrics.FRAGMENTED_MESSAGES_DROPPED_COUNT_METRIC)
+                    .setDescription(
+                            RtpsTalkMetrics.FRAGMENTED_MESSAGES_DROPPED_COUNT_METRIC_DESCRIPTION)
+                    .build();
+
     private record DataKey(Guid writerGuid, long dataSequenceNumber) {}
 
-    private Map<DataKey, DataFragmentJoiner> joiners = new HashMap<>();
+    private record PendingData(DataFragmentJoiner joiner, Instant createdAt) {}
+
+    /** Ordered by the time when first fragment of the message was received */
+    private Map<DataKey, PendingData> joiners = new LinkedHashMap<>();
+
+    /** Fragments of the messages below these sequence numbers are ignored */
+    private Map<Guid, Long> firstSeqNums = new HashMap<>();
+
     private TracingToken tracingToken;
+    private XLogger logger;
+    private Duration timeout;
+    private long maxMemory;
+    private long usedMemory;
+    private final ReentrantLock lock = new ReentrantLock();
 
     public DataFragmentReaderProcessor(TracingToken token) {
+        this(
+                token,
+                RtpsTalkConfiguration.Builder.DEFAULT_DATA_FRAGMENTS_TIMEOUT,
+                RtpsTalkConfiguration.Builder.DEFAULT_DATA_FRAGMENTS_MAX_MEMORY);
+    }
+
+    /**
+     * @param timeout see {@link RtpsTalkConfiguration.Builder#dataFragmentsTimeout(Duration)}
+     * @param maxMemory see {@link RtpsTalkConfiguration.Builder#dataFragmentsMaxMemory(long)}
+     */
+    public DataFragmentReaderProcessor(TracingToken token, Duration timeout, long maxMemory) {
         this.tracingToken = token;
+        this.timeout = timeout;
+        this.maxMemory = maxMemory;
+        logger = XLogger.getLogger(getClass(), tracingToken);
     }
 
     public Optional<RtpsTalkDataMessage> addDataFrag(Guid writerGuid, DataFrag dataFrag) {
-        var dataKey = new DataKey(writerGuid, dataFrag.writerSN.value);
-        var joiner =
-                joiners.computeIfAbsent(
-                        dataKey, i -> new DataFragmentJoiner(tracingToken, dataFrag));
-        joiner.add(dataFrag);
-        return joiner.join();
+        lock.lock();
+        try {
+            return addDataFragInternal(writerGuid, dataFrag);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Optional<RtpsTalkDataMessage> addDataFragInternal(Guid writerGuid, DataFrag dataFrag) {
+        var seqNum = dataFrag.writerSN.value;
+        if (seqNum < firstSeqNums.getOrDefault(writerGuid, 0L)) {
+            logger.fine(
+                    "DataFrag for the change {0} from the writer {1} is not expected anymore,"
+                            + " ignoring it...",
+                    seqNum, writerGuid);
+            return Optional.empty();
+        }
+        removeExpired(Instant.now());
+        var dataKey = new DataKey(writerGuid, seqNum);
+        var pendingData = joiners.get(dataKey);
+        if (pendingData == null) {
+            // data size comes from the remote writer and joiner allocates memory for all of it
+            // right away, so memory limit is enforced before joiner is created
+            var dataSize = dataFrag.dataSize;
+            if (dataSize > maxMemory) {
+                logger.warning(
+                        "Size of the data {0} for the change {1} exceeds the memory limit {2},"
+                                + " ignoring it...",
+                        dataSize, seqNum, maxMemory);
+                FRAGMENTED_MESSAGES_DROPPED_METER.add(1);
+                return Optional.empty();
+            }
+            while (usedMemory + dataSize > maxMemory) {
+                var oldest = joiners.keySet().iterator().next();
+                logger.warning(
+                        "Memory limit for fragmented data is reached, dropping the change {0} from"
+                                + " the writer {1}",
+                        oldest.dataSequenceNumber(), oldest.writerGuid());
+                drop(oldest);
+            }
+            var joiner = new DataFragmentJoiner(tracingToken, dataFrag);
+            pendingData = new PendingData(joiner, Instant.now());
+            joiners.put(dataKey, pendingData);
+            usedMemory += joiner.getDataSize();
+        }
+        pendingData.joiner().add(dataFrag);
+        var message = pendingData.joiner().join();
+        if (message.isPresent()) remove(dataKey);
+        return message;
+    }
+
+    /**
+     * Drop all messages from the writer below given sequence number and ignore any new fragments
+     * which belong to them.
+     *
+     * <p>It is called when writer does not have such messages anymore or when reader already
+     * processed them.
+     */
+    public void removeAllBelow(Guid writerGuid, long seqNum) {
+        lock.lock();
+        try {
+            if (seqNum <= firstSeqNums.getOrDefault(writerGuid, 0L)) return;
+            firstSeqNums.put(writerGuid, seqNum);
+            joiners.keySet().stream()
+                    .filter(
+                            k ->
+                                    k.writerGuid().equals(writerGuid)
+                                            && k.dataSequenceNumber() < seqNum)
+                    .toList()
+                    .forEach(this::drop);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Drop all messages from the writer which is not matched with the reader anymore */
+    public void removeWriter(Guid writerGuid) {
+        lock.lock();
+        try {
+            firstSeqNums.remove(writerGuid);
+            joiners.keySet().stream()
+                    .filter(k -> k.writerGuid().equals(writerGuid))
+                    .toList()
+                    .forEach(this::drop);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop messages which were not fully received within the timeout.
+     *
+     * <p>It is called for each new DataFrag but since writer may stop sending them it should be
+     * also called periodically.
+     */
+    public void removeExpired() {
+        lock.lock();
+        try {
+            removeExpired(Instant.now());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Build set of fragments which are still missing for the message which is partially received.
+     *
+     * @param lastFragmentNum fragments above it are not included into the set
+     * @return empty if none of the fragments of the message were received (or it was already fully
+     *     received)
+     */
+    public Optional<FragmentNumberSet> getMissingFragments(
+            Guid writerGuid, long seqNum, long lastFragmentNum) {
+        int[] missing;
+        lock.lock();
+        try {
+            var pendingData = joiners.get(new DataKey(writerGuid, seqNum));
+            if (pendingData == null) return Optional.empty();
+            missing =
+                    pendingData
+                            .joiner()
+                            .missingFragments()
+                            .takeWhile(fragmentNum -> fragmentNum <= lastFragmentNum)
+                            .toArray();
+        } finally {
+            lock.unlock();
+        }
+        if (missing.length == 0) return Optional.empty();
+        var firstMissing = missing[0];
+        var numBits =
+                Math.min(
+                        FragmentNumberSet.BITMAP_SIZE,
+                        missing[missing.length - 1] - firstMissing + 1);
+        var bset = new IntBitSet(numBits);
+        for (var fragmentNum : missing) {
+            if (fragmentNum >= firstMissing + numBits) break;
+            bset.flip(fragmentNum - firstMissing);
+        }
+        return Optional.of(new FragmentNumberSet(firstMissing, numBits, bset.intArray()));
+    }
+
+    private void removeExpired(Instant now) {
+        var iter = joiners.entrySet().iterator();
+        while (iter.hasNext()) {
+            var entry = iter.next();
+            if (Duration.between(entry.getValue().createdAt(), now).compareTo(timeout) < 0) break;
+            logger.warning(
+                    "Not all fragments for the change {0} from the writer {1} were received within"
+                            + " {2}, dropping it",
+                    entry.getKey().dataSequenceNumber(), entry.getKey().writerGuid(), timeout);
+            usedMemory -= entry.getValue().joiner().getDataSize();
+            iter.remove();
+            FRAGMENTED_MESSAGES_DROPPED_METER.add(1);
+        }
+    }
+
+    private void drop(DataKey dataKey) {
+        remove(dataKey);
+        FRAGMENTED_MESSAGES_DROPPED_METER.add(1);
+    }
+
+    private void remove(DataKey dataKey) {
+        var pendingData = joiners.remove(dataKey);
+        if (pendingData == null) return;
+        usedMemory -= pendingData.joiner().getDataSize();
+    }
+
+    /** Number of messages which are not fully received yet */
+    public int getNumberOfPendingMessages() {
+        lock.lock();
+        try {
+            return joiners.size();
+        } finally {
+            lock.unlock();
+        }
     }
 }
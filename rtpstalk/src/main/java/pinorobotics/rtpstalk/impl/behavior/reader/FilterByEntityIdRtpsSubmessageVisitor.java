@@ -23,6 +23,8 @@ import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Gap;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.HeartbeatFrag;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.NackFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion.Predefined;
@@ -59,14 +61,20 @@ public class FilterByEntityIdRtpsSubmessageVisitor implements RtpsSubmessageVisi
 
     @Override
     public Result onDataFrag(GuidPrefix guidPrefix, DataFrag data) {
-        if (!readerEntityId.equals(data.readerId)) return Result.CONTINUE;
-        return nextVisitor.onDataFrag(guidPrefix, data);
+        // same as Data, for example when it is sent to the multicast group
+        var shouldVisit = readerEntityId.equals(data.readerId);
+        if (EntityId.Predefined.ENTITYID_UNKNOWN.getValue().equals(data.readerId))
+            shouldVisit = true;
+        return shouldVisit ? nextVisitor.onDataFrag(guidPrefix, data) : Result.CONTINUE;
     }
 
     @Override
     public Result onGap(GuidPrefix guidPrefix, Gap gap) {
-        if (!readerEntityId.equals(gap.readerId)) return Result.CONTINUE;
-        return nextVisitor.onGap(guidPrefix, gap);
+        // same as Data
+        var shouldVisit = readerEntityId.equals(gap.readerId);
+        if (EntityId.Predefined.ENTITYID_UNKNOWN.getValue().equals(gap.readerId))
+            shouldVisit = true;
+        return shouldVisit ? nextVisitor.onGap(guidPrefix, gap) : Result.CONTINUE;
     }
 
     @RtpsSpecReference(
@@ -83,6 +91,16 @@ public class FilterByEntityIdRtpsSubmessageVisitor implements RtpsSubmessageVisi
         return shouldVisit ? nextVisitor.onHeartbeat(guidPrefix, heartbeat) : Result.CONTINUE;
     }
 
+    @Override
+    public Result onHeartbeatFrag(GuidPrefix guidPrefix, HeartbeatFrag heartbeatFrag) {
+        var shouldVisit = readerEntityId.equals(heartbeatFrag.readerId);
+        if (EntityId.Predefined.ENTITYID_UNKNOWN.getValue().equals(heartbeatFrag.readerId))
+            shouldVisit = true;
+        return shouldVisit
+                ? nextVisitor.onHeartbeatFrag(guidPrefix, heartbeatFrag)
+                : Result.CONTINUE;
+    }
+
     @Override
     public Result onAckNack(GuidPrefix guidPrefix, AckNack ackNack) {
         // AckNack submessages as readerId have remote readerId which acknowledges
@@ -90,4 +108,10 @@ public class FilterByEntityIdRtpsSubmessageVisitor implements RtpsSubmessageVisi
         // For that reason we does not filter AckNack submessages here
         return nextVisitor.onAckNack(guidPrefix, ackNack);
     }
+
+    @Override
+    public Result onNackFrag(GuidPrefix guidPrefix, NackFrag nackFrag) {
+        // same as AckNack
+        return nextVisitor.onNackFrag(guidPrefix, nackFrag);
+    }
 }
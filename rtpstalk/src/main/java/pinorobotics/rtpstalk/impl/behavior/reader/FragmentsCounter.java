@@ -17,6 +17,7 @@
  */
 package pinorobotics.rtpstalk.impl.behavior.reader;
 
+import java.util.stream.IntStream;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
 
 /**
@@ -56,4 +57,10 @@ public class FragmentsCounter {
     public int getMissingFragmentsCount() {
         return missingFragmentsCount;
     }
+
+    /** Sorted fragment numbers which are not received yet */
+    public IntStream missingFragments() {
+        return IntStream.rangeClosed(1, isFragmentReceived.length)
+                .filter(fragmentNum -> !isFragmentReceived[fragmentNum - 1]);
+    }
 }
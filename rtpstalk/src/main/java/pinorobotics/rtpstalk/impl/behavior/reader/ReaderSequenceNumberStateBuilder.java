@@ -19,6 +19,8 @@ package pinorobotics.rtpstalk.impl.behavior.reader;
 
 import id.xfunction.Preconditions;
 import id.xfunction.util.IntBitSet;
+import java.util.function.LongPredicate;
+import pinorobotics.rtpstalk.impl.spec.behavior.reader.ChangesFromWriter;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
 
@@ -31,6 +33,19 @@ public class ReaderSequenceNumberStateBuilder {
 
     public SequenceNumberSet build(
             long firstMissing, long lastMissing, long[] missingSorted, long availableChangesMax) {
+        return build(firstMissing, lastMissing, missingSorted, availableChangesMax, sn -> true);
+    }
+
+    /**
+     * @param isRequested tells which of the missing changes should be requested from the Writer.
+     *     Missing changes which are not requested are still not acknowledged.
+     */
+    public SequenceNumberSet build(
+            long firstMissing,
+            long lastMissing,
+            long[] missingSorted,
+            long availableChangesMax,
+            LongPredicate isRequested) {
         if (missingSorted.length == 0) {
             return expectNextSet(availableChangesMax);
         }
@@ -46,12 +61,46 @@ public class ReaderSequenceNumberStateBuilder {
         for (var sn : missingSorted) {
             if (sn >= (firstMissing + numBits)) continue;
             if (sn < firstMissing || lastMissing < sn) continue;
+            if (!isRequested.test(sn)) continue;
             bset.flip((int) (sn - firstMissing));
         }
 
         return new SequenceNumberSet(firstMissing, numBits, bset.intArray());
     }
 
+    /**
+     * Build {@link SequenceNumberSet} directly from the status of the changes, without enumerating
+     * all of the missing changes. Only the missing changes which fit into the bitmap are visited.
+     *
+     * @param isRequested tells which of the missing changes should be requested from the Writer.
+     *     Missing changes which are not requested are still not acknowledged.
+     */
+    public SequenceNumberSet build(
+            long firstSN,
+            long lastSN,
+            ChangesFromWriter changes,
+            long availableChangesMax,
+            LongPredicate isRequested) {
+        var firstMissing = changes.nextMissing(firstSN);
+        if (firstMissing == ChangesFromWriter.NONE || firstMissing > lastSN) {
+            return expectNextSet(availableChangesMax);
+        }
+        var lastMissing = changes.lastMissing(lastSN);
+        // enumeration from 1
+        var numBits = (int) Math.min(SequenceNumberSet.BITMAP_SIZE, lastMissing - firstMissing + 1);
+        var lastBit = firstMissing + numBits - 1;
+
+        // Creates bitmask of missing changes between [firstMissing..lastBit]
+        var bset = new IntBitSet(numBits);
+        var sn = firstMissing;
+        while (sn != ChangesFromWriter.NONE && sn <= lastBit) {
+            if (isRequested.test(sn)) bset.flip((int) (sn - firstMissing));
+            sn = changes.nextMissing(sn + 1);
+        }
+
+        return new SequenceNumberSet(firstMissing, numBits, bset.intArray());
+    }
+
     private SequenceNumberSet expectNextSet(long availableChangesMax) {
         // all present so we expect next
         return new SequenceNumberSet(new SequenceNumber(availableChangesMax + 1), 0);
@@ -17,20 +17,38 @@
  */
 package pinorobotics.rtpstalk.impl.behavior.reader;
 
-import id.xfunction.Preconditions;
 import id.xfunction.logging.TracingToken;
 import id.xfunction.logging.XLogger;
-import pinorobotics.rtpstalk.impl.messages.RtpsMessageAggregator;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
 import pinorobotics.rtpstalk.impl.spec.RtpsSpecReference;
+import pinorobotics.rtpstalk.impl.spec.behavior.reader.ChangesFromWriter;
 import pinorobotics.rtpstalk.impl.spec.behavior.reader.WriterProxy;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.AckNack;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
-import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoDestination;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.HeartbeatFrag;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.NackFrag;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Submessage;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.Count;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.FragmentNumberSet;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion.Predefined;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
+import pinorobotics.rtpstalk.impl.spec.transport.ControlMessageAggregator;
 
 /**
- * Combines multiple heartbeats into one AckNack
+ * Combines multiple heartbeats into one AckNack.
+ *
+ * <p>Changes which are partially received (only some of their fragments arrived) are not requested
+ * as a whole inside AckNack, instead their missing fragments are requested with NackFrag.
+ *
+ * <p>Positive AckNack (which does not request any changes) is not sent again if it acknowledges the
+ * same changes as the previous one. Such AckNack does not tell anything new to the writer, still
+ * writer keeps sending heartbeats until it receives it, so in case the previous one was lost it is
+ * resent after maxSuppressedAcks heartbeats. This way recovery follows the heartbeat cadence of the
+ * remote writer and not the local timing.
  *
  * @author aeon_flux aeon_flux@eclipso.ch
  */
@@ -40,21 +58,64 @@ import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVer
         text = "Efficient use of Gap and AckNack Submessages")
 public class WriterHeartbeatProcessor {
 
+    /**
+     * Every fourth heartbeat is answered with positive AckNack even if nothing changed since the
+     * last one
+     */
+    public static final int DEFAULT_MAX_SUPPRESSED_ACKS = 3;
+
     private XLogger logger;
     private WriterProxy writerProxy;
 
     /** Counter of Acks */
     private int count = 1;
 
+    /** Counter of NackFrags */
+    private int nackFragCount = 1;
+
     private Heartbeat lastHeartbeat;
-    private TracingToken tracingToken;
-    private int maxSubmessageSize;
+
+    /** Sequence number acknowledged by the last positive AckNack */
+    private long lastPositiveAckBase = -1;
+
+    /** Number of positive AckNacks suppressed since the last one was sent */
+    private int suppressedAcks;
+
+    private int maxSuppressedAcks;
+
+    /** Last HeartbeatFrag received for each of the changes */
+    private Map<Long, HeartbeatFrag> lastHeartbeatFrags = new HashMap<>();
+
+    private DataFragmentReaderProcessor fragmentsProcessor;
+    private ControlMessageAggregator controlMessageAggregator;
 
     public WriterHeartbeatProcessor(
             TracingToken tracingToken, WriterProxy writerProxy, int maxSubmessageSize) {
-        this.tracingToken = tracingToken;
+        this(
+                tracingToken,
+                writerProxy,
+                new DataFragmentReaderProcessor(tracingToken),
+                0,
+                new ControlMessageAggregator(
+                        tracingToken, writerProxy.getReaderGuid().guidPrefix, maxSubmessageSize));
+    }
+
+    /**
+     * @param fragmentsProcessor processor of the Reader which tracks partially received changes
+     * @param maxSuppressedAcks maximum number of repeated positive AckNacks in a row which are not
+     *     sent, zero disables suppression
+     * @param controlMessageAggregator aggregator through which AckNacks and NackFrags are sent
+     */
+    public WriterHeartbeatProcessor(
+            TracingToken tracingToken,
+            WriterProxy writerProxy,
+            DataFragmentReaderProcessor fragmentsProcessor,
+            int maxSuppressedAcks,
+            ControlMessageAggregator controlMessageAggregator) {
         this.writerProxy = writerProxy;
-        this.maxSubmessageSize = maxSubmessageSize;
+        this.fragmentsProcessor = fragmentsProcessor;
+        this.maxSuppressedAcks = maxSuppressedAcks;
+        this.controlMessageAggregator = controlMessageAggregator;
         logger = XLogger.getLogger(getClass(), tracingToken);
     }
 
@@ -77,9 +138,25 @@ public class WriterHeartbeatProcessor {
         }
     }
 
+    /** Called when new HeartbeatFrag received */
+    public void addHeartbeatFrag(HeartbeatFrag heartbeatFrag) {
+        var seqNum = heartbeatFrag.writerSN.value;
+        var last = lastHeartbeatFrags.get(seqNum);
+        if (last == null || last.count.value < heartbeatFrag.count.value) {
+            lastHeartbeatFrags.put(seqNum, heartbeatFrag);
+        } else {
+            logger.fine("Received duplicate heartbeatFrag, ignoring...");
+        }
+    }
+
+    /** Tells if there are any heartbeats which are not acknowledged yet */
+    public boolean hasPendingHeartbeats() {
+        return lastHeartbeat != null || !lastHeartbeatFrags.isEmpty();
+    }
+
     /** Ack all received heartbeats */
     public void ack() {
-        if (lastHeartbeat == null) {
+        if (!hasPendingHeartbeats()) {
             logger.fine("No new heartbeats, nothing to acknowledge...");
             return;
         }
@@ -89,30 +166,88 @@ public class WriterHeartbeatProcessor {
 
         logger.fine("Sending heartbeat ack for writer {0}", writerGuid);
 
-        var infoDst = new InfoDestination(writerGuid.guidPrefix);
-
-        writerProxy.missingChangesUpdate(lastHeartbeat.firstSN.value, lastHeartbeat.lastSN.value);
-        writerProxy.lostChangesUpdate(lastHeartbeat.firstSN.value);
-
-        var aggregator =
-                new RtpsMessageAggregator(tracingToken, readerGuid.guidPrefix, maxSubmessageSize);
-        Preconditions.isTrue(aggregator.add(infoDst), "Not enouch space in RTPS message");
-        Preconditions.isTrue(
-                aggregator.add(
+        var submessages = new ArrayList<Submessage>();
+        var nackFrags = new TreeMap<Long, FragmentNumberSet>();
+        if (lastHeartbeat != null) {
+            writerProxy.missingChangesUpdate(
+                    lastHeartbeat.firstSN.value, lastHeartbeat.lastSN.value);
+            writerProxy.lostChangesUpdate(lastHeartbeat.firstSN.value);
+            var changes = writerProxy.getChangesFromWriter();
+            // only changes which fit into ACKNACK bitmap can be requested
+            var firstMissing = changes.nextMissing(lastHeartbeat.firstSN.value);
+            var lastBit =
+                    Math.min(
+                            lastHeartbeat.lastSN.value,
+                            firstMissing + SequenceNumberSet.BITMAP_SIZE - 1);
+            for (var seqNum = firstMissing;
+                    seqNum != ChangesFromWriter.NONE && seqNum <= lastBit;
+                    seqNum = changes.nextMissing(seqNum + 1)) {
+                // writer has all fragments of the changes announced in heartbeat
+                var sn = seqNum;
+                fragmentsProcessor
+                        .getMissingFragments(writerGuid, sn, Long.MAX_VALUE)
+                        .ifPresent(fragments -> nackFrags.put(sn, fragments));
+            }
+            var readerSNState =
+                    new ReaderSequenceNumberStateBuilder()
+                            .build(
+                                    lastHeartbeat.firstSN.value,
+                                    lastHeartbeat.lastSN.value,
+                                    changes,
+                                    writerProxy.availableChangesMax(),
+                                    seqNum -> !nackFrags.containsKey(seqNum));
+            if (!isSuppressed(readerSNState, nackFrags.isEmpty())) {
+                submessages.add(
                         new AckNack(
                                 readerGuid.entityId,
                                 writerGuid.entityId,
-                                new ReaderSequenceNumberStateBuilder()
-                                        .build(
-                                                lastHeartbeat.firstSN.value,
-                                                lastHeartbeat.lastSN.value,
-                                                writerProxy.missingChangesSorted(),
-                                                writerProxy.availableChangesMax()),
-                                new Count(count++))),
-                "Not enouch space in RTPS message");
-        aggregator
-                .build()
-                .ifPresent(message -> writerProxy.getDataChannel().send(writerGuid, message));
+                                readerSNState,
+                                new Count(count++)));
+            }
+        }
+        for (var heartbeatFrag : lastHeartbeatFrags.values()) {
+            var seqNum = heartbeatFrag.writerSN.value;
+            if (nackFrags.containsKey(seqNum)) continue;
+            fragmentsProcessor
+                    .getMissingFragments(
+                            writerGuid, seqNum, heartbeatFrag.lastFragmentNum.getUnsigned())
+                    .ifPresent(fragments -> nackFrags.put(seqNum, fragments));
+        }
+        for (var e : nackFrags.entrySet()) {
+            logger.fine(
+                    "Requesting missing fragments {0} of the change {1}", e.getValue(), e.getKey());
+            submessages.add(
+                    new NackFrag(
+                            readerGuid.entityId,
+                            writerGuid.entityId,
+                            new SequenceNumber(e.getKey()),
+                            e.getValue(),
+                            new Count(nackFragCount++)));
+        }
+        if (!submessages.isEmpty())
+            controlMessageAggregator.add(
+                    writerProxy.getDataChannel(),
+                    writerGuid,
+                    writerProxy.getUnicastLocatorList(),
+                    submessages);
         lastHeartbeat = null;
+        lastHeartbeatFrags.clear();
+    }
+
+    private boolean isSuppressed(SequenceNumberSet readerSNState, boolean noNackFrags) {
+        var isPositive = noNackFrags && readerSNState.stream().findAny().isEmpty();
+        if (!isPositive) {
+            lastPositiveAckBase = -1;
+            return false;
+        }
+        var base = readerSNState.bitmapBase.value;
+        if (base == lastPositiveAckBase && suppressedAcks < maxSuppressedAcks) {
+            logger.fine("Nothing changed since last positive AckNack, suppressing it...");
+            suppressedAcks++;
+            return true;
+        }
+        lastPositiveAckBase = base;
+        suppressedAcks = 0;
+        return false;
     }
 }
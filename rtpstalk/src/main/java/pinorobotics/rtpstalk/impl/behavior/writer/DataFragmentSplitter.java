@@ -20,7 +20,6 @@ package pinorobotics.rtpstalk.impl.behavior.writer;
 import id.xfunction.Preconditions;
 import id.xfunction.logging.TracingToken;
 import id.xfunction.logging.XLogger;
-import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Optional;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
@@ -43,7 +42,7 @@ public class DataFragmentSplitter implements Iterable<DataFrag>, Iterator<DataFr
     private Optional<ParameterList> inlineQos;
     private int fragmentSize;
     private byte[] data;
-    private int currentPos, currentFragmentNum = 1;
+    private int currentFragmentNum = 1;
     private int dataSize;
     private int maxSubmessageSize;
     private XLogger logger;
@@ -80,7 +79,7 @@ public class DataFragmentSplitter implements Iterable<DataFrag>, Iterator<DataFr
 
     @Override
     public boolean hasNext() {
-        return currentPos < data.length;
+        return currentFragmentNum <= getFragmentsCount();
     }
 
     @Override
@@ -88,24 +87,48 @@ public class DataFragmentSplitter implements Iterable<DataFrag>, Iterator<DataFr
         if (currentFragmentNum == 1) {
             logger.fine("Start splitting message with sequence number {0}", writerSN);
         }
+        return get(currentFragmentNum++);
+    }
+
+    /** Total number of fragments into which the data is split */
+    public int getFragmentsCount() {
+        if (data.length == 0) return 0;
+        return (dataSize + fragmentSize - 1) / fragmentSize;
+    }
+
+    /**
+     * Creates fragment with the given number independently from the others. It is used to resend
+     * only the fragments which Reader reported as missing.
+     *
+     * @param fragmentNum fragment number starting from 1
+     */
+    public DataFrag get(int fragmentNum) {
+        Preconditions.isTrue(
+                1 <= fragmentNum && fragmentNum <= getFragmentsCount(),
+                "Fragment number is out of range");
         var len = fragmentSize;
-        boolean hasSerializedPayloadHeader =
-                DataFrag.hasSerializedPayloadHeader(currentFragmentNum);
+        boolean hasSerializedPayloadHeader = DataFrag.hasSerializedPayloadHeader(fragmentNum);
         if (hasSerializedPayloadHeader) len -= SerializedPayloadHeader.SIZE;
-        if (currentPos + len > data.length) len = data.length - currentPos;
-        var fragment = Arrays.copyOfRange(data, currentPos, currentPos + len);
-        currentPos += len;
+        // first fragment is shorter since it includes SerializedPayloadHeader
+        var pos =
+                hasSerializedPayloadHeader
+                        ? 0
+                        : (fragmentNum - 1) * fragmentSize - SerializedPayloadHeader.SIZE;
+        if (pos + len > data.length) len = data.length - pos;
+        // fragment refers to the original data, it is copied only when it is written to the
+        // network buffer
+        var fragment = new RawData(data, pos, len);
         var dataFrag =
                 new DataFrag(
                         readerId,
                         writerId,
                         writerSN,
-                        currentFragmentNum++,
+                        fragmentNum,
                         1,
                         fragmentSize,
                         dataSize,
                         inlineQos,
-                        new SerializedPayload(new RawData(fragment), hasSerializedPayloadHeader));
+                        new SerializedPayload(fragment, hasSerializedPayloadHeader));
         Preconditions.isLessOrEqual(
                 dataFrag.getSubmessageLength(),
                 maxSubmessageSize,
@@ -18,21 +18,29 @@
 package pinorobotics.rtpstalk.impl.behavior.writer;
 
 import id.xfunction.Preconditions;
+import id.xfunction.function.Unchecked;
 import id.xfunction.logging.TracingToken;
 import id.xfunction.logging.XLogger;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import pinorobotics.rtpstalk.impl.RtpsDataPackager;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.messages.RtpsMessageAggregator;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.messages.UnsignedInt;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Gap;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.HeartbeatFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoDestination;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoTimestamp;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Submessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.Count;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ParameterList;
@@ -40,6 +48,8 @@ import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNum
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
 import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageSender;
 import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageSender.MessageBuilder;
+import pinorobotics.rtpstalk.impl.spec.transport.io.EncodedRtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsMessageWriter;
 import pinorobotics.rtpstalk.impl.spec.userdata.SampleIdentityProcessor;
 import pinorobotics.rtpstalk.messages.Parameters;
 import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
@@ -49,12 +59,22 @@ import pinorobotics.rtpstalk.messages.RtpsTalkMessage;
  * Build sequence of {@link RtpsMessage}, which is ready to be send, from different kinds of {@link
  * RtpsTalkMessage}
  *
+ * <p>Same builder is usually sent to many readers. To avoid packaging, fragmenting and serializing
+ * same changes for each of them, builder keeps cache of {@link EncodedRtpsMessage} (see {@link
+ * #buildEncoded(EntityId)}). Builders which are created with {@link
+ * #addAll(RtpsDataMessageBuilder)} share the cache of the original builder.
+ *
  * @author lambdaprime intid@protonmail.com
  */
 public class RtpsDataMessageBuilder implements RtpsMessageSender.MessageBuilder {
 
+    private static final RtpsMessageWriter WRITER = new RtpsMessageWriter();
+
     private XLogger logger;
     private Map<Long, RtpsTalkMessage> data = new LinkedHashMap<>();
+    private Map<Long, List<Integer>> fragments = new HashMap<>();
+    private Optional<Count> heartbeatFragCount = Optional.empty();
+    private Optional<HeartbeatParams> heartbeat = Optional.empty();
     private GuidPrefix writerGuidPrefix;
     private Optional<GuidPrefix> readerGuidPrefix;
     private RtpsDataPackager<RtpsTalkMessage> packager = new RtpsDataPackager<>();
@@ -62,6 +82,15 @@ public class RtpsDataMessageBuilder implements RtpsMessageSender.MessageBuilder
     private long lastSeqNum;
     private int maxSubmessageSize;
     private TracingToken tracingToken;
+    private Map<EncodedKey, List<EncodedRtpsMessage>> encodedCache = new ConcurrentHashMap<>();
+
+    /**
+     * Encoded messages of the same changes differ depending on presence of {@link InfoDestination}
+     * and on writer which sends them
+     */
+    private record EncodedKey(EntityId writerEntityId, boolean hasInfoDestination) {}
+
+    private record HeartbeatParams(long seqNumMin, long seqNumMax, int count) {}
 
     public RtpsDataMessageBuilder(
             RtpsTalkConfigurationInternal config,
@@ -86,11 +115,53 @@ public class RtpsDataMessageBuilder implements RtpsMessageSender.MessageBuilder
         Preconditions.isLess(lastSeqNum, seqNum, "Change is out of order");
         data.put(seqNum, payload);
         lastSeqNum = seqNum;
+        encodedCache = new ConcurrentHashMap<>();
+        return this;
+    }
+
+    /**
+     * Add change from which only the fragments with given numbers are going to be sent. If change
+     * does not require fragmentation it is sent fully.
+     */
+    public RtpsDataMessageBuilder add(
+            long seqNum, RtpsTalkMessage payload, List<Integer> fragmentNums) {
+        add(seqNum, payload);
+        fragments.put(seqNum, fragmentNums);
         return this;
     }
 
     public RtpsDataMessageBuilder addAll(RtpsDataMessageBuilder other) {
+        var isSameContent =
+                data.isEmpty()
+                        && heartbeatFragCount.isEmpty()
+                        && other.heartbeatFragCount.isEmpty()
+                        && heartbeat.isEmpty();
         data.putAll(other.data);
+        fragments.putAll(other.fragments);
+        if (heartbeat.isEmpty()) heartbeat = other.heartbeat;
+        encodedCache = isSameContent ? other.encodedCache : new ConcurrentHashMap<>();
+        return this;
+    }
+
+    /**
+     * Follow fragments of each fragmented change with HeartbeatFrag so that the Reader could
+     * request missing fragments right away, without waiting for the next Heartbeat.
+     *
+     * @param count HeartbeatFrag count
+     */
+    public RtpsDataMessageBuilder withHeartbeatFrag(int count) {
+        heartbeatFragCount = Optional.of(new Count(count));
+        encodedCache = new ConcurrentHashMap<>();
+        return this;
+    }
+
+    /**
+     * Piggyback Heartbeat after the last Data (or DataFrag) submessage so that the Reader could
+     * request the changes it lost right away, without waiting for the next periodic Heartbeat.
+     */
+    public RtpsDataMessageBuilder withHeartbeat(long seqNumMin, long seqNumMax, int count) {
+        heartbeat = Optional.of(new HeartbeatParams(seqNumMin, seqNumMax, count));
+        encodedCache = new ConcurrentHashMap<>();
         return this;
     }
 
@@ -135,7 +206,7 @@ public class RtpsDataMessageBuilder implements RtpsMessageSender.MessageBuilder
                     // fragmentSize for both the cases
                     fragmentSize -= InfoDestination.SIZE;
                 }
-                for (var fragment :
+                var splitter =
                         new DataFragmentSplitter(
                                 tracingToken,
                                 readerEntiyId,
@@ -143,22 +214,97 @@ public class RtpsDataMessageBuilder implements RtpsMessageSender.MessageBuilder
                                 seqNum,
                                 inlineQos,
                                 dataMessage.data().get(),
-                                fragmentSize)) {
+                                fragmentSize);
+                Iterable<DataFrag> dataFrags = splitter;
+                var fragmentNums = fragments.get(seqNum);
+                if (fragmentNums != null) {
+                    logger.fine(
+                            "Sending only fragments {0} of the message with sequence number {1}",
+                            fragmentNums, seqNum);
+                    dataFrags =
+                            fragmentNums.stream()
+                                    .filter(n -> 1 <= n && n <= splitter.getFragmentsCount())
+                                    .map(splitter::get)
+                                    .toList();
+                }
+                for (var fragment : dataFrags) {
                     Preconditions.isTrue(
                             messageBuilder.add(fragment),
                             "DataFrag submessage cannot be added to RTPS message");
                     messages.add(messageBuilder.build().get());
                     messageBuilder = new InternalBuilder(writerGuidPrefix);
                 }
+                if (heartbeatFragCount.isPresent()) {
+                    Preconditions.isTrue(
+                            messageBuilder.add(
+                                    new HeartbeatFrag(
+                                            readerEntiyId,
+                                            writerEntityId,
+                                            new SequenceNumber(seqNum),
+                                            new UnsignedInt(splitter.getFragmentsCount()),
+                                            heartbeatFragCount.get())),
+                            "HeartbeatFrag submessage cannot be added to RTPS message");
+                }
             } else {
                 throw new UnsupportedOperationException(
                         "Fragmentation of " + message.getClass().getSimpleName());
             }
         }
+        if (heartbeat.isPresent()) {
+            var params = heartbeat.get();
+            var submessage =
+                    new Heartbeat(
+                            readerEntiyId,
+                            writerEntityId,
+                            params.seqNumMin(),
+                            params.seqNumMax(),
+                            params.count());
+            if (!messageBuilder.add(submessage)) {
+                messageBuilder.build().ifPresent(messages::add);
+                messageBuilder = new InternalBuilder(writerGuidPrefix);
+                Preconditions.isTrue(
+                        messageBuilder.add(submessage),
+                        "Heartbeat submessage cannot be added to RTPS message");
+            }
+        }
         messageBuilder.build().ifPresent(messages::add);
         return messages;
     }
 
+    /**
+     * Messages are serialized only once, on first call, and then reused by all readers of this
+     * builder and of the builders which share its cache.
+     *
+     * <p>When some of the changes need to be replaced with {@link Gap} for the reader of this
+     * builder, its messages are different from the cached ones and so it is not supported.
+     */
+    @Override
+    public Optional<List<EncodedRtpsMessage>> buildEncoded(EntityId writerEntityId) {
+        if (hasGaps()) return Optional.empty();
+        var key = new EncodedKey(writerEntityId, readerGuidPrefix.isPresent());
+        return Optional.of(encodedCache.computeIfAbsent(key, this::encode));
+    }
+
+    private List<EncodedRtpsMessage> encode(EncodedKey key) {
+        logger.fine("Encoding messages for {0}", key);
+        // readerId is patched for each reader separately
+        return build(EntityId.Predefined.ENTITYID_UNKNOWN.getValue(), key.writerEntityId()).stream()
+                .map(message -> Unchecked.get(() -> WRITER.encode(message)))
+                .toList();
+    }
+
+    private boolean hasGaps() {
+        if (readerGuidPrefix.isEmpty()) return false;
+        return data.values().stream()
+                .anyMatch(
+                        message ->
+                                message instanceof RtpsTalkDataMessage dataMessage
+                                        && identityProc.shouldReplaceWithGap(
+                                                dataMessage,
+                                                readerGuidPrefix.get(),
+                                                writerGuidPrefix));
+    }
+
     private Submessage createSubmessage(
             EntityId readerEntiyId, EntityId writerEntityId, Long seqNum, RtpsTalkMessage message) {
         if (message instanceof RtpsTalkDataMessage data) {
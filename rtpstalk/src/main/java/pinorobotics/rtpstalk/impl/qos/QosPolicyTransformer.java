@@ -18,8 +18,10 @@
 package pinorobotics.rtpstalk.impl.qos;
 
 import pinorobotics.rtpstalk.impl.spec.messages.DurabilityQosPolicy;
+import pinorobotics.rtpstalk.impl.spec.messages.HistoryQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.ReliabilityQosPolicy;
 import pinorobotics.rtpstalk.qos.DurabilityType;
+import pinorobotics.rtpstalk.qos.HistoryType;
 import pinorobotics.rtpstalk.qos.ReliabilityType;
 
 /**
@@ -41,4 +43,11 @@ public class QosPolicyTransformer {
             case VOLATILE_DURABILITY_QOS -> DurabilityQosPolicy.Kind.VOLATILE_DURABILITY_QOS;
         };
     }
+
+    public HistoryQosPolicy.Kind convert(HistoryType historyType) {
+        return switch (historyType) {
+            case KEEP_LAST_HISTORY_QOS -> HistoryQosPolicy.Kind.KEEP_LAST_HISTORY_QOS;
+            case KEEP_ALL_HISTORY_QOS -> HistoryQosPolicy.Kind.KEEP_ALL_HISTORY_QOS;
+        };
+    }
 }
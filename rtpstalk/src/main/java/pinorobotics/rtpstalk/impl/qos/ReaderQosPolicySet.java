@@ -19,6 +19,7 @@ package pinorobotics.rtpstalk.impl.qos;
 
 import id.xfunction.XJsonStringBuilder;
 import pinorobotics.rtpstalk.impl.spec.messages.DurabilityQosPolicy;
+import pinorobotics.rtpstalk.impl.spec.messages.HistoryQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.ReliabilityQosPolicy;
 import pinorobotics.rtpstalk.qos.SubscriberQosPolicy;
 
@@ -26,7 +27,9 @@ import pinorobotics.rtpstalk.qos.SubscriberQosPolicy;
  * @author lambdaprime intid@protonmail.com
  */
 public record ReaderQosPolicySet(
-        ReliabilityQosPolicy.Kind reliabilityKind, DurabilityQosPolicy.Kind durabilityKind) {
+        ReliabilityQosPolicy.Kind reliabilityKind,
+        DurabilityQosPolicy.Kind durabilityKind,
+        HistoryQosPolicy historyQosPolicy) {
 
     private static final QosPolicyTransformer transformer = new QosPolicyTransformer();
 
@@ -36,10 +39,17 @@ public record ReaderQosPolicySet(
                 DurabilityQosPolicy.Kind.TRANSIENT_LOCAL_DURABILITY_QOS);
     }
 
+    public ReaderQosPolicySet(
+            ReliabilityQosPolicy.Kind reliabilityKind, DurabilityQosPolicy.Kind durabilityKind) {
+        this(reliabilityKind, durabilityKind, new HistoryQosPolicy());
+    }
+
     public ReaderQosPolicySet(SubscriberQosPolicy policy) {
         this(
                 transformer.convert(policy.reliabilityType()),
-                transformer.convert(policy.durabilityType()));
+                transformer.convert(policy.durabilityType()),
+                new HistoryQosPolicy(
+                        transformer.convert(policy.historyType()), policy.historyDepth()));
     }
 
     @Override
@@ -47,6 +57,7 @@ public record ReaderQosPolicySet(
         XJsonStringBuilder builder = new XJsonStringBuilder(this);
         builder.append("reliabilityKind", reliabilityKind);
         builder.append("durabilityKind", durabilityKind);
+        builder.append("historyQosPolicy", historyQosPolicy);
         return builder.toString();
     }
 }
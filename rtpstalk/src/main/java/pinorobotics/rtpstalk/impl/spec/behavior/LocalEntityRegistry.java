@@ -26,6 +26,7 @@ import java.util.EnumSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import pinorobotics.rtpstalk.impl.TopicId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityKind;
@@ -42,6 +43,7 @@ public class LocalEntityRegistry<E extends RtpsEntity> {
     private final EnumSet<EntityKind> kinds = EnumSet.noneOf(EntityKind.class);
     private final Map<EntityId, E> entities = new ConcurrentHashMap<>();
     private final Map<TopicId, EntityId> entityIds = new ConcurrentHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
     private volatile int entityIdCounter = 1;
 
     public LocalEntityRegistry(TracingToken tracingToken, EntityKind... kinds) {
@@ -49,17 +51,22 @@ public class LocalEntityRegistry<E extends RtpsEntity> {
         logger = XLogger.getLogger(getClass(), tracingToken);
     }
 
-    public synchronized void add(E entity) {
-        var entityId = entity.getGuid().entityId;
-        var entityKind = EntityKind.valueOf(entityId.entityKind());
-        Preconditions.isTrue(
-                kinds.contains(entityKind),
-                "Entity kind missmatch: registry %s, new entity %s",
-                kinds.toString(),
-                entityKind);
-        Preconditions.isTrue(
-                !entities.containsKey(entityId), "Entity %s already present", entityId);
-        entities.put(entityId, entity);
+    public void add(E entity) {
+        lock.lock();
+        try {
+            var entityId = entity.getGuid().entityId;
+            var entityKind = EntityKind.valueOf(entityId.entityKind());
+            Preconditions.isTrue(
+                    kinds.contains(entityKind),
+                    "Entity kind missmatch: registry %s, new entity %s",
+                    kinds.toString(),
+                    entityKind);
+            Preconditions.isTrue(
+                    !entities.containsKey(entityId), "Entity %s already present", entityId);
+            entities.put(entityId, entity);
+        } finally {
+            lock.unlock();
+        }
     }
 
     public Optional<E> find(EntityId entityId) {
@@ -74,19 +81,24 @@ public class LocalEntityRegistry<E extends RtpsEntity> {
         return Optional.ofNullable(entityIds.get(topicId));
     }
 
-    public synchronized EntityId assignNewEntityId(TopicId topicId, EntityKind kind) {
-        Preconditions.isTrue(
-                kinds.contains(kind),
-                "Entity kind missmatch: registry %s, new entity %s",
-                kinds.toString(),
-                kind);
-        var entityId = entityIds.get(topicId);
-        if (entityId == null) {
-            entityId = new EntityId(entityIdCounter++, kind);
-            logger.fine("Assigning new entity id {0} to the topic {1}", entityId, topicId);
-            entityIds.put(topicId, entityId);
+    public EntityId assignNewEntityId(TopicId topicId, EntityKind kind) {
+        lock.lock();
+        try {
+            Preconditions.isTrue(
+                    kinds.contains(kind),
+                    "Entity kind missmatch: registry %s, new entity %s",
+                    kinds.toString(),
+                    kind);
+            var entityId = entityIds.get(topicId);
+            if (entityId == null) {
+                entityId = new EntityId(entityIdCounter++, kind);
+                logger.fine("Assigning new entity id {0} to the topic {1}", entityId, topicId);
+                entityIds.put(topicId, entityId);
+            }
+            return entityId;
+        } finally {
+            lock.unlock();
         }
-        return entityId;
     }
 
     public EntityId assignEntityIdIfAbsent(TopicId topicId, EntityKind kind) {
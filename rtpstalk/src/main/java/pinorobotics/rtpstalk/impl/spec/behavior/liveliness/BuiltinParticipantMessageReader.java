@@ -21,6 +21,7 @@ import id.xfunction.Preconditions;
 import id.xfunction.logging.TracingToken;
 import java.util.concurrent.Executor;
 import pinorobotics.rtpstalk.EndpointQos;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.RtpsTalkParameterListMessage;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
@@ -51,6 +52,7 @@ public class BuiltinParticipantMessageReader
             RtpsTalkConfigurationInternal config,
             TracingToken tracingToken,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             LocalOperatingEntities operatingEntities,
             DataChannelFactory dataChannelFactory) {
         super(
@@ -58,6 +60,7 @@ public class BuiltinParticipantMessageReader
                 tracingToken,
                 RtpsTalkParameterListMessage.class,
                 publisherExecutor,
+                timer,
                 operatingEntities,
                 EntityId.Predefined.ENTITYID_P2P_BUILTIN_PARTICIPANT_MESSAGE_READER.getValue(),
                 DEFAULT_POLICY,
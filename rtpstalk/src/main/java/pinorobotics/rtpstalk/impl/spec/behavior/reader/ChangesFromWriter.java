@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.behavior.reader;
+
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.LongStream;
+import pinorobotics.rtpstalk.impl.spec.RtpsSpecReference;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion.Predefined;
+
+/**
+ * Status of the changes from the Writer.
+ *
+ * <p>Instead of keeping status of each change separately, changes are tracked as a sorted set of
+ * non overlapping intervals of sequence numbers where all changes share same {@link
+ * ChangeFromWriter} status. Adjacent intervals with same status are merged. This way large ranges
+ * of changes (announced in HEARTBEAT or GAP) take constant space and changes received in order
+ * collapse into a single interval.
+ *
+ * <p>Thread-safe
+ *
+ * @author aeon_flux aeon_flux@eclipso.ch
+ */
+@RtpsSpecReference(
+        protocolVersion = Predefined.Version_2_3,
+        paragraph = "8.4.10.4",
+        text = "changes_from_writer")
+public class ChangesFromWriter {
+
+    /** Returned when there is no change with the requested status */
+    public static final long NONE = -1;
+
+    private static class Interval {
+        private final long first;
+        private long last;
+        private final ChangeFromWriter status;
+
+        private Interval(long first, long last, ChangeFromWriter status) {
+            this.first = first;
+            this.last = last;
+            this.status = status;
+        }
+
+        private long size() {
+            return last - first + 1;
+        }
+    }
+
+    /** Intervals by their first sequence number */
+    private final TreeMap<Long, Interval> intervals = new TreeMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Set status of all changes in range [firstSN..lastSN] */
+    public void set(long firstSN, long lastSN, ChangeFromWriter status) {
+        if (firstSN > lastSN) return;
+        lock.lock();
+        try {
+            split(firstSN);
+            split(lastSN + 1);
+            intervals.subMap(firstSN, true, lastSN, true).clear();
+            add(firstSN, lastSN, status);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Set status of changes in range [firstSN..lastSN] to {@link ChangeFromWriter#MISSING} unless
+     * they already have some other status.
+     */
+    public void setMissing(long firstSN, long lastSN) {
+        lock.lock();
+        try {
+            var curSN = firstSN;
+            while (curSN <= lastSN) {
+                var interval = find(curSN);
+                if (interval != null) {
+                    curSN = interval.last + 1;
+                    continue;
+                }
+                var nextFirst = intervals.higherKey(curSN);
+                var holeLast = nextFirst == null ? lastSN : Math.min(lastSN, nextFirst - 1);
+                add(curSN, holeLast, ChangeFromWriter.MISSING);
+                curSN = holeLast + 1;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Optional<ChangeFromWriter> get(long seqNum) {
+        lock.lock();
+        try {
+            return Optional.ofNullable(find(seqNum)).map(interval -> interval.status);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stop tracking status of all changes below given sequence number
+     *
+     * @return number of missing changes which were removed
+     */
+    public long removeAllBelow(long seqNum) {
+        lock.lock();
+        try {
+            split(seqNum);
+            var head = intervals.headMap(seqNum);
+            var missing = 0L;
+            for (var interval : head.values()) {
+                if (interval.status.isMissing()) missing += interval.size();
+            }
+            head.clear();
+            return missing;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return smallest sequence number of the missing change which is greater or equal to the given
+     *     one or {@link #NONE}
+     */
+    public long nextMissing(long seqNum) {
+        lock.lock();
+        try {
+            var interval = find(seqNum);
+            if (interval != null && interval.status.isMissing()) return seqNum;
+            var first = intervals.higherKey(seqNum);
+            while (first != null) {
+                interval = intervals.get(first);
+                if (interval.status.isMissing()) return first;
+                first = intervals.higherKey(first);
+            }
+            return NONE;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return largest sequence number of the missing change which is less or equal to the given one
+     *     or {@link #NONE}
+     */
+    public long lastMissing(long seqNum) {
+        lock.lock();
+        try {
+            var first = intervals.floorKey(seqNum);
+            while (first != null) {
+                var interval = intervals.get(first);
+                if (interval.status.isMissing()) return Math.min(interval.last, seqNum);
+                first = intervals.lowerKey(first);
+            }
+            return NONE;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Sequence numbers of all missing changes in ascending order */
+    public long[] missingSorted() {
+        lock.lock();
+        try {
+            var builder = LongStream.builder();
+            for (var interval : intervals.values()) {
+                if (!interval.status.isMissing()) continue;
+                for (var seqNum = interval.first; seqNum <= interval.last; seqNum++)
+                    builder.add(seqNum);
+            }
+            return builder.build().toArray();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Interval find(long seqNum) {
+        var entry = intervals.floorEntry(seqNum);
+        if (entry == null || entry.getValue().last < seqNum) return null;
+        return entry.getValue();
+    }
+
+    /** Split interval which contains given sequence number so that it starts new interval */
+    private void split(long seqNum) {
+        var interval = find(seqNum);
+        if (interval == null || interval.first == seqNum) return;
+        intervals.put(seqNum, new Interval(seqNum, interval.last, interval.status));
+        interval.last = seqNum - 1;
+    }
+
+    /** Add new interval, range [firstSN..lastSN] should not be occupied by any other interval */
+    private void add(long firstSN, long lastSN, ChangeFromWriter status) {
+        var prev = find(firstSN - 1);
+        Interval interval;
+        if (prev != null && prev.status.equals(status)) {
+            prev.last = lastSN;
+            interval = prev;
+        } else {
+            interval = new Interval(firstSN, lastSN, status);
+            intervals.put(firstSN, interval);
+        }
+        var next = intervals.get(lastSN + 1);
+        if (next != null && next.status.equals(status)) {
+            interval.last = next.last;
+            intervals.remove(next.first);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.behavior.reader;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.locks.ReentrantLock;
+import pinorobotics.rtpstalk.messages.PayloadView;
+import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
+import pinorobotics.rtpstalk.messages.RtpsTalkMessage;
+
+/**
+ * Subscriber of the {@link RtpsReader} which owns one reference to the {@link PayloadView} of each
+ * message which is submitted to it.
+ *
+ * <p>References are taken by {@link RtpsReader} before the message is submitted (see {@link
+ * #offer(RtpsTalkDataMessage)}), so the reader can release its own reference at any time after
+ * that. References of the messages which were not delivered yet are released when the subscription
+ * is cancelled or completed.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class PayloadViewSubscriber<D extends RtpsTalkMessage> implements Subscriber<D>, Subscription {
+
+    private final Subscriber<? super D> subscriber;
+
+    /** Messages with {@link PayloadView} which were submitted but not delivered yet */
+    private final Queue<RtpsTalkDataMessage> pending = new ConcurrentLinkedQueue<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private boolean isCancelled;
+    private Subscription subscription;
+
+    PayloadViewSubscriber(Subscriber<? super D> subscriber) {
+        this.subscriber = subscriber;
+    }
+
+    Subscriber<? super D> getSubscriber() {
+        return subscriber;
+    }
+
+    /**
+     * Retain {@link PayloadView} of the message which is about to be submitted to this subscriber
+     *
+     * @return false if subscription is cancelled and message is not going to be delivered
+     */
+    boolean offer(RtpsTalkDataMessage message) {
+        lock.lock();
+        try {
+            if (isCancelled) return false;
+            message.dataView().get().retain();
+            pending.add(message);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = subscription;
+        subscriber.onSubscribe(this);
+    }
+
+    @Override
+    public void onNext(D item) {
+        if (item instanceof RtpsTalkDataMessage message && message.dataView().isPresent()) {
+            // messages are delivered in the same order as they were submitted
+            if (pending.poll() == null) {
+                // subscription was cancelled and the message was already released
+                return;
+            }
+        }
+        try {
+            subscriber.onNext(item);
+        } catch (RuntimeException e) {
+            // publisher cancels subscribers which throw exceptions
+            cancel();
+            throw e;
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        terminate();
+        subscriber.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        terminate();
+        subscriber.onComplete();
+    }
+
+    @Override
+    public void request(long n) {
+        subscription.request(n);
+    }
+
+    @Override
+    public void cancel() {
+        terminate();
+        subscription.cancel();
+    }
+
+    /** Stop accepting new messages and release the ones which were not delivered */
+    private void terminate() {
+        lock.lock();
+        try {
+            isCancelled = true;
+            RtpsTalkDataMessage message;
+            while ((message = pending.poll()) != null) message.release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return subscriber.toString();
+    }
+}
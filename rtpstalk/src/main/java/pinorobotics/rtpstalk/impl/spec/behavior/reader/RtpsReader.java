@@ -26,23 +26,30 @@ import io.opentelemetry.api.metrics.LongHistogram;
 import io.opentelemetry.api.metrics.Meter;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Flow.Subscriber;
 import java.util.concurrent.Flow.Subscription;
 import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.locks.ReentrantLock;
 import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer.ScheduledTask;
 import pinorobotics.rtpstalk.impl.RtpsDataPackager;
 import pinorobotics.rtpstalk.impl.RtpsDataPackager.MessageTypeMismatchException;
 import pinorobotics.rtpstalk.impl.behavior.reader.DataFragmentReaderProcessor;
 import pinorobotics.rtpstalk.impl.behavior.reader.FilterByEntityIdRtpsSubmessageVisitor;
 import pinorobotics.rtpstalk.impl.spec.RtpsSpecReference;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
+import pinorobotics.rtpstalk.impl.spec.messages.HistoryQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.ReliabilityQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ParameterList;
@@ -55,6 +62,7 @@ import pinorobotics.rtpstalk.impl.spec.structure.RtpsEntity;
 import pinorobotics.rtpstalk.impl.spec.structure.history.CacheChange;
 import pinorobotics.rtpstalk.impl.spec.structure.history.HistoryCache;
 import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageReceiver;
+import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
 import pinorobotics.rtpstalk.messages.RtpsTalkMessage;
 import pinorobotics.rtpstalk.metrics.RtpsTalkMetrics;
 
@@ -107,6 +115,19 @@ public class RtpsReader<D extends RtpsTalkMessage> extends SubmissionPublisher<D
     private RtpsDataPackager<D> packager = new RtpsDataPackager<>();
     private Class<D> messageType;
     private DataFragmentReaderProcessor processor;
+    private Duration dataFragmentsTimeout;
+    private Optional<ScheduledTask> dataFragmentsExpiryTask = Optional.empty();
+    private HistoryQosPolicy historyQosPolicy;
+    private boolean zeroCopyPayloads;
+
+    /**
+     * Subscribers which receive messages with {@link pinorobotics.rtpstalk.messages.PayloadView}.
+     * Guarded by {@link #subscribersLock} so that subscribers do not change while message is
+     * submitted.
+     */
+    private final List<PayloadViewSubscriber<D>> viewSubscribers = new ArrayList<>();
+
+    private final ReentrantLock subscribersLock = new ReentrantLock();
 
     public RtpsReader(
             RtpsTalkConfiguration config,
@@ -115,18 +136,64 @@ public class RtpsReader<D extends RtpsTalkMessage> extends SubmissionPublisher<D
             Executor publisherExecutor,
             Guid readerGuid,
             ReliabilityQosPolicy.Kind reliabilityKind) {
+        this(
+                config,
+                token,
+                messageType,
+                publisherExecutor,
+                readerGuid,
+                reliabilityKind,
+                new HistoryQosPolicy());
+    }
+
+    /**
+     * @param historyQosPolicy defines how many changes which were already submitted to the
+     *     subscribers are kept in the {@link #getReaderCache()} for each matched writer
+     */
+    public RtpsReader(
+            RtpsTalkConfiguration config,
+            TracingToken token,
+            Class<D> messageType,
+            Executor publisherExecutor,
+            Guid readerGuid,
+            ReliabilityQosPolicy.Kind reliabilityKind,
+            HistoryQosPolicy historyQosPolicy) {
         super(publisherExecutor, config.publisherMaxBufferSize());
+        Preconditions.isTrue(historyQosPolicy.depth > 0, "History depth must be positive");
+        this.historyQosPolicy = historyQosPolicy;
+        this.zeroCopyPayloads = config.zeroCopyPayloads();
         this.messageType = messageType;
         this.tracingToken = new TracingToken(token, "r", readerGuid.entityId.toString());
         this.guid = readerGuid;
         this.reliabilityKind = reliabilityKind;
         this.cache = new HistoryCache<>(tracingToken);
-        processor = new DataFragmentReaderProcessor(tracingToken);
+        dataFragmentsTimeout = config.dataFragmentsTimeout();
+        processor =
+                new DataFragmentReaderProcessor(
+                        tracingToken, dataFragmentsTimeout, config.dataFragmentsMaxMemory());
         filterVisitor = new FilterByEntityIdRtpsSubmessageVisitor(readerGuid.entityId, this);
         logger = XLogger.getLogger(getClass(), tracingToken);
         RTPS_READER_COUNT_METER.add(1);
     }
 
+    /** Joins fragments of the changes which are received as DataFrag submessages */
+    protected DataFragmentReaderProcessor getDataFragmentReaderProcessor() {
+        return processor;
+    }
+
+    /**
+     * Periodically drop changes which fragments were not fully received within {@link
+     * RtpsTalkConfiguration#dataFragmentsTimeout()}, even when writer stopped sending them
+     */
+    protected void scheduleDataFragmentsExpiry(HashedWheelTimer timer) {
+        dataFragmentsExpiryTask =
+                Optional.of(
+                        timer.scheduleWithFixedDelay(
+                                processor::removeExpired,
+                                dataFragmentsTimeout,
+                                dataFragmentsTimeout));
+    }
+
     /** Contains the history of CacheChange changes for this RTPS Reader. */
     public HistoryCache<D> getReaderCache() {
         return cache;
@@ -148,6 +215,7 @@ public class RtpsReader<D extends RtpsTalkMessage> extends SubmissionPublisher<D
         var writerGuid = new Guid(guidPrefix, d.writerId);
         try {
             packager.extractMessage(messageType, d)
+                    .map(this::detachPayload)
                     .ifPresent(
                             message -> {
                                 d.inlineQos.ifPresent(
@@ -157,7 +225,9 @@ public class RtpsReader<D extends RtpsTalkMessage> extends SubmissionPublisher<D
                                                         d.writerSN,
                                                         message,
                                                         inlineQos));
-                                addChange(new CacheChange<>(writerGuid, d.writerSN.value, message));
+                                if (!addChange(
+                                        new CacheChange<>(writerGuid, d.writerSN.value, message)))
+                                    release(message);
                             });
         } catch (MessageTypeMismatchException e) {
             if (Objects.equals(d.readerId, EntityId.Predefined.ENTITYID_UNKNOWN.getValue()))
@@ -187,6 +257,21 @@ public class RtpsReader<D extends RtpsTalkMessage> extends SubmissionPublisher<D
         return Result.CONTINUE;
     }
 
+    @RtpsSpecReference(
+            paragraph = "8.3.7.5",
+            protocolVersion = Predefined.Version_2_3,
+            text =
+                    """
+                    The firstSN ... identifies the first (lowest) sequence number that is available in the Writer.
+                    """)
+    @Override
+    public Result onHeartbeat(GuidPrefix guidPrefix, Heartbeat heartbeat) {
+        // writer does not have earlier changes anymore so their missing fragments will never
+        // arrive
+        processor.removeAllBelow(new Guid(guidPrefix, heartbeat.writerId), heartbeat.firstSN.value);
+        return Result.CONTINUE;
+    }
+
     private void addChangeInternal(CacheChange<D> cacheChange) {
         logger.entering("addChangeInternal");
         if (isClosed()) {
@@ -211,21 +296,114 @@ public class RtpsReader<D extends RtpsTalkMessage> extends SubmissionPublisher<D
                     """)
     protected boolean addChange(CacheChange<D> cacheChange) {
         logger.entering("addChange");
-        var seqNumMax = cache.getSeqNumMax(cacheChange.getWriterGuid());
+        var writerGuid = cacheChange.getWriterGuid();
+        var seqNumMax = cache.getSeqNumMax(writerGuid);
+        if (seqNumMax >= cacheChange.getSequenceNumber()) {
+            logger.fine(
+                    "Change with sequence number {0} from the writer {1} is older than the last"
+                            + " submitted change {2}, ignoring...",
+                    cacheChange.getSequenceNumber(), writerGuid, seqNumMax);
+            logger.exiting("addChange");
+            return false;
+        }
         var isAdded = cache.addChange(cacheChange);
-        if (isAdded && seqNumMax < cacheChange.getSequenceNumber()) {
+        if (isAdded) {
             submitChangeToUser(cacheChange);
+            removeSubmittedChanges(writerGuid, cacheChange.getSequenceNumber());
         }
         logger.exiting("addChange");
         return isAdded;
     }
 
+    /**
+     * Remove changes which were already submitted to the subscribers from the {@link
+     * #getReaderCache()} according to {@link HistoryQosPolicy}
+     *
+     * @param lastSubmittedSeqNum sequence number of the last change from the writer which was
+     *     submitted to the subscribers
+     */
+    protected void removeSubmittedChanges(Guid writerGuid, long lastSubmittedSeqNum) {
+        processor.removeAllBelow(writerGuid, lastSubmittedSeqNum + 1);
+        // changes are kept without network buffers (see detachPayload)
+        if (historyQosPolicy.getKind() == HistoryQosPolicy.Kind.KEEP_ALL_HISTORY_QOS) return;
+        var oldestSeqNum = lastSubmittedSeqNum - historyQosPolicy.depth + 1;
+        if (zeroCopyPayloads) {
+            // cache owns the reference of each message it keeps
+            cache.getAllSortedBySeqNum(writerGuid)
+                    .takeWhile(change -> change.getSequenceNumber() < oldestSeqNum)
+                    .forEach(change -> release(change.getDataValue()));
+        }
+        cache.removeAllBelow(writerGuid, oldestSeqNum);
+    }
+
     protected void submitChangeToUser(CacheChange<D> cacheChange) {
         logger.fine(
                 "Submitting new change with sequence number {0} from the writer {1} to user"
                         + " subscribers",
                 cacheChange.getSequenceNumber(), cacheChange.getWriterGuid());
-        submit(cacheChange.getDataValue());
+        var message = cacheChange.getDataValue();
+        if (message instanceof RtpsTalkDataMessage dataMessage
+                && dataMessage.dataView().isPresent()) {
+            // each subscriber is going to release the message independently, so subscribers
+            // should not change until message is submitted to all of them
+            subscribersLock.lock();
+            try {
+                viewSubscribers.removeIf(subscriber -> !subscriber.offer(dataMessage));
+                submit(message);
+            } finally {
+                subscribersLock.unlock();
+            }
+            return;
+        }
+        submit(message);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super D> subscriber) {
+        if (!zeroCopyPayloads) {
+            super.subscribe(subscriber);
+            return;
+        }
+        subscribersLock.lock();
+        try {
+            var viewSubscriber = new PayloadViewSubscriber<D>(subscriber);
+            viewSubscribers.add(viewSubscriber);
+            super.subscribe(viewSubscriber);
+        } finally {
+            subscribersLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isSubscribed(Subscriber<? super D> subscriber) {
+        if (!zeroCopyPayloads) return super.isSubscribed(subscriber);
+        subscribersLock.lock();
+        try {
+            return viewSubscribers.stream()
+                    .anyMatch(s -> s.getSubscriber() == subscriber && super.isSubscribed(s));
+        } finally {
+            subscribersLock.unlock();
+        }
+    }
+
+    /**
+     * With {@link HistoryQosPolicy.Kind#KEEP_ALL_HISTORY_QOS} changes are never removed from the
+     * {@link #getReaderCache()}, so their user data is copied out of the network buffers to not
+     * keep them from being reused.
+     */
+    @SuppressWarnings("unchecked")
+    private D detachPayload(D message) {
+        if (historyQosPolicy.getKind() != HistoryQosPolicy.Kind.KEEP_ALL_HISTORY_QOS)
+            return message;
+        if (!(message instanceof RtpsTalkDataMessage dataMessage)
+                || dataMessage.dataView().isEmpty()) return message;
+        var copy = new RtpsTalkDataMessage(dataMessage.userInlineQos(), dataMessage.data());
+        dataMessage.release();
+        return (D) copy;
+    }
+
+    private void release(D message) {
+        if (message instanceof RtpsTalkDataMessage dataMessage) dataMessage.release();
     }
 
     protected void process(RtpsMessage message) {
@@ -248,6 +426,7 @@ public class RtpsReader<D extends RtpsTalkMessage> extends SubmissionPublisher<D
             logger.severe(e);
         } finally {
             PROCESS_TIME_METER.record(Duration.between(startAt, Instant.now()).toMillis());
+            message.release();
             subscription.get().request(1);
         }
     }
@@ -277,8 +456,13 @@ public class RtpsReader<D extends RtpsTalkMessage> extends SubmissionPublisher<D
 
     @Override
     public void close() {
+        var wasClosed = isClosed();
+        dataFragmentsExpiryTask.ifPresent(ScheduledTask::cancel);
         subscription.ifPresent(Subscription::cancel);
         super.close();
+        if (zeroCopyPayloads && !wasClosed) {
+            cache.getAll().forEach(change -> release(change.getDataValue()));
+        }
         logger.fine("Closed");
     }
 }
@@ -19,11 +19,17 @@ package pinorobotics.rtpstalk.impl.spec.behavior.reader;
 
 import id.xfunction.Preconditions;
 import id.xfunction.logging.TracingToken;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer.ScheduledTask;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.behavior.reader.WriterHeartbeatProcessor;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
@@ -36,6 +42,7 @@ import pinorobotics.rtpstalk.impl.spec.messages.ReliabilityQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Gap;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.HeartbeatFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion.Predefined;
@@ -51,6 +58,10 @@ import pinorobotics.rtpstalk.messages.RtpsTalkMessage;
  * #matchedWriterAdd(Guid, List)} when another doing {@link #process(RtpsMessage)} and that
  * happening at the same time.
  *
+ * <p>Heartbeats are not answered right away but only after {@link
+ * RtpsTalkConfiguration#heartbeatResponseDelay()}, so that all heartbeats received from the writer
+ * during that time are acknowledged with a single AckNack.
+ *
  * @author aeon_flux aeon_flux@eclipso.ch
  */
 public class StatefullReliableRtpsReader<D extends RtpsTalkMessage> extends RtpsReader<D> {
@@ -70,12 +81,24 @@ public class StatefullReliableRtpsReader<D extends RtpsTalkMessage> extends Rtps
     private ReaderQosPolicySet qosPolicy;
 
     private DataChannelFactory dataChannelFactory;
+    private HashedWheelTimer timer;
+    private Executor publisherExecutor;
+    private Duration heartbeatResponseDelay;
+
+    /**
+     * Heartbeat processors are not thread-safe so messages and delayed AckNacks should not be
+     * processed at the same time
+     */
+    private final ReentrantLock processLock = new ReentrantLock();
+
+    private volatile Optional<ScheduledTask> ackTask = Optional.empty();
 
     public StatefullReliableRtpsReader(
             RtpsTalkConfigurationInternal config,
             TracingToken tracingToken,
             Class<D> messageType,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             LocalOperatingEntities operatingEntities,
             EntityId entityId,
             ReaderQosPolicySet qosPolicy,
@@ -86,13 +109,18 @@ public class StatefullReliableRtpsReader<D extends RtpsTalkMessage> extends Rtps
                 messageType,
                 publisherExecutor,
                 new Guid(config.publicConfig().guidPrefix(), entityId),
-                qosPolicy.reliabilityKind());
+                qosPolicy.reliabilityKind(),
+                qosPolicy.historyQosPolicy());
         this.dataChannelFactory = dataChannelFactory;
+        this.timer = timer;
+        this.publisherExecutor = publisherExecutor;
+        heartbeatResponseDelay = config.publicConfig().heartbeatResponseDelay();
         Preconditions.equals(qosPolicy.reliabilityKind(), ReliabilityQosPolicy.Kind.RELIABLE);
         this.qosPolicy = qosPolicy;
         this.config = config;
         this.operatingEntities = operatingEntities;
         operatingEntities.getLocalReaders().add(this);
+        scheduleDataFragmentsExpiry(timer);
     }
 
     public void matchedWriterAdd(Guid remoteGuid, List<Locator> unicast) {
@@ -100,18 +128,23 @@ public class StatefullReliableRtpsReader<D extends RtpsTalkMessage> extends Rtps
                 new WriterProxy(
                         getTracingToken(),
                         dataChannelFactory,
-                        config.maxSubmessageSize(),
                         getGuid(),
                         remoteGuid,
-                        unicast);
+                        unicast,
+                        getDataFragmentReaderProcessor(),
+                        WriterHeartbeatProcessor.DEFAULT_MAX_SUPPRESSED_ACKS,
+                        dataChannelFactory.getControlMessageAggregator(timer, publisherExecutor));
         logger.fine("Adding writer proxy for writer with guid {0}", proxy.getRemoteWriterGuid());
         matchedWriters.put(proxy.getRemoteWriterGuid(), proxy);
     }
 
     public void matchedWriterRemove(Guid writer) {
-        if (matchedWriters.remove(writer) == null) {
+        var proxy = matchedWriters.remove(writer);
+        if (proxy == null) {
             logger.warning("Trying to remove unknwon matched writer {0}, ignoring...", writer);
         } else {
+            proxy.close();
+            getDataFragmentReaderProcessor().removeWriter(writer);
             logger.warning("Matched writer {0} is removed", writer);
         }
     }
@@ -144,6 +177,23 @@ public class StatefullReliableRtpsReader<D extends RtpsTalkMessage> extends Rtps
         return super.onHeartbeat(guidPrefix, heartbeat);
     }
 
+    /**
+     * Missing fragments announced by HeartbeatFrag are requested with NackFrag when {@link
+     * WriterHeartbeatProcessor#ack()} is called
+     */
+    @Override
+    public Result onHeartbeatFrag(GuidPrefix guidPrefix, HeartbeatFrag heartbeatFrag) {
+        var writerGuid = new Guid(guidPrefix, heartbeatFrag.writerId);
+        var writerProxy = matchedWriters.get(writerGuid);
+        if (writerProxy != null) {
+            logger.fine("Received heartbeatFrag from writer {0}", writerGuid);
+            writerProxy.getHeartbeatProcessor().addHeartbeatFrag(heartbeatFrag);
+        } else {
+            logger.fine("Received heartbeatFrag from unknown writer {0}, ignoring...", writerGuid);
+        }
+        return Result.CONTINUE;
+    }
+
     @Override
     public Result onGap(GuidPrefix guidPrefix, Gap gap) {
         var writerGuid = new Guid(guidPrefix, gap.writerId);
@@ -178,10 +228,18 @@ public class StatefullReliableRtpsReader<D extends RtpsTalkMessage> extends Rtps
                     writerGuid);
             return false;
         }
+        var lastSubmittedSeqNum = lastSubmittedSeqNums.get(writerGuid);
+        if (lastSubmittedSeqNum != null
+                && newCacheChange.getSequenceNumber() <= lastSubmittedSeqNum) {
+            logger.fine(
+                    "Change with sequence number {0} from the writer {1} was already submitted,"
+                            + " ignoring...",
+                    newCacheChange.getSequenceNumber(), writerGuid);
+            return false;
+        }
         var cache = getReaderCache();
         var isAdded = cache.addChange(newCacheChange);
         if (isAdded) {
-            var lastSubmittedSeqNum = lastSubmittedSeqNums.get(writerGuid);
             if (lastSubmittedSeqNum == null) {
                 lastSubmittedSeqNum = calcStartSeqNum(newCacheChange.getSequenceNumber());
                 if (lastSubmittedSeqNum == 0) {
@@ -214,6 +272,8 @@ public class StatefullReliableRtpsReader<D extends RtpsTalkMessage> extends Rtps
                 }
             }
             lastSubmittedSeqNums.put(writerGuid, lastSubmittedSeqNum);
+            removeSubmittedChanges(writerGuid, lastSubmittedSeqNum);
+            writerProxy.removeAllBelow(lastSubmittedSeqNum + 1);
         }
         logger.exiting("addChange");
         return isAdded;
@@ -227,12 +287,56 @@ public class StatefullReliableRtpsReader<D extends RtpsTalkMessage> extends Rtps
 
     @Override
     protected void process(RtpsMessage message) {
-        super.process(message);
+        processLock.lock();
+        try {
+            super.process(message);
+            if (heartbeatResponseDelay.isZero()) {
+                ackAll();
+                return;
+            }
+            if (ackTask.isPresent()) return;
+            var hasPendingHeartbeats =
+                    matchedWriters.values().stream()
+                            .map(WriterProxy::getHeartbeatProcessor)
+                            .anyMatch(WriterHeartbeatProcessor::hasPendingHeartbeats);
+            if (!hasPendingHeartbeats) return;
+            logger.fine("Scheduling AckNack in {0}", heartbeatResponseDelay);
+            ackTask = Optional.of(timer.schedule(this::delayedAck, heartbeatResponseDelay));
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    /** Called from the timer thread */
+    private void delayedAck() {
+        if (!processLock.tryLock()) {
+            // do not block the timer while reader is processing the message
+            logger.fine("Reader is busy, rescheduling AckNack");
+            ackTask = Optional.of(timer.schedule(this::delayedAck, heartbeatResponseDelay));
+            return;
+        }
+        try {
+            ackTask = Optional.empty();
+            ackAll();
+        } finally {
+            processLock.unlock();
+        }
+    }
+
+    private void ackAll() {
         matchedWriters.values().stream()
                 .map(WriterProxy::getHeartbeatProcessor)
                 .forEach(WriterHeartbeatProcessor::ack);
     }
 
+    @Override
+    public void close() {
+        ackTask.ifPresent(ScheduledTask::cancel);
+        super.close();
+        matchedWriters.values().forEach(WriterProxy::close);
+        matchedWriters.clear();
+    }
+
     protected LocalOperatingEntities getOperatingEntities() {
         return operatingEntities;
     }
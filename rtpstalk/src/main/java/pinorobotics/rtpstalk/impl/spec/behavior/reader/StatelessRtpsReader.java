@@ -22,6 +22,7 @@ import id.xfunction.logging.TracingToken;
 import java.util.concurrent.Executor;
 import pinorobotics.rtpstalk.RtpsTalkConfiguration;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
+import pinorobotics.rtpstalk.impl.spec.messages.HistoryQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.ReliabilityQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageReceiver;
@@ -42,13 +43,32 @@ public class StatelessRtpsReader<D extends RtpsTalkMessage> extends RtpsReader<D
             Executor publisherExecutor,
             EntityId entityId,
             ReliabilityQosPolicy.Kind reliabilityKind) {
+        this(
+                config,
+                token,
+                messageType,
+                publisherExecutor,
+                entityId,
+                reliabilityKind,
+                new HistoryQosPolicy());
+    }
+
+    public StatelessRtpsReader(
+            RtpsTalkConfiguration config,
+            TracingToken token,
+            Class<D> messageType,
+            Executor publisherExecutor,
+            EntityId entityId,
+            ReliabilityQosPolicy.Kind reliabilityKind,
+            HistoryQosPolicy historyQosPolicy) {
         super(
                 config,
                 token,
                 messageType,
                 publisherExecutor,
                 new Guid(config.guidPrefix(), entityId),
-                reliabilityKind);
+                reliabilityKind,
+                historyQosPolicy);
         Preconditions.equals(reliabilityKind, ReliabilityQosPolicy.Kind.BEST_EFFORT);
     }
 }
@@ -17,29 +17,22 @@
  */
 package pinorobotics.rtpstalk.impl.spec.behavior.reader;
 
-import static pinorobotics.rtpstalk.impl.spec.behavior.reader.ChangeFromWriter.MISSING;
-import static pinorobotics.rtpstalk.impl.spec.behavior.reader.ChangeFromWriter.RECEIVED;
-
 import id.xfunction.logging.TracingToken;
 import id.xfunction.logging.XLogger;
 import io.opentelemetry.api.GlobalOpenTelemetry;
 import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.Meter;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Optional;
-import java.util.SortedMap;
-import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.LongStream;
+import pinorobotics.rtpstalk.impl.behavior.reader.DataFragmentReaderProcessor;
 import pinorobotics.rtpstalk.impl.behavior.reader.WriterHeartbeatProcessor;
 import pinorobotics.rtpstalk.impl.spec.RtpsSpecReference;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.Locator;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion.Predefined;
+import pinorobotics.rtpstalk.impl.spec.transport.ControlMessageAggregator;
 import pinorobotics.rtpstalk.impl.spec.transport.DataChannel;
 import pinorobotics.rtpstalk.impl.spec.transport.DataChannelFactory;
 import pinorobotics.rtpstalk.metrics.RtpsTalkMetrics;
@@ -47,7 +40,7 @@ import pinorobotics.rtpstalk.metrics.RtpsTalkMetrics;
 /**
  * @author aeon_flux aeon_flux@eclipso.ch
  */
-public class WriterProxy {
+public class WriterProxy implements AutoCloseable {
 
     private final Meter METER = GlobalOpenTelemetry.getMeter(WriterProxy.class.getSimpleName());
     private final LongCounter LOST_CHANGES_COUNT_METER =
@@ -62,8 +55,16 @@ public class WriterProxy {
     private final Guid readerGuid;
     private final Guid remoteWriterGuid;
     private final List<Locator> unicastLocatorList;
-    private final SortedMap<Long, ChangeFromWriter> sortedChangesFromWriter =
-            new ConcurrentSkipListMap<>();
+
+    /**
+     * Status of the changes from the Writer above the {@link #lowWaterMark}. Changes below it are
+     * not tracked so only the window of changes which are still in progress is kept.
+     */
+    private final ChangesFromWriter changesFromWriter = new ChangesFromWriter();
+
+    /** All changes with sequence numbers up to (and including) it are processed by the Reader */
+    private volatile long lowWaterMark;
+
     private final AtomicLong seqNumMax = new AtomicLong();
     private final XLogger logger;
     private final WriterHeartbeatProcessor heartbeatProcessor;
@@ -78,13 +79,45 @@ public class WriterProxy {
             Guid readerGuid,
             Guid remoteWriterGuid,
             List<Locator> unicastLocatorList) {
+        this(
+                tracingToken,
+                dataChannelFactory,
+                readerGuid,
+                remoteWriterGuid,
+                unicastLocatorList,
+                new DataFragmentReaderProcessor(tracingToken),
+                0,
+                new ControlMessageAggregator(
+                        tracingToken, readerGuid.guidPrefix, maxSubmessageSize));
+    }
+
+    /**
+     * @param fragmentsProcessor processor of the Reader which tracks partially received changes
+     * @param maxSuppressedAcks see {@link WriterHeartbeatProcessor}
+     * @param controlMessageAggregator aggregator through which AckNacks are sent to remote writer
+     */
+    public WriterProxy(
+            TracingToken tracingToken,
+            DataChannelFactory dataChannelFactory,
+            Guid readerGuid,
+            Guid remoteWriterGuid,
+            List<Locator> unicastLocatorList,
+            DataFragmentReaderProcessor fragmentsProcessor,
+            int maxSuppressedAcks,
+            ControlMessageAggregator controlMessageAggregator) {
         this.dataChannelFactory = dataChannelFactory;
         this.readerGuid = readerGuid;
         this.remoteWriterGuid = remoteWriterGuid;
         this.unicastLocatorList = List.copyOf(unicastLocatorList);
         this.tracingToken = tracingToken;
         logger = XLogger.getLogger(getClass(), tracingToken);
-        heartbeatProcessor = new WriterHeartbeatProcessor(tracingToken, this, maxSubmessageSize);
+        heartbeatProcessor =
+                new WriterHeartbeatProcessor(
+                        tracingToken,
+                        this,
+                        fragmentsProcessor,
+                        maxSuppressedAcks,
+                        controlMessageAggregator);
     }
 
     public void receivedChangeSet(long seqNum) {
@@ -94,7 +127,7 @@ public class WriterProxy {
                     seqNum);
             return;
         }
-        sortedChangesFromWriter.put(seqNum, RECEIVED);
+        changesFromWriter.set(seqNum, seqNum, ChangeFromWriter.RECEIVED);
         logger.fine("New change added into the cache");
         if (seqNumMax.get() < seqNum) {
             logger.fine("Updating maximum sequence number to {0}", seqNum);
@@ -129,49 +162,35 @@ public class WriterProxy {
     }
 
     public void missingChangesUpdate(long firstSN, long lastSN) {
-        var iter = sortedChangesFromWriter.tailMap(firstSN).entrySet().iterator();
-        var curSN = firstSN;
-        var newMissing = new HashMap<Long, ChangeFromWriter>();
-        while (iter.hasNext() && curSN <= lastSN) {
-            var entry = iter.next();
-            if (entry.getKey() < curSN) continue;
-            while (curSN < entry.getKey()) newMissing.put(curSN++, MISSING);
-            if (entry.getValue().isReceived()) {
-                curSN++;
-            } else {
-                newMissing.put(curSN++, MISSING);
-            }
-        }
-        while (curSN <= lastSN) newMissing.put(curSN++, MISSING);
-        sortedChangesFromWriter.putAll(newMissing);
+        firstSN = Math.max(firstSN, lowWaterMark + 1);
+        if (firstSN > lastSN) return;
+        changesFromWriter.setMissing(firstSN, lastSN);
     }
 
     public void lostChangesUpdate(long firstSN) {
-        var lostChanges = new ArrayList<Long>();
-        var iter = sortedChangesFromWriter.entrySet().iterator();
-        while (iter.hasNext()) {
-            var curSeqNum = iter.next().getKey();
-            if (curSeqNum >= firstSN) break;
-            lostChanges.add(curSeqNum);
-            iter.remove();
-        }
-        LOST_CHANGES_COUNT_METER.add(lostChanges.size());
-        if (!lostChanges.isEmpty()) {
+        var lostCount = changesFromWriter.removeAllBelow(firstSN);
+        LOST_CHANGES_COUNT_METER.add(lostCount);
+        if (lostCount > 0) {
             logger.fine(
-                    "Changes from {0} to {1} are not available on the Writer anymore and are lost",
-                    lostChanges.get(0), lostChanges.get(lostChanges.size() - 1));
+                    "{0} changes below {1} are not available on the Writer anymore and are lost",
+                    lostCount, firstSN);
         }
     }
 
     /**
      * This operation returns the subset of changes for the WriterProxy that have status {@link
      * ChangeFromWriterStatusKind#MISSING}.
+     *
+     * <p>It enumerates all missing changes, use {@link #getChangesFromWriter()} to look through
+     * them incrementally.
      */
     public long[] missingChangesSorted() {
-        return sortedChangesFromWriter.entrySet().stream()
-                .filter(e -> e.getValue().isMissing())
-                .mapToLong(Entry::getKey)
-                .toArray();
+        return changesFromWriter.missingSorted();
+    }
+
+    /** Status of the changes from the Writer which are above the low-water mark */
+    public ChangesFromWriter getChangesFromWriter() {
+        return changesFromWriter;
     }
 
     public WriterHeartbeatProcessor getHeartbeatProcessor() {
@@ -190,14 +209,20 @@ public class WriterProxy {
         return dataChannel;
     }
 
+    /** Releases connection to remote writer if it was opened */
+    @Override
+    public void close() {
+        if (dataChannel != null) dataChannel.close();
+    }
+
     @RtpsSpecReference(
             protocolVersion = Predefined.Version_2_3,
             paragraph = "8.4.10.4.3",
             text = "irrelevant_change_set")
     public void irrelevantChangeSetClosed(long firstSN, long lastSN) {
-        LongStream.rangeClosed(firstSN, lastSN)
-                .forEach(
-                        seqNum -> sortedChangesFromWriter.put(seqNum, ChangeFromWriter.IRRELEVANT));
+        firstSN = Math.max(firstSN, lowWaterMark + 1);
+        if (firstSN > lastSN) return;
+        changesFromWriter.set(firstSN, lastSN, ChangeFromWriter.IRRELEVANT);
         IRRELEVANT_CHANGES_COUNT_METER.add(lastSN - firstSN + 1);
     }
 
@@ -207,25 +232,33 @@ public class WriterProxy {
             text = "irrelevant_change_set")
     public void irrelevantChangeSet(LongStream seqNums) {
         var count =
-                seqNums.map(
+                seqNums.filter(seqNum -> seqNum > lowWaterMark)
+                        .map(
                                 seqNum -> {
-                                    sortedChangesFromWriter.put(
-                                            seqNum, ChangeFromWriter.IRRELEVANT);
+                                    changesFromWriter.set(
+                                            seqNum, seqNum, ChangeFromWriter.IRRELEVANT);
                                     return 1;
                                 })
                         .sum();
         IRRELEVANT_CHANGES_COUNT_METER.add(count);
     }
 
+    /**
+     * Stop tracking status of all changes below given sequence number. Reader calls it once all
+     * such changes are processed (submitted to the user or marked as irrelevant).
+     */
+    public void removeAllBelow(long seqNum) {
+        if (seqNum - 1 <= lowWaterMark) return;
+        lowWaterMark = seqNum - 1;
+        changesFromWriter.removeAllBelow(seqNum);
+    }
+
     private boolean isReceived(long seqNum) {
-        return Optional.ofNullable(sortedChangesFromWriter.get(seqNum))
-                .map(ChangeFromWriter::isReceived)
-                .orElse(false);
+        if (seqNum <= lowWaterMark) return true;
+        return changesFromWriter.get(seqNum).map(ChangeFromWriter::isReceived).orElse(false);
     }
 
     public boolean isChangeIrrelevant(long seqNum) {
-        return Optional.ofNullable(sortedChangesFromWriter.get(seqNum))
-                .map(ch -> !ch.isRelevant())
-                .orElse(false);
+        return changesFromWriter.get(seqNum).map(ch -> !ch.isRelevant()).orElse(false);
     }
 }
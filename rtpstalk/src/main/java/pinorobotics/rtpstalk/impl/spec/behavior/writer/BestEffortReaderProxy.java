@@ -19,9 +19,11 @@ package pinorobotics.rtpstalk.impl.spec.behavior.writer;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.Locator;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
 import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageSender;
 
 /**
@@ -33,6 +35,7 @@ public class BestEffortReaderProxy implements ReaderProxy {
     private List<Locator> unicastLocatorList;
     private RtpsMessageSender sender;
     private ReaderQosPolicySet qosPolicy;
+    private final RequestedChanges requestedChanges = new RequestedChanges();
 
     public BestEffortReaderProxy(
             Guid remoteReaderGuid,
@@ -56,12 +59,20 @@ public class BestEffortReaderProxy implements ReaderProxy {
     }
 
     @Override
-    public List<Long> requestedChanges() {
-        return List.of();
+    public RequestedChanges requestedChanges() {
+        return requestedChanges;
     }
 
     @Override
-    public void requestedChanges(Collection<Long> seqNum) {}
+    public void requestedChanges(SequenceNumberSet requested) {}
+
+    @Override
+    public Map<Long, List<Integer>> requestedFragments() {
+        return Map.of();
+    }
+
+    @Override
+    public void requestedFragments(long seqNum, Collection<Integer> fragments) {}
 
     @Override
     public long ackedChanges(long seqNum) {
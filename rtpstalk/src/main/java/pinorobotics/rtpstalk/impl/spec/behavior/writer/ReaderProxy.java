@@ -19,11 +19,13 @@ package pinorobotics.rtpstalk.impl.spec.behavior.writer;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.Locator;
 import pinorobotics.rtpstalk.impl.spec.messages.ReliabilityQosPolicy;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
 import pinorobotics.rtpstalk.impl.spec.structure.history.CacheChange;
 import pinorobotics.rtpstalk.impl.spec.structure.history.HistoryCache;
 import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageSender;
@@ -47,18 +49,31 @@ public interface ReaderProxy extends AutoCloseable {
     List<Locator> getUnicastLocatorList();
 
     /**
-     * Returns sorted list of changes for the {@link ReaderProxy} that have status REQUESTED. This
-     * represents the set of changes that were requested by the RTPS Reader represented by the
-     * {@link ReaderProxy} using an ACKNACK Message.
+     * Returns changes for the {@link ReaderProxy} that have status REQUESTED. This represents the
+     * set of changes that were requested by the RTPS Reader represented by the {@link ReaderProxy}
+     * using an ACKNACK Message.
      */
-    List<Long> requestedChanges();
+    RequestedChanges requestedChanges();
 
     /**
      * This operation modifies the ChangeForReader status of a set of changes for the RTPS Reader
-     * represented by this {@link ReaderProxy}. The change with given sequence number has its status
-     * changed to REQUESTED.
+     * represented by this {@link ReaderProxy}. The changes present in the given ACKNACK set have
+     * their status changed to REQUESTED.
      */
-    void requestedChanges(Collection<Long> requested);
+    void requestedChanges(SequenceNumberSet requested);
+
+    /**
+     * Returns fragments of the changes which were requested by the RTPS Reader represented by the
+     * {@link ReaderProxy} using NACK_FRAG Message. Key is the sequence number of the change and the
+     * value is the sorted list of its requested fragment numbers.
+     */
+    Map<Long, List<Integer>> requestedFragments();
+
+    /**
+     * The fragments of the change with given sequence number have their status changed to
+     * REQUESTED. Fragments requested earlier for the same change are replaced.
+     */
+    void requestedFragments(long seqNum, Collection<Integer> fragments);
 
     /**
      * All sequence numbers up to the one prior to given sequence number are confirmed as received
@@ -18,20 +18,25 @@
 package pinorobotics.rtpstalk.impl.spec.behavior.writer;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
 import pinorobotics.rtpstalk.impl.spec.RtpsSpecReference;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.Locator;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion.Predefined;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
 import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageSender;
 
 /**
  * Must be Thread-safe because it is shared between Writer background scheduler thread as well as
  * Executor which delivers messages from the remote Readers ({@link WriterRtpsReader}). In
  * particular, when {@link WriterRtpsReader} processes Ack requests and executes {@link
- * #requestedChanges(Collection)} the Writer may be in the middle of sending {@link
+ * #requestedChanges(SequenceNumberSet)} the Writer may be in the middle of sending {@link
  * #requestedChanges()}
  *
  * @author aeon_flux aeon_flux@eclipso.ch
@@ -42,7 +47,8 @@ public class ReliableReaderProxy implements ReaderProxy {
     private final List<Locator> unicastLocatorList;
     private final RtpsMessageSender sender;
     private final ReaderQosPolicySet qosPolicy;
-    private volatile List<Long> immutableListOfRequestedChanges = List.of();
+    private final RequestedChanges requestedChanges = new RequestedChanges();
+    private volatile Map<Long, List<Integer>> immutableMapOfRequestedFragments = Map.of();
 
     @RtpsSpecReference(
             paragraph = "8.4.15.1",
@@ -74,13 +80,33 @@ public class ReliableReaderProxy implements ReaderProxy {
     }
 
     @Override
-    public List<Long> requestedChanges() {
-        return immutableListOfRequestedChanges;
+    public RequestedChanges requestedChanges() {
+        return requestedChanges;
     }
 
+    /**
+     * Each new ACKNACK starts new round of requests, so all fragments which were requested
+     * previously with NACK_FRAG are discarded. Reader sends NACK_FRAG for the fragments which are
+     * still missing together with ACKNACK.
+     */
     @Override
-    public void requestedChanges(Collection<Long> requested) {
-        immutableListOfRequestedChanges = requested.stream().sorted().distinct().toList();
+    public void requestedChanges(SequenceNumberSet requested) {
+        requestedChanges.set(requested);
+        immutableMapOfRequestedFragments = Map.of();
+    }
+
+    @Override
+    public Map<Long, List<Integer>> requestedFragments() {
+        return immutableMapOfRequestedFragments;
+    }
+
+    @Override
+    public void requestedFragments(long seqNum, Collection<Integer> fragments) {
+        if (seqNum <= highestSeqNumSent.get()) return;
+        var requestedFragments = new HashMap<>(immutableMapOfRequestedFragments);
+        requestedFragments.put(seqNum, fragments.stream().sorted().distinct().toList());
+        immutableMapOfRequestedFragments = Map.copyOf(requestedFragments);
+        requestedChanges.markPending();
     }
 
     @Override
@@ -88,8 +114,11 @@ public class ReliableReaderProxy implements ReaderProxy {
         var diff =
                 seqNum - highestSeqNumSent.getAndUpdate(highSeqNum -> Math.max(seqNum, highSeqNum));
         if (diff <= 0) return 0;
-        immutableListOfRequestedChanges =
-                immutableListOfRequestedChanges.stream().filter(sn -> sn >= seqNum).toList();
+        requestedChanges.removeAllBelow(seqNum);
+        immutableMapOfRequestedFragments =
+                immutableMapOfRequestedFragments.entrySet().stream()
+                        .filter(e -> e.getKey() >= seqNum)
+                        .collect(Collectors.toUnmodifiableMap(Entry::getKey, Entry::getValue));
         return diff;
     }
 
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.behavior.writer;
+
+import java.util.StringJoiner;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
+
+/**
+ * Changes which were requested by the Reader using ACKNACK.
+ *
+ * <p>All changes requested with single ACKNACK fall into the window of {@link
+ * SequenceNumberSet#BITMAP_SIZE} sequence numbers starting from its bitmap base. So instead of
+ * keeping list of sequence numbers they are stored as a bitmap relative to the base, similar to
+ * {@link SequenceNumberSet}. Same bitmap is reused for all ACKNACKs, which keeps request processing
+ * allocation free.
+ *
+ * <p>Thread-safe
+ *
+ * @author aeon_flux aeon_flux@eclipso.ch
+ */
+public class RequestedChanges {
+
+    private final long[] bitmap = new long[SequenceNumberSet.BITMAP_SIZE / Long.SIZE];
+    private final ReentrantLock lock = new ReentrantLock();
+    private long base;
+    private boolean isPending;
+
+    /** Replace all requested changes with the ones from the set */
+    public void set(SequenceNumberSet requested) {
+        lock.lock();
+        try {
+            clear();
+            isPending = true;
+            base = requested.bitmapBase.value;
+            var numBits =
+                    Math.min(
+                            requested.numBits.getUnsigned(),
+                            requested.bitmap.length * Integer.SIZE);
+            for (int i = 0; i < numBits; i++) {
+                if ((requested.bitmap[i / Integer.SIZE] & (1 << (i % Integer.SIZE))) == 0) continue;
+                bitmap[i / Long.SIZE] |= 1L << (i % Long.SIZE);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Remove all requested changes with sequence number below the given one */
+    public void removeAllBelow(long seqNum) {
+        lock.lock();
+        try {
+            if (seqNum <= base) return;
+            var n = seqNum - base;
+            if (n >= SequenceNumberSet.BITMAP_SIZE) {
+                clear();
+                return;
+            }
+            for (int i = 0; i < bitmap.length && n > 0; i++, n -= Long.SIZE) {
+                bitmap[i] &= n >= Long.SIZE ? 0 : -1L << n;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean contains(long seqNum) {
+        lock.lock();
+        try {
+            var i = seqNum - base;
+            if (i < 0 || i >= SequenceNumberSet.BITMAP_SIZE) return false;
+            return (bitmap[(int) i / Long.SIZE] & (1L << (i % Long.SIZE))) != 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            var size = 0;
+            for (var bits : bitmap) size += Long.bitCount(bits);
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /** Tells if changes were requested again after the last {@link #markSent()} */
+    public boolean isPending() {
+        lock.lock();
+        try {
+            return isPending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Marks that Reader requested something which was not sent yet, without changing the requested
+     * changes (for example when it requests fragments of the changes)
+     */
+    public void markPending() {
+        lock.lock();
+        try {
+            isPending = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Marks that all currently requested changes were sent to the Reader */
+    public void markSent() {
+        lock.lock();
+        try {
+            isPending = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Iterate over requested changes in ascending order of their sequence numbers */
+    public void forEach(LongConsumer consumer) {
+        lock.lock();
+        try {
+            for (int i = 0; i < bitmap.length; i++) {
+                var bits = bitmap[i];
+                while (bits != 0) {
+                    consumer.accept(base + i * Long.SIZE + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void clear() {
+        for (int i = 0; i < bitmap.length; i++) bitmap[i] = 0;
+    }
+
+    @Override
+    public String toString() {
+        var joiner = new StringJoiner(", ", "[", "]");
+        forEach(seqNum -> joiner.add(Long.toString(seqNum)));
+        return joiner.toString();
+    }
+}
@@ -18,7 +18,6 @@
 package pinorobotics.rtpstalk.impl.spec.behavior.writer;
 
 import id.xfunction.Preconditions;
-import id.xfunction.concurrent.NamedThreadFactory;
 import id.xfunction.lang.XThread;
 import id.xfunction.logging.TracingToken;
 import io.opentelemetry.api.GlobalOpenTelemetry;
@@ -26,21 +25,25 @@ import io.opentelemetry.api.metrics.LongCounter;
 import io.opentelemetry.api.metrics.Meter;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Flow.Subscriber;
 import java.util.concurrent.Flow.Subscription;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
 import java.util.function.Predicate;
 import pinorobotics.rtpstalk.WriterSettings;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer.ScheduledTask;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.behavior.writer.RtpsDataMessageBuilder;
-import pinorobotics.rtpstalk.impl.behavior.writer.RtpsHeartbeatMessageBuilder;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
 import pinorobotics.rtpstalk.impl.qos.WriterQosPolicySet;
 import pinorobotics.rtpstalk.impl.spec.RtpsSpecReference;
@@ -48,15 +51,20 @@ import pinorobotics.rtpstalk.impl.spec.behavior.LocalOperatingEntities;
 import pinorobotics.rtpstalk.impl.spec.messages.DurabilityQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.Locator;
+import pinorobotics.rtpstalk.impl.spec.messages.LocatorKind;
 import pinorobotics.rtpstalk.impl.spec.messages.ReliabilityQosPolicy;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion.Predefined;
 import pinorobotics.rtpstalk.impl.spec.structure.history.CacheChange;
 import pinorobotics.rtpstalk.impl.spec.structure.history.HistoryCache;
+import pinorobotics.rtpstalk.impl.spec.transport.ControlMessageAggregator;
 import pinorobotics.rtpstalk.impl.spec.transport.DataChannelFactory;
+import pinorobotics.rtpstalk.impl.spec.transport.FlowController;
 import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageSender;
+import pinorobotics.rtpstalk.impl.spec.transport.TokenBucket;
 import pinorobotics.rtpstalk.messages.RtpsTalkMessage;
 import pinorobotics.rtpstalk.metrics.RtpsTalkMetrics;
 
@@ -75,21 +83,45 @@ public class StatefullReliableRtpsWriter<D extends RtpsTalkMessage> extends Rtps
                     .setDescription(RtpsTalkMetrics.HEARTBEATS_COUNT_METRIC_DESCRIPTION)
                     .build();
 
-    private ScheduledExecutorService executor =
-            Executors.newSingleThreadScheduledExecutor(
-                    new NamedThreadFactory("SpdpBuiltinParticipantWriter"));
-
     /** Used to maintain state on the remote Readers matched up with this Writer. */
     private Map<Guid, ReaderProxy> matchedReaders = new ConcurrentHashMap<>();
 
+    /**
+     * Guards adding of new matched readers which involves network I/O (connect, replay of the
+     * history cache). Unlike monitors it does not pin virtual threads to their carrier threads.
+     */
+    private final ReentrantLock matchedReadersLock = new ReentrantLock();
+
     /**
      * Protocol tuning parameter that allows the RTPS Writer to repeatedly announce the availability
      * of data by sending a Heartbeat Message.
      */
     private Duration heartbeatPeriod;
 
+    /** Heartbeat period while some of the readers did not acknowledge all the changes */
+    private Duration fastHeartbeatPeriod;
+
+    /** Heartbeat period is increased up to this value while all the changes are acknowledged */
+    private Duration maxHeartbeatPeriod;
+
+    /** Period of the next heartbeat, when all the changes are acknowledged */
+    private Duration idleHeartbeatPeriod;
+
+    /** Time (see {@link System#nanoTime()}) when next periodic heartbeat is due */
+    private long nextHeartbeatAt;
+
+    /** Time (see {@link System#nanoTime()}) when last heartbeat (of any kind) was sent */
+    private long lastHeartbeatAt;
+
+    /**
+     * Guards heartbeat counts and heartbeat schedule which are updated by both the timer and the
+     * writer publisher
+     */
+    private final ReentrantLock heartbeatLock = new ReentrantLock();
+
     private HistoryCache<D> historyCache;
     private int heartbeatCount = 1;
+    private int heartbeatFragCount = 1;
     private DataChannelFactory channelFactory;
     private LocalOperatingEntities operatingEntities;
     private int historyCacheMaxSize;
@@ -97,22 +129,128 @@ public class StatefullReliableRtpsWriter<D extends RtpsTalkMessage> extends Rtps
     private WriterQosPolicySet qosPolicy;
     private WriterSettings writerSettings;
     private boolean isClosed;
+    private HashedWheelTimer timer;
+    private Optional<ScheduledTask> heartbeatTask = Optional.empty();
+
+    /**
+     * Limits the rate at which changes requested by each matched reader are resent to it. Empty
+     * when {@link pinorobotics.rtpstalk.RtpsTalkConfiguration#repairRate()} is not set.
+     */
+    private Map<Guid, TokenBucket> repairTokenBuckets = new ConcurrentHashMap<>();
+
+    /**
+     * Serializes sending of the changes to each of the reliable readers. In push mode it keeps new
+     * changes pushed to the reader in order with the changes requested by it.
+     */
+    private Map<Guid, ReentrantLock> sendLocks = new ConcurrentHashMap<>();
+
+    /**
+     * Messages with the changes requested by each reliable reader which did not fit into its repair
+     * rate yet. Accessed under the reader send lock.
+     */
+    private Map<Guid, List<RtpsMessage>> unsentRequested = new ConcurrentHashMap<>();
+
+    /** Readers to which requested changes are being sent by the {@link #publisherExecutor} */
+    private Set<Guid> repairingReaders = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Shared with other writers which use the same {@link WriterSettings#flowController()}. Empty
+     * when flow control is not enabled for this writer.
+     */
+    private Optional<FlowController> flowController;
+
+    /** Shared with all other endpoints of the participant */
+    private ControlMessageAggregator controlMessageAggregator;
+
+    /**
+     * Multicast groups to which the writer pushes each change once for all the readers of the
+     * group, instead of sending it to each of them separately. Key is the multicast locator of the
+     * group.
+     */
+    private Map<Locator, MulticastGroup> multicastGroups = new ConcurrentHashMap<>();
+
+    private Executor publisherExecutor;
+
+    /**
+     * Source of the time (see {@link System#nanoTime()}) used for the heartbeats and to limit the
+     * repair rate
+     */
+    private LongSupplier clock;
+
+    /** Remote readers which receive changes pushed by the writer through the multicast locator */
+    private static class MulticastGroup {
+        private final Set<Guid> readers = ConcurrentHashMap.newKeySet();
+        private final SubmissionPublisher<RtpsMessageSender.MessageBuilder> publisher;
+        private final RtpsMessageSender sender;
+
+        MulticastGroup(
+                SubmissionPublisher<RtpsMessageSender.MessageBuilder> publisher,
+                RtpsMessageSender sender) {
+            this.publisher = publisher;
+            this.sender = sender;
+            publisher.subscribe(sender);
+        }
+
+        void close() {
+            publisher.close();
+            sender.close();
+        }
+    }
 
     public StatefullReliableRtpsWriter(
             RtpsTalkConfigurationInternal config,
             TracingToken tracingToken,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             DataChannelFactory channelFactory,
             LocalOperatingEntities operatingEntities,
             EntityId writerEntiyId,
             WriterQosPolicySet qosPolicy,
             WriterSettings writerSettings) {
+        this(
+                config,
+                tracingToken,
+                publisherExecutor,
+                timer,
+                channelFactory,
+                operatingEntities,
+                writerEntiyId,
+                qosPolicy,
+                writerSettings,
+                System::nanoTime);
+    }
+
+    /**
+     * @param clock source of the time (see {@link System#nanoTime()}) used by the writer
+     */
+    public StatefullReliableRtpsWriter(
+            RtpsTalkConfigurationInternal config,
+            TracingToken tracingToken,
+            Executor publisherExecutor,
+            HashedWheelTimer timer,
+            DataChannelFactory channelFactory,
+            LocalOperatingEntities operatingEntities,
+            EntityId writerEntiyId,
+            WriterQosPolicySet qosPolicy,
+            WriterSettings writerSettings,
+            LongSupplier clock) {
         super(config, tracingToken, publisherExecutor, writerEntiyId);
         this.writerSettings = writerSettings;
+        this.clock = clock;
+        this.timer = timer;
+        flowController = writerSettings.flowController().map(channelFactory::getFlowController);
+        controlMessageAggregator =
+                channelFactory.getControlMessageAggregator(timer, publisherExecutor);
+        this.publisherExecutor = publisherExecutor;
         Preconditions.equals(qosPolicy.reliabilityKind(), ReliabilityQosPolicy.Kind.RELIABLE);
         this.channelFactory = channelFactory;
         this.operatingEntities = operatingEntities;
         this.heartbeatPeriod = config.publicConfig().heartbeatPeriod();
+        this.fastHeartbeatPeriod = config.publicConfig().fastHeartbeatPeriod();
+        this.maxHeartbeatPeriod = config.publicConfig().maxHeartbeatPeriod();
+        idleHeartbeatPeriod = heartbeatPeriod;
+        nextHeartbeatAt = clock.getAsLong();
+        lastHeartbeatAt = nextHeartbeatAt - fastHeartbeatPeriod.toNanos();
         this.historyCacheMaxSize = config.publicConfig().historyCacheMaxSize();
         this.historyCache = new HistoryCache<>(getTracingToken());
         operatingEntities.getLocalWriters().add(this);
@@ -131,12 +269,42 @@ public class StatefullReliableRtpsWriter<D extends RtpsTalkMessage> extends Rtps
         var seqNum = super.newChange(data);
         logger.fine("New change submitted");
         historyCache.addChange(new CacheChange<>(getGuid(), getLastChangeNumber(), data));
+        expediteHeartbeat();
         return seqNum;
     }
 
-    public synchronized void matchedReaderAdd(
+    public void matchedReaderAdd(
             Guid remoteReaderGuid, List<Locator> unicast, ReaderQosPolicySet qosPolicy)
             throws IOException {
+        matchedReaderAdd(remoteReaderGuid, unicast, List.of(), qosPolicy);
+    }
+
+    /**
+     * @param multicast multicast locators announced by the reader. When user data multicast is
+     *     enabled (see {@link
+     *     pinorobotics.rtpstalk.RtpsTalkConfiguration#userDataMulticastGroup()}) changes pushed by
+     *     the writer are sent to the reader through the first of them.
+     */
+    public void matchedReaderAdd(
+            Guid remoteReaderGuid,
+            List<Locator> unicast,
+            List<Locator> multicast,
+            ReaderQosPolicySet qosPolicy)
+            throws IOException {
+        matchedReadersLock.lock();
+        try {
+            addMatchedReader(remoteReaderGuid, unicast, multicast, qosPolicy);
+        } finally {
+            matchedReadersLock.unlock();
+        }
+    }
+
+    private void addMatchedReader(
+            Guid remoteReaderGuid,
+            List<Locator> unicast,
+            List<Locator> multicast,
+            ReaderQosPolicySet qosPolicy)
+            throws IOException {
         if (matchedReaders.containsKey(remoteReaderGuid)) {
             logger.fine(
                     "Reader {0} is already registered with the writer, not adding it",
@@ -148,7 +316,8 @@ public class StatefullReliableRtpsWriter<D extends RtpsTalkMessage> extends Rtps
                         getTracingToken(),
                         channelFactory.connect(getTracingToken(), unicast),
                         remoteReaderGuid,
-                        getGuid().entityId);
+                        getGuid().entityId,
+                        flowController);
         var reliabilityKind = qosPolicy.reliabilityKind();
         var proxy =
                 switch (reliabilityKind) {
@@ -165,12 +334,80 @@ public class StatefullReliableRtpsWriter<D extends RtpsTalkMessage> extends Rtps
                 "Adding reader proxy for reader with guid {0} and reliability {1}",
                 proxy.getRemoteReaderGuid(), reliabilityKind);
         var numOfReaders = matchedReaders.size();
+        if (reliabilityKind == ReliabilityQosPolicy.Kind.RELIABLE)
+            sendLocks.put(remoteReaderGuid, new ReentrantLock());
         matchedReaders.put(proxy.getRemoteReaderGuid(), proxy);
+        getConfig()
+                .publicConfig()
+                .repairRate()
+                .ifPresent(
+                        rate ->
+                                repairTokenBuckets.put(
+                                        remoteReaderGuid,
+                                        new TokenBucket(
+                                                rate,
+                                                getConfig().publicConfig().repairBurstSize(),
+                                                clock)));
         subscribe(proxy.getSender());
-        if (numOfReaders == 0) {
-            executor.scheduleWithFixedDelay(
-                    this, 0, heartbeatPeriod.toMillis(), TimeUnit.MILLISECONDS);
+        if (getConfig().publicConfig().userDataMulticastGroup().isPresent()) {
+            var multicastLocator =
+                    multicast.stream()
+                            .filter(locator -> locator.kind() == LocatorKind.LOCATOR_KIND_UDPv4)
+                            .findFirst();
+            if (multicastLocator.isPresent())
+                joinMulticastGroup(multicastLocator.get(), remoteReaderGuid);
+        }
+        expediteHeartbeat();
+        if (numOfReaders == 0 && heartbeatTask.isEmpty()) {
+            // timer task runs with the smallest heartbeat period and sends heartbeats only when
+            // they are due
+            heartbeatTask =
+                    Optional.of(
+                            timer.scheduleWithFixedDelay(this, Duration.ZERO, fastHeartbeatPeriod));
+        }
+    }
+
+    private void joinMulticastGroup(Locator locator, Guid remoteReaderGuid) throws IOException {
+        var group = multicastGroups.get(locator);
+        if (group == null) {
+            logger.fine("Creating new multicast group {0}", locator);
+            var sender =
+                    new RtpsMessageSender(
+                            getTracingToken(),
+                            channelFactory.connectMulticast(getTracingToken(), locator),
+                            new Guid(
+                                    GuidPrefix.Predefined.GUIDPREFIX_UNKNOWN.getValue(),
+                                    EntityId.Predefined.ENTITYID_UNKNOWN),
+                            getGuid().entityId,
+                            flowController);
+            group =
+                    new MulticastGroup(
+                            new SubmissionPublisher<>(
+                                    publisherExecutor,
+                                    getConfig().publicConfig().publisherMaxBufferSize()),
+                            sender);
+            multicastGroups.put(locator, group);
         }
+        group.readers.add(remoteReaderGuid);
+        logger.fine("Reader {0} joined multicast group {1}", remoteReaderGuid, locator);
+    }
+
+    private void leaveMulticastGroup(Guid remoteReaderGuid) {
+        for (var entry : multicastGroups.entrySet()) {
+            var group = entry.getValue();
+            if (!group.readers.remove(remoteReaderGuid)) continue;
+            logger.fine("Reader {0} left multicast group {1}", remoteReaderGuid, entry.getKey());
+            if (group.readers.isEmpty()) {
+                logger.fine("Closing multicast group {0}", entry.getKey());
+                multicastGroups.remove(entry.getKey());
+                group.close();
+            }
+        }
+    }
+
+    private boolean isMulticastReader(ReaderProxy readerProxy) {
+        var guid = readerProxy.getRemoteReaderGuid();
+        return multicastGroups.values().stream().anyMatch(group -> group.readers.contains(guid));
     }
 
     private void replayHistoryCacheIfNeeded(ReaderProxy proxy) {
@@ -200,6 +437,10 @@ public class StatefullReliableRtpsWriter<D extends RtpsTalkMessage> extends Rtps
             return false;
         } else {
             reader.close();
+            repairTokenBuckets.remove(remoteGuid);
+            sendLocks.remove(remoteGuid);
+            unsentRequested.remove(remoteGuid);
+            leaveMulticastGroup(remoteGuid);
             cleanupCacheAndRequest();
             logger.fine("Matched reader {0} is removed", remoteGuid);
             return true;
@@ -235,10 +476,11 @@ public class StatefullReliableRtpsWriter<D extends RtpsTalkMessage> extends Rtps
     @Override
     public void run() {
         try {
-            if (executor.isShutdown()) return;
+            if (heartbeatTask.map(ScheduledTask::isCancelled).orElse(false)) return;
             sendRequested();
-            sendHeartbeats();
             cleanupReaders();
+            if (!isHeartbeatDue()) return;
+            sendHeartbeats();
             cleanupCacheAndRequest();
         } catch (Exception e) {
             logger.severe("Writer heartbeat error", e);
@@ -325,12 +567,14 @@ public class StatefullReliableRtpsWriter<D extends RtpsTalkMessage> extends Rtps
                     historyCache.getSeqNumMin(getGuid()),
                     historyCache.getSeqNumMax(getGuid()),
                     nonBestEffortReaders);
-            XThread.sleep(heartbeatPeriod.toMillis());
+            XThread.sleep(fastHeartbeatPeriod.toMillis());
             numOfPendingChanges = historyCache.getNumberOfChanges(getGuid());
         }
         super.close();
         operatingEntities.getLocalWriters().remove(getGuid().entityId);
-        executor.shutdown();
+        heartbeatTask.ifPresent(ScheduledTask::cancel);
+        multicastGroups.values().forEach(MulticastGroup::close);
+        multicastGroups.clear();
         writerReader.getSubscription().ifPresent(Subscription::cancel);
     }
 
@@ -346,11 +590,19 @@ public class StatefullReliableRtpsWriter<D extends RtpsTalkMessage> extends Rtps
     @Override
     protected void sendLastChangeToAllReaders() {
         if (writerSettings.pushMode()) {
-            super.sendLastChangeToAllReaders();
+            piggybackHeartbeat();
+            matchedReaders.values().stream()
+                    .filter(ReaderProxy.IS_RELIABLE_FILTER)
+                    // readers of the multicast groups receive the change through the group
+                    .filter(reader -> !isMulticastReader(reader))
+                    .forEach(this::pushLastChange);
+            sendLastChangeToUnicastReaders(ReaderProxy.IS_BEST_ERRORT_FILTER);
+            sendLastChangeToMulticastGroups();
+            return;
         }
         /**
-         * For reliable Writer we send changes only when Reader notifies that it lost them (through
-         * heartbeat-acknack interaction).
+         * Unless in push mode, for reliable Writer we send changes only when Reader notifies that
+         * it lost them (through heartbeat-acknack interaction).
          *
          * <p>If we would be sending changes immediately + by request, it can lead to messages being
          * sent out-of-order:
@@ -364,9 +616,17 @@ public class StatefullReliableRtpsWriter<D extends RtpsTalkMessage> extends Rtps
          *
          * <p>In this case Reader will receive messages out-of-order [c4, c1, c2, c3] and since c4
          * will have greater {@link Data#writerSN} all previous will not be processed.
+         *
+         * <p>In push mode such reordering is prevented by {@link #pushLastChange(ReaderProxy)}.
          */
+        sendLastChangeToUnicastReaders(ReaderProxy.IS_BEST_ERRORT_FILTER);
+        sendLastChangeToMulticastGroups();
+    }
+
+    private void sendLastChangeToUnicastReaders(Predicate<ReaderProxy> filter) {
         matchedReaders.values().stream()
-                .filter(ReaderProxy.IS_BEST_ERRORT_FILTER)
+                .filter(filter)
+                .filter(reader -> !isMulticastReader(reader))
                 .map(
                         readerProxy ->
                                 new RtpsDataMessageBuilder(
@@ -378,6 +638,26 @@ public class StatefullReliableRtpsWriter<D extends RtpsTalkMessage> extends Rtps
                 .forEach(this::submit);
     }
 
+    /**
+     * Send last change once to each of the multicast groups where it needs to be pushed: either
+     * because the writer is in push mode, or because some of the group readers are {@link
+     * ReliabilityQosPolicy.Kind#BEST_EFFORT} and they do not request changes.
+     */
+    private void sendLastChangeToMulticastGroups() {
+        for (var group : multicastGroups.values()) {
+            if (writerSettings.pushMode()) {
+                pushLastChange(group);
+                continue;
+            }
+            var hasBestEffortReaders =
+                    group.readers.stream()
+                            .map(matchedReaders::get)
+                            .filter(Objects::nonNull)
+                            .anyMatch(ReaderProxy.IS_BEST_ERRORT_FILTER);
+            if (hasBestEffortReaders) group.publisher.submit(getLastMessage());
+        }
+    }
+
     private void sendHeartbeats() {
         var seqNumMin = historyCache.getSeqNumMin(getGuid());
         if (seqNumMin <= 0) {
@@ -391,58 +671,290 @@ public class StatefullReliableRtpsWriter<D extends RtpsTalkMessage> extends Rtps
             logger.fine("Skipping heartbeat since there is no readers available");
             return;
         }
+        var count = nextHeartbeatCount();
+        // heartbeats are sent together with control submessages of other endpoints of the
+        // participant, they are not limited by the flow controller (see FlowControllerSettings)
         readers.stream()
                 .filter(ReaderProxy.IS_RELIABLE_FILTER)
-                .map(readerProxy -> readerProxy.getRemoteReaderGuid().guidPrefix)
-                .map(
-                        readerGuidPrefix ->
-                                new RtpsHeartbeatMessageBuilder(
-                                        getGuid().guidPrefix,
-                                        readerGuidPrefix,
-                                        seqNumMin,
-                                        seqNumMax,
-                                        heartbeatCount))
-                .forEach(this::submit);
-        logger.fine("Heartbeat {0} submitted to {1} readers", heartbeatCount, readers.size());
-        heartbeatCount++;
+                .forEach(
+                        readerProxy ->
+                                controlMessageAggregator.add(
+                                        readerProxy.getSender().getDataChannel(),
+                                        readerProxy.getRemoteReaderGuid(),
+                                        readerProxy.getUnicastLocatorList(),
+                                        List.of(
+                                                new Heartbeat(
+                                                        readerProxy.getRemoteReaderGuid().entityId,
+                                                        getGuid().entityId,
+                                                        seqNumMin,
+                                                        seqNumMax,
+                                                        count))));
+        logger.fine("Heartbeat {0} submitted to {1} readers", count, readers.size());
         HEARTBEATS_METER.add(1);
     }
 
+    private int nextHeartbeatCount() {
+        heartbeatLock.lock();
+        try {
+            lastHeartbeatAt = clock.getAsLong();
+            return heartbeatCount++;
+        } finally {
+            heartbeatLock.unlock();
+        }
+    }
+
+    /**
+     * Requested changes are sent by both the timer and the writer publisher (in push mode) under
+     * the send locks of different readers
+     */
+    private int nextHeartbeatFragCount() {
+        heartbeatLock.lock();
+        try {
+            return heartbeatFragCount++;
+        } finally {
+            heartbeatLock.unlock();
+        }
+    }
+
+    /**
+     * Heartbeats are sent with {@link #fastHeartbeatPeriod} while some of the reliable readers did
+     * not acknowledge all the changes. Once all of them are acknowledged, heartbeat period starts
+     * from {@link #heartbeatPeriod} and is doubled with each heartbeat up to {@link
+     * #maxHeartbeatPeriod}.
+     */
+    private boolean isHeartbeatDue() {
+        heartbeatLock.lock();
+        try {
+            var now = clock.getAsLong();
+            if (now - nextHeartbeatAt < 0) return false;
+            Duration period;
+            if (hasUnacknowledgedChanges()) {
+                period = fastHeartbeatPeriod;
+                idleHeartbeatPeriod = heartbeatPeriod;
+            } else {
+                period = idleHeartbeatPeriod;
+                idleHeartbeatPeriod = idleHeartbeatPeriod.multipliedBy(2);
+                if (idleHeartbeatPeriod.compareTo(maxHeartbeatPeriod) > 0)
+                    idleHeartbeatPeriod = maxHeartbeatPeriod;
+            }
+            nextHeartbeatAt = now + period.toNanos();
+            return true;
+        } finally {
+            heartbeatLock.unlock();
+        }
+    }
+
+    private boolean hasUnacknowledgedChanges() {
+        var lastChangeNumber = getLastChangeNumber();
+        return matchedReaders.values().stream()
+                .filter(ReaderProxy.IS_RELIABLE_FILTER)
+                .anyMatch(reader -> reader.getHighestAckedSeqNum() < lastChangeNumber);
+    }
+
+    /**
+     * Make sure that next periodic heartbeat is sent no later than after {@link
+     * #fastHeartbeatPeriod}, so that readers do not wait for the slow idle heartbeats to learn
+     * about new changes or to request the changes they lost.
+     */
+    private void expediteHeartbeat() {
+        heartbeatLock.lock();
+        try {
+            var heartbeatAt = clock.getAsLong() + fastHeartbeatPeriod.toNanos();
+            if (nextHeartbeatAt - heartbeatAt > 0) nextHeartbeatAt = heartbeatAt;
+            idleHeartbeatPeriod = heartbeatPeriod;
+        } finally {
+            heartbeatLock.unlock();
+        }
+    }
+
+    /**
+     * Piggyback Heartbeat onto the last change which is pushed to the readers, so that readers
+     * which lost it (or any of its fragments) can request it right away.
+     *
+     * <p>To avoid Heartbeat (and AckNack from each of the readers) per each small change, when
+     * changes are published in bursts, Heartbeat is piggybacked no more often than once per {@link
+     * #fastHeartbeatPeriod}. End of such burst is announced by the periodic heartbeat which is
+     * expedited for each new change (see {@link #expediteHeartbeat()}).
+     */
+    private void piggybackHeartbeat() {
+        heartbeatLock.lock();
+        try {
+            if (clock.getAsLong() - lastHeartbeatAt < fastHeartbeatPeriod.toNanos()) return;
+            // new change is added to the history cache only after it is sent
+            var seqNumMax = getLastChangeNumber();
+            var seqNumMin = historyCache.getSeqNumMin(getGuid());
+            if (seqNumMin <= 0) seqNumMin = seqNumMax;
+            getLastMessage().withHeartbeat(seqNumMin, seqNumMax, nextHeartbeatCount());
+            HEARTBEATS_METER.add(1);
+        } finally {
+            heartbeatLock.unlock();
+        }
+    }
+
+    /**
+     * Push last change to the reliable reader right away, without waiting for it to be requested.
+     *
+     * <p>Changes which reader requested, but which were not sent yet, have smaller sequence numbers
+     * so they are sent first. Both happen under the reader send lock, so that concurrent {@link
+     * #sendRequested()} cannot send them in between and reorder them.
+     */
+    private void pushLastChange(ReaderProxy readerProxy) {
+        var sendLock = sendLocks.get(readerProxy.getRemoteReaderGuid());
+        if (sendLock == null) return;
+        sendLock.lock();
+        try {
+            sendRequested(readerProxy);
+            readerProxy.getSender().send(getLastMessage());
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    /**
+     * Push last change to the multicast group, same as {@link #pushLastChange(ReaderProxy)} but
+     * under the send locks of all reliable readers of the group.
+     *
+     * <p>Only writer publisher takes more than one send lock at a time, others either take a single
+     * lock or use {@link ReentrantLock#tryLock()}, so they cannot deadlock with it.
+     */
+    private void pushLastChange(MulticastGroup group) {
+        var readers =
+                group.readers.stream()
+                        .map(matchedReaders::get)
+                        .filter(Objects::nonNull)
+                        .filter(ReaderProxy.IS_RELIABLE_FILTER)
+                        .toList();
+        var lockedReaders = new ArrayList<ReaderProxy>(readers.size());
+        var lockedSendLocks = new ArrayList<ReentrantLock>(readers.size());
+        for (var readerProxy : readers) {
+            var sendLock = sendLocks.get(readerProxy.getRemoteReaderGuid());
+            if (sendLock == null) continue;
+            sendLock.lock();
+            lockedReaders.add(readerProxy);
+            lockedSendLocks.add(sendLock);
+        }
+        try {
+            lockedReaders.forEach(this::sendRequested);
+            group.sender.send(getLastMessage());
+        } finally {
+            lockedSendLocks.forEach(ReentrantLock::unlock);
+        }
+    }
+
+    /**
+     * Timer only finds the readers which requested changes. Requested changes are sent from the
+     * {@link #publisherExecutor} so that the timer thread is not blocked while they are sent.
+     */
     private void sendRequested() {
-        matchedReaders.values().stream().forEach(this::sendRequested);
+        for (var readerProxy : matchedReaders.values()) {
+            var remoteReaderGuid = readerProxy.getRemoteReaderGuid();
+            if (!readerProxy.requestedChanges().isPending()
+                    && !unsentRequested.containsKey(remoteReaderGuid)) continue;
+            if (!sendLocks.containsKey(remoteReaderGuid)) continue;
+            // requested changes are already being sent to this reader
+            if (!repairingReaders.add(remoteReaderGuid)) continue;
+            publisherExecutor.execute(
+                    () -> {
+                        try {
+                            sendRequestedIfNotBusy(readerProxy);
+                        } finally {
+                            repairingReaders.remove(remoteReaderGuid);
+                        }
+                    });
+        }
     }
 
+    private void sendRequestedIfNotBusy(ReaderProxy readerProxy) {
+        var sendLock = sendLocks.get(readerProxy.getRemoteReaderGuid());
+        if (sendLock == null) return;
+        // reader is busy receiving pushed changes, requested changes are sent on next run
+        if (!sendLock.tryLock()) return;
+        try {
+            sendRequested(readerProxy);
+        } catch (Exception e) {
+            logger.severe("Error sending requested changes", e);
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    /**
+     * Send changes and fragments which reader requested since they were sent last time.
+     *
+     * <p>Each request (ACKNACK or NACK_FRAG) is answered only once. Reader requests the changes
+     * again, in response to the next heartbeat, if it is still missing them.
+     *
+     * <p>Messages which exceed the repair rate of the reader are sent on the next runs of the timer
+     * task, once the rate allows, unless reader sends new request before that.
+     */
     private void sendRequested(ReaderProxy readerProxy) {
+        var remoteReaderGuid = readerProxy.getRemoteReaderGuid();
+        List<RtpsMessage> messages;
+        if (readerProxy.requestedChanges().isPending()) {
+            // new request replaces the changes which were requested before but not sent yet
+            unsentRequested.remove(remoteReaderGuid);
+            messages = buildRequested(readerProxy);
+        } else {
+            messages = unsentRequested.remove(remoteReaderGuid);
+            if (messages == null) return;
+        }
+        if (messages.isEmpty()) return;
+        // changes are sent only to the reader which requested them, others will request them
+        // separately if they are missing them too
+        var unsent =
+                readerProxy
+                        .getSender()
+                        .send(
+                                messages,
+                                Optional.ofNullable(repairTokenBuckets.get(remoteReaderGuid)));
+        if (!unsent.isEmpty()) unsentRequested.put(remoteReaderGuid, unsent);
+        logger.fine(
+                "Sent {0} out of {1} messages with requested changes to reader {2}",
+                messages.size() - unsent.size(), messages.size(), remoteReaderGuid);
+    }
+
+    private List<RtpsMessage> buildRequested(ReaderProxy readerProxy) {
         var requestedChanges = readerProxy.requestedChanges();
+        var requestedFragments = readerProxy.requestedFragments();
         var remoteReaderGuid = readerProxy.getRemoteReaderGuid();
-        if (requestedChanges.isEmpty()) {
+        requestedChanges.markSent();
+        if (requestedChanges.isEmpty() && requestedFragments.isEmpty()) {
             logger.fine(
                     "Nothing to submit for reader {0} as it did not request any changes, ignoring",
                     remoteReaderGuid);
-            return;
+            return List.of();
         }
         var builder =
                 new RtpsDataMessageBuilder(
-                        getConfig(),
-                        getTracingToken(),
-                        getGuid().guidPrefix,
-                        remoteReaderGuid.guidPrefix);
-        historyCache
-                .findAll(getGuid(), requestedChanges)
-                .forEach(change -> builder.add(change.getSequenceNumber(), change.getDataValue()));
+                                getConfig(),
+                                getTracingToken(),
+                                getGuid().guidPrefix,
+                                remoteReaderGuid.guidPrefix)
+                        .withHeartbeatFrag(nextHeartbeatFragCount());
+        requestedChanges.forEach(
+                seqNum ->
+                        historyCache
+                                .findChange(getGuid(), seqNum)
+                                .ifPresent(change -> builder.add(seqNum, change.getDataValue())));
+        var numOfRequested = requestedChanges.size();
+        for (var e : requestedFragments.entrySet()) {
+            var seqNum = e.getKey();
+            if (requestedChanges.contains(seqNum)) continue;
+            numOfRequested++;
+            // Reader is missing only some of the fragments of this change
+            historyCache
+                    .findChange(getGuid(), seqNum)
+                    .ifPresent(change -> builder.add(seqNum, change.getDataValue(), e.getValue()));
+        }
         var numOfFoundChanges = builder.getDataCount();
         if (numOfFoundChanges == 0) {
             logger.fine("No requested changes were found for reader {0}", remoteReaderGuid);
-            return;
+            return List.of();
         }
-
-        // changes requested by one matched Reader we submit to all the senders of matched Readers
-        // of the current Writer
-        // this requires each sender to filter the changes before sending them
-        submit(builder);
         logger.fine(
-                "Submitted {0} out of {1} requested changes to reader {2}",
-                numOfFoundChanges, requestedChanges.size(), remoteReaderGuid);
+                "Found {0} out of {1} requested changes for reader {2}",
+                numOfFoundChanges, numOfRequested, remoteReaderGuid);
+        return builder.build(remoteReaderGuid.entityId, getGuid().entityId);
     }
 
     public Subscriber<RtpsMessage> getWriterReader() {
@@ -20,11 +20,10 @@ package pinorobotics.rtpstalk.impl.spec.behavior.writer;
 import id.xfunction.concurrent.flow.SimpleSubscriber;
 import id.xfunction.logging.TracingToken;
 import id.xfunction.logging.XLogger;
-import id.xfunction.util.IntBitSet;
-import java.util.ArrayList;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.AckNack;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.NackFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
 import pinorobotics.rtpstalk.impl.spec.messages.walk.Result;
 import pinorobotics.rtpstalk.impl.spec.messages.walk.RtpsSubmessageVisitor;
@@ -62,14 +61,26 @@ public class WriterRtpsReader<D extends RtpsTalkMessage> extends SimpleSubscribe
                 "Processing acknack for writer {0} received from reader {1}",
                 ackNack.writerId, readerGuid);
         var set = ackNack.readerSNState;
-        var base = set.bitmapBase.value;
-        var bitset = new IntBitSet(set.bitmap);
         if (readerProxy.ackedChanges(set.bitmapBase.value - 1) > 0) writer.cleanupCacheAndRequest();
-        var requested = new ArrayList<Long>();
-        for (int i = bitset.nextSetBit(0); i >= 0; i = bitset.nextSetBit(i + 1)) {
-            requested.add(base + i);
+        readerProxy.requestedChanges(set);
+        return Result.CONTINUE;
+    }
+
+    @Override
+    public Result onNackFrag(GuidPrefix guidPrefix, NackFrag nackFrag) {
+        var readerGuid = new Guid(guidPrefix, nackFrag.readerId);
+        var readerProxy = writer.matchedReaderLookup(readerGuid).orElse(null);
+        if (readerProxy == null) {
+            logger.fine(
+                    "No matched reader {0} for writer {1}, ignoring it...",
+                    readerGuid, nackFrag.writerId);
+            return Result.CONTINUE;
         }
-        readerProxy.requestedChanges(requested);
+        logger.fine(
+                "Processing nackFrag for writer {0} received from reader {1}",
+                nackFrag.writerId, readerGuid);
+        readerProxy.requestedFragments(
+                nackFrag.writerSN.value, nackFrag.fragmentNumberState.stream().boxed().toList());
         return Result.CONTINUE;
     }
 
@@ -80,6 +91,7 @@ public class WriterRtpsReader<D extends RtpsTalkMessage> extends SimpleSubscribe
         } catch (Exception e) {
             logger.severe(e);
         } finally {
+            message.release();
             subscription.request(1);
         }
     }
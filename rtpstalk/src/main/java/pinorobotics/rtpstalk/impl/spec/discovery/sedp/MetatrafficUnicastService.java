@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Flow.Subscriber;
 import pinorobotics.rtpstalk.EndpointQos;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
 import pinorobotics.rtpstalk.impl.RtpsNetworkInterface;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.RtpsTalkParameterListMessage;
@@ -68,15 +69,18 @@ public class MetatrafficUnicastService implements AutoCloseable {
     private XLogger logger;
     private RtpsMessageReceiverFactory receiverFactory;
     private Executor publisherExecutor;
+    private HashedWheelTimer timer;
 
     public MetatrafficUnicastService(
             RtpsTalkConfigurationInternal config,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             DataChannelFactory channelFactory,
             RtpsMessageReceiverFactory receiverFactory) {
         this.config = config;
         this.channelFactory = channelFactory;
         this.publisherExecutor = publisherExecutor;
+        this.timer = timer;
         this.receiverFactory = receiverFactory;
     }
 
@@ -97,6 +101,7 @@ public class MetatrafficUnicastService implements AutoCloseable {
                         config,
                         tracingToken,
                         publisherExecutor,
+                        timer,
                         channelFactory,
                         iface.getOperatingEntities());
         metatrafficUnicastReceiver.subscribe(subscriptionsWriter.getWriterReader());
@@ -105,6 +110,7 @@ public class MetatrafficUnicastService implements AutoCloseable {
                         config,
                         tracingToken,
                         publisherExecutor,
+                        timer,
                         channelFactory,
                         iface.getOperatingEntities());
         metatrafficUnicastReceiver.subscribe(publicationsWriter.getWriterReader());
@@ -113,6 +119,7 @@ public class MetatrafficUnicastService implements AutoCloseable {
                         config,
                         tracingToken,
                         publisherExecutor,
+                        timer,
                         iface.getOperatingEntities(),
                         channelFactory);
         metatrafficUnicastReceiver.subscribe(subscriptionsReader);
@@ -121,6 +128,7 @@ public class MetatrafficUnicastService implements AutoCloseable {
                         config,
                         tracingToken,
                         publisherExecutor,
+                        timer,
                         iface.getOperatingEntities(),
                         channelFactory);
         metatrafficUnicastReceiver.subscribe(publicationsReader);
@@ -131,6 +139,7 @@ public class MetatrafficUnicastService implements AutoCloseable {
                             config,
                             tracingToken,
                             publisherExecutor,
+                            timer,
                             iface.getOperatingEntities(),
                             channelFactory));
         metatrafficUnicastReceiver.start(iface.getMetatrafficUnicastChannel());
@@ -19,6 +19,7 @@ package pinorobotics.rtpstalk.impl.spec.discovery.sedp;
 
 import id.xfunction.logging.TracingToken;
 import java.util.concurrent.Executor;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.RtpsTalkParameterListMessage;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
@@ -55,6 +56,7 @@ public class SedpBuiltinPublicationsReader
             RtpsTalkConfigurationInternal config,
             TracingToken tracingToken,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             LocalOperatingEntities operatingEntities,
             DataChannelFactory dataChannelFactory) {
         super(
@@ -62,6 +64,7 @@ public class SedpBuiltinPublicationsReader
                 tracingToken,
                 RtpsTalkParameterListMessage.class,
                 publisherExecutor,
+                timer,
                 operatingEntities,
                 EntityId.Predefined.ENTITYID_SEDP_BUILTIN_PUBLICATIONS_DETECTOR.getValue(),
                 DEFAULT_POLICY,
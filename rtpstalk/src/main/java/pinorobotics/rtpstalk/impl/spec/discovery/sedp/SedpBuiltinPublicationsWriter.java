@@ -20,6 +20,7 @@ package pinorobotics.rtpstalk.impl.spec.discovery.sedp;
 import id.xfunction.logging.TracingToken;
 import java.util.concurrent.Executor;
 import pinorobotics.rtpstalk.WriterSettings;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.RtpsTalkParameterListMessage;
 import pinorobotics.rtpstalk.impl.qos.WriterQosPolicySet;
@@ -44,12 +45,14 @@ public class SedpBuiltinPublicationsWriter
             RtpsTalkConfigurationInternal config,
             TracingToken tracingToken,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             DataChannelFactory channelFactory,
             LocalOperatingEntities operatingEntities) {
         super(
                 config,
                 tracingToken,
                 publisherExecutor,
+                timer,
                 channelFactory,
                 operatingEntities,
                 EntityId.Predefined.ENTITYID_SEDP_BUILTIN_PUBLICATIONS_ANNOUNCER.getValue(),
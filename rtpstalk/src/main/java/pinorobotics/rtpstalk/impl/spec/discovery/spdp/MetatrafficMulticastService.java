@@ -23,6 +23,7 @@ import id.xfunction.logging.XLogger;
 import java.net.NetworkInterface;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Flow.Subscriber;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
 import pinorobotics.rtpstalk.impl.RtpsNetworkInterface;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.RtpsTalkParameterListMessage;
@@ -50,15 +51,18 @@ public class MetatrafficMulticastService implements AutoCloseable {
     private RtpsMessageReceiverFactory receiverFactory;
     private Executor publisherExecutor;
     private DataFactory dataFactory;
+    private HashedWheelTimer timer;
 
     public MetatrafficMulticastService(
             RtpsTalkConfigurationInternal config,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             DataChannelFactory channelFactory,
             RtpsMessageReceiverFactory receiverFactory) {
         this(
                 config,
                 publisherExecutor,
+                timer,
                 channelFactory,
                 receiverFactory,
                 new SpdpDiscoveredParticipantDataFactory());
@@ -67,11 +71,13 @@ public class MetatrafficMulticastService implements AutoCloseable {
     public MetatrafficMulticastService(
             RtpsTalkConfigurationInternal config,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             DataChannelFactory channelFactory,
             RtpsMessageReceiverFactory receiverFactory,
             SpdpDiscoveredParticipantDataFactory spdpDiscoveredDataFactory) {
         this.config = config;
         this.publisherExecutor = publisherExecutor;
+        this.timer = timer;
         this.channelFactory = channelFactory;
         this.receiverFactory = receiverFactory;
         this.spdpDiscoveredDataFactory = spdpDiscoveredDataFactory;
@@ -111,6 +117,7 @@ public class MetatrafficMulticastService implements AutoCloseable {
                         config,
                         tracingToken,
                         publisherExecutor,
+                        timer,
                         channelFactory,
                         networkInterface,
                         iface.getParticipantsRegistry());
@@ -120,7 +127,7 @@ public class MetatrafficMulticastService implements AutoCloseable {
                         spdpDiscoveredDataFactory.createData(
                                 config,
                                 iface.getLocalMetatrafficUnicastLocator(),
-                                iface.getLocalDefaultUnicastLocator())));
+                                iface.getLocalDefaultUnicastLocators())));
         writer.start();
         isStarted = true;
     }
@@ -18,6 +18,7 @@
 package pinorobotics.rtpstalk.impl.spec.discovery.spdp;
 
 import static pinorobotics.rtpstalk.impl.spec.messages.TrafficType.DISCOVERY;
+import static pinorobotics.rtpstalk.impl.spec.messages.TrafficType.USER;
 
 import pinorobotics.rtpstalk.impl.spec.messages.TrafficType;
 
@@ -37,6 +38,9 @@ public record PortNumberParameters(
     public static final PortNumberParameters DEFAULT =
             new PortNumberParameters(250, 2, 7400, 0, 10, 1, 11, DISCOVERY);
 
+    public static final PortNumberParameters DEFAULT_USER =
+            new PortNumberParameters(250, 2, 7400, 0, 10, 1, 11, USER);
+
     public int getMultiCastPort(int domainId) {
         return switch (trafficType) {
             case DISCOVERY -> PortBase + DomainIdGain * domainId + d0;
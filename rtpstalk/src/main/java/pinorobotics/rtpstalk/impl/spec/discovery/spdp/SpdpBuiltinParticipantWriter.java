@@ -17,7 +17,6 @@
  */
 package pinorobotics.rtpstalk.impl.spec.discovery.spdp;
 
-import id.xfunction.concurrent.NamedThreadFactory;
 import id.xfunction.logging.TracingToken;
 import id.xfunction.logging.XLogger;
 import io.opentelemetry.api.GlobalOpenTelemetry;
@@ -26,10 +25,10 @@ import io.opentelemetry.api.metrics.Meter;
 import java.io.IOException;
 import java.net.NetworkInterface;
 import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer.ScheduledTask;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.RtpsTalkParameterListMessage;
 import pinorobotics.rtpstalk.impl.spec.behavior.ParticipantsRegistry;
@@ -54,9 +53,8 @@ public class SpdpBuiltinParticipantWriter extends StatelessRtpsWriter<RtpsTalkPa
                     .setDescription(RtpsTalkMetrics.ANNOUNCEMENTS_COUNT_METRIC_DESCRIPTION)
                     .build();
     private static final XLogger LOGGER = XLogger.getLogger(SpdpBuiltinParticipantWriter.class);
-    private ScheduledExecutorService executor =
-            Executors.newSingleThreadScheduledExecutor(
-                    new NamedThreadFactory("SpdpBuiltinParticipantWriter"));
+    private HashedWheelTimer timer;
+    private Optional<ScheduledTask> announcementTask = Optional.empty();
     private RtpsTalkParameterListMessage message;
     private Duration rate;
     private NetworkInterface networkInterface;
@@ -66,6 +64,7 @@ public class SpdpBuiltinParticipantWriter extends StatelessRtpsWriter<RtpsTalkPa
             RtpsTalkConfigurationInternal config,
             TracingToken tracingToken,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             DataChannelFactory channelFactory,
             NetworkInterface networkInterface,
             ParticipantsRegistry participantsRegistry) {
@@ -76,13 +75,14 @@ public class SpdpBuiltinParticipantWriter extends StatelessRtpsWriter<RtpsTalkPa
                 channelFactory,
                 EntityId.Predefined.ENTITYID_SPDP_BUILTIN_PARTICIPANT_ANNOUNCER.getValue(),
                 EntityId.Predefined.ENTITYID_SPDP_BUILTIN_PARTICIPANT_DETECTOR.getValue());
+        this.timer = timer;
         this.networkInterface = networkInterface;
         this.participantsRegistry = participantsRegistry;
         this.rate = config.publicConfig().spdpDiscoveredParticipantDataPublishPeriod();
     }
 
     public void start() {
-        executor.scheduleWithFixedDelay(this, 0, rate.toMillis(), TimeUnit.MILLISECONDS);
+        announcementTask = Optional.of(timer.scheduleWithFixedDelay(this, Duration.ZERO, rate));
     }
 
     public void readerLocatorAdd(Locator locator) throws IOException {
@@ -105,7 +105,7 @@ public class SpdpBuiltinParticipantWriter extends StatelessRtpsWriter<RtpsTalkPa
 
     @Override
     public void run() {
-        if (executor.isShutdown()) return;
+        if (announcementTask.map(ScheduledTask::isCancelled).orElse(false)) return;
         participantsRegistry.removeParticipantsWithExpiredLease();
         if (message == null) {
             LOGGER.fine("No SpdpDiscoveredParticipantData to send, skipping");
@@ -128,7 +128,7 @@ public class SpdpBuiltinParticipantWriter extends StatelessRtpsWriter<RtpsTalkPa
     @Override
     public void close() {
         super.close();
-        executor.shutdown();
+        announcementTask.ifPresent(ScheduledTask::cancel);
         LOGGER.fine("Closed");
     }
 }
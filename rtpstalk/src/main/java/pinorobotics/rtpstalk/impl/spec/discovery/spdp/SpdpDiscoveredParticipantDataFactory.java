@@ -18,7 +18,10 @@
 package pinorobotics.rtpstalk.impl.spec.discovery.spdp;
 
 import id.xfunction.util.ImmutableMultiMap;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
 import pinorobotics.rtpstalk.EndpointQos;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.spec.RtpsSpecReference;
@@ -50,7 +53,7 @@ public class SpdpDiscoveredParticipantDataFactory {
     public ParameterList createData(
             RtpsTalkConfigurationInternal config,
             Locator metatrafficUnicastLocator,
-            Locator defaultUnicastLocator) {
+            List<Locator> defaultUnicastLocators) {
         var endpointSet =
                 EnumSet.of(
                         Endpoint.DISC_BUILTIN_ENDPOINT_PARTICIPANT_DETECTOR,
@@ -65,27 +68,26 @@ public class SpdpDiscoveredParticipantDataFactory {
         // best-effort is not currently supported
         if (config.publicConfig().builtinEndpointQos() == EndpointQos.NONE)
             endpointSet.add(Endpoint.BUILTIN_ENDPOINT_PARTICIPANT_MESSAGE_DATA_READER);
-        var params =
-                ParameterList.ofProtocolParameters(
-                        ImmutableMultiMap.of(
-                                ParameterId.PID_PROTOCOL_VERSION,
-                                ProtocolVersion.Predefined.Version_2_3.getValue(),
-                                ParameterId.PID_VENDORID,
-                                VendorId.Predefined.RTPSTALK.getValue(),
-                                ParameterId.PID_PARTICIPANT_GUID,
-                                config.localParticipantGuid(),
-                                ParameterId.PID_METATRAFFIC_UNICAST_LOCATOR,
-                                metatrafficUnicastLocator,
-                                ParameterId.PID_DEFAULT_UNICAST_LOCATOR,
-                                defaultUnicastLocator,
-                                ParameterId.PID_PARTICIPANT_LEASE_DURATION,
-                                new DurationT(20),
-                                ParameterId.PID_DOMAIN_ID,
-                                new UnsignedInt(config.publicConfig().domainId()),
-                                ParameterId.PID_BUILTIN_ENDPOINT_SET,
-                                new BuiltinEndpointSet(endpointSet),
-                                ParameterId.PID_ENTITY_NAME,
-                                "/"));
-        return params;
+        var params = new ArrayList<Map.Entry<ParameterId, Object>>();
+        params.add(
+                Map.entry(
+                        ParameterId.PID_PROTOCOL_VERSION,
+                        ProtocolVersion.Predefined.Version_2_3.getValue()));
+        params.add(Map.entry(ParameterId.PID_VENDORID, VendorId.Predefined.RTPSTALK.getValue()));
+        params.add(Map.entry(ParameterId.PID_PARTICIPANT_GUID, config.localParticipantGuid()));
+        params.add(
+                Map.entry(ParameterId.PID_METATRAFFIC_UNICAST_LOCATOR, metatrafficUnicastLocator));
+        defaultUnicastLocators.forEach(
+                locator -> params.add(Map.entry(ParameterId.PID_DEFAULT_UNICAST_LOCATOR, locator)));
+        params.add(Map.entry(ParameterId.PID_PARTICIPANT_LEASE_DURATION, new DurationT(20)));
+        params.add(
+                Map.entry(
+                        ParameterId.PID_DOMAIN_ID,
+                        new UnsignedInt(config.publicConfig().domainId())));
+        params.add(
+                Map.entry(
+                        ParameterId.PID_BUILTIN_ENDPOINT_SET, new BuiltinEndpointSet(endpointSet)));
+        params.add(Map.entry(ParameterId.PID_ENTITY_NAME, "/"));
+        return ParameterList.ofProtocolParameters(new ImmutableMultiMap<>(params));
     }
 }
@@ -66,4 +66,8 @@ public class HistoryQosPolicy implements HasStreamedFields {
         builder.append("depth", depth);
         return builder.toString();
     }
+
+    public Kind getKind() {
+        return Kind.values()[kind];
+    }
 }
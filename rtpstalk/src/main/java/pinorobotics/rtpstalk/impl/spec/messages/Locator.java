@@ -19,6 +19,7 @@ package pinorobotics.rtpstalk.impl.spec.messages;
 
 import id.xfunction.Preconditions;
 import id.xfunction.XJsonStringBuilder;
+import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
@@ -43,6 +44,12 @@ public class Locator {
         if (kind == LocatorKind.LOCATOR_KIND_UDPv4)
             Preconditions.isTrue(
                     InternalUtils.isIpv4().test(address), "Non IPv4 address %s", address);
+        if (kind == LocatorKind.LOCATOR_KIND_SHM || kind == LocatorKind.LOCATOR_KIND_INTRAPROCESS)
+            Preconditions.isTrue(
+                    address instanceof Inet6Address,
+                    "Locator %s requires 16 bytes address, got %s",
+                    kind,
+                    address);
         this.kind = kind;
         this.port = new UnsignedInt(port);
         this.address = address;
@@ -73,6 +80,18 @@ public class Locator {
         }
     }
 
+    /** Default multicast locator for the user traffic */
+    public static Locator createDefaultUserDataMulticastLocator(int domainId) {
+        try {
+            return new Locator(
+                    LocatorKind.LOCATOR_KIND_UDPv4,
+                    PortNumberParameters.DEFAULT_USER.getMultiCastPort(domainId),
+                    InetAddress.getByName("239.255.0.1"));
+        } catch (UnknownHostException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private static Locator createEmpty(LocatorKind kind) {
         try {
             return new Locator(kind, 0, InetAddress.getByAddress(new byte[4]));
@@ -27,7 +27,21 @@ public enum LocatorKind {
     LOCATOR_KIND_INVALID(-1),
     LOCATOR_KIND_RESERVED(0),
     LOCATOR_KIND_UDPv4(1),
-    LOCATOR_KIND_UDPv6(2);
+    LOCATOR_KIND_UDPv6(2),
+
+    /**
+     * Vendor specific kind for the ring buffers in the shared memory of the host. Address of such
+     * locator identifies the host and the ring buffer, port is same as of the participant {@link
+     * #LOCATOR_KIND_UDPv4} default unicast locator.
+     */
+    LOCATOR_KIND_SHM(0x72740001),
+
+    /**
+     * Vendor specific kind for the ring buffers in the memory of the process. Address of such
+     * locator identifies the process, port is same as of the participant {@link
+     * #LOCATOR_KIND_UDPv4} default unicast locator.
+     */
+    LOCATOR_KIND_INTRAPROCESS(0x72740002);
 
     public int value;
 
@@ -21,8 +21,10 @@ import id.xfunction.XJsonStringBuilder;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import pinorobotics.rtpstalk.impl.messages.HasStreamedFields;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Submessage;
+import pinorobotics.rtpstalk.impl.spec.transport.PooledByteBuffer;
 
 /**
  * @author aeon_flux aeon_flux@eclipso.ch
@@ -32,6 +34,9 @@ public class RtpsMessage implements HasStreamedFields {
     public Header header;
     public Submessage[] submessages;
 
+    /** Buffer from which this message was read with zero-copy */
+    private Optional<PooledByteBuffer> buffer = Optional.empty();
+
     public RtpsMessage() {}
 
     public RtpsMessage(Header header, Submessage... submessages) {
@@ -48,6 +53,29 @@ public class RtpsMessage implements HasStreamedFields {
         return submessages;
     }
 
+    /**
+     * Network buffer which is referenced by this message. It is present only when message was read
+     * with zero-copy and its submessages contain views to this buffer.
+     */
+    public Optional<PooledByteBuffer> getBuffer() {
+        return buffer;
+    }
+
+    public void setBuffer(PooledByteBuffer buffer) {
+        this.buffer = Optional.of(buffer);
+    }
+
+    /**
+     * Release one reference to the {@link #getBuffer()} if it is present.
+     *
+     * <p>Each subscriber which receives messages from {@link
+     * pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageReceiver} should call it once it is done
+     * processing the message.
+     */
+    public void release() {
+        buffer.ifPresent(PooledByteBuffer::release);
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
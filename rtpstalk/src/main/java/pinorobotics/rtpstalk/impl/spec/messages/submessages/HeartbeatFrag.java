@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.messages.submessages;
+
+import id.xfunction.Preconditions;
+import java.util.List;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.spec.RtpsSpecReference;
+import pinorobotics.rtpstalk.impl.spec.messages.UnsignedInt;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.Count;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion.Predefined;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
+import pinorobotics.rtpstalk.impl.spec.transport.io.LengthCalculator;
+
+/**
+ * The HeartbeatFrag Submessage is sent from an RTPS Writer to an RTPS Reader to communicate which
+ * fragments of the data change the Writer has available. This enables reliable communication at the
+ * fragment level.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class HeartbeatFrag extends Submessage {
+    static final List<String> STREAMED_FIELDS =
+            List.of("readerId", "writerId", "writerSN", "lastFragmentNum", "count");
+
+    /**
+     * Identifies the Reader Entity that is being informed of the availability of fragments. Can be
+     * set to {@link EntityId.Predefined#ENTITYID_UNKNOWN} to indicate all readers for the writer
+     * that sent the message.
+     */
+    public EntityId readerId;
+
+    /** Identifies the Writer Entity that sent the Submessage. */
+    public EntityId writerId;
+
+    /** Identifies the sequence number of the data change for which fragments are available. */
+    public SequenceNumber writerSN;
+
+    /** All fragments up to and including this last (highest) fragment are available */
+    public UnsignedInt lastFragmentNum;
+
+    /**
+     * A counter that is incremented each time a new HeartbeatFrag message is sent. Provides the
+     * means for a Reader to detect duplicate HeartbeatFrag messages that can result from the
+     * presence of redundant communication paths.
+     */
+    public Count count;
+
+    public HeartbeatFrag() {}
+
+    public HeartbeatFrag(
+            EntityId readerId,
+            EntityId writerId,
+            SequenceNumber writerSN,
+            UnsignedInt lastFragmentNum,
+            Count count) {
+        Preconditions.isTrue(count.value > 0, "Count cannot be less than 1");
+        this.readerId = readerId;
+        this.writerId = writerId;
+        this.writerSN = writerSN;
+        this.lastFragmentNum = lastFragmentNum;
+        this.count = count;
+        submessageHeader =
+                new SubmessageHeader(
+                        SubmessageKind.Predefined.HEARTBEAT_FRAG.getValue(),
+                        RtpsTalkConfiguration.ENDIANESS_BIT,
+                        LengthCalculator.getInstance().calculateLength(this));
+        validate();
+    }
+
+    @Override
+    @RtpsSpecReference(
+            paragraph = "8.3.7.6.3",
+            protocolVersion = Predefined.Version_2_3,
+            text = "Validity")
+    public void validate() {
+        Preconditions.isLess(0, writerSN.value, "writerSN must be greater than 0");
+        Preconditions.isLess(0L, lastFragmentNum.getUnsigned(), "lastFragmentNum must be positive");
+    }
+
+    @Override
+    protected Object[] getAdditionalFields() {
+        return new Object[] {
+            "readerId", readerId,
+            "writerId", writerId,
+            "writerSN", writerSN,
+            "lastFragmentNum", lastFragmentNum,
+            "count", count
+        };
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.messages.submessages;
+
+import id.xfunction.Preconditions;
+import java.util.List;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.spec.RtpsSpecReference;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.Count;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.FragmentNumberSet;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion.Predefined;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
+import pinorobotics.rtpstalk.impl.spec.transport.io.LengthCalculator;
+
+/**
+ * The NackFrag Submessage is used to communicate the state of a Reader to a Writer. When a data
+ * change is sent as a series of fragments, the NackFrag Submessage allows the Reader to inform the
+ * Writer about specific fragment numbers it is still missing.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class NackFrag extends Submessage {
+    static final List<String> STREAMED_FIELDS =
+            List.of("readerId", "writerId", "writerSN", "fragmentNumberState", "count");
+
+    /** Identifies the Reader entity that requests to receive certain fragments. */
+    public EntityId readerId;
+
+    /**
+     * Identifies the Writer entity that is the target of the NackFrag message. This is the Writer
+     * Entity that is being asked to re-send some fragments.
+     */
+    public EntityId writerId;
+
+    /** The sequence number for which some fragments are missing. */
+    public SequenceNumber writerSN;
+
+    /**
+     * Communicates the state of the reader to the writer. The fragment numbers that appear in the
+     * set indicate missing fragments on the reader side. The ones that do not appear in the set are
+     * undetermined (could have been received or not).
+     */
+    public FragmentNumberSet fragmentNumberState;
+
+    /**
+     * A counter that is incremented each time a new NackFrag message is sent. Provides the means
+     * for a Writer to detect duplicate NackFrag messages that can result from the presence of
+     * redundant communication paths.
+     */
+    public Count count;
+
+    public NackFrag() {}
+
+    public NackFrag(
+            EntityId readerId,
+            EntityId writerId,
+            SequenceNumber writerSN,
+            FragmentNumberSet fragmentNumberState,
+            Count count) {
+        Preconditions.isTrue(count.value > 0, "Count cannot be less than 1");
+        this.readerId = readerId;
+        this.writerId = writerId;
+        this.writerSN = writerSN;
+        this.fragmentNumberState = fragmentNumberState;
+        this.count = count;
+        submessageHeader =
+                new SubmessageHeader(
+                        SubmessageKind.Predefined.NACK_FRAG.getValue(),
+                        RtpsTalkConfiguration.ENDIANESS_BIT,
+                        LengthCalculator.getInstance().calculateLength(this));
+        validate();
+    }
+
+    @Override
+    @RtpsSpecReference(
+            paragraph = "8.3.7.8.3",
+            protocolVersion = Predefined.Version_2_3,
+            text = "Validity")
+    public void validate() {
+        Preconditions.isLess(0, writerSN.value, "writerSN must be greater than 0");
+        fragmentNumberState.validate();
+    }
+
+    @Override
+    protected Object[] getAdditionalFields() {
+        return new Object[] {
+            "readerId", readerId,
+            "writerId", writerId,
+            "writerSN", writerSN,
+            "fragmentNumberState", fragmentNumberState,
+            "count", count
+        };
+    }
+}
@@ -19,23 +19,70 @@ package pinorobotics.rtpstalk.impl.spec.messages.submessages;
 
 import id.xfunction.Checksum;
 import id.xfunction.XJson;
+import java.nio.ByteBuffer;
+import java.util.Optional;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.RepresentationIdentifier.Predefined;
+import pinorobotics.rtpstalk.messages.PayloadView;
 
 /**
+ * User data which is stored either in the array, in the slice of the array (see {@link
+ * #RawData(byte[], int, int)}) or, when it is received with zero-copy, in the {@link PayloadView}
+ * of the network buffer.
+ *
+ * <p>{@link PayloadView} is valid only while RTPS message which contains this {@link RawData} is
+ * being processed. Anyone who wants to keep it longer should {@link PayloadView#retain()} it.
+ *
  * @author aeon_flux aeon_flux@eclipso.ch
  */
 public class RawData implements Payload {
 
     public byte[] data;
 
+    private Optional<PayloadView> view = Optional.empty();
+    private Optional<ByteBuffer> slice = Optional.empty();
+
     public RawData() {}
 
     public RawData(byte[] data) {
         this.data = data;
     }
 
+    public RawData(PayloadView view) {
+        this.view = Optional.of(view);
+    }
+
+    /**
+     * Data which is part of the given array. The array is not copied so it should not be changed
+     * while this {@link RawData} is in use.
+     */
+    public RawData(byte[] data, int offset, int length) {
+        this.slice = Optional.of(ByteBuffer.wrap(data, offset, length).slice().asReadOnlyBuffer());
+    }
+
+    /** When data is stored in the view or in the slice, it is copied to the new array */
     public byte[] getData() {
-        return data;
+        if (slice.isPresent()) {
+            var a = new byte[size()];
+            getBuffer().get(a);
+            return a;
+        }
+        return view.map(PayloadView::toArray).orElse(data);
+    }
+
+    /** Read-only buffer with the data (which is not copied) */
+    public ByteBuffer getBuffer() {
+        if (slice.isPresent()) return slice.get().duplicate();
+        return view.map(PayloadView::buffer)
+                .orElseGet(() -> ByteBuffer.wrap(data).asReadOnlyBuffer());
+    }
+
+    public Optional<PayloadView> getView() {
+        return view;
+    }
+
+    public int size() {
+        if (slice.isPresent()) return slice.get().limit();
+        return view.map(PayloadView::size).orElseGet(() -> data.length);
     }
 
     @Override
@@ -46,14 +93,14 @@ public class RawData implements Payload {
     @Override
     public String toString() {
         try {
-            return XJson.asString("size", data.length, "md5", Checksum.md5(data));
+            return XJson.asString("size", size(), "md5", Checksum.md5(getData()));
         } catch (Exception e) {
-            return XJson.asString("size", data.length);
+            return XJson.asString("size", size());
         }
     }
 
     @Override
     public boolean isEmpty() {
-        return data.length == 0;
+        return size() == 0;
     }
 }
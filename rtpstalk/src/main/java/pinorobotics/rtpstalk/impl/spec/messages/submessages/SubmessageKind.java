@@ -58,12 +58,12 @@ public class SubmessageKind implements HasStreamedFields {
 
         //        /** InfoReply */
         //        INFO_REPLY(new SubmessageKind(0x0f), InfoTimestamp.class),
-        //
-        //        /** NackFrag */
-        //        NACK_FRAG(new SubmessageKind(0x12), InfoTimestamp.class),
-        //
-        //        /** HeartbeatFrag */
-        //        HEARTBEAT_FRAG(new SubmessageKind(0x13), InfoTimestamp.class),
+
+        /** NackFrag */
+        NACK_FRAG(new SubmessageKind(0x12), NackFrag.class),
+
+        /** HeartbeatFrag */
+        HEARTBEAT_FRAG(new SubmessageKind(0x13), HeartbeatFrag.class),
 
         /** Data */
         DATA(new SubmessageKind(0x15), Data.class),
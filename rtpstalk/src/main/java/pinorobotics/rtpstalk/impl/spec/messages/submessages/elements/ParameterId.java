@@ -49,6 +49,7 @@ public enum ParameterId {
     PID_BUILTIN_ENDPOINT_SET(0x0058, BuiltinEndpointSet.class),
     PID_DEFAULT_UNICAST_LOCATOR(0x0031, Locator.class),
     PID_UNICAST_LOCATOR(0x002f, Locator.class),
+    PID_MULTICAST_LOCATOR(0x0030, Locator.class),
     PID_METATRAFFIC_UNICAST_LOCATOR(0x0032, Locator.class),
     PID_PARTICIPANT_GUID(0x0050, Guid.class),
     PID_VENDORID(0x0016, VendorId.class),
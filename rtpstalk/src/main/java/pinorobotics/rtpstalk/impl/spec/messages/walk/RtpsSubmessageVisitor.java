@@ -22,8 +22,10 @@ import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Gap;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.HeartbeatFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoDestination;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoTimestamp;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.NackFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
 
 /**
@@ -62,4 +64,12 @@ public interface RtpsSubmessageVisitor {
     default Result onGap(GuidPrefix guidPrefix, Gap gap) {
         return Result.CONTINUE;
     }
+
+    default Result onNackFrag(GuidPrefix guidPrefix, NackFrag nackFrag) {
+        return Result.CONTINUE;
+    }
+
+    default Result onHeartbeatFrag(GuidPrefix guidPrefix, HeartbeatFrag heartbeatFrag) {
+        return Result.CONTINUE;
+    }
 }
@@ -23,8 +23,10 @@ import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Gap;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.HeartbeatFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoDestination;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoTimestamp;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.NackFrag;
 
 /**
  * @author aeon_flux aeon_flux@eclipso.ch
@@ -47,6 +49,10 @@ public class RtpsSubmessagesWalker {
             else if (submessage instanceof InfoDestination infoDestination)
                 res = visitor.onInfoDestination(guidPrefix, infoDestination);
             else if (submessage instanceof Gap gap) res = visitor.onGap(guidPrefix, gap);
+            else if (submessage instanceof NackFrag nackFrag)
+                res = visitor.onNackFrag(guidPrefix, nackFrag);
+            else if (submessage instanceof HeartbeatFrag heartbeatFrag)
+                res = visitor.onHeartbeatFrag(guidPrefix, heartbeatFrag);
             else res = Result.CONTINUE;
             if (res == Result.STOP) break;
         }
@@ -108,6 +108,11 @@ public class HistoryCache<D extends RtpsTalkMessage> {
         return writerChanges.getAllSortedBySeqNum();
     }
 
+    /** Changes of all the writers */
+    public Stream<CacheChange<D>> getAll() {
+        return changes.values().stream().flatMap(WriterChanges::getAllSortedBySeqNum);
+    }
+
     public Stream<CacheChange<D>> getAllSortedBySeqNum(Guid writerGuid, long afterSeqNum) {
         var writerChanges = changes.get(writerGuid);
         if (writerChanges == null) return Stream.of();
@@ -120,6 +125,12 @@ public class HistoryCache<D extends RtpsTalkMessage> {
         return writerChanges.findAll(seqNums);
     }
 
+    public Optional<CacheChange<D>> findChange(Guid writerGuid, long seqNum) {
+        var writerChanges = changes.get(writerGuid);
+        if (writerChanges == null) return Optional.empty();
+        return writerChanges.findChange(seqNum);
+    }
+
     public long getSeqNumMin(Guid guid) {
         var writerChanges = changes.get(guid);
         if (writerChanges == null) return SequenceNumber.MIN.value;
@@ -141,4 +152,11 @@ public class HistoryCache<D extends RtpsTalkMessage> {
     public void removeAllBelow(long oldestSeqNum) {
         changes.values().stream().forEach(changes -> changes.removeAllBelow(oldestSeqNum));
     }
+
+    /** Remove all changes of the given writer with sequence number below the given one */
+    public void removeAllBelow(Guid writerGuid, long oldestSeqNum) {
+        var writerChanges = changes.get(writerGuid);
+        if (writerChanges == null) return;
+        writerChanges.removeAllBelow(oldestSeqNum);
+    }
 }
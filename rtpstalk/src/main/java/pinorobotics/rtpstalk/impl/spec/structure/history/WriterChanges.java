@@ -21,35 +21,71 @@ import id.xfunction.Preconditions;
 import id.xfunction.logging.TracingToken;
 import id.xfunction.logging.XLogger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
 import pinorobotics.rtpstalk.messages.RtpsTalkMessage;
 
 /**
- * Must be thread-safe because cache cleanup may run concurrently:
+ * Changes of a single writer.
+ *
+ * <p>Sequence numbers of the changes are dense and grow monotonically, so changes are stored in the
+ * power-of-two ring buffer where each change is indexed by its sequence number ({@code seqNum &
+ * mask}). It gives constant time add, lookup and removal without allocating any nodes or boxing any
+ * sequence numbers per change. Ring buffer grows when the range of sequence numbers which are
+ * stored in the cache does not fit into it anymore.
+ *
+ * <p>Readers may receive changes with large gaps between their sequence numbers. Changes which do
+ * not fit into the ring buffer, even after it reached its {@link #MAX_CAPACITY}, are kept in the
+ * separate {@link #overflow} map until the ring buffer has space for them.
+ *
+ * <p>Must be thread-safe because cache cleanup may run concurrently:
  *
  * <ul>
  *   <li>from periodic job
  *   <li>when receive ACKNACK from remote Subscriber
  * </ul>
  *
+ * Changes are added and removed under the lock, while all the lookups are lock-free.
+ *
  * @author lambdaprime intid@protonmail.com
  */
 public class WriterChanges<D extends RtpsTalkMessage> {
 
-    private final SortedMap<Long, CacheChange<D>> sortedChanges = new ConcurrentSkipListMap<>();
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 16;
+
     private final XLogger logger;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Changes indexed by {@code seqNum & (ring.length() - 1)} */
+    private volatile AtomicReferenceArray<CacheChange<D>> ring =
+            new AtomicReferenceArray<>(INITIAL_CAPACITY);
 
     /**
-     * TreeMap does not guarantee constant time for {@link TreeMap#firstEntry()}, {@link
-     * TreeMap#lastEntry()} (looking at Linux OpenJDK it is O(logN)) so we keep track of these
-     * values manually to guarantee constant time for them
+     * Range of sequence numbers of the changes stored inside the ring buffer. It never exceeds the
+     * ring buffer capacity. Ring buffer is empty when {@link #ringMin} is greater than {@link
+     * #ringMax}.
      */
+    private volatile long ringMin = Long.MAX_VALUE, ringMax = Long.MIN_VALUE;
+
+    /**
+     * Changes which do not fit into the ring buffer. Their sequence numbers are always outside of
+     * the ring buffer range.
+     */
+    private final ConcurrentSkipListMap<Long, CacheChange<D>> overflow =
+            new ConcurrentSkipListMap<>();
+
+    private volatile int numberOfChanges;
+
     private final AtomicLong seqNumMin = new AtomicLong(SequenceNumber.MIN.value),
             seqNumMax = new AtomicLong(SequenceNumber.MIN.value);
 
@@ -82,71 +118,188 @@ public class WriterChanges<D extends RtpsTalkMessage> {
         return seqNumMax.get();
     }
 
-    public synchronized void removeAllBelow(long seqNum) {
-        if (seqNum < seqNumMin.get()) {
-            return;
-        }
-        if (seqNum > seqNumMax.get()) {
+    public void removeAllBelow(long seqNum) {
+        lock.lock();
+        try {
+            if (seqNum < seqNumMin.get()) {
+                return;
+            }
+            if (seqNum > seqNumMax.get()) {
+                seqNumMin.set(seqNum);
+                seqNumMax.set(seqNum);
+                removeFromRing(ringMax + 1);
+                removeFromOverflow(seqNum);
+                logger.fine("All writer changes are removed");
+                return;
+            }
+            removeFromRing(seqNum);
+            removeFromOverflow(seqNum);
             seqNumMin.set(seqNum);
-            seqNumMax.set(seqNum);
-            sortedChanges.clear();
-            logger.fine("All writer changes are removed");
-            return;
+            logger.fine("Number of writer changes left is {0}", numberOfChanges);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void removeFromRing(long seqNum) {
+        if (ringMin > ringMax) return;
+        var r = ring;
+        var end = Math.min(seqNum - 1, ringMax);
+        for (var s = ringMin; s <= end; s++) {
+            var index = index(r, s);
+            var change = r.get(index);
+            if (change == null || change.getSequenceNumber() != s) continue;
+            r.set(index, null);
+            numberOfChanges--;
+        }
+        if (seqNum > ringMax) {
+            ringMin = Long.MAX_VALUE;
+            ringMax = Long.MIN_VALUE;
+        } else if (seqNum > ringMin) {
+            ringMin = seqNum;
         }
-        var iter = sortedChanges.entrySet().iterator();
+    }
+
+    private void removeFromOverflow(long seqNum) {
+        if (overflow.isEmpty()) return;
+        var iter = overflow.headMap(seqNum).keySet().iterator();
         while (iter.hasNext()) {
-            var curSeqNum = iter.next().getKey();
-            if (curSeqNum >= seqNum) break;
+            iter.next();
             iter.remove();
+            numberOfChanges--;
         }
-        seqNumMin.set(seqNum);
-        logger.fine("Number of writer changes left is {0}", sortedChanges.size());
     }
 
-    public synchronized void addChange(CacheChange<D> change) {
-        boolean firstChange = sortedChanges.isEmpty();
-        sortedChanges.put(change.getSequenceNumber(), change);
-        updateSeqNums(change.getSequenceNumber(), firstChange);
+    public void addChange(CacheChange<D> change) {
+        lock.lock();
+        try {
+            var seqNum = change.getSequenceNumber();
+            boolean firstChange = numberOfChanges == 0;
+            if (!addToRing(change)) {
+                logger.fine(
+                        "Change with sequence number {0} does not fit into the ring buffer",
+                        seqNum);
+                if (overflow.put(seqNum, change) == null) numberOfChanges++;
+            }
+            updateSeqNums(seqNum, firstChange);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return false if the range of sequence numbers in the ring buffer, together with the new
+     *     change, exceeds {@link #MAX_CAPACITY}
+     */
+    private boolean addToRing(CacheChange<D> change) {
+        var seqNum = change.getSequenceNumber();
+        var isEmpty = ringMin > ringMax;
+        var newMin = isEmpty ? seqNum : Math.min(ringMin, seqNum);
+        var newMax = isEmpty ? seqNum : Math.max(ringMax, seqNum);
+        var range = newMax - newMin + 1;
+        if (range > MAX_CAPACITY) return false;
+        var r = ring;
+        if (range > r.length()) r = resize(Integer.highestOneBit((int) range - 1) << 1);
+        if (!overflow.isEmpty()) {
+            // move changes which are now inside the ring buffer range
+            var changes = overflow.subMap(newMin, true, newMax, true).values().iterator();
+            while (changes.hasNext()) {
+                var c = changes.next();
+                r.set(index(r, c.getSequenceNumber()), c);
+                changes.remove();
+            }
+        }
+        if (r.getAndSet(index(r, seqNum), change) == null) numberOfChanges++;
+        ringMin = newMin;
+        ringMax = newMax;
+        return true;
+    }
+
+    private AtomicReferenceArray<CacheChange<D>> resize(int capacity) {
+        logger.fine("Resizing ring buffer to {0}", capacity);
+        var r = ring;
+        var newRing = new AtomicReferenceArray<CacheChange<D>>(capacity);
+        for (var s = ringMin; s <= ringMax; s++) {
+            var change = get(r, s);
+            if (change != null) newRing.set(index(newRing, s), change);
+        }
+        ring = newRing;
+        return newRing;
     }
 
     public boolean containsChange(long sequenceNumber) {
         if (sequenceNumber < seqNumMin.get()) return false;
         if (sequenceNumber > seqNumMax.get()) return false;
-        return sortedChanges.containsKey(sequenceNumber);
+        return get(sequenceNumber) != null;
     }
 
     public Stream<CacheChange<D>> findAll(List<Long> seqNums) {
         if (seqNums.isEmpty()) return Stream.of();
-        var i1 = seqNums.stream().sorted().iterator();
-        var i2 = sortedChanges.entrySet().iterator();
-        var found = new ArrayList<CacheChange<D>>(sortedChanges.size());
-        while (i1.hasNext() && i2.hasNext()) {
-            // unbox to primitive
-            long v1 = i1.next();
-            var v2 = i2.next();
-            while (i1.hasNext() && v1 < v2.getKey()) {
-                v1 = i1.next();
-            }
-            while (i2.hasNext() && v2.getKey() < v1) {
-                v2 = i2.next();
-            }
-            if (v1 == v2.getKey()) {
-                found.add(v2.getValue());
-            }
+        var sorted = new long[seqNums.size()];
+        for (int i = 0; i < sorted.length; i++) sorted[i] = seqNums.get(i);
+        Arrays.sort(sorted);
+        var found = new ArrayList<CacheChange<D>>(sorted.length);
+        for (int i = 0; i < sorted.length; i++) {
+            if (i > 0 && sorted[i] == sorted[i - 1]) continue;
+            var change = get(sorted[i]);
+            if (change != null) found.add(change);
         }
         return found.stream();
     }
 
+    public Optional<CacheChange<D>> findChange(long seqNum) {
+        return Optional.ofNullable(get(seqNum));
+    }
+
     public int getNumberOfChanges() {
-        return sortedChanges.size();
+        return numberOfChanges;
     }
 
     public Stream<CacheChange<D>> getAllSortedBySeqNum() {
-        return sortedChanges.values().stream();
+        return stream(Long.MIN_VALUE);
     }
 
     public Stream<CacheChange<D>> getAllSortedBySeqNum(long afterSeqNum) {
         Preconditions.isTrue(afterSeqNum >= 0, "cannot be negative");
-        return sortedChanges.tailMap(afterSeqNum + 1).values().stream();
+        return stream(afterSeqNum + 1);
+    }
+
+    /**
+     * Stream is weakly consistent: it may or may not reflect the changes which were added or
+     * removed after it was created
+     */
+    private Stream<CacheChange<D>> stream(long fromSeqNum) {
+        var r = ring;
+        long lo = ringMin, hi = ringMax;
+        if (lo > hi) return overflow.tailMap(fromSeqNum).values().stream();
+        // range is read without the lock and may be inconsistent with the ring buffer
+        if (hi - lo >= r.length()) lo = hi - r.length() + 1;
+        var ringFrom = Math.max(lo, fromSeqNum);
+        var changes =
+                LongStream.rangeClosed(ringFrom, hi)
+                        .mapToObj(s -> get(r, s))
+                        .filter(Objects::nonNull);
+        if (overflow.isEmpty()) return changes;
+        if (fromSeqNum < lo)
+            changes = Stream.concat(overflow.subMap(fromSeqNum, lo).values().stream(), changes);
+        return Stream.concat(
+                changes, overflow.tailMap(Math.max(hi + 1, fromSeqNum)).values().stream());
+    }
+
+    private CacheChange<D> get(long seqNum) {
+        var change = get(ring, seqNum);
+        if (change == null && !overflow.isEmpty()) change = overflow.get(seqNum);
+        return change;
+    }
+
+    private static <D extends RtpsTalkMessage> CacheChange<D> get(
+            AtomicReferenceArray<CacheChange<D>> r, long seqNum) {
+        var change = r.get(index(r, seqNum));
+        if (change == null || change.getSequenceNumber() != seqNum) return null;
+        return change;
+    }
+
+    private static int index(AtomicReferenceArray<?> r, long seqNum) {
+        return (int) (seqNum & (r.length() - 1));
     }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport;
+
+import id.xfunction.Preconditions;
+import id.xfunction.logging.TracingToken;
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.metrics.LongCounter;
+import io.opentelemetry.api.metrics.Meter;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import pinorobotics.rtpstalk.BufferPoolMode;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.metrics.RtpsTalkMetrics;
+
+/**
+ * Bounded pool of network buffers used by {@link DataChannel} to send and receive RTPS messages.
+ *
+ * <p>When pool is empty new buffer is allocated. When pool is full released buffers are dropped and
+ * left to garbage collector.
+ *
+ * <p>Released buffers are always returned to the pool from which they were acquired (the pool of
+ * the acquiring thread or the stripe) so that buffers released by other threads are not lost for
+ * the thread which allocated them.
+ *
+ * <p>Buffers which were not released before being garbage collected are reported as leaks.
+ *
+ * <p>Thread-safe
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ByteBufferPool {
+    static final Cleaner CLEANER = Cleaner.create();
+
+    private final Meter METER = GlobalOpenTelemetry.getMeter(ByteBufferPool.class.getSimpleName());
+    private final LongCounter ALLOCATIONS_METER =
+            METER.counterBuilder(RtpsTalkMetrics.BUFFER_POOL_ALLOCATIONS_COUNT_METRIC)
+                    .setDescription(
+                            RtpsTalkMetrics.BUFFER_POOL_ALLOCATIONS_COUNT_METRIC_DESCRIPTION)
+                    .build();
+    private final LongCounter LEAKS_METER =
+            METER.counterBuilder(RtpsTalkMetrics.BUFFER_POOL_LEAKS_COUNT_METRIC)
+                    .setDescription(RtpsTalkMetrics.BUFFER_POOL_LEAKS_COUNT_METRIC_DESCRIPTION)
+                    .build();
+    private final XLogger logger;
+    private final int bufferSize;
+    private final boolean isDirect;
+    private final ThreadLocal<ThreadPool> threadPools;
+    private final Stripe[] stripes;
+
+    /** Part of the pool where buffer is returned when it is released */
+    abstract static class Home {
+        abstract PooledByteBuffer poll();
+
+        /**
+         * @return false if pool is full
+         */
+        abstract boolean offer(PooledByteBuffer buf);
+    }
+
+    /** Pool of buffers acquired by single thread */
+    private static class ThreadPool extends Home {
+        private final Thread owner = Thread.currentThread();
+
+        /** Accessed only by the owner thread */
+        private final ArrayDeque<PooledByteBuffer> buffers = new ArrayDeque<>();
+
+        /** Buffers released by other threads */
+        private final Queue<PooledByteBuffer> returned = new ConcurrentLinkedQueue<>();
+
+        /** Number of buffers in both queues */
+        private final AtomicInteger size = new AtomicInteger();
+
+        private final int maxSize;
+
+        ThreadPool(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        PooledByteBuffer poll() {
+            // used as stack so that most recently used buffer (which is likely still in the
+            // CPU cache) is reused first
+            var buf = buffers.pollFirst();
+            if (buf == null) buf = returned.poll();
+            if (buf != null) size.decrementAndGet();
+            return buf;
+        }
+
+        @Override
+        boolean offer(PooledByteBuffer buf) {
+            if (size.incrementAndGet() > maxSize) {
+                size.decrementAndGet();
+                return false;
+            }
+            if (Thread.currentThread() == owner) buffers.addFirst(buf);
+            else returned.add(buf);
+            return true;
+        }
+    }
+
+    private static class Stripe extends Home {
+        private final Queue<PooledByteBuffer> buffers;
+
+        Stripe(int size) {
+            buffers = new ArrayBlockingQueue<>(size);
+        }
+
+        @Override
+        PooledByteBuffer poll() {
+            return buffers.poll();
+        }
+
+        @Override
+        boolean offer(PooledByteBuffer buf) {
+            return buffers.offer(buf);
+        }
+    }
+
+    public ByteBufferPool(TracingToken tracingToken, RtpsTalkConfiguration config) {
+        this(
+                tracingToken,
+                config.packetBufferSize(),
+                config.directBuffers(),
+                config.bufferPoolMode(),
+                config.bufferPoolMaxSize());
+    }
+
+    /**
+     * @param maxSize maximum number of buffers which are kept in the pool. For {@link
+     *     BufferPoolMode#PER_THREAD} it is applied to each thread separately.
+     */
+    public ByteBufferPool(
+            TracingToken tracingToken,
+            int bufferSize,
+            boolean isDirect,
+            BufferPoolMode mode,
+            int maxSize) {
+        Preconditions.isTrue(bufferSize > 0, "Buffer size must be positive");
+        Preconditions.isTrue(maxSize > 0, "Pool size must be positive");
+        this.bufferSize = bufferSize;
+        this.isDirect = isDirect;
+        logger = XLogger.getLogger(getClass(), tracingToken);
+        switch (mode) {
+            case PER_THREAD:
+                threadPools = ThreadLocal.withInitial(() -> new ThreadPool(maxSize));
+                stripes = null;
+                break;
+            case STRIPED:
+                {
+                    threadPools = null;
+                    // number of stripes should be power of 2 so that they can be selected with
+                    // the mask
+                    var stripesCount =
+                            Integer.highestOneBit(
+                                    Math.min(maxSize, Runtime.getRuntime().availableProcessors()));
+                    var stripeSize = maxSize / stripesCount;
+                    stripes = new Stripe[stripesCount];
+                    for (int i = 0; i < stripes.length; i++) stripes[i] = new Stripe(stripeSize);
+                    break;
+                }
+            default:
+                throw new UnsupportedOperationException("Pool mode " + mode);
+        }
+        logger.fine(
+                "Created pool: mode {0}, maxSize {1}, bufferSize {2}, isDirect {3}",
+                mode, maxSize, bufferSize, isDirect);
+    }
+
+    /** Take buffer from the pool or allocate new one if pool is empty */
+    public PooledByteBuffer acquire() {
+        var home = threadPools != null ? threadPools.get() : stripe();
+        var buf = home.poll();
+        if (buf == null) {
+            ALLOCATIONS_METER.add(1);
+            buf =
+                    new PooledByteBuffer(
+                            this,
+                            home,
+                            isDirect
+                                    ? ByteBuffer.allocateDirect(bufferSize)
+                                    : ByteBuffer.allocate(bufferSize));
+        }
+        buf.onAcquire();
+        return buf;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * @return false if pool is full and buffer was dropped
+     */
+    boolean recycle(PooledByteBuffer buf) {
+        return buf.home().offer(buf);
+    }
+
+    void onLeak() {
+        LEAKS_METER.add(1);
+        logger.warning(
+                "Buffer was garbage collected without being released back to the pool, this is a"
+                        + " leak");
+    }
+
+    private Stripe stripe() {
+        return stripes[(int) Thread.currentThread().getId() & (stripes.length - 1)];
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport;
+
+import id.xfunction.Preconditions;
+import id.xfunction.logging.TracingToken;
+import id.xfunction.logging.XLogger;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
+import pinorobotics.rtpstalk.impl.messages.RtpsMessageAggregator;
+import pinorobotics.rtpstalk.impl.spec.messages.Guid;
+import pinorobotics.rtpstalk.impl.spec.messages.Locator;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoDestination;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Submessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
+
+/**
+ * Aggregator of the control submessages (HEARTBEAT, ACKNACK, NACK_FRAG) shared by all endpoints of
+ * the participant.
+ *
+ * <p>Submessages which endpoints send to the same remote participant over the same locators within
+ * one tick of the timer are packed together into as few RTPS messages as possible, instead of each
+ * endpoint sending its own message. Each message starts with INFO_DST of the remote participant.
+ *
+ * <p>Timer only triggers sending, messages are sent from the executor so that the timer thread is
+ * not blocked by the network.
+ *
+ * <p>Control submessages are not passed through the {@link FlowController}, see {@link
+ * pinorobotics.rtpstalk.FlowControllerSettings}.
+ *
+ * <p>Aggregator without the timer sends submessages right away.
+ *
+ * <p>Thread-safe
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ControlMessageAggregator {
+
+    private record Destination(GuidPrefix guidPrefix, List<Locator> locators) {}
+
+    private static class Batch {
+        private DataChannel dataChannel;
+        private Guid remoteGuid;
+        private final List<Submessage> submessages = new ArrayList<>();
+    }
+
+    private final XLogger logger;
+    private final TracingToken tracingToken;
+    private final GuidPrefix localGuidPrefix;
+    private final int maxSubmessageSize;
+    private final Optional<HashedWheelTimer> timer;
+    private final Executor executor;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Map<Destination, Batch> pending = new LinkedHashMap<>();
+
+    public ControlMessageAggregator(
+            TracingToken tracingToken, GuidPrefix localGuidPrefix, int maxSubmessageSize) {
+        this(tracingToken, localGuidPrefix, maxSubmessageSize, Optional.empty(), Runnable::run);
+    }
+
+    /**
+     * @param timer when present, submessages are sent on the next tick of the timer
+     * @param executor executor which sends submessages once the timer ticks
+     */
+    public ControlMessageAggregator(
+            TracingToken tracingToken,
+            GuidPrefix localGuidPrefix,
+            int maxSubmessageSize,
+            Optional<HashedWheelTimer> timer,
+            Executor executor) {
+        this.tracingToken = tracingToken;
+        this.localGuidPrefix = localGuidPrefix;
+        this.maxSubmessageSize = maxSubmessageSize;
+        this.timer = timer;
+        this.executor = executor;
+        logger = XLogger.getLogger(getClass(), tracingToken);
+    }
+
+    /**
+     * Submessages are sent together with the ones of the other endpoints which are added for the
+     * same remote participant and same locators.
+     *
+     * @param dataChannel channel connected to the given locators
+     * @param remoteGuid remote endpoint to which submessages are addressed
+     * @param locators unicast locators of the remote endpoint
+     */
+    public void add(
+            DataChannel dataChannel,
+            Guid remoteGuid,
+            List<Locator> locators,
+            List<Submessage> submessages) {
+        if (submessages.isEmpty()) return;
+        if (timer.isEmpty() || timer.get().isClosed()) {
+            send(dataChannel, remoteGuid, submessages);
+            return;
+        }
+        lock.lock();
+        try {
+            if (pending.isEmpty())
+                timer.get().schedule(() -> executor.execute(this::flush), Duration.ZERO);
+            var batch =
+                    pending.computeIfAbsent(
+                            new Destination(remoteGuid.guidPrefix, List.copyOf(locators)),
+                            destination -> new Batch());
+            // use channel of the most recent endpoint since previous ones may be closed already
+            batch.dataChannel = dataChannel;
+            batch.remoteGuid = remoteGuid;
+            batch.submessages.addAll(submessages);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Send all submessages aggregated so far */
+    public void flush() {
+        Map<Destination, Batch> batches;
+        lock.lock();
+        try {
+            if (pending.isEmpty()) return;
+            batches = pending;
+            pending = new LinkedHashMap<>();
+        } finally {
+            lock.unlock();
+        }
+        logger.fine("Sending control submessages to {0} destinations", batches.size());
+        for (var batch : batches.values()) {
+            send(batch.dataChannel, batch.remoteGuid, batch.submessages);
+        }
+    }
+
+    private void send(DataChannel dataChannel, Guid remoteGuid, List<Submessage> submessages) {
+        var infoDst = new InfoDestination(remoteGuid.guidPrefix);
+        var aggregator = newAggregator(infoDst);
+        for (var submessage : submessages) {
+            if (aggregator.add(submessage)) continue;
+            // the message is full so we send it and start a new one
+            aggregator.build().ifPresent(message -> dataChannel.send(remoteGuid, message));
+            aggregator = newAggregator(infoDst);
+            Preconditions.isTrue(aggregator.add(submessage), "Not enouch space in RTPS message");
+        }
+        aggregator.build().ifPresent(message -> dataChannel.send(remoteGuid, message));
+    }
+
+    private RtpsMessageAggregator newAggregator(InfoDestination infoDst) {
+        var aggregator =
+                new RtpsMessageAggregator(tracingToken, localGuidPrefix, maxSubmessageSize);
+        Preconditions.isTrue(aggregator.add(infoDst), "Not enouch space in RTPS message");
+        return aggregator;
+    }
+}
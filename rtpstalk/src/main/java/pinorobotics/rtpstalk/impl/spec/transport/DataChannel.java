@@ -29,21 +29,39 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
 import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
+import pinorobotics.rtpstalk.impl.spec.transport.io.EncodedRtpsMessage;
 import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsMessageReader;
 import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsMessageWriter;
 import pinorobotics.rtpstalk.metrics.RtpsTalkMetrics;
 
 /**
+ * Channel which sends and receives RTPS messages as UDP datagrams.
+ *
+ * <p>Channels of other transports (see {@link Transport}) reuse its message handling and override
+ * only the methods which move the datagrams.
+ *
  * @author aeon_flux aeon_flux@eclipso.ch
  */
 public class DataChannel implements AutoCloseable {
 
+    /** How often senders, which wait for space in the send buffer, check if channel is closed */
+    private static final long WRITE_TIMEOUT_MILLIS = 100;
+
     private final Meter METER =
             GlobalOpenTelemetry.getMeter(RtpsMessageWriter.class.getSimpleName());
     private final LongHistogram SEND_TIME_METER =
@@ -59,22 +77,34 @@ public class DataChannel implements AutoCloseable {
     private RtpsMessageReader reader = new RtpsMessageReader();
     private RtpsMessageWriter writer = new RtpsMessageWriter();
     private DatagramChannel datagramChannel;
-    private int packetBufferSize;
+    private ByteBufferPool bufferPool;
+    private boolean zeroCopy;
     private GuidPrefix guidPrefix;
     private SocketAddress target;
     private XLogger logger;
-    private boolean isClosed;
+    private volatile boolean isClosed;
+    private volatile Selector selector;
+
+    /**
+     * Used to wait until there is space in the send buffer when channel is in non-blocking mode.
+     * Guarded by {@link #writeSelectorLock}.
+     */
+    private Selector writeSelector;
+
+    private final ReentrantLock writeSelectorLock = new ReentrantLock();
 
     protected DataChannel(
             TracingToken tracingToken,
             DatagramChannel datagramChannel,
             SocketAddress target,
             byte[] guidPrefix,
-            int packetBufferSize) {
+            ByteBufferPool bufferPool,
+            boolean zeroCopy) {
         this.datagramChannel = datagramChannel;
         this.target = target;
         this.guidPrefix = new GuidPrefix(guidPrefix);
-        this.packetBufferSize = packetBufferSize;
+        this.bufferPool = bufferPool;
+        this.zeroCopy = zeroCopy;
         Preconditions.isTrue(
                 datagramChannel.isBlocking(),
                 "By default blocking DatagramChannel expected, see"
@@ -87,31 +117,184 @@ public class DataChannel implements AutoCloseable {
     }
 
     /**
+     * Channel which is not backed by {@link DatagramChannel}. It must override all methods which
+     * move the datagrams: {@link #sendDatagram(ByteBuffer)}, {@link #receiveDatagram(ByteBuffer)},
+     * {@link #tryReceiveDatagram(ByteBuffer)}, {@link #awaitDatagram(long)}, {@link
+     * #closeChannel(DatagramChannel)}, {@link #getLocalPort()}.
+     */
+    protected DataChannel(
+            TracingToken tracingToken,
+            String channelName,
+            byte[] guidPrefix,
+            ByteBufferPool bufferPool,
+            boolean zeroCopy) {
+        this.guidPrefix = new GuidPrefix(guidPrefix);
+        this.bufferPool = bufferPool;
+        this.zeroCopy = zeroCopy;
+        logger = XLogger.getLogger(getClass(), new TracingToken(tracingToken, channelName));
+    }
+
+    /**
+     * When zero-copy is enabled the returned message holds one reference to the buffer where it was
+     * received (see {@link RtpsMessage#getBuffer()}) and it is responsibility of the caller to
+     * release it.
+     *
      * @throws AsynchronousCloseException if channel was closed during read
      */
     public RtpsMessage receive() throws Exception {
-        var buf = ByteBuffer.allocate(packetBufferSize);
+        var pooledBuf = bufferPool.acquire();
+        try {
+            var message = receive(pooledBuf);
+            if (zeroCopy) {
+                message.setBuffer(pooledBuf);
+                return message;
+            }
+            // RtpsMessageReader does not keep any references to the buffer once message is read
+            // so it is safe to return it to the pool right after
+            pooledBuf.release();
+            return message;
+        } catch (Exception e) {
+            pooledBuf.release();
+            throw e;
+        }
+    }
+
+    private RtpsMessage receive(PooledByteBuffer pooledBuf) throws Exception {
+        var buf = pooledBuf.buffer();
         while (true) {
             var startAt = Instant.now();
             buf.clear();
             try {
-                datagramChannel.receive(buf);
+                receiveDatagram(buf);
             } finally {
                 RECEIVE_TIME_METER.record(Duration.between(startAt, Instant.now()).toMillis());
             }
-            var len = buf.position();
-            buf.rewind();
-            buf.limit(len);
-            logger.fine("Received UDP packet of size {0}", len);
-            var messageOpt = reader.readRtpsMessage(buf);
+            var messageOpt = read(pooledBuf);
             if (messageOpt.isEmpty()) continue;
-            var message = messageOpt.get();
-            if (message.header.guidPrefix.equals(guidPrefix)) {
-                logger.fine("Received its own message, ignoring...");
-                continue;
+            return messageOpt.get();
+        }
+    }
+
+    /**
+     * Receive up to maxMessages RTPS messages at once.
+     *
+     * <p>Blocks until first message is received. After that it keeps reading all messages which are
+     * available in the channel without blocking. When channel has no more messages and maxLatency
+     * since the first message has not passed yet, it waits for more messages to arrive.
+     *
+     * <p>On first call channel is switched to non-blocking mode (senders still block when there is
+     * no space in the send buffer, see {@link #sendDatagram(ByteBuffer)}). Ownership of the buffers
+     * of the returned messages is same as in {@link #receive()}.
+     *
+     * @throws AsynchronousCloseException if channel was closed during read
+     */
+    public List<RtpsMessage> receive(int maxMessages, Duration maxLatency) throws Exception {
+        Preconditions.isTrue(maxMessages > 0, "maxMessages must be positive");
+        var messages = new ArrayList<RtpsMessage>(maxMessages);
+        var pooledBuf = bufferPool.acquire();
+        try {
+            var deadline = 0L;
+            while (messages.size() < maxMessages) {
+                var buf = pooledBuf.buffer();
+                buf.clear();
+                if (!tryReceiveDatagram(buf)) {
+                    // no more messages available in the channel
+                    var timeout = 0L;
+                    if (!messages.isEmpty()) {
+                        var remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) break;
+                        timeout = Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining));
+                    }
+                    var startAt = Instant.now();
+                    try {
+                        awaitDatagram(timeout);
+                    } finally {
+                        RECEIVE_TIME_METER.record(
+                                Duration.between(startAt, Instant.now()).toMillis());
+                    }
+                    if (isClosed) throw new AsynchronousCloseException();
+                    continue;
+                }
+                var messageOpt = read(pooledBuf);
+                if (messageOpt.isEmpty()) continue;
+                var message = messageOpt.get();
+                if (zeroCopy) {
+                    message.setBuffer(pooledBuf);
+                    pooledBuf = bufferPool.acquire();
+                }
+                if (messages.isEmpty()) deadline = System.nanoTime() + maxLatency.toNanos();
+                messages.add(message);
             }
-            return message;
+            logger.fine("Received batch of {0} RTPS messages", messages.size());
+            return messages;
+        } catch (ClosedSelectorException | ClosedChannelException e) {
+            messages.forEach(RtpsMessage::release);
+            if (isClosed) throw new AsynchronousCloseException();
+            throw e;
+        } catch (Exception e) {
+            messages.forEach(RtpsMessage::release);
+            throw e;
+        } finally {
+            pooledBuf.release();
+        }
+    }
+
+    /** Blocks until next datagram is received into the buffer */
+    protected void receiveDatagram(ByteBuffer buf) throws IOException {
+        datagramChannel.receive(buf);
+    }
+
+    /**
+     * Receive next datagram into the buffer without blocking.
+     *
+     * @return false if there are no datagrams available
+     */
+    protected boolean tryReceiveDatagram(ByteBuffer buf) throws IOException {
+        getSelector();
+        return datagramChannel.receive(buf) != null;
+    }
+
+    /**
+     * Blocks until new datagrams are available, timeout expires or channel is closed. Spurious
+     * returns are allowed.
+     *
+     * @param timeout in milliseconds, 0 means wait indefinitely
+     */
+    protected void awaitDatagram(long timeout) throws IOException {
+        var selector = getSelector();
+        selector.selectedKeys().clear();
+        selector.select(timeout);
+    }
+
+    private Selector getSelector() throws IOException {
+        if (selector != null) return selector;
+        if (isClosed) throw new AsynchronousCloseException();
+        logger.fine("Switching to non-blocking mode");
+        datagramChannel.configureBlocking(false);
+        var newSelector = Selector.open();
+        datagramChannel.register(newSelector, SelectionKey.OP_READ);
+        selector = newSelector;
+        // channel could be closed before selector was assigned
+        if (isClosed) newSelector.close();
+        return newSelector;
+    }
+
+    /** Read RTPS message from the buffer where datagram was received */
+    private Optional<RtpsMessage> read(PooledByteBuffer pooledBuf) throws Exception {
+        var buf = pooledBuf.buffer();
+        var len = buf.position();
+        buf.rewind();
+        buf.limit(len);
+        logger.fine("Received datagram of size {0}", len);
+        var messageOpt =
+                zeroCopy ? reader.readRtpsMessageZeroCopy(pooledBuf) : reader.readRtpsMessage(buf);
+        if (messageOpt.isEmpty()) return messageOpt;
+        var message = messageOpt.get();
+        if (message.header.guidPrefix.equals(guidPrefix)) {
+            logger.fine("Received its own message, ignoring...");
+            return Optional.empty();
         }
+        return messageOpt;
     }
 
     public void send(Guid remoteReader, RtpsMessage message) {
@@ -120,36 +303,126 @@ public class DataChannel implements AutoCloseable {
             logger.fine("Data channel is already closed, ignoring the message...");
             return;
         }
-        var buf = ByteBuffer.allocate(packetBufferSize);
-        buf.rewind();
-        buf.limit(buf.capacity());
-        try {
+        try (var pooledBuf = bufferPool.acquire()) {
+            var buf = pooledBuf.buffer();
             writer.writeRtpsMessage(message, buf);
-            buf.limit(buf.position());
-            buf.rewind();
-            var startAt = Instant.now();
-            try {
-                datagramChannel.send(buf, target);
-            } finally {
-                SEND_TIME_METER.record(Duration.between(startAt, Instant.now()).toMillis());
-            }
+            send(buf);
+        } catch (Throwable e) {
+            logger.severe(e);
+            return;
+        }
+    }
+
+    /**
+     * Send message which was already serialized, only reader specific fields are updated.
+     *
+     * <p>Send channels are not connected (they are shared by all endpoints which talk to the same
+     * remote locator) so {@link DatagramChannel} does not allow gathering writes for them. Instead,
+     * headers of the message and its payloads are gathered directly into the pooled buffer (which
+     * is not copied by the system again when {@link
+     * pinorobotics.rtpstalk.RtpsTalkConfiguration#directBuffers()} are used).
+     */
+    public void send(Guid remoteReader, EncodedRtpsMessage message) {
+        logger.fine(
+                "Outgoing encoded RTPS message of size {0} for remote reader {1}",
+                message.getLength(), remoteReader);
+        if (isClosed) {
+            logger.fine("Data channel is already closed, ignoring the message...");
+            return;
+        }
+        try (var pooledBuf = bufferPool.acquire()) {
+            var buf = pooledBuf.buffer();
+            message.writeTo(buf, remoteReader);
+            send(buf);
         } catch (Throwable e) {
             logger.severe(e);
             return;
         }
     }
 
+    private void send(ByteBuffer buf) throws IOException {
+        buf.limit(buf.position());
+        buf.rewind();
+        var startAt = Instant.now();
+        try {
+            if (!sendDatagram(buf)) {
+                logger.warning("Send buffer is full, dropping the message...");
+            }
+        } finally {
+            SEND_TIME_METER.record(Duration.between(startAt, Instant.now()).toMillis());
+        }
+    }
+
+    /**
+     * Send all remaining bytes of the buffer as a single datagram.
+     *
+     * <p>Blocks until there is space for the datagram in the send buffer, even when channel was
+     * switched to non-blocking mode by the batched receive.
+     *
+     * @return false if datagram was dropped because there is no space for it in the send buffer
+     */
+    protected boolean sendDatagram(ByteBuffer buf) throws IOException {
+        // 0 is possible only when channel is in non-blocking mode
+        while (datagramChannel.send(buf, target) == 0) {
+            if (isClosed) return false;
+            awaitWritable();
+        }
+        return true;
+    }
+
+    /** Blocks until channel is ready for writing, or until timeout in case it was closed */
+    private void awaitWritable() throws IOException {
+        writeSelectorLock.lock();
+        try {
+            if (writeSelector == null) {
+                logger.fine("Send buffer is full, waiting until it has space");
+                writeSelector = Selector.open();
+                datagramChannel.register(writeSelector, SelectionKey.OP_WRITE);
+            }
+            writeSelector.selectedKeys().clear();
+            writeSelector.select(WRITE_TIMEOUT_MILLIS);
+        } catch (ClosedSelectorException | ClosedChannelException e) {
+            if (isClosed) return;
+            throw e;
+        } finally {
+            writeSelectorLock.unlock();
+        }
+    }
+
+    protected boolean isClosed() {
+        return isClosed;
+    }
+
     @Override
     public void close() {
+        if (isClosed) return;
         isClosed = true;
         try {
-            datagramChannel.close();
+            closeChannel(datagramChannel);
+            // wake up receiver if it waits for messages in non-blocking mode
+            if (selector != null) selector.close();
+            writeSelectorLock.lock();
+            try {
+                if (writeSelector != null) writeSelector.close();
+            } finally {
+                writeSelectorLock.unlock();
+            }
         } catch (IOException e) {
             logger.severe(e);
         }
         logger.fine("Closed");
     }
 
+    /**
+     * Releases underlying {@link DatagramChannel} when this data channel is closed.
+     *
+     * <p>Data channels which share same {@link DatagramChannel} may override it to close it only
+     * when it is not used by anyone else.
+     */
+    protected void closeChannel(DatagramChannel datagramChannel) throws IOException {
+        datagramChannel.close();
+    }
+
     public int getLocalPort() {
         Preconditions.isTrue(
                 Unchecked.getBoolean(
@@ -31,35 +31,119 @@ import java.net.NetworkInterface;
 import java.net.StandardProtocolFamily;
 import java.net.StandardSocketOptions;
 import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import pinorobotics.rtpstalk.FlowControllerSettings;
 import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
+import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.spec.messages.Locator;
 import pinorobotics.rtpstalk.impl.spec.messages.LocatorKind;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
 
 /**
+ * Creates data channels of the built-in UDP transport and of all additional {@link Transport}s
+ * which are enabled in {@link RtpsTalkConfiguration}.
+ *
  * @author aeon_flux aeon_flux@eclipso.ch
  */
 public class DataChannelFactory {
 
     private static final EnumSet<LocatorKind> SUPPORTED_LOCATORS =
             EnumSet.of(LocatorKind.LOCATOR_KIND_UDPv4, LocatorKind.LOCATOR_KIND_UDPv6);
+    private final TracingToken tracingToken;
     private final XLogger logger;
     private final RtpsTalkConfiguration config;
+    private final ByteBufferPool bufferPool;
+
+    /** Additional transports in the order of preference */
+    private final List<Transport> transports = new ArrayList<>();
+
     private boolean muteReceiveBufferWarning;
     private boolean muteSendBufferWarning;
 
+    /** Unconnected send channels shared by all endpoints which talk to the same remote locator */
+    private final Map<InetSocketAddress, SenderChannel> senderChannels = new HashMap<>();
+
+    private final ReentrantLock senderChannelsLock = new ReentrantLock();
+
+    /** Flow controllers shared by all writers which use the same settings */
+    private final Map<FlowControllerSettings, FlowController> flowControllers = new HashMap<>();
+
+    private final ReentrantLock flowControllersLock = new ReentrantLock();
+
+    /** Aggregator of control submessages shared by all endpoints */
+    private Optional<ControlMessageAggregator> controlMessageAggregator = Optional.empty();
+
+    private final ReentrantLock controlMessageAggregatorLock = new ReentrantLock();
+
+    private static class SenderChannel {
+        private final DatagramChannel datagramChannel;
+        private int refCount;
+
+        SenderChannel(DatagramChannel datagramChannel) {
+            this.datagramChannel = datagramChannel;
+        }
+    }
+
     public DataChannelFactory(TracingToken tracingToken, RtpsTalkConfiguration config) {
+        this.tracingToken = tracingToken;
         this.config = config;
+        bufferPool = new ByteBufferPool(tracingToken, config);
         logger = XLogger.getLogger(getClass(), tracingToken);
+        if (config.intraProcessTransport())
+            transports.add(new IntraProcessTransport(tracingToken, config, bufferPool));
+        config.sharedMemoryTransport()
+                .ifPresent(
+                        dir ->
+                                transports.add(
+                                        new SharedMemoryTransport(
+                                                tracingToken, config, dir, bufferPool)));
+    }
+
+    /**
+     * Bind channels in all additional transports. Transports which fail to bind are ignored.
+     *
+     * @param port port of the participant default unicast UDP channel
+     */
+    public List<Transport.BoundChannel> bindTransports(TracingToken tracingToken, int port) {
+        var channels = new ArrayList<Transport.BoundChannel>();
+        for (var transport : transports) {
+            try {
+                var channel = transport.bind(tracingToken, port);
+                logger.fine("Bound {0}", channel.locator());
+                channels.add(channel);
+            } catch (IOException e) {
+                logger.warning(
+                        "Could not bind transport {0}, ignoring it: {1}",
+                        transport.getLocatorKind(), e.getMessage());
+            }
+        }
+        return channels;
     }
 
     /** Channel bind to local port */
     public DataChannel bindMulticast(
             TracingToken tracingToken, NetworkInterface networkInterface, Locator locator)
             throws IOException {
+        return bindMulticast(tracingToken, List.of(networkInterface), locator);
+    }
+
+    /**
+     * Channel bind to local port which receives messages sent to the multicast group on any of the
+     * given network interfaces. Network interfaces which fail to join the group are ignored.
+     */
+    public DataChannel bindMulticast(
+            TracingToken tracingToken, List<NetworkInterface> networkInterfaces, Locator locator)
+            throws IOException {
+        Preconditions.isTrue(!networkInterfaces.isEmpty(), "No network interfaces provided");
         var socketAddress = locator.getSocketAddress();
         Preconditions.isTrue(
                 socketAddress.getAddress().isMulticastAddress(), "Multicast address required");
@@ -76,14 +160,24 @@ public class DataChannelFactory {
                                 new InetSocketAddress(
                                         NetworkConstants.IPv4_WILDCARD_ADDRESS,
                                         locator.getSocketAddress().getPort()))
-                        .setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterface);
-        dataChannel.join(locator.address(), networkInterface);
+                        .setOption(StandardSocketOptions.IP_MULTICAST_IF, networkInterfaces.get(0));
+        for (var networkInterface : networkInterfaces) {
+            try {
+                dataChannel.join(locator.address(), networkInterface);
+            } catch (IOException e) {
+                if (networkInterfaces.size() == 1) throw e;
+                logger.warning(
+                        "Network interface {0} failed to join multicast group {1}: {2}",
+                        networkInterface.getName(), locator, e.getMessage());
+            }
+        }
         return new DataChannel(
                 tracingToken,
                 dataChannel,
                 socketAddress,
                 config.guidPrefix(),
-                config.packetBufferSize());
+                bufferPool,
+                config.zeroCopyPayloads());
     }
 
     /**
@@ -129,12 +223,34 @@ public class DataChannelFactory {
                 dataChannel,
                 dataChannel.getLocalAddress(),
                 config.guidPrefix(),
-                config.packetBufferSize());
+                bufferPool,
+                config.zeroCopyPayloads());
     }
 
-    /** Remote channel */
+    /**
+     * Remote channel
+     *
+     * <p>Locators of the additional transports are preferred over UDP locators. When remote
+     * participant is not reachable through any of them the UDP locator is used.
+     *
+     * <p>All UDP data channels which talk to the same remote locator share single unconnected
+     * {@link DatagramChannel} and address each datagram separately. Shared channel is closed when
+     * all data channels which use it are closed.
+     */
     public DataChannel connect(TracingToken tracingToken, List<Locator> locators)
             throws IOException {
+        for (var transport : transports) {
+            for (var locator : locators) {
+                if (locator.kind() != transport.getLocatorKind()) continue;
+                try {
+                    var channel = transport.connect(tracingToken, locator);
+                    logger.fine("Using locator {0}", locator);
+                    return channel;
+                } catch (IOException e) {
+                    logger.fine("Locator {0} is not reachable: {1}", locator, e.getMessage());
+                }
+            }
+        }
         var locator =
                 findLocator(locators)
                         .orElseThrow(
@@ -146,16 +262,133 @@ public class DataChannelFactory {
         Preconditions.isTrue(
                 !locator.address().isMulticastAddress(), "Non multicast address expected");
         logger.fine("Using locator {0}", locator);
-        var dataChannel =
-                DatagramChannel.open(StandardProtocolFamily.INET)
-                        .connect(locator.getSocketAddress());
-        configure(dataChannel.socket());
-        return new DataChannel(
+        return connect(tracingToken, locator);
+    }
+
+    /**
+     * Remote multicast group
+     *
+     * <p>Same as {@link #connect(TracingToken, List)} messages are sent through shared unconnected
+     * {@link DatagramChannel}.
+     */
+    public DataChannel connectMulticast(TracingToken tracingToken, Locator locator)
+            throws IOException {
+        Preconditions.isTrue(locator.address().isMulticastAddress(), "Multicast address required");
+        logger.fine("Using multicast locator {0}", locator);
+        return connect(tracingToken, locator);
+    }
+
+    /**
+     * Flow controller for the writers which send data through the channels of this factory. All
+     * writers with equal settings share the same {@link FlowController} and its limits.
+     */
+    public FlowController getFlowController(FlowControllerSettings settings) {
+        flowControllersLock.lock();
+        try {
+            var flowController = flowControllers.get(settings);
+            if (flowController == null) {
+                logger.fine("Creating new flow controller {0}", settings);
+                flowController = new FlowController(tracingToken, settings);
+                flowControllers.put(settings, flowController);
+            }
+            return flowController;
+        } finally {
+            flowControllersLock.unlock();
+        }
+    }
+
+    /**
+     * Aggregator of control submessages which endpoints send through the channels of this factory.
+     * It is created on the first call and all endpoints share it.
+     *
+     * @param timer timer which triggers sending of aggregated submessages, all endpoints are
+     *     expected to use the same participant timer
+     * @param executor executor from which aggregated submessages are sent
+     */
+    public ControlMessageAggregator getControlMessageAggregator(
+            HashedWheelTimer timer, Executor executor) {
+        controlMessageAggregatorLock.lock();
+        try {
+            if (controlMessageAggregator.isEmpty()) {
+                logger.fine("Creating control message aggregator");
+                controlMessageAggregator =
+                        Optional.of(
+                                new ControlMessageAggregator(
+                                        tracingToken,
+                                        new GuidPrefix(config.guidPrefix()),
+                                        RtpsTalkConfigurationInternal.calcMaxSubmessageSize(config),
+                                        Optional.of(timer),
+                                        executor));
+            }
+            return controlMessageAggregator.get();
+        } finally {
+            controlMessageAggregatorLock.unlock();
+        }
+    }
+
+    private DataChannel connect(TracingToken tracingToken, Locator locator) throws IOException {
+        var target = locator.getSocketAddress();
+        return new SharedDataChannel(
                 tracingToken,
-                dataChannel,
-                locator.getSocketAddress(),
+                acquireSenderChannel(target),
+                target,
                 config.guidPrefix(),
-                config.packetBufferSize());
+                bufferPool,
+                config.zeroCopyPayloads(),
+                () -> releaseSenderChannel(target));
+    }
+
+    private DatagramChannel acquireSenderChannel(InetSocketAddress target) throws IOException {
+        senderChannelsLock.lock();
+        try {
+            var senderChannel = senderChannels.get(target);
+            if (senderChannel == null) {
+                logger.fine("Opening new sender channel for {0}", target);
+                var dataChannel = DatagramChannel.open(StandardProtocolFamily.INET);
+                try {
+                    configure(dataChannel.socket());
+                    // on Android the default wildcard address is IPv6 and so bind return
+                    // UnsupportedAddressTypeException
+                    // since we support only IPv4 addresses we explicitly use IPv4 wildcard address
+                    dataChannel.bind(
+                            new InetSocketAddress(NetworkConstants.IPv4_WILDCARD_ADDRESS, 0));
+                } catch (IOException e) {
+                    dataChannel.close();
+                    throw e;
+                }
+                senderChannel = new SenderChannel(dataChannel);
+                senderChannels.put(target, senderChannel);
+            }
+            senderChannel.refCount++;
+            logger.fine(
+                    "Sender channel for {0} is used by {1} data channels",
+                    target, senderChannel.refCount);
+            return senderChannel.datagramChannel;
+        } finally {
+            senderChannelsLock.unlock();
+        }
+    }
+
+    private void releaseSenderChannel(InetSocketAddress target) {
+        senderChannelsLock.lock();
+        try {
+            var senderChannel = senderChannels.get(target);
+            if (senderChannel == null) {
+                logger.warning("Sender channel for {0} is already closed", target);
+                return;
+            }
+            senderChannel.refCount--;
+            if (senderChannel.refCount > 0) return;
+            senderChannels.remove(target);
+            logger.fine("Sender channel for {0} is not used anymore, closing it", target);
+            try {
+                senderChannel.datagramChannel.close();
+            } catch (IOException e) {
+                logger.severe(e);
+            }
+        } finally {
+            senderChannelsLock.unlock();
+        }
     }
 
     public Optional<Locator> findLocator(List<Locator> locators) {
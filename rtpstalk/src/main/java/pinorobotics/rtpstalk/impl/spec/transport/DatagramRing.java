@@ -0,0 +1,338 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport;
+
+import id.xfunction.Preconditions;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Duration;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded multi-producer single-consumer ring of datagrams stored inside a direct {@link
+ * ByteBuffer}.
+ *
+ * <p>All state of the ring is kept inside the buffer itself so when the buffer is a memory-mapped
+ * file the ring can be shared by the producers from different processes. Ring is lock-free:
+ *
+ * <ul>
+ *   <li>producers reserve space for the datagram with CAS on the write cursor, copy the datagram
+ *       and publish it by writing its length into the record header
+ *   <li>consumer reads published records in order, zeroes them and moves the read cursor
+ * </ul>
+ *
+ * <p>Ring never blocks the producers: when there is no space for the datagram it is dropped.
+ *
+ * <p>Producers of other processes are not trusted by the consumer. Records with invalid length are
+ * discarded, and so are the records which were reserved but not published within {@link
+ * #PUBLISH_TIMEOUT} (their producer most likely died). In both cases consumer discards all records
+ * reserved so far.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class DatagramRing {
+
+    /** Size of the ring header, each cursor is placed on its own cache line */
+    public static final int HEADER_SIZE = 192;
+
+    /** Time given to the producer to publish the record which it reserved */
+    public static final Duration PUBLISH_TIMEOUT = Duration.ofSeconds(1);
+
+    private static final long MAGIC = 0x72747073_74616c6bL;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int SESSION_ID_OFFSET = 16;
+    private static final int WRITE_CURSOR_OFFSET = 64;
+    private static final int READ_CURSOR_OFFSET = 128;
+
+    /**
+     * Each record starts with long header followed by the datagram, records are aligned on 8 bytes.
+     * Higher int of the header holds lower int of the write cursor of the record. It tells apart
+     * the records published for the current cursor from the ones which were discarded by the
+     * consumer but published later. Lower int of the header:
+     *
+     * <ul>
+     *   <li>0 - record is not published yet
+     *   <li>positive - record holds datagram of (value - 1) bytes
+     *   <li>negative - padding till the end of the ring
+     * </ul>
+     */
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    private static final int ALIGNMENT = 8;
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+    private static final VarHandle INTS =
+            MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final byte[] ZEROS = new byte[4096];
+
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+    private final long sessionId;
+    private final LongSupplier clock;
+
+    /** Cursor of the record which consumer waits to be published, -1 if there is none */
+    private long unpublishedCursor = -1;
+
+    private long unpublishedSince;
+
+    /** Consumer waiting for new records, only producers from the same process can wake it up */
+    private volatile Thread consumer;
+
+    private DatagramRing(ByteBuffer buffer, int capacity, long sessionId, LongSupplier clock) {
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.sessionId = sessionId;
+        this.clock = clock;
+        mask = capacity - 1;
+    }
+
+    /** Size of the buffer which can hold ring of the given capacity */
+    public static int calculateBufferSize(int capacity) {
+        return HEADER_SIZE + capacity;
+    }
+
+    /**
+     * Create new empty ring inside zeroed direct buffer.
+     *
+     * @param buffer buffer aligned on 8 bytes (for example, memory-mapped file)
+     * @param capacity size of the ring data, must be power of two
+     * @param sessionId identifies this ring for the producers (see {@link #getSessionId()})
+     */
+    public static DatagramRing create(ByteBuffer buffer, int capacity, long sessionId) {
+        return create(buffer, capacity, sessionId, System::nanoTime);
+    }
+
+    /**
+     * @param clock source of the time (see {@link System#nanoTime()}) used by the consumer to
+     *     detect records which are not published within {@link #PUBLISH_TIMEOUT}
+     */
+    public static DatagramRing create(
+            ByteBuffer buffer, int capacity, long sessionId, LongSupplier clock) {
+        Preconditions.isTrue(buffer.isDirect(), "Direct buffer required");
+        Preconditions.isTrue(Integer.bitCount(capacity) == 1, "Capacity must be power of two");
+        Preconditions.isTrue(
+                buffer.capacity() >= calculateBufferSize(capacity), "Buffer is too small");
+        Preconditions.isTrue(buffer.alignmentOffset(0, ALIGNMENT) == 0, "Unaligned buffer");
+        INTS.setVolatile(buffer, CAPACITY_OFFSET, capacity);
+        LONGS.setVolatile(buffer, SESSION_ID_OFFSET, sessionId);
+        LONGS.setVolatile(buffer, WRITE_CURSOR_OFFSET, 0L);
+        LONGS.setVolatile(buffer, READ_CURSOR_OFFSET, 0L);
+        // publish the ring for the producers only when it is fully initialized
+        LONGS.setRelease(buffer, MAGIC_OFFSET, MAGIC);
+        return new DatagramRing(buffer, capacity, sessionId, clock);
+    }
+
+    /**
+     * Attach to the ring which was created in the buffer by {@link #create(ByteBuffer, int, long)}
+     * (possibly, by another process)
+     *
+     * @throws IOException if buffer does not contain any ring
+     */
+    public static DatagramRing attach(ByteBuffer buffer) throws IOException {
+        Preconditions.isTrue(buffer.isDirect(), "Direct buffer required");
+        Preconditions.isTrue(buffer.alignmentOffset(0, ALIGNMENT) == 0, "Unaligned buffer");
+        if (buffer.capacity() < HEADER_SIZE
+                || (long) LONGS.getAcquire(buffer, MAGIC_OFFSET) != MAGIC)
+            throw new IOException("Buffer does not contain ring");
+        var capacity = (int) INTS.getVolatile(buffer, CAPACITY_OFFSET);
+        if (Integer.bitCount(capacity) != 1 || buffer.capacity() < calculateBufferSize(capacity))
+            throw new IOException("Ring capacity " + capacity + " is corrupted");
+        return new DatagramRing(
+                buffer,
+                capacity,
+                (long) LONGS.getVolatile(buffer, SESSION_ID_OFFSET),
+                System::nanoTime);
+    }
+
+    public long getSessionId() {
+        return sessionId;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Copy all remaining bytes of the datagram into the ring. Position of the datagram buffer is
+     * not changed.
+     *
+     * <p>Thread-safe
+     *
+     * @return false if there is no space for the datagram
+     */
+    public boolean offer(ByteBuffer datagram) {
+        var len = datagram.remaining();
+        var recordSize = align(RECORD_HEADER_SIZE + len);
+        // guarantees that record fits into the ring even when it wraps
+        if (recordSize > capacity / 2) return false;
+        long writeCursor;
+        int index;
+        int reservedSize;
+        do {
+            writeCursor = (long) LONGS.getVolatile(buffer, WRITE_CURSOR_OFFSET);
+            var readCursor = (long) LONGS.getAcquire(buffer, READ_CURSOR_OFFSET);
+            index = (int) (writeCursor & mask);
+            var tail = capacity - index;
+            // record is never split, instead rest of the ring is padded
+            reservedSize = recordSize <= tail ? recordSize : tail + recordSize;
+            if (writeCursor + reservedSize - readCursor > capacity) return false;
+        } while (!LONGS.compareAndSet(
+                buffer, WRITE_CURSOR_OFFSET, writeCursor, writeCursor + reservedSize));
+        if (reservedSize != recordSize) {
+            var padding = capacity - index;
+            LONGS.setRelease(buffer, HEADER_SIZE + index, header(writeCursor, -padding));
+            writeCursor += padding;
+            index = 0;
+        }
+        buffer.put(HEADER_SIZE + index + RECORD_HEADER_SIZE, datagram, datagram.position(), len);
+        LONGS.setRelease(buffer, HEADER_SIZE + index, header(writeCursor, len + 1));
+        wakeUp();
+        return true;
+    }
+
+    /**
+     * Move next datagram from the ring into the buffer. Datagrams which do not fit into the
+     * remaining space of the buffer are truncated.
+     *
+     * <p>Must be called only by the consumer.
+     *
+     * @return false if there are no published datagrams in the ring
+     */
+    public boolean poll(ByteBuffer dst) {
+        var readCursor = (long) LONGS.getVolatile(buffer, READ_CURSOR_OFFSET);
+        while (true) {
+            var index = (int) (readCursor & mask);
+            var value = readHeader(readCursor);
+            if (value == 0) {
+                discardIfNotPublished(readCursor);
+                return false;
+            }
+            if (value < 0) {
+                var padding = -value;
+                if (padding != capacity - index) {
+                    discard(readCursor);
+                    return false;
+                }
+                // rest of the padding was already zeroed
+                LONGS.setOpaque(buffer, HEADER_SIZE + index, 0L);
+                readCursor += padding;
+                LONGS.setRelease(buffer, READ_CURSOR_OFFSET, readCursor);
+                continue;
+            }
+            var len = value - 1;
+            // same limit as in offer
+            if (len > capacity / 2 - RECORD_HEADER_SIZE) {
+                discard(readCursor);
+                return false;
+            }
+            var recordSize = align(RECORD_HEADER_SIZE + len);
+            if (recordSize > capacity - index) {
+                discard(readCursor);
+                return false;
+            }
+            var n = Math.min(len, dst.remaining());
+            dst.put(dst.position(), buffer, HEADER_SIZE + index + RECORD_HEADER_SIZE, n);
+            dst.position(dst.position() + n);
+            zero(index, recordSize);
+            LONGS.setRelease(buffer, READ_CURSOR_OFFSET, readCursor + recordSize);
+            return true;
+        }
+    }
+
+    /**
+     * Blocks consumer until new datagram is published by the producer of the same process, {@link
+     * #wakeUp()} is called or timeout expires.
+     */
+    public void await(long timeoutInNanos) {
+        consumer = Thread.currentThread();
+        if (readHeader((long) LONGS.getVolatile(buffer, READ_CURSOR_OFFSET)) != 0) return;
+        LockSupport.parkNanos(this, timeoutInNanos);
+    }
+
+    /** Wake up consumer if it waits in {@link #await(long)} */
+    public void wakeUp() {
+        var consumer = this.consumer;
+        if (consumer != null) LockSupport.unpark(consumer);
+    }
+
+    /**
+     * @return value of the record header at the given cursor, or 0 if record is not published for
+     *     this cursor yet
+     */
+    private int readHeader(long cursor) {
+        var header = (long) LONGS.getAcquire(buffer, HEADER_SIZE + (int) (cursor & mask));
+        if ((int) (header >>> 32) != (int) cursor) return 0;
+        return (int) header;
+    }
+
+    private static long header(long cursor, int value) {
+        return (cursor << 32) | (value & 0xffff_ffffL);
+    }
+
+    /** Discard the record if it is reserved but not published within {@link #PUBLISH_TIMEOUT} */
+    private void discardIfNotPublished(long readCursor) {
+        var writeCursor = (long) LONGS.getVolatile(buffer, WRITE_CURSOR_OFFSET);
+        if (writeCursor == readCursor) return;
+        var now = clock.getAsLong();
+        if (unpublishedCursor != readCursor) {
+            unpublishedCursor = readCursor;
+            unpublishedSince = now;
+            return;
+        }
+        if (now - unpublishedSince < PUBLISH_TIMEOUT.toNanos()) return;
+        discard(readCursor);
+    }
+
+    /**
+     * Discard all records reserved so far. Their producers may still publish them later, but such
+     * records are ignored since their headers do not match the cursor.
+     */
+    private void discard(long readCursor) {
+        var writeCursor = (long) LONGS.getVolatile(buffer, WRITE_CURSOR_OFFSET);
+        // cursors can be corrupted as well
+        var len = Math.max(0, Math.min(writeCursor - readCursor, capacity));
+        var index = (int) (readCursor & mask);
+        var tail = Math.min(len, capacity - index);
+        zero(index, (int) tail);
+        zero(0, (int) (len - tail));
+        LONGS.setRelease(buffer, READ_CURSOR_OFFSET, writeCursor);
+    }
+
+    /**
+     * @param index index of the data inside the ring
+     */
+    private void zero(int index, int len) {
+        index += HEADER_SIZE;
+        while (len > 0) {
+            var n = Math.min(len, ZEROS.length);
+            buffer.put(index, ZEROS, 0, n);
+            index += n;
+            len -= n;
+        }
+    }
+
+    private static int align(int len) {
+        return (len + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport;
+
+import id.xfunction.logging.TracingToken;
+import id.xfunction.logging.XLogger;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import pinorobotics.rtpstalk.FlowControllerSettings;
+import pinorobotics.rtpstalk.FlowControllerSettings.Scheduler;
+
+/**
+ * Flow controller shared by the writers which send messages over the same transport.
+ *
+ * <p>Before sending each message writers acquire permission from the flow controller. Once limits
+ * of the current period are exhausted, writers wait until the next period starts. Waiting writers
+ * are allowed to send in the order defined by {@link FlowControllerSettings#scheduler()}.
+ *
+ * <p>Thread-safe
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class FlowController {
+
+    private static class Request {
+        private final Object writer;
+        private final long length;
+        private boolean isGranted;
+
+        Request(Object writer, long length) {
+            this.writer = writer;
+            this.length = length;
+        }
+    }
+
+    private final XLogger logger;
+    private final FlowControllerSettings settings;
+    private final long periodNanos;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition granted = lock.newCondition();
+
+    /** Pending requests of each writer, writers are ordered by their turn to send */
+    private final Map<Object, ArrayDeque<Request>> pendingRequests = new LinkedHashMap<>();
+
+    /** Pending requests in the order they were submitted, used by {@link Scheduler#FIFO} */
+    private final ArrayDeque<Request> fifo = new ArrayDeque<>();
+
+    private long periodStartedAt;
+    private long bytesLeft;
+    private int packetsLeft;
+
+    public FlowController(TracingToken tracingToken, FlowControllerSettings settings) {
+        this.settings = settings;
+        periodNanos = settings.period().toNanos();
+        logger = XLogger.getLogger(getClass(), new TracingToken(tracingToken, "FlowController"));
+        startPeriod(System.nanoTime());
+    }
+
+    /**
+     * Wait until given writer is allowed to send message of the given length.
+     *
+     * @param writer any object which identifies the writer, messages of the same writer are always
+     *     sent in the order they were submitted
+     */
+    public void acquire(Object writer, long length) throws InterruptedException {
+        var request = new Request(writer, length);
+        lock.lock();
+        try {
+            fifo.add(request);
+            pendingRequests.computeIfAbsent(writer, k -> new ArrayDeque<>()).add(request);
+            try {
+                while (!request.isGranted) {
+                    var waitNanos = grantRequests();
+                    if (request.isGranted) break;
+                    granted.awaitNanos(waitNanos);
+                }
+            } catch (InterruptedException e) {
+                if (!request.isGranted) {
+                    remove(request);
+                    // let other writers to proceed if this one was blocking them
+                    granted.signalAll();
+                }
+                throw e;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grant permission to the pending requests which fit into the limits of the current period.
+     *
+     * @return nanoseconds until the next period starts
+     */
+    private long grantRequests() {
+        var now = System.nanoTime();
+        refill(now);
+        var isGranted = false;
+        while (!fifo.isEmpty()) {
+            var request =
+                    switch (settings.scheduler()) {
+                        case FIFO -> fifo.peek();
+                        case ROUND_ROBIN -> pendingRequests.values().iterator().next().peek();
+                    };
+            if (!fits(request.length)) break;
+            consume(request.length);
+            remove(request);
+            request.isGranted = true;
+            if (settings.scheduler() == Scheduler.ROUND_ROBIN) {
+                // move writer to the end of the queue
+                var requests = pendingRequests.remove(request.writer);
+                if (requests != null) pendingRequests.put(request.writer, requests);
+            }
+            isGranted = true;
+        }
+        if (isGranted) granted.signalAll();
+        return periodStartedAt + periodNanos - now;
+    }
+
+    private void remove(Request request) {
+        fifo.remove(request);
+        var requests = pendingRequests.get(request.writer);
+        requests.remove(request);
+        if (requests.isEmpty()) pendingRequests.remove(request.writer);
+    }
+
+    private boolean fits(long length) {
+        if (packetsLeft == 0) return false;
+        // messages larger than the limit are allowed only at the beginning of the period
+        return length <= bytesLeft || bytesLeft == settings.bytesPerPeriod();
+    }
+
+    private void consume(long length) {
+        bytesLeft = Math.max(0, bytesLeft - length);
+        packetsLeft--;
+    }
+
+    private void refill(long now) {
+        if (now - periodStartedAt < periodNanos) return;
+        startPeriod(now);
+    }
+
+    private void startPeriod(long now) {
+        periodStartedAt = now;
+        bytesLeft = settings.bytesPerPeriod();
+        packetsLeft = settings.packetsPerPeriod();
+    }
+}
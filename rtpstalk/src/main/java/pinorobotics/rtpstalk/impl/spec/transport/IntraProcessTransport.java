@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport;
+
+import id.xfunction.Preconditions;
+import id.xfunction.logging.TracingToken;
+import id.xfunction.logging.XLogger;
+import java.io.IOException;
+import java.net.Inet6Address;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.spec.messages.Locator;
+import pinorobotics.rtpstalk.impl.spec.messages.LocatorKind;
+
+/**
+ * Transport between participants of the same JVM.
+ *
+ * <p>Each participant receives messages through its own {@link DatagramRing} in the direct memory.
+ * Rings are registered by the participant port and locator address identifies the JVM, so
+ * participants of other processes never connect to them.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class IntraProcessTransport implements Transport {
+
+    private static final byte[] PROCESS_ID = new byte[16];
+    private static final Map<Integer, DatagramRing> RINGS = new ConcurrentHashMap<>();
+
+    static {
+        new SecureRandom().nextBytes(PROCESS_ID);
+    }
+
+    private final XLogger logger;
+    private final RtpsTalkConfiguration config;
+    private final ByteBufferPool bufferPool;
+
+    public IntraProcessTransport(
+            TracingToken tracingToken, RtpsTalkConfiguration config, ByteBufferPool bufferPool) {
+        this.config = config;
+        this.bufferPool = bufferPool;
+        logger = XLogger.getLogger(getClass(), tracingToken);
+    }
+
+    @Override
+    public LocatorKind getLocatorKind() {
+        return LocatorKind.LOCATOR_KIND_INTRAPROCESS;
+    }
+
+    @Override
+    public BoundChannel bind(TracingToken tracingToken, int port) throws IOException {
+        var capacity = config.sharedMemorySegmentSize();
+        var ring =
+                DatagramRing.create(
+                        ByteBuffer.allocateDirect(
+                                        DatagramRing.calculateBufferSize(capacity) + Long.BYTES)
+                                .alignedSlice(Long.BYTES),
+                        capacity,
+                        0);
+        if (RINGS.putIfAbsent(port, ring) != null)
+            throw new IOException("Intra-process port " + port + " is already bound");
+        logger.fine("Bound intra-process ring for port {0}", port);
+        var channel =
+                new LocalDataChannel(
+                        tracingToken,
+                        "intraprocess-" + port,
+                        ring,
+                        port,
+                        config.guidPrefix(),
+                        bufferPool,
+                        config.zeroCopyPayloads(),
+                        () -> RINGS.remove(port, ring));
+        return new BoundChannel(channel, createLocator(port));
+    }
+
+    @Override
+    public DataChannel connect(TracingToken tracingToken, Locator locator) throws IOException {
+        Preconditions.equals(getLocatorKind(), locator.kind(), "Locator kind mismatch");
+        if (!Arrays.equals(PROCESS_ID, locator.address().getAddress()))
+            throw new IOException("Locator belongs to another process");
+        var port = (int) locator.port();
+        var ring = RINGS.get(port);
+        if (ring == null) throw new IOException("Intra-process port " + port + " is not bound");
+        return new LocalDataChannel(
+                tracingToken,
+                "intraprocess-" + port,
+                ring,
+                port,
+                config.guidPrefix(),
+                bufferPool,
+                config.zeroCopyPayloads(),
+                () -> {});
+    }
+
+    private Locator createLocator(int port) throws UnknownHostException {
+        return new Locator(getLocatorKind(), port, Inet6Address.getByAddress(null, PROCESS_ID, -1));
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport;
+
+import id.xfunction.logging.TracingToken;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.DatagramChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Channel which exchanges datagrams through the {@link DatagramRing} in the memory of the host.
+ *
+ * <p>Receiver polls the ring: it spins for a short time after the last received datagram and then
+ * parks itself for at most {@link #MAX_PARK_TIME_IN_NANOS}, unless it is woken up earlier by the
+ * producer from the same process.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class LocalDataChannel extends DataChannel {
+    private static final int MAX_SPIN_COUNT = 1_000;
+    private static final long MAX_PARK_TIME_IN_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final DatagramRing ring;
+    private final int port;
+    private final Runnable onClose;
+    private int spinCount;
+
+    /**
+     * @param port local port (for bound channels) or remote port (for connected channels)
+     * @param onClose releases resources of the ring when channel is closed
+     */
+    public LocalDataChannel(
+            TracingToken tracingToken,
+            String channelName,
+            DatagramRing ring,
+            int port,
+            byte[] guidPrefix,
+            ByteBufferPool bufferPool,
+            boolean zeroCopy,
+            Runnable onClose) {
+        super(tracingToken, channelName, guidPrefix, bufferPool, zeroCopy);
+        this.ring = ring;
+        this.port = port;
+        this.onClose = onClose;
+    }
+
+    @Override
+    protected boolean sendDatagram(ByteBuffer buf) {
+        if (!ring.offer(buf)) return false;
+        buf.position(buf.limit());
+        return true;
+    }
+
+    @Override
+    protected void receiveDatagram(ByteBuffer buf) throws IOException {
+        while (!tryReceiveDatagram(buf)) {
+            awaitDatagram(0);
+        }
+    }
+
+    @Override
+    protected boolean tryReceiveDatagram(ByteBuffer buf) throws IOException {
+        if (isClosed()) throw new AsynchronousCloseException();
+        if (!ring.poll(buf)) return false;
+        spinCount = 0;
+        return true;
+    }
+
+    @Override
+    protected void awaitDatagram(long timeout) {
+        if (spinCount < MAX_SPIN_COUNT) {
+            spinCount++;
+            Thread.onSpinWait();
+            return;
+        }
+        var timeoutInNanos = MAX_PARK_TIME_IN_NANOS;
+        if (timeout > 0)
+            timeoutInNanos = Math.min(timeoutInNanos, TimeUnit.MILLISECONDS.toNanos(timeout));
+        ring.await(timeoutInNanos);
+    }
+
+    /** There is no {@link DatagramChannel} so only ring resources are released */
+    @Override
+    protected void closeChannel(DatagramChannel datagramChannel) {
+        onClose.run();
+        // wake up receiver so it can see that channel is closed
+        ring.wakeUp();
+    }
+
+    @Override
+    public int getLocalPort() {
+        return port;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport;
+
+import id.xfunction.Preconditions;
+import java.lang.ref.Cleaner.Cleanable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reference counted {@link ByteBuffer} which belongs to {@link ByteBufferPool}.
+ *
+ * <p>Buffer is returned back to the pool when its reference count drops to zero. After that it
+ * should not be accessed anymore.
+ *
+ * <p>Thread-safe
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class PooledByteBuffer implements AutoCloseable {
+
+    private final ByteBuffer buffer;
+    private final ByteBufferPool pool;
+    private final ByteBufferPool.Home home;
+    private final AtomicInteger refCount = new AtomicInteger();
+    private final LeakState leakState;
+    private final Cleanable cleanable;
+
+    /** Tracks buffers which were garbage collected without being released back to the pool */
+    static class LeakState implements Runnable {
+        private final ByteBufferPool pool;
+        private volatile boolean isAcquired;
+
+        LeakState(ByteBufferPool pool) {
+            this.pool = pool;
+        }
+
+        @Override
+        public void run() {
+            if (isAcquired) pool.onLeak();
+        }
+    }
+
+    PooledByteBuffer(ByteBufferPool pool, ByteBufferPool.Home home, ByteBuffer buffer) {
+        this.pool = pool;
+        this.home = home;
+        this.buffer = buffer;
+        leakState = new LeakState(pool);
+        cleanable = ByteBufferPool.CLEANER.register(this, leakState);
+    }
+
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    /** Increment reference count so that the buffer is not returned to the pool on next release */
+    public PooledByteBuffer retain() {
+        var count = refCount.incrementAndGet();
+        Preconditions.isTrue(count > 1, "Buffer was already released");
+        return this;
+    }
+
+    /**
+     * Decrement reference count and return the buffer to the pool when it reaches zero.
+     *
+     * @return true if buffer was returned to the pool
+     */
+    public boolean release() {
+        var count = refCount.decrementAndGet();
+        Preconditions.isTrue(count >= 0, "Buffer was released more times than it was acquired");
+        if (count > 0) return false;
+        leakState.isAcquired = false;
+        if (!pool.recycle(this)) {
+            // pool is full and buffer will be garbage collected, no need to track it anymore
+            cleanable.clean();
+        }
+        return true;
+    }
+
+    public int refCount() {
+        return refCount.get();
+    }
+
+    @Override
+    public void close() {
+        release();
+    }
+
+    /** Part of the pool from which this buffer was acquired */
+    ByteBufferPool.Home home() {
+        return home;
+    }
+
+    void onAcquire() {
+        buffer.clear();
+        refCount.set(1);
+        leakState.isAcquired = true;
+    }
+}
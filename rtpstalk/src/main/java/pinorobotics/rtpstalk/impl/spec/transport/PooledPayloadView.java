@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport;
+
+import java.nio.ByteBuffer;
+import pinorobotics.rtpstalk.messages.PayloadView;
+
+/**
+ * {@link PayloadView} over the part of the {@link PooledByteBuffer}.
+ *
+ * <p>All views of the same {@link PooledByteBuffer} share its reference count.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class PooledPayloadView implements PayloadView {
+
+    private final PooledByteBuffer owner;
+    private final ByteBuffer slice;
+
+    /**
+     * @param offset position in the owner buffer where view starts
+     */
+    public PooledPayloadView(PooledByteBuffer owner, int offset, int length) {
+        this.owner = owner;
+        this.slice = owner.buffer().slice(offset, length).asReadOnlyBuffer();
+    }
+
+    @Override
+    public ByteBuffer buffer() {
+        return slice.duplicate();
+    }
+
+    @Override
+    public int size() {
+        return slice.limit();
+    }
+
+    @Override
+    public PayloadView retain() {
+        owner.retain();
+        return this;
+    }
+
+    @Override
+    public void release() {
+        owner.release();
+    }
+}
@@ -0,0 +1,379 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport;
+
+import id.xfunction.Preconditions;
+import id.xfunction.logging.TracingToken;
+import id.xfunction.logging.XLogger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.SubmissionPublisher;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.spec.RtpsSpecReference;
+import pinorobotics.rtpstalk.impl.spec.messages.Guid;
+import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.AckNack;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Gap;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.HeartbeatFrag;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoDestination;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoTimestamp;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.NackFrag;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Submessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion.Predefined;
+
+/**
+ * Routes submessages received by {@link RtpsMessageReceiver} to the local endpoints which own them.
+ *
+ * <p>Instead of subscribing every endpoint to the {@link RtpsMessageReceiver}, and letting each of
+ * them to walk through all submessages only to discard most of them, demultiplexer walks each RTPS
+ * message once and delivers to each endpoint new RTPS message which contains only submessages
+ * directed to it:
+ *
+ * <ul>
+ *   <li>submessages sent by remote writers (DATA, DATA_FRAG, GAP, HEARTBEAT, HEARTBEAT_FRAG) are
+ *       routed by their readerId to the local readers
+ *   <li>submessages sent by remote readers (ACKNACK, NACK_FRAG) are routed by their writerId to the
+ *       local writers
+ * </ul>
+ *
+ * <p>Interpreter submessages (INFO_DST, INFO_TS) are delivered to each endpoint together with the
+ * submessages which follow them.
+ *
+ * <p>Submessages sent by remote writers to ENTITYID_UNKNOWN reader (for example over multicast) are
+ * routed only to the local readers matched with that writer (see {@link #matchedWriterAdd(EntityId,
+ * Guid)}). When writer is not matched with any of the local readers they are delivered to all
+ * readers (if allowed by RTPS specification).
+ *
+ * <p>Each endpoint receives messages through its own {@link SubmissionPublisher} so slow endpoint
+ * does not affect the others.
+ *
+ * <p>When message is read with zero-copy (see {@link RtpsMessage#getBuffer()}) each message
+ * delivered to the endpoint holds its own reference to the message buffer and endpoint should
+ * {@link RtpsMessage#release()} it once it is done processing the message.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class RtpsMessageDemultiplexer implements Subscriber<RtpsMessage>, AutoCloseable {
+
+    private final XLogger logger;
+    private final RtpsTalkConfiguration config;
+    private final Executor publisherExecutor;
+    private final Map<EntityId, SubmissionPublisher<RtpsMessage>> readers =
+            new ConcurrentHashMap<>();
+    private final Map<EntityId, SubmissionPublisher<RtpsMessage>> writers =
+            new ConcurrentHashMap<>();
+    private Optional<Subscription> subscription = Optional.empty();
+    private volatile boolean isClosed;
+
+    /** Subscriptions to the additional sources (see {@link #addSource(Publisher)}) */
+    private final List<Subscription> sourceSubscriptions = new CopyOnWriteArrayList<>();
+
+    /** Local readers of each remote writer */
+    private final Map<Guid, Set<EntityId>> matchedReaders = new ConcurrentHashMap<>();
+
+    /** Submessages of the incoming RTPS message which are directed to one particular endpoint */
+    private static class Route {
+        private List<Submessage> submessages = new ArrayList<>();
+        private InfoTimestamp infoTimestamp;
+        private InfoDestination infoDestination;
+    }
+
+    public RtpsMessageDemultiplexer(
+            RtpsTalkConfiguration config, TracingToken tracingToken, Executor publisherExecutor) {
+        this.config = config;
+        this.publisherExecutor = publisherExecutor;
+        logger = XLogger.getLogger(getClass(), tracingToken);
+    }
+
+    /** Subscribe local reader to all submessages directed to it */
+    public void subscribeReader(EntityId readerId, Subscriber<RtpsMessage> reader) {
+        subscribe(readers, readerId, reader);
+    }
+
+    /** Subscribe local writer to all submessages directed to it */
+    public void subscribeWriter(EntityId writerId, Subscriber<RtpsMessage> writer) {
+        subscribe(writers, writerId, writer);
+    }
+
+    /**
+     * Unsubscribe local reader (for example when it is closed). Reader stops receiving any
+     * submessages including the ones sent by the writers it was matched with.
+     */
+    public void unsubscribeReader(EntityId readerId) {
+        var publisher = readers.remove(readerId);
+        if (publisher == null) return;
+        logger.fine("Unsubscribing reader with entity id {0}", readerId);
+        matchedReaders.keySet().forEach(writerGuid -> matchedWriterRemove(readerId, writerGuid));
+        publisher.close();
+    }
+
+    /** Remote writer with given {@link Guid} is matched with the local reader */
+    public void matchedWriterAdd(EntityId readerId, Guid writerGuid) {
+        matchedReaders.compute(
+                writerGuid,
+                (guid, readerIds) -> {
+                    if (readerIds == null) readerIds = ConcurrentHashMap.newKeySet();
+                    readerIds.add(readerId);
+                    return readerIds;
+                });
+    }
+
+    /** Remote writer with given {@link Guid} is no longer matched with the local reader */
+    public void matchedWriterRemove(EntityId readerId, Guid writerGuid) {
+        matchedReaders.computeIfPresent(
+                writerGuid,
+                (guid, readerIds) -> {
+                    readerIds.remove(readerId);
+                    return readerIds.isEmpty() ? null : readerIds;
+                });
+    }
+
+    /**
+     * Route messages from one more source (for example multicast receiver) to the same local
+     * endpoints
+     */
+    public void addSource(Publisher<RtpsMessage> source) {
+        Preconditions.isTrue(!isClosed, "Demultiplexer is closed");
+        source.subscribe(
+                new Subscriber<RtpsMessage>() {
+                    private Subscription sourceSubscription;
+
+                    @Override
+                    public void onSubscribe(Subscription subscription) {
+                        sourceSubscription = subscription;
+                        sourceSubscriptions.add(subscription);
+                        subscription.request(1);
+                    }
+
+                    @Override
+                    public void onNext(RtpsMessage message) {
+                        try {
+                            dispatch(message);
+                        } catch (Exception e) {
+                            logger.severe(e);
+                        } finally {
+                            sourceSubscription.request(1);
+                        }
+                    }
+
+                    @Override
+                    public void onError(Throwable throwable) {
+                        logger.severe(throwable);
+                    }
+
+                    @Override
+                    public void onComplete() {}
+                });
+    }
+
+    public boolean isReaderSubscribed(EntityId readerId) {
+        return readers.containsKey(readerId);
+    }
+
+    public boolean isWriterSubscribed(EntityId writerId) {
+        return writers.containsKey(writerId);
+    }
+
+    private void subscribe(
+            Map<EntityId, SubmissionPublisher<RtpsMessage>> endpoints,
+            EntityId entityId,
+            Subscriber<RtpsMessage> endpoint) {
+        Preconditions.isTrue(!isClosed, "Demultiplexer is closed");
+        logger.fine("Subscribing {0} to entity id {1}", endpoint, entityId);
+        var publisher =
+                new SubmissionPublisher<RtpsMessage>(
+                        publisherExecutor, config.publisherMaxBufferSize());
+        Preconditions.isTrue(
+                endpoints.putIfAbsent(entityId, publisher) == null,
+                "Endpoint with entity id %s already subscribed",
+                entityId);
+        publisher.subscribe(endpoint);
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        this.subscription = Optional.of(subscription);
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(RtpsMessage message) {
+        try {
+            dispatch(message);
+        } catch (Exception e) {
+            logger.severe(e);
+        } finally {
+            subscription.get().request(1);
+        }
+    }
+
+    private void dispatch(RtpsMessage message) {
+        var routes = new IdentityHashMap<SubmissionPublisher<RtpsMessage>, Route>();
+        InfoTimestamp infoTimestamp = null;
+        InfoDestination infoDestination = null;
+        for (var submessage : message.getSubmessages()) {
+            if (submessage instanceof InfoTimestamp ts) {
+                infoTimestamp = ts;
+                continue;
+            }
+            if (submessage instanceof InfoDestination dst) {
+                infoDestination = dst;
+                continue;
+            }
+            for (var endpoint : findEndpoints(message.header.guidPrefix, submessage)) {
+                var route = routes.computeIfAbsent(endpoint, e -> new Route());
+                if (infoTimestamp != null && route.infoTimestamp != infoTimestamp) {
+                    route.infoTimestamp = infoTimestamp;
+                    route.submessages.add(infoTimestamp);
+                }
+                if (infoDestination != null && route.infoDestination != infoDestination) {
+                    route.infoDestination = infoDestination;
+                    route.submessages.add(infoDestination);
+                }
+                route.submessages.add(submessage);
+            }
+        }
+        var buffer = message.getBuffer();
+        if (routes.isEmpty()) {
+            logger.fine("No local endpoints found for the message, ignoring it");
+            message.release();
+            return;
+        }
+        if (routes.size() == 1) {
+            var entry = routes.entrySet().iterator().next();
+            // when all submessages belong to the single endpoint there is no need to copy them,
+            // demultiplexer reference to the buffer is passed to the endpoint
+            if (entry.getValue().submessages.size() == message.getSubmessages().length) {
+                submit(entry.getKey(), message);
+                return;
+            }
+        }
+        for (var entry : routes.entrySet()) {
+            var endpointMessage = new RtpsMessage(message.header, entry.getValue().submessages);
+            buffer.ifPresent(
+                    buf -> {
+                        buf.retain();
+                        endpointMessage.setBuffer(buf);
+                    });
+            submit(entry.getKey(), endpointMessage);
+        }
+        // release demultiplexer own reference
+        message.release();
+    }
+
+    private void submit(SubmissionPublisher<RtpsMessage> endpoint, RtpsMessage message) {
+        if (endpoint.isClosed() || endpoint.getNumberOfSubscribers() == 0) {
+            // endpoint is closed, nobody is going to release the message
+            message.release();
+            return;
+        }
+        endpoint.submit(message);
+    }
+
+    @RtpsSpecReference(
+            protocolVersion = Predefined.Version_2_3,
+            paragraph = "8.3.7.2.5",
+            text =
+                    "The Data.readerId can be ENTITYID_UNKNOWN, in which case the Data applies to"
+                            + " all Readers of that writerGUID")
+    @RtpsSpecReference(
+            protocolVersion = Predefined.Version_2_3,
+            paragraph = "8.3.7.5.5",
+            text =
+                    "The Heartbeat.readerId can be ENTITYID_UNKNOWN, in which case the Heartbeat"
+                            + " applies to all Readers of that writerGUID within the Participant.")
+    private Collection<SubmissionPublisher<RtpsMessage>> findEndpoints(
+            GuidPrefix guidPrefix, Submessage submessage) {
+        if (submessage instanceof Data data)
+            return findReaders(guidPrefix, data.writerId, data.readerId, true);
+        if (submessage instanceof Heartbeat heartbeat)
+            return findReaders(guidPrefix, heartbeat.writerId, heartbeat.readerId, true);
+        if (submessage instanceof DataFrag dataFrag)
+            return findReaders(guidPrefix, dataFrag.writerId, dataFrag.readerId, false);
+        if (submessage instanceof Gap gap)
+            return findReaders(guidPrefix, gap.writerId, gap.readerId, false);
+        if (submessage instanceof HeartbeatFrag heartbeatFrag)
+            return findReaders(guidPrefix, heartbeatFrag.writerId, heartbeatFrag.readerId, true);
+        if (submessage instanceof AckNack ackNack)
+            return findEndpoints(writers, ackNack.writerId, true);
+        if (submessage instanceof NackFrag nackFrag)
+            return findEndpoints(writers, nackFrag.writerId, false);
+        logger.fine("No routing for submessage {0}, ignoring it", submessage);
+        return List.of();
+    }
+
+    private Collection<SubmissionPublisher<RtpsMessage>> findReaders(
+            GuidPrefix guidPrefix,
+            EntityId writerId,
+            EntityId readerId,
+            boolean isBroadcastAllowed) {
+        if (EntityId.Predefined.ENTITYID_UNKNOWN.getValue().equals(readerId)) {
+            var readerIds = matchedReaders.get(new Guid(guidPrefix, writerId));
+            if (readerIds != null)
+                return readerIds.stream().map(readers::get).filter(Objects::nonNull).toList();
+        }
+        return findEndpoints(readers, readerId, isBroadcastAllowed);
+    }
+
+    private Collection<SubmissionPublisher<RtpsMessage>> findEndpoints(
+            Map<EntityId, SubmissionPublisher<RtpsMessage>> endpoints,
+            EntityId entityId,
+            boolean isBroadcastAllowed) {
+        if (isBroadcastAllowed && EntityId.Predefined.ENTITYID_UNKNOWN.getValue().equals(entityId))
+            return endpoints.values();
+        var endpoint = endpoints.get(entityId);
+        if (endpoint == null) return List.of();
+        return List.of(endpoint);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        logger.severe(throwable);
+    }
+
+    @Override
+    public void onComplete() {}
+
+    @Override
+    public void close() {
+        if (isClosed) return;
+        isClosed = true;
+        subscription.ifPresent(Subscription::cancel);
+        sourceSubscriptions.forEach(Subscription::cancel);
+        readers.values().forEach(SubmissionPublisher::close);
+        writers.values().forEach(SubmissionPublisher::close);
+        logger.fine("Closed");
+    }
+}
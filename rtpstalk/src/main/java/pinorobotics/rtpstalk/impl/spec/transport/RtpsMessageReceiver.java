@@ -23,11 +23,14 @@ import id.xfunction.logging.TracingToken;
 import id.xfunction.logging.XLogger;
 import java.io.IOException;
 import java.nio.channels.AsynchronousCloseException;
+import java.time.Duration;
+import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Flow.Subscriber;
 import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.locks.ReentrantLock;
 import pinorobotics.rtpstalk.RtpsTalkConfiguration;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
 
@@ -38,10 +41,18 @@ import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
  * <p>{@link RtpsMessageReceiver} Data channel it is where multiple remote writers (Participants)
  * send RTPS messages. When reader is subscribed to the data channel it is going to receive all RTPS
  * messages from it. Since one RTPS message can contain submessages which belong to different
- * readers it is reader responsibility to filter them out.
+ * readers it is reader responsibility to filter them out. To avoid this, subscribe {@link
+ * RtpsMessageDemultiplexer} which delivers to each endpoint only submessages directed to it.
  *
  * <p>Receiver listens only one particular port.
  *
+ * <p>When message is read with zero-copy (see {@link RtpsMessage#getBuffer()}) receiver passes one
+ * reference of the message buffer to each of its subscribers and they should {@link
+ * RtpsMessage#release()} it once they are done processing the message.
+ *
+ * <p>When batching is enabled (see {@link RtpsTalkConfiguration#receiveBatchSize()}) all messages
+ * received at once are submitted to the subscribers together.
+ *
  * @author aeon_flux aeon_flux@eclipso.ch
  */
 public class RtpsMessageReceiver extends SubmissionPublisher<RtpsMessage> implements AutoCloseable {
@@ -51,12 +62,26 @@ public class RtpsMessageReceiver extends SubmissionPublisher<RtpsMessage> implem
     private boolean isClosed;
     private DataChannel dataChannel;
 
+    /**
+     * {@link SubmissionPublisher#submit(Object)} may block when subscribers are slow. We use {@link
+     * ReentrantLock} instead of monitor so that the thread which is blocked inside the critical
+     * section is not pinned to its carrier thread when running on virtual threads.
+     */
+    private final ReentrantLock subscribersLock = new ReentrantLock();
+
+    private final int receiveBatchSize;
+    private final Duration receiveBatchMaxLatency;
+
     protected RtpsMessageReceiver(
             RtpsTalkConfiguration config, TracingToken tracingToken, Executor publisherExecutor) {
         super(publisherExecutor, config.publisherMaxBufferSize());
         executor =
-                Executors.newSingleThreadExecutor(new NamedThreadFactory(tracingToken.toString()));
+                Executors.newSingleThreadExecutor(
+                        config.threadFactory()
+                                .orElseGet(() -> new NamedThreadFactory(tracingToken.toString())));
         logger = XLogger.getLogger(getClass(), tracingToken);
+        receiveBatchSize = config.receiveBatchSize();
+        receiveBatchMaxLatency = config.receiveBatchMaxLatency();
     }
 
     public void start(DataChannel dataChannel) throws IOException {
@@ -71,9 +96,18 @@ public class RtpsMessageReceiver extends SubmissionPublisher<RtpsMessage> implem
                             getClass().getSimpleName(), thread.getName(), thread.getId());
                     while (!executor.isShutdown()) {
                         try {
+                            if (receiveBatchSize > 1) {
+                                var messages =
+                                        dataChannel.receive(
+                                                receiveBatchSize, receiveBatchMaxLatency);
+                                if (isClosed()) messages.forEach(RtpsMessage::release);
+                                else publish(messages);
+                                continue;
+                            }
                             var message = dataChannel.receive();
                             logger.fine("Incoming RTPS message {0}", message);
-                            if (!isClosed()) submit(message);
+                            if (isClosed()) message.release();
+                            else publish(message);
                         } catch (AsynchronousCloseException e) {
                             if (!isClosed) {
                                 logger.severe(e);
@@ -90,7 +124,44 @@ public class RtpsMessageReceiver extends SubmissionPublisher<RtpsMessage> implem
     @Override
     public void subscribe(Subscriber<? super RtpsMessage> subscriber) {
         logger.fine("Subscribing {0}", subscriber);
-        super.subscribe(subscriber);
+        subscribersLock.lock();
+        try {
+            super.subscribe(subscriber);
+        } finally {
+            subscribersLock.unlock();
+        }
+    }
+
+    private void publish(RtpsMessage message) {
+        var buffer = message.getBuffer().orElse(null);
+        if (buffer == null) {
+            submit(message);
+            return;
+        }
+        // number of subscribers should not change until message is submitted, otherwise buffer
+        // reference count will not match to number of subscribers who are going to release it
+        subscribersLock.lock();
+        try {
+            for (int i = 0; i < getNumberOfSubscribers(); i++) buffer.retain();
+            // release receiver own reference
+            buffer.release();
+            submit(message);
+        } finally {
+            subscribersLock.unlock();
+        }
+    }
+
+    private void publish(List<RtpsMessage> messages) {
+        // submit all messages before any new subscriber is added
+        subscribersLock.lock();
+        try {
+            for (var message : messages) {
+                logger.fine("Incoming RTPS message {0}", message);
+                publish(message);
+            }
+        } finally {
+            subscribersLock.unlock();
+        }
     }
 
     @Override
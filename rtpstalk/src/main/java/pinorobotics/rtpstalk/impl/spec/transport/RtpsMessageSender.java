@@ -21,12 +21,15 @@ import id.xfunction.concurrent.flow.SimpleSubscriber;
 import id.xfunction.logging.TracingToken;
 import id.xfunction.logging.XLogger;
 import java.util.List;
+import java.util.Optional;
 import pinorobotics.rtpstalk.impl.spec.behavior.reader.RtpsReader;
 import pinorobotics.rtpstalk.impl.spec.behavior.writer.RtpsWriter;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
+import pinorobotics.rtpstalk.impl.spec.transport.io.EncodedRtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.transport.io.LengthCalculator;
 
 /**
  * @author aeon_flux aeon_flux@eclipso.ch
@@ -54,21 +57,48 @@ public class RtpsMessageSender extends SimpleSubscriber<RtpsMessageSender.Messag
         }
 
         List<RtpsMessage> build(EntityId readerEntiyId, EntityId writerEntityId);
+
+        /**
+         * Messages which are already serialized and can be sent to any reader, see {@link
+         * EncodedRtpsMessage}. Builders which are sent to multiple readers may implement it so that
+         * messages are serialized only once instead of once per each reader.
+         *
+         * @return empty when builder does not support it and {@link #build(EntityId, EntityId)}
+         *     should be used instead
+         */
+        default Optional<List<EncodedRtpsMessage>> buildEncoded(EntityId writerEntityId) {
+            return Optional.empty();
+        }
     }
 
     private final XLogger logger;
     private DataChannel dataChannel;
     private Guid remoteReader;
     private EntityId writerEntityId;
+    private Optional<FlowController> flowController;
 
     public RtpsMessageSender(
             TracingToken tracingToken,
             DataChannel dataChannel,
             Guid remoteReader,
             EntityId writerEntityId) {
+        this(tracingToken, dataChannel, remoteReader, writerEntityId, Optional.empty());
+    }
+
+    /**
+     * @param flowController when present, each message is sent only after it is allowed by the flow
+     *     controller
+     */
+    public RtpsMessageSender(
+            TracingToken tracingToken,
+            DataChannel dataChannel,
+            Guid remoteReader,
+            EntityId writerEntityId,
+            Optional<FlowController> flowController) {
         this.dataChannel = dataChannel;
         this.remoteReader = remoteReader;
         this.writerEntityId = writerEntityId;
+        this.flowController = flowController;
         logger = XLogger.getLogger(getClass(), tracingToken);
     }
 
@@ -83,22 +113,52 @@ public class RtpsMessageSender extends SimpleSubscriber<RtpsMessageSender.Messag
         logger.exiting("onNext");
     }
 
-    private void send(MessageBuilder messageBuilder) {
+    /**
+     * Send messages to the remote reader right away from the caller thread, without passing them
+     * through the writer publisher. Unlike {@link #send(MessageBuilder, Optional)} it waits until
+     * each message is allowed by the flow controller.
+     */
+    public void send(MessageBuilder messageBuilder) {
         try {
             var guidPrefix = messageBuilder.getReaderGuidPrefix();
             if (guidPrefix == GuidPrefix.Predefined.GUIDPREFIX_UNKNOWN.getValue()
                     || guidPrefix.equals(remoteReader.guidPrefix)) {
-                messageBuilder.build(remoteReader.entityId, writerEntityId).forEach(this::send);
+                var encoded = messageBuilder.buildEncoded(writerEntityId);
+                if (encoded.isPresent()) {
+                    for (var message : encoded.get()) {
+                        acquire(message.getLength());
+                        dataChannel.send(remoteReader, message);
+                    }
+                } else {
+                    for (var message :
+                            messageBuilder.build(remoteReader.entityId, writerEntityId)) {
+                        acquire(LengthCalculator.getInstance().calculateLength(message));
+                        send(message);
+                    }
+                }
             } else {
                 logger.fine(
                         "Not sending message since it belongs to different participant {0}",
                         guidPrefix);
             }
+        } catch (InterruptedException e) {
+            logger.fine("Interrupted while waiting for the flow controller, dropping the message");
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             logger.severe(e);
         }
     }
 
+    private void acquire(long length) throws InterruptedException {
+        if (flowController.isEmpty()) return;
+        flowController.get().acquire(writerEntityId, length);
+    }
+
+    /** Channel through which messages are sent to the remote reader */
+    public DataChannel getDataChannel() {
+        return dataChannel;
+    }
+
     @Override
     public void onComplete() {
         close();
@@ -115,6 +175,40 @@ public class RtpsMessageSender extends SimpleSubscriber<RtpsMessageSender.Messag
         dataChannel.send(remoteReader, message);
     }
 
+    /**
+     * Send messages to the remote reader right away from the caller thread, without passing them
+     * through the writer publisher (so they are not delivered to other senders of the same writer).
+     *
+     * <p>Messages are sent in order until there is not enough tokens in the bucket to send the next
+     * message. Same as {@link #send(MessageBuilder)} it waits until each message is allowed by the
+     * flow controller, and only then consumes the tokens for it.
+     *
+     * @return messages which were not sent
+     */
+    public List<RtpsMessage> send(List<RtpsMessage> messages, Optional<TokenBucket> tokenBucket) {
+        for (int i = 0; i < messages.size(); i++) {
+            var message = messages.get(i);
+            var length = LengthCalculator.getInstance().calculateLength(message);
+            if (tokenBucket.isPresent() && !tokenBucket.get().isAvailable(length)) {
+                logger.fine(
+                        "Not enough tokens to send all the messages, {0} out of {1} messages are"
+                                + " not sent",
+                        messages.size() - i, messages.size());
+                return List.copyOf(messages.subList(i, messages.size()));
+            }
+            try {
+                acquire(length);
+            } catch (InterruptedException e) {
+                logger.fine("Interrupted while waiting for the flow controller");
+                Thread.currentThread().interrupt();
+                return List.copyOf(messages.subList(i, messages.size()));
+            }
+            tokenBucket.ifPresent(bucket -> bucket.tryConsume(length));
+            send(message);
+        }
+        return List.of();
+    }
+
     @Override
     public void replay(MessageBuilder messageBuilder) {
         send(messageBuilder);
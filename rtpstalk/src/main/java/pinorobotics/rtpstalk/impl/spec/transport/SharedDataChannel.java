@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport;
+
+import id.xfunction.logging.TracingToken;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * {@link DataChannel} which sends messages through unconnected {@link DatagramChannel} shared with
+ * all other endpoints talking to the same remote locator.
+ *
+ * <p>Closing it releases its reference to the shared channel. Shared channel itself is closed only
+ * when all data channels which use it are closed.
+ *
+ * @see DataChannelFactory#connect(TracingToken, java.util.List)
+ * @author lambdaprime intid@protonmail.com
+ */
+class SharedDataChannel extends DataChannel {
+
+    private final Runnable releaseChannel;
+
+    SharedDataChannel(
+            TracingToken tracingToken,
+            DatagramChannel datagramChannel,
+            SocketAddress target,
+            byte[] guidPrefix,
+            ByteBufferPool bufferPool,
+            boolean zeroCopy,
+            Runnable releaseChannel) {
+        super(tracingToken, datagramChannel, target, guidPrefix, bufferPool, zeroCopy);
+        this.releaseChannel = releaseChannel;
+    }
+
+    @Override
+    protected void closeChannel(DatagramChannel datagramChannel) throws IOException {
+        releaseChannel.run();
+    }
+}
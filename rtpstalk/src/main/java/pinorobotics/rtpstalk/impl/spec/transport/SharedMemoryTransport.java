@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport;
+
+import id.xfunction.Preconditions;
+import id.xfunction.logging.TracingToken;
+import id.xfunction.logging.XLogger;
+import java.io.IOException;
+import java.net.Inet6Address;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Set;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.spec.messages.Locator;
+import pinorobotics.rtpstalk.impl.spec.messages.LocatorKind;
+
+/**
+ * Transport between participants of the same host.
+ *
+ * <p>Each participant receives messages through its own {@link DatagramRing} inside the
+ * memory-mapped file "rtpstalk-PORT" of the shared memory directory (see {@link
+ * RtpsTalkConfiguration#sharedMemoryTransport()}). Remote participants map this file and write
+ * messages directly into the ring.
+ *
+ * <p>File is accessible only by the processes of the same user. Participant holds the lock on its
+ * file, so that files left by crashed participants can be told apart from the files in use.
+ *
+ * <p>Locator address consists of:
+ *
+ * <ul>
+ *   <li>8 bytes - host id, so participants of other hosts do not try to find the file
+ *   <li>8 bytes - random session id of the ring, it prevents participants from writing into stale
+ *       files left by crashed participants or into files of other participants which use same port
+ *       on another host with the same host id
+ * </ul>
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class SharedMemoryTransport implements Transport {
+
+    private static final String FILE_PREFIX = "rtpstalk-";
+    private static final byte[] HOST_ID = calculateHostId();
+    private static final Set<OpenOption> CREATE_OPTIONS =
+            Set.of(
+                    StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+
+    private final XLogger logger;
+    private final RtpsTalkConfiguration config;
+    private final Path directory;
+    private final ByteBufferPool bufferPool;
+
+    public SharedMemoryTransport(
+            TracingToken tracingToken,
+            RtpsTalkConfiguration config,
+            Path directory,
+            ByteBufferPool bufferPool) {
+        this.config = config;
+        this.directory = directory;
+        this.bufferPool = bufferPool;
+        logger = XLogger.getLogger(getClass(), tracingToken);
+    }
+
+    @Override
+    public LocatorKind getLocatorKind() {
+        return LocatorKind.LOCATOR_KIND_SHM;
+    }
+
+    @Override
+    public BoundChannel bind(TracingToken tracingToken, int port) throws IOException {
+        var file = getFile(port);
+        deleteStaleFile(file);
+        var capacity = config.sharedMemorySegmentSize();
+        ByteBuffer buffer;
+        // stays open and holds the lock on the file until the channel is closed
+        var fc = FileChannel.open(file, CREATE_OPTIONS, getFileAttributes());
+        try {
+            if (fc.tryLock() == null) throw new IOException("File " + file + " is locked");
+            buffer = fc.map(MapMode.READ_WRITE, 0, DatagramRing.calculateBufferSize(capacity));
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            fc.close();
+            throw e;
+        }
+        var sessionId = new SecureRandom().nextLong();
+        var ring = DatagramRing.create(buffer, capacity, sessionId);
+        logger.fine("Bound shared memory ring {0}", file);
+        var channel =
+                new LocalDataChannel(
+                        tracingToken,
+                        "shm-" + port,
+                        ring,
+                        port,
+                        config.guidPrefix(),
+                        bufferPool,
+                        config.zeroCopyPayloads(),
+                        () -> {
+                            try {
+                                // file is deleted before the lock is released so that other
+                                // participants do not delete the file which is still in use
+                                Files.deleteIfExists(file);
+                                fc.close();
+                            } catch (IOException e) {
+                                logger.severe(e);
+                            }
+                        });
+        var address = ByteBuffer.allocate(16).put(HOST_ID).putLong(sessionId).array();
+        return new BoundChannel(
+                channel,
+                new Locator(getLocatorKind(), port, Inet6Address.getByAddress(null, address, -1)));
+    }
+
+    @Override
+    public DataChannel connect(TracingToken tracingToken, Locator locator) throws IOException {
+        Preconditions.equals(getLocatorKind(), locator.kind(), "Locator kind mismatch");
+        var address = ByteBuffer.wrap(locator.address().getAddress());
+        if (!Arrays.equals(HOST_ID, 0, HOST_ID.length, address.array(), 0, HOST_ID.length))
+            throw new IOException("Locator belongs to another host");
+        var sessionId = address.getLong(HOST_ID.length);
+        var port = (int) locator.port();
+        var file = getFile(port);
+        ByteBuffer buffer;
+        try (var fc = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = fc.map(MapMode.READ_WRITE, 0, fc.size());
+        }
+        var ring = DatagramRing.attach(buffer);
+        if (ring.getSessionId() != sessionId)
+            throw new IOException("File " + file + " belongs to another participant");
+        return new LocalDataChannel(
+                tracingToken,
+                "shm-" + port,
+                ring,
+                port,
+                config.guidPrefix(),
+                bufferPool,
+                config.zeroCopyPayloads(),
+                () -> {});
+    }
+
+    /**
+     * Delete the file left by the participant which was not closed properly. Participant holds the
+     * lock on its file for as long as the file is in use, so the file is deleted only when it is
+     * not locked.
+     *
+     * @throws IOException if file is used by another participant
+     */
+    private void deleteStaleFile(Path file) throws IOException {
+        try (var fc = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            FileLock lock;
+            try {
+                lock = fc.tryLock();
+            } catch (OverlappingFileLockException e) {
+                // locked by another participant of this process
+                lock = null;
+            }
+            if (lock == null)
+                throw new IOException("File " + file + " is used by another participant");
+            Files.delete(file);
+            logger.fine("Deleted stale file {0}", file);
+        } catch (NoSuchFileException e) {
+            // there is no stale file
+        }
+    }
+
+    /** Only processes of the same user can access the file */
+    private FileAttribute<?>[] getFileAttributes() {
+        if (!directory.getFileSystem().supportedFileAttributeViews().contains("posix"))
+            return new FileAttribute<?>[0];
+        return new FileAttribute<?>[] {
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))
+        };
+    }
+
+    private Path getFile(int port) {
+        return directory.resolve(FILE_PREFIX + port);
+    }
+
+    /**
+     * Host id is derived from the machine id which is same for all containers of the host. It is
+     * fine since participants which do not share the directory will not find the ring files of each
+     * other.
+     */
+    private static byte[] calculateHostId() {
+        var machineId = "";
+        try {
+            var machineIdFile = Paths.get("/etc/machine-id");
+            if (Files.isReadable(machineIdFile)) machineId = Files.readString(machineIdFile);
+            else machineId = System.getenv().getOrDefault("HOSTNAME", "");
+        } catch (IOException e) {
+            // use empty id, participants of other hosts still will be rejected by the session id
+        }
+        try {
+            var digest =
+                    MessageDigest.getInstance("MD5")
+                            .digest(machineId.strip().getBytes(StandardCharsets.UTF_8));
+            return Arrays.copyOf(digest, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
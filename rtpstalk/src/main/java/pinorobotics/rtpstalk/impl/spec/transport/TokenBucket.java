@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport;
+
+import id.xfunction.Preconditions;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits the rate at which bytes are sent.
+ *
+ * <p>Bucket is refilled with {@link #rate} tokens per second up to its {@link #capacity}. Sending
+ * each byte consumes one token and sending is allowed only when there are enough tokens available.
+ *
+ * <p>Thread-safe
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class TokenBucket {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long rate;
+    private final long capacity;
+    private final LongSupplier clock;
+    private long tokens;
+    private long lastRefillAt;
+
+    /**
+     * @param rate number of tokens added to the bucket each second
+     * @param capacity maximum number of tokens the bucket can hold, it limits the size of bursts
+     */
+    public TokenBucket(long rate, long capacity) {
+        this(rate, capacity, System::nanoTime);
+    }
+
+    /**
+     * @param clock source of the time (see {@link System#nanoTime()}) used to refill the bucket
+     */
+    public TokenBucket(long rate, long capacity, LongSupplier clock) {
+        Preconditions.isLess(0L, rate, "rate must be positive");
+        Preconditions.isLess(0L, capacity, "capacity must be positive");
+        this.rate = rate;
+        this.capacity = capacity;
+        this.clock = clock;
+        tokens = capacity;
+        lastRefillAt = clock.getAsLong();
+    }
+
+    /**
+     * @return true if bucket had enough tokens and they were consumed, false otherwise
+     */
+    public synchronized boolean tryConsume(long numOfTokens) {
+        refill();
+        if (tokens < numOfTokens) return false;
+        tokens -= numOfTokens;
+        return true;
+    }
+
+    /**
+     * @return true if bucket has enough tokens, they are not consumed
+     */
+    public synchronized boolean isAvailable(long numOfTokens) {
+        refill();
+        return tokens >= numOfTokens;
+    }
+
+    private void refill() {
+        var now = clock.getAsLong();
+        var elapsed = now - lastRefillAt;
+        var newTokens = (long) ((double) elapsed * rate / NANOS_PER_SECOND);
+        if (newTokens == 0) return;
+        tokens = Math.min(capacity, tokens + newTokens);
+        lastRefillAt = now;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport;
+
+import id.xfunction.logging.TracingToken;
+import java.io.IOException;
+import pinorobotics.rtpstalk.impl.spec.messages.Locator;
+import pinorobotics.rtpstalk.impl.spec.messages.LocatorKind;
+
+/**
+ * Transport which delivers RTPS messages to the participants reachable through the locators of
+ * certain {@link LocatorKind}.
+ *
+ * <p>UDP transport is built into {@link DataChannelFactory} since it is also used for discovery and
+ * multicast. Other transports are plugged into {@link DataChannelFactory} and carry only the user
+ * data: participant binds a channel in each of them and announces their locators in SPDP next to
+ * its UDP default unicast locator.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public interface Transport {
+
+    record BoundChannel(DataChannel channel, Locator locator) {}
+
+    LocatorKind getLocatorKind();
+
+    /**
+     * Bind channel which receives messages sent to the returned locator.
+     *
+     * @param port port of the participant default unicast UDP channel. Since it is unique on the
+     *     host, transports use it to identify the participant.
+     * @throws IOException if channel could not be bound
+     */
+    BoundChannel bind(TracingToken tracingToken, int port) throws IOException;
+
+    /**
+     * Channel to the remote locator
+     *
+     * @throws IOException if remote locator is not reachable through this transport (for example
+     *     when it belongs to another host)
+     */
+    DataChannel connect(TracingToken tracingToken, Locator locator) throws IOException;
+}
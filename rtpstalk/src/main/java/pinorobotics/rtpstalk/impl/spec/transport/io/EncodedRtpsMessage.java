@@ -0,0 +1,148 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport.io;
+
+import id.xfunction.Preconditions;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.spec.messages.Guid;
+import pinorobotics.rtpstalk.impl.spec.messages.Header;
+import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.SubmessageHeader;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.SubmessageKind;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
+import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsOutputKineticStream.GatheredPayload;
+
+/**
+ * {@link RtpsMessage} which is already serialized and can be sent to any reader.
+ *
+ * <p>Fields which are specific to the reader (readerId of the submessages and guidPrefix of {@link
+ * pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoDestination}) are patched in place when
+ * message is written with {@link #writeTo(ByteBuffer, Guid)}, rest of the bytes are copied as is.
+ *
+ * <p>User data is not copied into the encoded message. Message keeps only its headers (RTPS header,
+ * submessages and everything except the payloads) and references to the payloads, which are
+ * gathered together with the headers only when message is written. This way each payload is copied
+ * only once, directly to the buffer from which it is sent.
+ *
+ * <p>Immutable and thread-safe
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class EncodedRtpsMessage {
+
+    private static final int HEADER_SIZE =
+            LengthCalculator.getInstance().getFixedLength(Header.class);
+    private static final int SUBMESSAGE_HEADER_SIZE =
+            LengthCalculator.getInstance().getFixedLength(SubmessageHeader.class);
+    private static final byte DATA = SubmessageKind.Predefined.DATA.getValue().value;
+    private static final byte DATA_FRAG = SubmessageKind.Predefined.DATA_FRAG.getValue().value;
+    private static final byte GAP = SubmessageKind.Predefined.GAP.getValue().value;
+    private static final byte HEARTBEAT = SubmessageKind.Predefined.HEARTBEAT.getValue().value;
+    private static final byte HEARTBEAT_FRAG =
+            SubmessageKind.Predefined.HEARTBEAT_FRAG.getValue().value;
+    private static final byte INFO_DST = SubmessageKind.Predefined.INFO_DST.getValue().value;
+
+    private ByteBuffer headers;
+    private List<GatheredPayload> payloads;
+    private int length;
+    private int[] readerIdOffsets;
+    private int[] readerGuidPrefixOffsets;
+
+    /**
+     * @param headers serialized RTPS message without the payloads, all its remaining bytes are used
+     * @param payloads payloads ordered by their positions in the headers
+     */
+    EncodedRtpsMessage(ByteBuffer headers, List<GatheredPayload> payloads) {
+        this.headers =
+                headers.slice().asReadOnlyBuffer().order(RtpsTalkConfiguration.getByteOrder());
+        this.payloads = List.copyOf(payloads);
+        length =
+                this.headers.limit()
+                        + payloads.stream().mapToInt(p -> p.payload().remaining()).sum();
+        var maxSubmessages = this.headers.limit() / SUBMESSAGE_HEADER_SIZE;
+        var readerIds = new int[maxSubmessages];
+        var readerIdsCount = 0;
+        var guidPrefixes = new int[maxSubmessages];
+        var guidPrefixesCount = 0;
+        // offsets are positions in the full message, together with the payloads
+        var pos = HEADER_SIZE;
+        while (pos + SUBMESSAGE_HEADER_SIZE <= length) {
+            var headerPos = toHeadersPosition(pos);
+            var kind = this.headers.get(headerPos);
+            var submessageLength = Short.toUnsignedInt(this.headers.getShort(headerPos + 2));
+            var body = pos + SUBMESSAGE_HEADER_SIZE;
+            if (kind == DATA || kind == DATA_FRAG) {
+                // readerId goes after extraFlags and octetsToInlineQos
+                readerIds[readerIdsCount++] = body + 2 * Short.BYTES;
+            } else if (kind == GAP || kind == HEARTBEAT || kind == HEARTBEAT_FRAG) {
+                readerIds[readerIdsCount++] = body;
+            } else if (kind == INFO_DST) {
+                guidPrefixes[guidPrefixesCount++] = body;
+            }
+            // zero length is allowed only for the last submessage
+            if (submessageLength == 0) break;
+            pos = body + submessageLength;
+        }
+        readerIdOffsets = Arrays.copyOf(readerIds, readerIdsCount);
+        readerGuidPrefixOffsets = Arrays.copyOf(guidPrefixes, guidPrefixesCount);
+    }
+
+    /** Position in the headers for the given position in the message */
+    private int toHeadersPosition(int messagePos) {
+        var pos = messagePos;
+        for (var payload : payloads) {
+            // payloads which are fully in front of the given position
+            if (payload.position() >= pos) break;
+            pos -= payload.payload().remaining();
+        }
+        return pos;
+    }
+
+    /** Size of the message in bytes */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Copy message to the buffer and patch all reader specific fields with the values of the given
+     * reader
+     */
+    public void writeTo(ByteBuffer buf, Guid remoteReader) {
+        Preconditions.isTrue(
+                buf.remaining() >= getLength(), "Not enough space in the buffer to write message");
+        var start = buf.position();
+        var headerPos = 0;
+        for (var payload : payloads) {
+            buf.put(headers.slice(headerPos, payload.position() - headerPos));
+            buf.put(payload.payload().duplicate());
+            headerPos = payload.position();
+        }
+        buf.put(headers.slice(headerPos, headers.limit() - headerPos));
+        var patch = buf.duplicate().order(RtpsTalkConfiguration.getByteOrder());
+        for (var offset : readerIdOffsets) {
+            FlatSubmessageCodec.getInstance()
+                    .writeEntityId(patch.position(start + offset), remoteReader.entityId);
+        }
+        for (var offset : readerGuidPrefixOffsets) {
+            patch.position(start + offset).put(remoteReader.guidPrefix.value, 0, GuidPrefix.SIZE);
+        }
+    }
+}
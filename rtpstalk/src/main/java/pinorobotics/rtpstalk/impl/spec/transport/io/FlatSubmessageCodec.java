@@ -0,0 +1,350 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.impl.spec.transport.io;
+
+import id.xfunction.XByte;
+import java.nio.ByteBuffer;
+import pinorobotics.rtpstalk.impl.spec.messages.UnsignedInt;
+import pinorobotics.rtpstalk.impl.spec.messages.UnsignedShort;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.AckNack;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Gap;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.HeartbeatFrag;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.NackFrag;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.RepresentationIdentifier;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.SerializedPayloadHeader;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Submessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.SubmessageHeader;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.SubmessageKind;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.Count;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.FragmentNumberSet;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
+
+/**
+ * Reflection-free codec for the submessages which are sent and received most often ({@link Data},
+ * {@link DataFrag}, {@link Heartbeat}, {@link AckNack}, {@link Gap}, {@link NackFrag}, {@link
+ * HeartbeatFrag}).
+ *
+ * <p>It reads and writes fixed part of the submessages directly from/to {@link ByteBuffer} using
+ * same wire format as kineticstreamer does with {@link RtpsKineticStreamController}. Variable parts
+ * (inline QoS, {@link SerializedPayloadHeader} and payload itself) are handled by {@link
+ * RtpsInputKineticStream} and {@link RtpsOutputKineticStream}.
+ *
+ * <p>Buffer byte order is expected to be {@link
+ * pinorobotics.rtpstalk.RtpsTalkConfiguration#getByteOrder()}.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class FlatSubmessageCodec {
+
+    private static final FlatSubmessageCodec INSTANCE = new FlatSubmessageCodec();
+
+    public static FlatSubmessageCodec getInstance() {
+        return INSTANCE;
+    }
+
+    /** Tells if submessage of given type can be read and written by this codec */
+    public boolean isSupported(Class<?> type) {
+        return type == Data.class
+                || type == DataFrag.class
+                || type == Heartbeat.class
+                || type == AckNack.class
+                || type == Gap.class
+                || type == NackFrag.class
+                || type == HeartbeatFrag.class;
+    }
+
+    public SubmessageHeader readSubmessageHeader(ByteBuffer buf) {
+        var header = new SubmessageHeader();
+        header.submessageKind = new SubmessageKind(buf.get());
+        header.submessageFlag = buf.get();
+        header.submessageLength = readUnsignedShort(buf);
+        return header;
+    }
+
+    /**
+     * Reads {@link Data} submessage without its inline QoS and serialized payload.
+     *
+     * <p>Buffer position is expected to point to the submessage header.
+     */
+    public Data readData(ByteBuffer buf) {
+        var data = new Data();
+        data.submessageHeader = readSubmessageHeader(buf);
+        data.extraFlags = buf.getShort();
+        data.octetsToInlineQos = readUnsignedShort(buf);
+        data.readerId = readEntityId(buf);
+        data.writerId = readEntityId(buf);
+        data.writerSN = readSequenceNumber(buf);
+        return data;
+    }
+
+    /**
+     * Reads {@link DataFrag} submessage without its inline QoS and serialized payload.
+     *
+     * <p>Buffer position is expected to point to the submessage header.
+     */
+    public DataFrag readDataFrag(ByteBuffer buf) {
+        var dataFrag = new DataFrag();
+        dataFrag.submessageHeader = readSubmessageHeader(buf);
+        dataFrag.extraFlags = buf.getShort();
+        dataFrag.octetsToInlineQos = readUnsignedShort(buf);
+        dataFrag.readerId = readEntityId(buf);
+        dataFrag.writerId = readEntityId(buf);
+        dataFrag.writerSN = readSequenceNumber(buf);
+        dataFrag.fragmentStartingNum = readUnsignedInt(buf);
+        dataFrag.fragmentsInSubmessage = readUnsignedShort(buf);
+        dataFrag.fragmentSize = readUnsignedShort(buf);
+        dataFrag.dataSize = buf.getInt();
+        return dataFrag;
+    }
+
+    public Heartbeat readHeartbeat(ByteBuffer buf) {
+        var heartbeat = new Heartbeat();
+        heartbeat.submessageHeader = readSubmessageHeader(buf);
+        heartbeat.readerId = readEntityId(buf);
+        heartbeat.writerId = readEntityId(buf);
+        heartbeat.firstSN = readSequenceNumber(buf);
+        heartbeat.lastSN = readSequenceNumber(buf);
+        heartbeat.count = new Count(buf.getInt());
+        return heartbeat;
+    }
+
+    public AckNack readAckNack(ByteBuffer buf) {
+        var ackNack = new AckNack();
+        ackNack.submessageHeader = readSubmessageHeader(buf);
+        ackNack.readerId = readEntityId(buf);
+        ackNack.writerId = readEntityId(buf);
+        ackNack.readerSNState = readSequenceNumberSet(buf);
+        ackNack.count = new Count(buf.getInt());
+        return ackNack;
+    }
+
+    public Gap readGap(ByteBuffer buf) {
+        var gap = new Gap();
+        gap.submessageHeader = readSubmessageHeader(buf);
+        gap.readerId = readEntityId(buf);
+        gap.writerId = readEntityId(buf);
+        gap.gapStart = readSequenceNumber(buf);
+        gap.gapList = readSequenceNumberSet(buf);
+        return gap;
+    }
+
+    public NackFrag readNackFrag(ByteBuffer buf) {
+        var nackFrag = new NackFrag();
+        nackFrag.submessageHeader = readSubmessageHeader(buf);
+        nackFrag.readerId = readEntityId(buf);
+        nackFrag.writerId = readEntityId(buf);
+        nackFrag.writerSN = readSequenceNumber(buf);
+        nackFrag.fragmentNumberState = readFragmentNumberSet(buf);
+        nackFrag.count = new Count(buf.getInt());
+        return nackFrag;
+    }
+
+    public HeartbeatFrag readHeartbeatFrag(ByteBuffer buf) {
+        var heartbeatFrag = new HeartbeatFrag();
+        heartbeatFrag.submessageHeader = readSubmessageHeader(buf);
+        heartbeatFrag.readerId = readEntityId(buf);
+        heartbeatFrag.writerId = readEntityId(buf);
+        heartbeatFrag.writerSN = readSequenceNumber(buf);
+        heartbeatFrag.lastFragmentNum = readUnsignedInt(buf);
+        heartbeatFrag.count = new Count(buf.getInt());
+        return heartbeatFrag;
+    }
+
+    public Submessage read(ByteBuffer buf, Class<?> type) {
+        if (type == Data.class) return readData(buf);
+        if (type == DataFrag.class) return readDataFrag(buf);
+        if (type == Heartbeat.class) return readHeartbeat(buf);
+        if (type == AckNack.class) return readAckNack(buf);
+        if (type == Gap.class) return readGap(buf);
+        if (type == NackFrag.class) return readNackFrag(buf);
+        if (type == HeartbeatFrag.class) return readHeartbeatFrag(buf);
+        throw new UnsupportedOperationException("Submessage type " + type.getSimpleName());
+    }
+
+    public SerializedPayloadHeader readSerializedPayloadHeader(ByteBuffer buf) {
+        var header = new SerializedPayloadHeader();
+        header.representation_identifier = new RepresentationIdentifier();
+        buf.get(header.representation_identifier.value);
+        buf.get(header.representation_options);
+        return header;
+    }
+
+    public SequenceNumber readSequenceNumber(ByteBuffer buf) {
+        long high = buf.getInt();
+        long low = buf.getInt();
+        return new SequenceNumber((high << 32L) | low);
+    }
+
+    public SequenceNumberSet readSequenceNumberSet(ByteBuffer buf) {
+        var bitmapBase = readSequenceNumber(buf);
+        var numBits = buf.getInt();
+        var bits = new int[(numBits + 31) / 32];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = XByte.reverseBitsInBytes(Integer.reverseBytes(buf.getInt()));
+        }
+        return new SequenceNumberSet(bitmapBase, numBits, bits);
+    }
+
+    public FragmentNumberSet readFragmentNumberSet(ByteBuffer buf) {
+        var bitmapBase = readUnsignedInt(buf);
+        var numBits = buf.getInt();
+        var bits = new int[(numBits + 31) / 32];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = XByte.reverseBitsInBytes(Integer.reverseBytes(buf.getInt()));
+        }
+        return new FragmentNumberSet(bitmapBase, numBits, bits);
+    }
+
+    public EntityId readEntityId(ByteBuffer buf) {
+        return new EntityId(Integer.reverseBytes(buf.getInt()));
+    }
+
+    public void writeSubmessageHeader(ByteBuffer buf, SubmessageHeader header) {
+        buf.put(header.submessageKind.value);
+        buf.put(header.submessageFlag);
+        buf.putShort(header.submessageLength.value);
+    }
+
+    /** Writes {@link Data} submessage without its inline QoS and serialized payload */
+    public void writeData(ByteBuffer buf, Data data) {
+        writeSubmessageHeader(buf, data.submessageHeader);
+        buf.putShort(data.extraFlags);
+        buf.putShort(data.octetsToInlineQos.value);
+        writeEntityId(buf, data.readerId);
+        writeEntityId(buf, data.writerId);
+        writeSequenceNumber(buf, data.writerSN);
+    }
+
+    /** Writes {@link DataFrag} submessage without its inline QoS and serialized payload */
+    public void writeDataFrag(ByteBuffer buf, DataFrag dataFrag) {
+        writeSubmessageHeader(buf, dataFrag.submessageHeader);
+        buf.putShort(dataFrag.extraFlags);
+        buf.putShort(dataFrag.octetsToInlineQos.value);
+        writeEntityId(buf, dataFrag.readerId);
+        writeEntityId(buf, dataFrag.writerId);
+        writeSequenceNumber(buf, dataFrag.writerSN);
+        buf.putInt(dataFrag.fragmentStartingNum.value);
+        buf.putShort(dataFrag.fragmentsInSubmessage.value);
+        buf.putShort(dataFrag.fragmentSize.value);
+        buf.putInt(dataFrag.dataSize);
+    }
+
+    public void writeHeartbeat(ByteBuffer buf, Heartbeat heartbeat) {
+        writeSubmessageHeader(buf, heartbeat.submessageHeader);
+        writeEntityId(buf, heartbeat.readerId);
+        writeEntityId(buf, heartbeat.writerId);
+        writeSequenceNumber(buf, heartbeat.firstSN);
+        writeSequenceNumber(buf, heartbeat.lastSN);
+        buf.putInt(heartbeat.count.value);
+    }
+
+    public void writeAckNack(ByteBuffer buf, AckNack ackNack) {
+        writeSubmessageHeader(buf, ackNack.submessageHeader);
+        writeEntityId(buf, ackNack.readerId);
+        writeEntityId(buf, ackNack.writerId);
+        writeSequenceNumberSet(buf, ackNack.readerSNState);
+        buf.putInt(ackNack.count.value);
+    }
+
+    public void writeGap(ByteBuffer buf, Gap gap) {
+        writeSubmessageHeader(buf, gap.submessageHeader);
+        writeEntityId(buf, gap.readerId);
+        writeEntityId(buf, gap.writerId);
+        writeSequenceNumber(buf, gap.gapStart);
+        writeSequenceNumberSet(buf, gap.gapList);
+    }
+
+    public void writeNackFrag(ByteBuffer buf, NackFrag nackFrag) {
+        writeSubmessageHeader(buf, nackFrag.submessageHeader);
+        writeEntityId(buf, nackFrag.readerId);
+        writeEntityId(buf, nackFrag.writerId);
+        writeSequenceNumber(buf, nackFrag.writerSN);
+        writeFragmentNumberSet(buf, nackFrag.fragmentNumberState);
+        buf.putInt(nackFrag.count.value);
+    }
+
+    public void writeHeartbeatFrag(ByteBuffer buf, HeartbeatFrag heartbeatFrag) {
+        writeSubmessageHeader(buf, heartbeatFrag.submessageHeader);
+        writeEntityId(buf, heartbeatFrag.readerId);
+        writeEntityId(buf, heartbeatFrag.writerId);
+        writeSequenceNumber(buf, heartbeatFrag.writerSN);
+        buf.putInt(heartbeatFrag.lastFragmentNum.value);
+        buf.putInt(heartbeatFrag.count.value);
+    }
+
+    public void write(ByteBuffer buf, Submessage submessage) {
+        if (submessage instanceof Data data) writeData(buf, data);
+        else if (submessage instanceof DataFrag dataFrag) writeDataFrag(buf, dataFrag);
+        else if (submessage instanceof Heartbeat heartbeat) writeHeartbeat(buf, heartbeat);
+        else if (submessage instanceof AckNack ackNack) writeAckNack(buf, ackNack);
+        else if (submessage instanceof Gap gap) writeGap(buf, gap);
+        else if (submessage instanceof NackFrag nackFrag) writeNackFrag(buf, nackFrag);
+        else if (submessage instanceof HeartbeatFrag heartbeatFrag)
+            writeHeartbeatFrag(buf, heartbeatFrag);
+        else
+            throw new UnsupportedOperationException(
+                    "Submessage type " + submessage.getClass().getSimpleName());
+    }
+
+    public void writeSerializedPayloadHeader(ByteBuffer buf, SerializedPayloadHeader header) {
+        buf.put(header.representation_identifier.value);
+        buf.put(header.representation_options);
+    }
+
+    public void writeSequenceNumber(ByteBuffer buf, SequenceNumber num) {
+        buf.putInt((int) (num.value >> 32));
+        buf.putInt((int) ((-1L >> 31) & num.value));
+    }
+
+    public void writeSequenceNumberSet(ByteBuffer buf, SequenceNumberSet set) {
+        writeSequenceNumber(buf, set.bitmapBase);
+        buf.putInt(set.numBits.value);
+        for (var i : set.bitmap) {
+            buf.putInt(XByte.reverseBitsInBytes(Integer.reverseBytes(i)));
+        }
+    }
+
+    public void writeFragmentNumberSet(ByteBuffer buf, FragmentNumberSet set) {
+        buf.putInt(set.bitmapBase.value);
+        buf.putInt(set.numBits.value);
+        for (var i : set.bitmap) {
+            buf.putInt(XByte.reverseBitsInBytes(Integer.reverseBytes(i)));
+        }
+    }
+
+    public void writeEntityId(ByteBuffer buf, EntityId entityId) {
+        buf.putInt(Integer.reverseBytes(entityId.value));
+    }
+
+    private UnsignedShort readUnsignedShort(ByteBuffer buf) {
+        var value = new UnsignedShort();
+        value.value = buf.getShort();
+        return value;
+    }
+
+    private UnsignedInt readUnsignedInt(ByteBuffer buf) {
+        var value = new UnsignedInt();
+        value.value = buf.getInt();
+        return value;
+    }
+}
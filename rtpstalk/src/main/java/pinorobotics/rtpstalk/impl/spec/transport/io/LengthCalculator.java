@@ -19,6 +19,7 @@ package pinorobotics.rtpstalk.impl.spec.transport.io;
 
 import id.xfunction.Preconditions;
 import id.xfunction.lang.XRE;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -45,6 +46,7 @@ import pinorobotics.rtpstalk.impl.spec.messages.Locator;
 import pinorobotics.rtpstalk.impl.spec.messages.LocatorKind;
 import pinorobotics.rtpstalk.impl.spec.messages.ProtocolId;
 import pinorobotics.rtpstalk.impl.spec.messages.ReliabilityQosPolicy;
+import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
 import pinorobotics.rtpstalk.impl.spec.messages.ShortSequence;
 import pinorobotics.rtpstalk.impl.spec.messages.StatusInfo;
 import pinorobotics.rtpstalk.impl.spec.messages.UnsignedInt;
@@ -54,8 +56,10 @@ import pinorobotics.rtpstalk.impl.spec.messages.submessages.Data;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Gap;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Heartbeat;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.HeartbeatFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoDestination;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.InfoTimestamp;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.NackFrag;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.RawData;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.RepresentationIdentifier;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.SerializedPayload;
@@ -64,6 +68,7 @@ import pinorobotics.rtpstalk.impl.spec.messages.submessages.SubmessageHeader;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.SubmessageKind;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.Count;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.FragmentNumberSet;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.GuidPrefix;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ParameterId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ParameterList;
@@ -135,6 +140,11 @@ public class LengthCalculator {
             return getFixedLength(EntityId.class) * 2
                     + getFixedLength(SequenceNumber.class) * 2
                     + getFixedLength(Count.class);
+        if (clazz == HeartbeatFrag.class)
+            return getFixedLength(EntityId.class) * 2
+                    + getFixedLength(SequenceNumber.class)
+                    + Integer.BYTES
+                    + getFixedLength(Count.class);
         if (clazz == StatusInfo.class) return StatusInfo.SIZE;
         if (clazz == ProtocolId.class) return ProtocolId.SIZE;
         if (clazz == Header.class)
@@ -180,6 +190,13 @@ public class LengthCalculator {
                     + calculateLength(gap.gapList)
                     + calculateLength(gap.gapStartGSN)
                     + calculateLength(gap.gapEndGSN);
+        if (obj instanceof NackFrag nackFrag)
+            return getFixedLength(EntityId.class) * 2
+                    + getFixedLength(SequenceNumber.class)
+                    + calculateLength(nackFrag.fragmentNumberState)
+                    + getFixedLength(Count.class);
+        if (obj instanceof FragmentNumberSet set)
+            return Integer.BYTES * 2 + Integer.BYTES * set.bitmap.length;
         if (obj instanceof SequenceNumberSet set)
             return getFixedLength(SequenceNumber.class)
                     + Integer.BYTES
@@ -189,12 +206,25 @@ public class LengthCalculator {
             return Integer.BYTES + Integer.BYTES * intSeq.data.length;
         if (obj instanceof ShortSequence shortSeq)
             return Integer.BYTES + Short.BYTES * shortSeq.data.length;
-        if (obj instanceof RawData rawData) return rawData.getData().length;
+        if (obj instanceof RawData rawData) return rawData.size();
         if (obj instanceof Optional<?> opt) return opt.isEmpty() ? 0 : calculateLength(opt.get());
+        if (obj instanceof RtpsMessage message)
+            return getFixedLength(Header.class)
+                    + Arrays.stream(message.submessages)
+                            .mapToInt(
+                                    submessage ->
+                                            getFixedLength(SubmessageHeader.class)
+                                                    + submessage.getSubmessageLength())
+                            .sum();
         throw new XRE("Cannot calculate length for an object of type %s", obj.getClass().getName());
     }
 
     private int calculateParameterLength(Entry<ParameterId, List<Object>> param) {
+        var values = param.getValue();
+        if (values.size() > 1 && values.get(0) instanceof Locator)
+            // each locator is written as a separate parameter
+            return values.size()
+                    * calculateParameterLength(Map.entry(param.getKey(), values.subList(0, 1)));
         return getFixedLength(ParameterId.class) * param.getValue().size()
                 + Short.BYTES /* length */
                 + calculateParameterValueLength(param);
@@ -224,6 +254,7 @@ public class LengthCalculator {
                                     PID_DEFAULT_UNICAST_LOCATOR,
                                     PID_METATRAFFIC_UNICAST_LOCATOR,
                                     PID_UNICAST_LOCATOR,
+                                    PID_MULTICAST_LOCATOR,
                                     PID_PARTICIPANT_GUID,
                                     PID_ENDPOINT_GUID,
                                     PID_PROTOCOL_VERSION,
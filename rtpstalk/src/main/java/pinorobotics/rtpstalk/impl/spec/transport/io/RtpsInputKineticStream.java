@@ -22,11 +22,11 @@ import static pinorobotics.rtpstalk.impl.spec.transport.io.IoConstants.EMPTY_ANN
 import id.kineticstreamer.InputKineticStream;
 import id.kineticstreamer.KineticStreamReader;
 import id.xfunction.Preconditions;
-import id.xfunction.XByte;
 import id.xfunction.lang.XRuntimeException;
 import id.xfunction.logging.XLogger;
 import id.xfunction.util.ImmutableMultiMap;
 import java.lang.annotation.Annotation;
+import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
@@ -57,12 +57,15 @@ import pinorobotics.rtpstalk.impl.spec.messages.submessages.SerializedPayloadHea
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Submessage;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.SubmessageHeader;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.FragmentNumberSet;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ParameterId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ParameterList;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion.Predefined;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
+import pinorobotics.rtpstalk.impl.spec.transport.PooledByteBuffer;
+import pinorobotics.rtpstalk.impl.spec.transport.PooledPayloadView;
 import pinorobotics.rtpstalk.impl.spec.transport.io.exceptions.NotRtpsPacketException;
 
 /**
@@ -73,13 +76,35 @@ class RtpsInputKineticStream implements InputKineticStream {
     private static final XLogger LOGGER = XLogger.getLogger(RtpsInputKineticStream.class);
     private static final int SUBMESSAGE_HEADER_LENGTH =
             LengthCalculator.getInstance().getFixedLength(SubmessageHeader.class);
+    private static final FlatSubmessageCodec CODEC = FlatSubmessageCodec.getInstance();
     private ByteBuffer buf;
     private KineticStreamReader reader;
+    private Optional<PooledByteBuffer> zeroCopyOwner = Optional.empty();
+    private boolean isFlatCodec;
 
     public RtpsInputKineticStream(ByteBuffer buf) {
         this.buf = buf;
     }
 
+    /**
+     * Instead of copying user data, read it as views of the given pooled buffer. Stream buffer
+     * should be the same as {@link PooledByteBuffer#buffer()}.
+     */
+    public RtpsInputKineticStream withZeroCopy(PooledByteBuffer owner) {
+        Preconditions.isTrue(owner.buffer() == buf, "Stream buffer does not belong to the owner");
+        zeroCopyOwner = Optional.of(owner);
+        return this;
+    }
+
+    /**
+     * Read submessages supported by {@link FlatSubmessageCodec} without kineticstreamer. Rest of
+     * the submessages are still read with kineticstreamer.
+     */
+    public RtpsInputKineticStream withFlatCodec(boolean isFlatCodec) {
+        this.isFlatCodec = isFlatCodec;
+        return this;
+    }
+
     @Override
     public void close() throws Exception {}
 
@@ -210,6 +235,7 @@ class RtpsInputKineticStream implements InputKineticStream {
                     value = readString(EMPTY_ANNOTATIONS);
                     break;
                 case PID_UNICAST_LOCATOR:
+                case PID_MULTICAST_LOCATOR:
                 case PID_DEFAULT_UNICAST_LOCATOR:
                 case PID_METATRAFFIC_UNICAST_LOCATOR:
                     value = readLocator();
@@ -268,7 +294,7 @@ class RtpsInputKineticStream implements InputKineticStream {
     private <T extends DataSubmessage> T readData(Class<T> dataType) throws Exception {
         LOGGER.entering("readData");
         var dataSubmessageStart = buf.position() + SUBMESSAGE_HEADER_LENGTH;
-        var data = reader.read(dataType);
+        var data = isFlatCodec ? dataType.cast(CODEC.read(buf, dataType)) : reader.read(dataType);
         if (data.isInlineQos()) {
             LOGGER.fine("Reading InlineQos");
             data.setInlineQos(readParameterList(true));
@@ -285,7 +311,10 @@ class RtpsInputKineticStream implements InputKineticStream {
             }
             var representationId = Optional.of(RepresentationIdentifier.Predefined.CDR_LE);
             if (!isDataFragNoHeader) {
-                var payloadHeader = reader.read(SerializedPayloadHeader.class);
+                var payloadHeader =
+                        isFlatCodec
+                                ? CODEC.readSerializedPayloadHeader(buf)
+                                : reader.read(SerializedPayloadHeader.class);
                 LOGGER.fine("payloadHeader: {0}", payloadHeader);
                 representationId = payloadHeader.representation_identifier.getPredefinedValue();
                 if (representationId.isEmpty())
@@ -312,6 +341,11 @@ class RtpsInputKineticStream implements InputKineticStream {
     }
 
     private RawData readRawData(int len) throws Exception {
+        if (zeroCopyOwner.isPresent()) {
+            var view = new PooledPayloadView(zeroCopyOwner.get(), buf.position(), len);
+            skip(len);
+            return new RawData(view);
+        }
         var a = new byte[len];
         readByteArray(a, EMPTY_ANNOTATIONS);
         return new RawData(a);
@@ -340,7 +374,10 @@ class RtpsInputKineticStream implements InputKineticStream {
 
             // peek submessage type
             buf.mark();
-            var submessageHeader = reader.read(SubmessageHeader.class);
+            var submessageHeader =
+                    isFlatCodec
+                            ? CODEC.readSubmessageHeader(buf)
+                            : reader.read(SubmessageHeader.class);
             LOGGER.fine("submessageHeader: {0}", submessageHeader);
 
             // save position where submessage itself (NOT its header) starts
@@ -382,12 +419,13 @@ class RtpsInputKineticStream implements InputKineticStream {
         if (type == Data.class) return readData(Data.class);
         else if (type == DataFrag.class) return readData(DataFrag.class);
         else if (type == Heartbeat.class) return readHeartbeat();
+        else if (isFlatCodec && CODEC.isSupported(type)) return CODEC.read(buf, type);
         else /* rest we leave for kineticstreamer */ return reader.read(type);
     }
 
     private Heartbeat readHeartbeat() throws Exception {
         // TODO support HeartbeatWithGroupInfo
-        return reader.read(Heartbeat.class);
+        return isFlatCodec ? CODEC.readHeartbeat(buf) : reader.read(Heartbeat.class);
     }
 
     private ByteSequence readByteSequence() throws Exception {
@@ -419,6 +457,12 @@ class RtpsInputKineticStream implements InputKineticStream {
                     address = InetAddress.getByAddress(new byte[4]);
                     break;
                 }
+            case LOCATOR_KIND_SHM:
+            case LOCATOR_KIND_INTRAPROCESS:
+                // use Inet6Address directly since InetAddress may convert some of the addresses to
+                // IPv4
+                address = Inet6Address.getByAddress(null, buf, -1);
+                break;
             case LOCATOR_KIND_INVALID:
                 return Locator.INVALID;
             default:
@@ -449,26 +493,25 @@ class RtpsInputKineticStream implements InputKineticStream {
     }
 
     public SequenceNumber readSequenceNumber() throws Exception {
-        long high = readInt();
-        long low = readInt();
-        return new SequenceNumber((high << 32L) | low);
+        return CODEC.readSequenceNumber(buf);
     }
 
     public SequenceNumberSet readSequenceNumberSet() throws Exception {
         LOGGER.entering("readSequenceNumberSet");
-        var bitmapBase = readSequenceNumber();
-        var numBits = readInt();
-        var bits = new int[(numBits + 31) / 32];
-        for (int i = 0; i < bits.length; i++) {
-            bits[i] = XByte.reverseBitsInBytes(Integer.reverseBytes(buf.getInt()));
-        }
+        var set = CODEC.readSequenceNumberSet(buf);
         LOGGER.exiting("readSequenceNumberSet");
-        return new SequenceNumberSet(bitmapBase, numBits, bits);
+        return set;
+    }
+
+    public FragmentNumberSet readFragmentNumberSet() throws Exception {
+        LOGGER.entering("readFragmentNumberSet");
+        var set = CODEC.readFragmentNumberSet(buf);
+        LOGGER.exiting("readFragmentNumberSet");
+        return set;
     }
 
     public EntityId readEntityId() throws Exception {
-        var val = Integer.reverseBytes(buf.getInt());
-        return new EntityId(val);
+        return CODEC.readEntityId(buf);
     }
 
     public StatusInfo readStatusInfo() {
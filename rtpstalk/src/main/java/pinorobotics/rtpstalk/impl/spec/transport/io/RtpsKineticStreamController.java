@@ -22,6 +22,7 @@ import id.kineticstreamer.KineticStreamController;
 import id.kineticstreamer.OutputKineticStream;
 import pinorobotics.rtpstalk.impl.spec.messages.Header;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.FragmentNumberSet;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ParameterList;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumberSet;
@@ -47,6 +48,10 @@ class RtpsKineticStreamController extends KineticStreamController {
             // reading it manually in custom format
             return new ReaderResult(true, rtpsStream.readSequenceNumberSet());
         }
+        if (fieldType == FragmentNumberSet.class) {
+            // reading it manually in custom format
+            return new ReaderResult(true, rtpsStream.readFragmentNumberSet());
+        }
         if (fieldType == EntityId.class) {
             // reading it manually in custom format
             return new ReaderResult(true, rtpsStream.readEntityId());
@@ -72,6 +77,11 @@ class RtpsKineticStreamController extends KineticStreamController {
             rtpsStream.writeSequenceNumberSet(set);
             return new WriterResult(true);
         }
+        if (obj instanceof FragmentNumberSet set) {
+            // writing it manually in custom format
+            rtpsStream.writeFragmentNumberSet(set);
+            return new WriterResult(true);
+        }
         if (obj instanceof EntityId entiyId) {
             // writing it manually in custom format
             rtpsStream.writeEntityId(entiyId);
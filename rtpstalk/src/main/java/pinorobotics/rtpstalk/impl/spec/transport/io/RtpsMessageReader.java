@@ -30,6 +30,8 @@ import java.time.Instant;
 import java.util.Optional;
 import pinorobotics.rtpstalk.RtpsTalkConfiguration;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.RawData;
+import pinorobotics.rtpstalk.impl.spec.transport.PooledByteBuffer;
 import pinorobotics.rtpstalk.impl.spec.transport.io.exceptions.NotRtpsPacketException;
 import pinorobotics.rtpstalk.impl.spec.transport.io.exceptions.UnsupportedProtocolVersion;
 import pinorobotics.rtpstalk.metrics.RtpsTalkMetrics;
@@ -54,6 +56,20 @@ public class RtpsMessageReader {
                     .withFieldsProvider(
                             new PublicStreamedFieldsProvider(
                                     FieldsOrderedByNameProvider::readOrderedFieldNames));
+    private boolean isFlatCodec;
+
+    /** Creates reader which uses {@link FlatSubmessageCodec} for the submessages it supports */
+    public RtpsMessageReader() {
+        this(true);
+    }
+
+    /**
+     * @param isFlatCodec when false all submessages are read with kineticstreamer (used to
+     *     cross-check both codecs)
+     */
+    public RtpsMessageReader(boolean isFlatCodec) {
+        this.isFlatCodec = isFlatCodec;
+    }
 
     /**
      * Read full RTPS message from stream of bytes.
@@ -64,9 +80,29 @@ public class RtpsMessageReader {
      * @throws Exception when message cannot be read
      */
     public Optional<RtpsMessage> readRtpsMessage(ByteBuffer buf) throws Exception {
+        return readRtpsMessage(
+                new RtpsInputKineticStream(buf.order(RtpsTalkConfiguration.getByteOrder()))
+                        .withFlatCodec(isFlatCodec));
+    }
+
+    /**
+     * Same as {@link #readRtpsMessage(ByteBuffer)} except that user data is not copied and instead
+     * it is stored as views of the given buffer (see {@link RawData#getView()}).
+     *
+     * <p>Views do not increment buffer reference count and are valid only until buffer is released
+     * by its current owner.
+     */
+    public Optional<RtpsMessage> readRtpsMessageZeroCopy(PooledByteBuffer buf) throws Exception {
+        return readRtpsMessage(
+                new RtpsInputKineticStream(buf.buffer().order(RtpsTalkConfiguration.getByteOrder()))
+                        .withZeroCopy(buf)
+                        .withFlatCodec(isFlatCodec));
+    }
+
+    private Optional<RtpsMessage> readRtpsMessage(RtpsInputKineticStream in) throws Exception {
         var startAt = Instant.now();
         try {
-            return Optional.of(read(buf, RtpsMessage.class));
+            return Optional.of(read(in, RtpsMessage.class));
         } catch (NotRtpsPacketException e) {
             LOGGER.fine("Not RTPS packet, ignoring...");
             return Optional.empty();
@@ -84,7 +120,13 @@ public class RtpsMessageReader {
      * @param type allows users to choose if they want to read full message or particular part of it
      */
     public <T> T read(ByteBuffer buf, Class<T> type) throws Exception {
-        var in = new RtpsInputKineticStream(buf.order(RtpsTalkConfiguration.getByteOrder()));
+        return read(
+                new RtpsInputKineticStream(buf.order(RtpsTalkConfiguration.getByteOrder()))
+                        .withFlatCodec(isFlatCodec),
+                type);
+    }
+
+    private <T> T read(RtpsInputKineticStream in, Class<T> type) throws Exception {
         var res = controller.onNextObject(in, null, type);
         if (res.object().isPresent()) return (T) res.object().get();
         var ksr = new KineticStreamReader(in).withController(controller);
@@ -26,8 +26,15 @@ import io.opentelemetry.api.metrics.Meter;
 import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import pinorobotics.rtpstalk.RtpsTalkConfiguration;
 import pinorobotics.rtpstalk.impl.spec.messages.RtpsMessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataSubmessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.RawData;
+import pinorobotics.rtpstalk.impl.spec.transport.io.RtpsOutputKineticStream.GatheredPayload;
 import pinorobotics.rtpstalk.metrics.RtpsTalkMetrics;
 
 /**
@@ -48,6 +55,20 @@ public class RtpsMessageWriter {
                     .withFieldsProvider(
                             new PublicStreamedFieldsProvider(
                                     FieldsOrderedByNameProvider::readOrderedFieldNames));
+    private boolean isFlatCodec;
+
+    /** Creates writer which uses {@link FlatSubmessageCodec} for the submessages it supports */
+    public RtpsMessageWriter() {
+        this(true);
+    }
+
+    /**
+     * @param isFlatCodec when false all submessages are written with kineticstreamer (used to
+     *     cross-check both codecs)
+     */
+    public RtpsMessageWriter(boolean isFlatCodec) {
+        this.isFlatCodec = isFlatCodec;
+    }
 
     /** Write full RTPS message to stream of bytes */
     public void writeRtpsMessage(RtpsMessage message, ByteBuffer buf) throws Exception {
@@ -59,13 +80,51 @@ public class RtpsMessageWriter {
         }
     }
 
+    /**
+     * Serialize RTPS message once so that later it can be sent to multiple readers without
+     * serializing it again (see {@link EncodedRtpsMessage}).
+     *
+     * <p>User data is not copied, encoded message keeps references to it.
+     */
+    public EncodedRtpsMessage encode(RtpsMessage message) throws Exception {
+        var payloadsLength =
+                Arrays.stream(message.submessages)
+                        .filter(DataSubmessage.class::isInstance)
+                        .map(DataSubmessage.class::cast)
+                        .flatMap(data -> data.getSerializedPayload().stream())
+                        .map(payload -> payload.payload)
+                        .filter(RtpsOutputKineticStream::isGathered)
+                        .mapToInt(payload -> ((RawData) payload).size())
+                        .sum();
+        var buf =
+                ByteBuffer.allocate(
+                        LengthCalculator.getInstance().calculateLength(message) - payloadsLength);
+        var payloads = new ArrayList<GatheredPayload>();
+        var startAt = Instant.now();
+        try {
+            write(message, buf, Optional.of(payloads));
+        } finally {
+            WRITE_TIME_METER.record(Duration.between(startAt, Instant.now()).toMillis());
+        }
+        return new EncodedRtpsMessage(buf.flip(), payloads);
+    }
+
     /**
      * Write RTPS message to stream of bytes.
      *
      * @param message can be full RTPS message or particular part of it
      */
     public <T> void write(T message, ByteBuffer buf) throws Exception {
-        var out = new RtpsOutputKineticStream(buf.order(RtpsTalkConfiguration.getByteOrder()));
+        write(message, buf, Optional.empty());
+    }
+
+    private <T> void write(
+            T message, ByteBuffer buf, Optional<List<GatheredPayload>> gatheredPayloads)
+            throws Exception {
+        var out =
+                new RtpsOutputKineticStream(buf.order(RtpsTalkConfiguration.getByteOrder()))
+                        .withFlatCodec(isFlatCodec);
+        gatheredPayloads.ifPresent(out::withGatheredPayloads);
         var res = controller.onNextObject(out, message);
         if (res.skip()) return;
         var ksw = new KineticStreamWriter(out).withController(controller);
@@ -22,21 +22,25 @@ import static pinorobotics.rtpstalk.impl.spec.transport.io.IoConstants.EMPTY_ANN
 import id.kineticstreamer.KineticStreamWriter;
 import id.kineticstreamer.OutputKineticStream;
 import id.xfunction.Preconditions;
-import id.xfunction.XByte;
 import id.xfunction.logging.XLogger;
 import id.xfunction.util.ImmutableMultiMap;
 import java.lang.annotation.Annotation;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.function.Function;
 import pinorobotics.rtpstalk.impl.InternalUtils;
 import pinorobotics.rtpstalk.impl.spec.RtpsSpecReference;
 import pinorobotics.rtpstalk.impl.spec.messages.Locator;
 import pinorobotics.rtpstalk.impl.spec.messages.StatusInfo;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.DataSubmessage;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.Payload;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.RawData;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.SerializedPayload;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.Submessage;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
+import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.FragmentNumberSet;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ParameterId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ParameterList;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ProtocolVersion.Predefined;
@@ -49,13 +53,54 @@ import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNum
 class RtpsOutputKineticStream implements OutputKineticStream {
 
     private static final XLogger LOGGER = XLogger.getLogger(RtpsInputKineticStream.class);
+    private static final FlatSubmessageCodec CODEC = FlatSubmessageCodec.getInstance();
     private ByteBuffer buf;
     private KineticStreamWriter writer;
+    private boolean isFlatCodec;
+    private Optional<List<GatheredPayload>> gatheredPayloads = Optional.empty();
+    private int gatheredLength;
+
+    /**
+     * User data which was not written to the buffer (see {@link #withGatheredPayloads(List)}).
+     *
+     * @param position position in the buffer where payload should be inserted
+     */
+    record GatheredPayload(int position, ByteBuffer payload) {}
 
     public RtpsOutputKineticStream(ByteBuffer buf) {
         this.buf = buf;
     }
 
+    /**
+     * Instead of copying user data to the buffer, add it to the given list. Only headers of the
+     * message are written to the buffer then and payloads are inserted into them later, when
+     * message is sent.
+     *
+     * <p>Only the payloads which are safe to be kept after the message is written are gathered (see
+     * {@link #isGathered(Payload)}).
+     */
+    public RtpsOutputKineticStream withGatheredPayloads(List<GatheredPayload> gatheredPayloads) {
+        this.gatheredPayloads = Optional.of(gatheredPayloads);
+        return this;
+    }
+
+    /**
+     * Payloads stored in the network buffers (see {@link RawData#getView()}) are valid only while
+     * message is processed so they are always copied.
+     */
+    static boolean isGathered(Payload payload) {
+        return payload instanceof RawData rawData && rawData.getView().isEmpty();
+    }
+
+    /**
+     * Write submessages supported by {@link FlatSubmessageCodec} without kineticstreamer. Rest of
+     * the submessages are still written with kineticstreamer.
+     */
+    public RtpsOutputKineticStream withFlatCodec(boolean isFlatCodec) {
+        this.isFlatCodec = isFlatCodec;
+        return this;
+    }
+
     @Override
     public void close() throws Exception {
         throw new UnsupportedOperationException();
@@ -77,9 +122,10 @@ class RtpsOutputKineticStream implements OutputKineticStream {
 
     private void writeSubmessages(Submessage[] a) throws Exception {
         for (int i = 0; i < a.length; i++) {
-            Preconditions.isTrue(buf.position() % 4 == 0, "Invalid submessage alignment");
+            Preconditions.isTrue(getPosition() % 4 == 0, "Invalid submessage alignment");
 
             if (a[i] instanceof DataSubmessage data) writeData(data);
+            else if (isFlatCodec && CODEC.isSupported(a[i].getClass())) CODEC.write(buf, a[i]);
             else writer.write(a[i]);
 
             // The PSM aligns each Submessage on a 32-bit boundary with respect
@@ -96,7 +142,7 @@ class RtpsOutputKineticStream implements OutputKineticStream {
                     "The PSM aligns each Submessage on a 32-bit boundary with respect to the start"
                             + " of the Message")
     private void align(int blockSize) throws Exception {
-        var pos = buf.position();
+        var pos = getPosition();
         var padding = InternalUtils.getInstance().padding(pos, 4);
         for (int i = 0; i < padding; i++) {
             writeByte((byte) 0);
@@ -168,19 +214,41 @@ class RtpsOutputKineticStream implements OutputKineticStream {
 
     public void writeData(DataSubmessage data) throws Exception {
         LOGGER.entering("writeData");
-        writer.write(data);
+        if (isFlatCodec) CODEC.write(buf, (Submessage) data);
+        else writer.write(data);
         if (data.getInlineQos().isPresent()) writeParameterList(data.getInlineQos().get());
         try {
             var payload = data.getSerializedPayload().orElse(null);
             if (payload == null) return;
-            if (payload.serializedPayloadHeader.isPresent())
-                writer.write(payload.serializedPayloadHeader.get());
-            writer.write(payload);
+            if (payload.serializedPayloadHeader.isPresent()) {
+                if (isFlatCodec)
+                    CODEC.writeSerializedPayloadHeader(buf, payload.serializedPayloadHeader.get());
+                else writer.write(payload.serializedPayloadHeader.get());
+            }
+            writePayload(payload);
         } finally {
             LOGGER.exiting("writeData");
         }
     }
 
+    private void writePayload(SerializedPayload payload) throws Exception {
+        if (gatheredPayloads.isPresent() && isGathered(payload.payload)) {
+            var data = ((RawData) payload.payload).getBuffer();
+            gatheredPayloads.get().add(new GatheredPayload(buf.position(), data));
+            gatheredLength += data.remaining();
+        } else if (payload.payload instanceof RawData rawData) {
+            // writing it manually since it may be stored not only in the array
+            buf.put(rawData.getBuffer());
+        } else {
+            writer.write(payload);
+        }
+    }
+
+    /** Position in the message including payloads which were gathered */
+    private int getPosition() {
+        return buf.position() + gatheredLength;
+    }
+
     public void writeParameterList(ParameterList pl) throws Exception {
         LOGGER.entering("writeParameterList");
         if (pl.isEmpty()) return;
@@ -224,20 +292,25 @@ class RtpsOutputKineticStream implements OutputKineticStream {
             if (values.isEmpty()) continue;
             var len = lenCalculator.apply(param);
             if (len == 0) continue;
-            Preconditions.isTrue(
-                    (buf.position() - paramListStart) % 4 == 0,
-                    "Invalid param alignment: %s",
-                    param.getKey());
-            writeShort(paramIdMapper.apply(param.getKey()), EMPTY_ANNOTATIONS);
-            writeShort(len.shortValue(), EMPTY_ANNOTATIONS);
-            var endPos = buf.position() + len;
             var firstValue = values.get(0);
-            if (firstValue instanceof Locator locator) writeLocator(locator);
-            else if (firstValue instanceof StatusInfo statusInfo) writeStatusInfo(statusInfo);
-            else writer.write(firstValue);
-
-            // pad rest with zeros
-            while (buf.position() < endPos) writeByte((byte) 0);
+            // participants may have multiple locators of the same kind (for example, one per each
+            // transport) and each of them is written as a separate parameter
+            var paramValues = firstValue instanceof Locator ? values : values.subList(0, 1);
+            for (var value : paramValues) {
+                Preconditions.isTrue(
+                        (buf.position() - paramListStart) % 4 == 0,
+                        "Invalid param alignment: %s",
+                        param.getKey());
+                writeShort(paramIdMapper.apply(param.getKey()), EMPTY_ANNOTATIONS);
+                writeShort(len.shortValue(), EMPTY_ANNOTATIONS);
+                var endPos = buf.position() + len;
+                if (value instanceof Locator locator) writeLocator(locator);
+                else if (value instanceof StatusInfo statusInfo) writeStatusInfo(statusInfo);
+                else writer.write(value);
+
+                // pad rest with zeros
+                while (buf.position() < endPos) writeByte((byte) 0);
+            }
         }
         LOGGER.exiting("writeParameterList");
     }
@@ -261,6 +334,10 @@ class RtpsOutputKineticStream implements OutputKineticStream {
                     writeByteArray(buf, EMPTY_ANNOTATIONS);
                     break;
                 }
+            case LOCATOR_KIND_SHM:
+            case LOCATOR_KIND_INTRAPROCESS:
+                writeByteArray(locator.address().getAddress(), EMPTY_ANNOTATIONS);
+                break;
             default:
                 // ignore
                 break;
@@ -274,24 +351,25 @@ class RtpsOutputKineticStream implements OutputKineticStream {
 
     public void writeSequenceNumber(SequenceNumber num) throws Exception {
         LOGGER.entering("writeSequenceNumber");
-        writeInt((int) (num.value >> 32));
-        writeInt((int) ((-1L >> 31) & num.value));
+        CODEC.writeSequenceNumber(buf, num);
         LOGGER.exiting("writeSequenceNumber");
     }
 
     public void writeSequenceNumberSet(SequenceNumberSet set) throws Exception {
         LOGGER.entering("writeSequenceNumberSet");
-        writeSequenceNumber(set.bitmapBase);
-        writeInt(set.numBits.value);
-        for (var i : set.bitmap) {
-            buf.putInt(XByte.reverseBitsInBytes(Integer.reverseBytes(i)));
-        }
+        CODEC.writeSequenceNumberSet(buf, set);
         LOGGER.exiting("writeSequenceNumberSet");
     }
 
+    public void writeFragmentNumberSet(FragmentNumberSet set) throws Exception {
+        LOGGER.entering("writeFragmentNumberSet");
+        CODEC.writeFragmentNumberSet(buf, set);
+        LOGGER.exiting("writeFragmentNumberSet");
+    }
+
     public void writeEntityId(EntityId entiyId) throws Exception {
         LOGGER.entering("writeEntityId");
-        buf.putInt(Integer.reverseBytes(entiyId.value));
+        CODEC.writeEntityId(buf, entiyId);
         LOGGER.exiting("writeEntityId");
     }
 
@@ -19,6 +19,7 @@ package pinorobotics.rtpstalk.impl.spec.userdata;
 
 import id.xfunction.logging.TracingToken;
 import java.util.concurrent.Executor;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
 import pinorobotics.rtpstalk.impl.spec.behavior.reader.StatelessRtpsReader;
@@ -26,6 +27,7 @@ import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ParameterList;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
+import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageDemultiplexer;
 import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
 
 /**
@@ -33,20 +35,29 @@ import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
  */
 public class BestEffortDataReader extends StatelessRtpsReader<RtpsTalkDataMessage> {
     private static final SampleIdentityProcessor IDENTITY_PROC = new SampleIdentityProcessor();
+    private final RtpsMessageDemultiplexer demultiplexer;
 
+    /**
+     * @param demultiplexer demultiplexer which routes submessages to this reader
+     */
     protected BestEffortDataReader(
             RtpsTalkConfigurationInternal config,
             TracingToken tracingToken,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             EntityId entityId,
-            ReaderQosPolicySet readerQosPolicy) {
+            ReaderQosPolicySet readerQosPolicy,
+            RtpsMessageDemultiplexer demultiplexer) {
         super(
                 config.publicConfig(),
                 tracingToken,
                 RtpsTalkDataMessage.class,
                 publisherExecutor,
                 entityId,
-                readerQosPolicy.reliabilityKind());
+                readerQosPolicy.reliabilityKind(),
+                readerQosPolicy.historyQosPolicy());
+        this.demultiplexer = demultiplexer;
+        scheduleDataFragmentsExpiry(timer);
     }
 
     @Override
@@ -59,4 +70,10 @@ public class BestEffortDataReader extends StatelessRtpsReader<RtpsTalkDataMessag
         message.userInlineQos()
                 .ifPresent(params -> IDENTITY_PROC.updateSampleIdentity(params, seqNum));
     }
+
+    @Override
+    public void close() {
+        demultiplexer.unsubscribeReader(getGuid().entityId);
+        super.close();
+    }
 }
@@ -21,6 +21,7 @@ import id.xfunction.logging.TracingToken;
 import id.xfunction.logging.XLogger;
 import java.util.concurrent.Executor;
 import pinorobotics.rtpstalk.WriterSettings;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
 import pinorobotics.rtpstalk.impl.qos.WriterQosPolicySet;
@@ -28,6 +29,7 @@ import pinorobotics.rtpstalk.impl.spec.behavior.LocalOperatingEntities;
 import pinorobotics.rtpstalk.impl.spec.behavior.reader.RtpsReader;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.transport.DataChannelFactory;
+import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageDemultiplexer;
 import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
 
 /**
@@ -40,10 +42,12 @@ public class DataObjectsFactory {
             RtpsTalkConfigurationInternal config,
             TracingToken tracingToken,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             LocalOperatingEntities operatingEntities,
             EntityId readerEntityId,
             ReaderQosPolicySet subscriberQosPolicy,
-            DataChannelFactory dataChannelFactory) {
+            DataChannelFactory dataChannelFactory,
+            RtpsMessageDemultiplexer demultiplexer) {
         var reliabilityKind = subscriberQosPolicy.reliabilityKind();
         LOGGER.fine("Create new user data reader {0}", readerEntityId);
         return switch (reliabilityKind) {
@@ -52,17 +56,21 @@ public class DataObjectsFactory {
                             config,
                             tracingToken,
                             publisherExecutor,
+                            timer,
                             operatingEntities,
                             readerEntityId,
                             subscriberQosPolicy,
-                            dataChannelFactory);
+                            dataChannelFactory,
+                            demultiplexer);
             case BEST_EFFORT ->
                     new BestEffortDataReader(
                             config,
                             tracingToken,
                             publisherExecutor,
+                            timer,
                             readerEntityId,
-                            subscriberQosPolicy);
+                            subscriberQosPolicy,
+                            demultiplexer);
             default ->
                     throw new UnsupportedOperationException("Reliability kind " + reliabilityKind);
         };
@@ -72,6 +80,7 @@ public class DataObjectsFactory {
             RtpsTalkConfigurationInternal config,
             TracingToken tracingToken,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             DataChannelFactory channelFactory,
             LocalOperatingEntities operatingEntities,
             EntityId writerEntityId,
@@ -82,6 +91,7 @@ public class DataObjectsFactory {
                 config,
                 tracingToken,
                 publisherExecutor,
+                timer,
                 channelFactory,
                 operatingEntities,
                 writerEntityId,
@@ -20,6 +20,7 @@ package pinorobotics.rtpstalk.impl.spec.userdata;
 import id.xfunction.logging.TracingToken;
 import java.util.concurrent.Executor;
 import pinorobotics.rtpstalk.WriterSettings;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.qos.WriterQosPolicySet;
 import pinorobotics.rtpstalk.impl.spec.behavior.LocalOperatingEntities;
@@ -36,6 +37,7 @@ public class DataWriter extends StatefullReliableRtpsWriter<RtpsTalkDataMessage>
             RtpsTalkConfigurationInternal config,
             TracingToken tracingToken,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             DataChannelFactory channelFactory,
             LocalOperatingEntities operatingEntities,
             EntityId writerEntityId,
@@ -45,6 +47,7 @@ public class DataWriter extends StatefullReliableRtpsWriter<RtpsTalkDataMessage>
                 config,
                 tracingToken,
                 publisherExecutor,
+                timer,
                 channelFactory,
                 operatingEntities,
                 writerEntityId,
@@ -19,6 +19,7 @@ package pinorobotics.rtpstalk.impl.spec.userdata;
 
 import id.xfunction.logging.TracingToken;
 import java.util.concurrent.Executor;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
 import pinorobotics.rtpstalk.impl.spec.behavior.LocalOperatingEntities;
@@ -28,6 +29,7 @@ import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.ParameterList;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.SequenceNumber;
 import pinorobotics.rtpstalk.impl.spec.transport.DataChannelFactory;
+import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageDemultiplexer;
 import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
 
 /**
@@ -36,24 +38,38 @@ import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
 public class ReliableDataReader extends StatefullReliableRtpsReader<RtpsTalkDataMessage> {
 
     private static final SampleIdentityProcessor IDENTITY_PROC = new SampleIdentityProcessor();
+    private final RtpsMessageDemultiplexer demultiplexer;
 
+    /**
+     * @param demultiplexer demultiplexer which routes submessages to this reader
+     */
     protected ReliableDataReader(
             RtpsTalkConfigurationInternal config,
             TracingToken tracingToken,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             LocalOperatingEntities operatingEntities,
             EntityId entityId,
             ReaderQosPolicySet readerQosPolicy,
-            DataChannelFactory dataChannelFactory) {
+            DataChannelFactory dataChannelFactory,
+            RtpsMessageDemultiplexer demultiplexer) {
         super(
                 config,
                 tracingToken,
                 RtpsTalkDataMessage.class,
                 publisherExecutor,
+                timer,
                 operatingEntities,
                 entityId,
                 readerQosPolicy,
                 dataChannelFactory);
+        this.demultiplexer = demultiplexer;
+    }
+
+    @Override
+    public void matchedWriterRemove(Guid writer) {
+        super.matchedWriterRemove(writer);
+        demultiplexer.matchedWriterRemove(getGuid().entityId, writer);
     }
 
     @Override
@@ -66,4 +82,10 @@ public class ReliableDataReader extends StatefullReliableRtpsReader<RtpsTalkData
         message.userInlineQos()
                 .ifPresent(params -> IDENTITY_PROC.updateSampleIdentity(params, seqNum));
     }
+
+    @Override
+    public void close() {
+        demultiplexer.unsubscribeReader(getGuid().entityId);
+        super.close();
+    }
 }
@@ -21,11 +21,17 @@ import id.xfunction.Preconditions;
 import id.xfunction.logging.TracingToken;
 import id.xfunction.logging.XLogger;
 import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.Executor;
 import java.util.function.Predicate;
+import pinorobotics.rtpstalk.RtpsTalkConfiguration;
+import pinorobotics.rtpstalk.impl.HashedWheelTimer;
+import pinorobotics.rtpstalk.impl.InternalUtils;
 import pinorobotics.rtpstalk.impl.PublisherDetails;
 import pinorobotics.rtpstalk.impl.RtpsNetworkInterface;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
@@ -35,10 +41,13 @@ import pinorobotics.rtpstalk.impl.spec.behavior.reader.RtpsReader;
 import pinorobotics.rtpstalk.impl.spec.behavior.reader.StatefullReliableRtpsReader;
 import pinorobotics.rtpstalk.impl.spec.messages.Guid;
 import pinorobotics.rtpstalk.impl.spec.messages.Locator;
+import pinorobotics.rtpstalk.impl.spec.messages.LocatorKind;
 import pinorobotics.rtpstalk.impl.spec.messages.submessages.elements.EntityId;
 import pinorobotics.rtpstalk.impl.spec.transport.DataChannelFactory;
+import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageDemultiplexer;
 import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageReceiver;
 import pinorobotics.rtpstalk.impl.spec.transport.RtpsMessageReceiverFactory;
+import pinorobotics.rtpstalk.impl.spec.transport.Transport;
 import pinorobotics.rtpstalk.messages.RtpsTalkDataMessage;
 
 /**
@@ -49,6 +58,10 @@ public class UserDataService implements AutoCloseable {
     private XLogger logger;
     private RtpsTalkConfigurationInternal config;
     private RtpsMessageReceiver receiver;
+    private Optional<RtpsMessageReceiver> multicastReceiver = Optional.empty();
+    private List<RtpsMessageReceiver> transportReceivers = new ArrayList<>();
+    private Optional<Locator> multicastLocator = Optional.empty();
+    private RtpsMessageDemultiplexer demultiplexer;
     private DataChannelFactory channelFactory;
     private Map<EntityId, RtpsReader<RtpsTalkDataMessage>> readers = new HashMap<>();
     private Map<EntityId, DataWriter> writers = new HashMap<>();
@@ -58,15 +71,18 @@ public class UserDataService implements AutoCloseable {
     private DataObjectsFactory dataObjectsFactory;
     private RtpsMessageReceiverFactory receiverFactory;
     private Executor publisherExecutor;
+    private HashedWheelTimer timer;
 
     public UserDataService(
             RtpsTalkConfigurationInternal config,
             Executor publisherExecutor,
+            HashedWheelTimer timer,
             DataChannelFactory channelFactory,
             DataObjectsFactory dataObjectsfactory,
             RtpsMessageReceiverFactory receiverFactory) {
         this.config = config;
         this.publisherExecutor = publisherExecutor;
+        this.timer = timer;
         this.channelFactory = channelFactory;
         this.dataObjectsFactory = dataObjectsfactory;
         this.receiverFactory = receiverFactory;
@@ -86,10 +102,12 @@ public class UserDataService implements AutoCloseable {
                             config,
                             tracingToken,
                             publisherExecutor,
+                            timer,
                             operatingEntities,
                             readerEntityId,
                             subscriberDetails.qosPolicy(),
-                            channelFactory);
+                            channelFactory,
+                            demultiplexer);
             readers.put(readerEntityId, reader);
         }
         Preconditions.equals(
@@ -97,6 +115,9 @@ public class UserDataService implements AutoCloseable {
                 subscriberDetails.qosPolicy().reliabilityKind(),
                 "Subscriber already exists with reliabilityKind %s. Subscribers of different"
                         + " QoS are not allowed.");
+        // messages which writer sends to multicast group are not directed to any particular
+        // reader so demultiplexer should know to which of the local readers they belong
+        demultiplexer.matchedWriterAdd(readerEntityId, remoteWriterEndpointGuid);
         if (reader instanceof StatefullReliableRtpsReader<?> realiableReader)
             realiableReader.matchedWriterAdd(
                     remoteWriterEndpointGuid, remoteWriterDefaultUnicastLocators);
@@ -107,7 +128,8 @@ public class UserDataService implements AutoCloseable {
         } else {
             reader.subscribe(userSubscriber);
         }
-        if (!receiver.isSubscribed(reader)) receiver.subscribe(reader);
+        if (!demultiplexer.isReaderSubscribed(readerEntityId))
+            demultiplexer.subscribeReader(readerEntityId, reader);
     }
 
     public void publish(EntityId writerEntityId, PublisherDetails publisherDetails) {
@@ -121,6 +143,7 @@ public class UserDataService implements AutoCloseable {
                         config,
                         tracingToken,
                         publisherExecutor,
+                        timer,
                         channelFactory,
                         operatingEntities,
                         writerEntityId,
@@ -128,7 +151,7 @@ public class UserDataService implements AutoCloseable {
                         publisherDetails.writerSettings());
         writers.put(writerEntityId, writer);
         publisherDetails.publisher().subscribe(writer);
-        receiver.subscribe(writer.getWriterReader());
+        demultiplexer.subscribeWriter(writerEntityId, writer.getWriterReader());
     }
 
     public void start(TracingToken token, RtpsNetworkInterface iface) throws IOException {
@@ -140,19 +163,81 @@ public class UserDataService implements AutoCloseable {
                         config.publicConfig(),
                         new TracingToken(tracingToken, "UserDataServiceReceiver"),
                         publisherExecutor);
+        demultiplexer =
+                new RtpsMessageDemultiplexer(
+                        config.publicConfig(),
+                        new TracingToken(tracingToken, "UserDataServiceDemultiplexer"),
+                        publisherExecutor);
+        receiver.subscribe(demultiplexer);
         logger.entering("start");
         logger.fine("Starting user service on {0}", iface.getLocalDefaultUnicastLocator());
         receiver.start(iface.getDefaultUnicastChannel());
+        var multicastGroup = config.publicConfig().userDataMulticastGroup().orElse(null);
+        if (multicastGroup != null) startMulticast(multicastGroup);
+        for (var transportChannel : iface.getTransportChannels()) {
+            startTransportReceiver(transportChannel);
+        }
         operatingEntities = iface.getOperatingEntities();
         isStarted = true;
     }
 
+    private void startMulticast(InetSocketAddress multicastGroup) throws IOException {
+        var locator =
+                new Locator(
+                        LocatorKind.LOCATOR_KIND_UDPv4,
+                        multicastGroup.getPort(),
+                        multicastGroup.getAddress());
+        var networkInterfaces =
+                config.publicConfig()
+                        .networkInterface()
+                        .map(List::of)
+                        .orElseGet(() -> InternalUtils.getInstance().listAllNetworkInterfaces());
+        logger.fine(
+                "Joining user data multicast group {0} on network interfaces {1}",
+                locator, networkInterfaces);
+        var multicastReceiver =
+                receiverFactory.newRtpsMessageReceiver(
+                        config.publicConfig(),
+                        new TracingToken(tracingToken, "UserDataServiceMulticastReceiver"),
+                        publisherExecutor);
+        demultiplexer.addSource(multicastReceiver);
+        multicastReceiver.start(
+                channelFactory.bindMulticast(tracingToken, networkInterfaces, locator));
+        this.multicastReceiver = Optional.of(multicastReceiver);
+        multicastLocator = Optional.of(locator);
+    }
+
+    private void startTransportReceiver(Transport.BoundChannel transportChannel)
+            throws IOException {
+        logger.fine("Starting user service on {0}", transportChannel.locator());
+        var transportReceiver =
+                receiverFactory.newRtpsMessageReceiver(
+                        config.publicConfig(),
+                        new TracingToken(tracingToken, "UserDataServiceTransportReceiver"),
+                        publisherExecutor);
+        demultiplexer.addSource(transportReceiver);
+        transportReceiver.start(transportChannel.channel());
+        transportReceivers.add(transportReceiver);
+    }
+
+    /**
+     * Multicast locator which remote writers can use to send user data to all local readers at
+     * once. Available only when multicast is enabled (see {@link
+     * RtpsTalkConfiguration#userDataMulticastGroup()}).
+     */
+    public Optional<Locator> getMulticastLocator() {
+        return multicastLocator;
+    }
+
     @Override
     public void close() {
         if (!isStarted) return;
         logger.fine("Closing");
         closeDataWriters();
         receiver.close();
+        multicastReceiver.ifPresent(RtpsMessageReceiver::close);
+        transportReceivers.forEach(RtpsMessageReceiver::close);
+        demultiplexer.close();
         // close DataReader only after all pending changes in DataWriter were sent
         readers.values().forEach(RtpsReader::close);
     }
@@ -198,9 +198,20 @@ public abstract class AbstractTopicManager<A extends ActorDetails>
                                                         + " default...");
                                         return DurabilityQosPolicy.Kind.VOLATILE_DURABILITY_QOS;
                                     });
+            // multicast locators are optional and, unlike unicast ones, they are not looked up
+            // in the participant data since only endpoints which are ready to receive user data
+            // over multicast announce them
+            var multicastLocators =
+                    pl.get(ParameterId.PID_MULTICAST_LOCATOR).stream()
+                            .map(Locator.class::cast)
+                            .toList();
             var remoteActorDetails =
                     new RemoteActorDetails(
-                            pubEndpointGuid, pubUnicastLocators, reliabilityKind, durabilityKind);
+                            pubEndpointGuid,
+                            pubUnicastLocators,
+                            reliabilityKind,
+                            durabilityKind,
+                            multicastLocators);
             logger.info(
                     "Discovered {0} for topic {1} type {2} with following details {3}",
                     actorsType == Type.Publisher ? Type.Subscriber : Type.Publisher,
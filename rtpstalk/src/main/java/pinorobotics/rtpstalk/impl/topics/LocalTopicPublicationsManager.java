@@ -120,6 +120,7 @@ public class LocalTopicPublicationsManager extends AbstractTopicManager<Publishe
                                     writer.matchedReaderAdd(
                                             remoteActor.endpointGuid(),
                                             remoteActor.writerUnicastLocator(),
+                                            remoteActor.multicastLocators(),
                                             new ReaderQosPolicySet(
                                                     remoteActor.reliabilityKind(),
                                                     remoteActor.durabilityKind()));
@@ -175,36 +176,40 @@ public class LocalTopicPublicationsManager extends AbstractTopicManager<Publishe
                     new RuntimeException("Reader " + remoteReaderGuid + " is not known to SEDP"));
             return future;
         }
-        new Thread(tracingToken.toString()) {
-            @Override
-            public void run() {
-                var hb = config.publicConfig().heartbeatPeriod();
-                var maxRetries = config.publicConfig().readerAckTopicDuration().dividedBy(hb);
-                var retriesLeft = maxRetries;
-                while (sedpPublicationsDetectorProxy.getHighestAckedSeqNum() < announcementSeqNum) {
-                    logger.fine(
-                            "Waiting for topic {0} to be annouced to the reader {1}, current retry"
-                                    + " {2}",
-                            topic, remoteReaderGuid, retriesLeft);
-                    XThread.sleep(hb.toMillis());
-                    retriesLeft--;
-                    if (retriesLeft < 0) {
-                        future.completeExceptionally(
-                                new RuntimeException(
-                                        "Topic "
-                                                + topic
-                                                + " was not announced to the Reader "
-                                                + remoteReaderGuid
-                                                + " in time"));
-                        break;
+        Runnable waiter =
+                () -> {
+                    var hb = config.publicConfig().heartbeatPeriod();
+                    var maxRetries = config.publicConfig().readerAckTopicDuration().dividedBy(hb);
+                    var retriesLeft = maxRetries;
+                    while (sedpPublicationsDetectorProxy.getHighestAckedSeqNum()
+                            < announcementSeqNum) {
+                        logger.fine(
+                                "Waiting for topic {0} to be annouced to the reader {1}, current retry"
+                                        + " {2}",
+                                topic, remoteReaderGuid, retriesLeft);
+                        XThread.sleep(hb.toMillis());
+                        retriesLeft--;
+                        if (retriesLeft < 0) {
+                            future.completeExceptionally(
+                                    new RuntimeException(
+                                            "Topic "
+                                                    + topic
+                                                    + " was not announced to the Reader "
+                                                    + remoteReaderGuid
+                                                    + " in time"));
+                            break;
+                        }
                     }
-                }
-                logger.fine(
-                        "Topic {0} acked by the reader {1} with retry {2}",
-                        topic, remoteReaderGuid, maxRetries - retriesLeft);
-                future.complete(null);
-            }
-        }.start();
+                    logger.fine(
+                            "Topic {0} acked by the reader {1} with retry {2}",
+                            topic, remoteReaderGuid, maxRetries - retriesLeft);
+                    future.complete(null);
+                };
+        config.publicConfig()
+                .threadFactory()
+                .map(factory -> factory.newThread(waiter))
+                .orElseGet(() -> new Thread(waiter, tracingToken.toString()))
+                .start();
         return future;
     }
 
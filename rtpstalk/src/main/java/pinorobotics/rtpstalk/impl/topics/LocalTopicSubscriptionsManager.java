@@ -103,6 +103,7 @@ public class LocalTopicSubscriptionsManager extends AbstractTopicManager<Subscri
                 topic.getTopicId(),
                 topic.getLocalTopicEntityId(),
                 networkIface.getLocalDefaultUnicastLocator(),
+                userService.getMulticastLocator(),
                 actor.qosPolicy());
     }
 
@@ -31,7 +31,8 @@ public record RemoteActorDetails(
         Guid endpointGuid,
         List<Locator> writerUnicastLocator,
         ReliabilityQosPolicy.Kind reliabilityKind,
-        DurabilityQosPolicy.Kind durabilityKind) {
+        DurabilityQosPolicy.Kind durabilityKind,
+        List<Locator> multicastLocators) {
 
     @Override
     public String toString() {
@@ -40,6 +41,7 @@ public record RemoteActorDetails(
         builder.append("writerUnicastLocator", writerUnicastLocator);
         builder.append("reliabilityKind", reliabilityKind);
         builder.append("durabilityKind", durabilityKind);
+        builder.append("multicastLocators", multicastLocators);
         return builder.toString();
     }
 }
@@ -18,8 +18,10 @@
 package pinorobotics.rtpstalk.impl.topics;
 
 import id.xfunction.util.ImmutableMultiMap;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import pinorobotics.rtpstalk.impl.RtpsTalkConfigurationInternal;
 import pinorobotics.rtpstalk.impl.TopicId;
 import pinorobotics.rtpstalk.impl.qos.ReaderQosPolicySet;
@@ -101,35 +103,45 @@ public class SedpDataFactory {
                                                 .BY_RECEPTION_TIMESTAMP_DESTINATIONORDER_QOS))));
     }
 
-    /** SubscriptionData */
+    /**
+     * SubscriptionData
+     *
+     * @param multicastLocator multicast locator where reader is ready to receive user data
+     */
     public ParameterList createDiscoveredReaderData(
             TopicId topicId,
             EntityId readerEntityId,
             Locator defaultUnicastLocator,
+            Optional<Locator> multicastLocator,
             ReaderQosPolicySet qosPolicy) {
-        var params = new HashMap<ParameterId, Object>();
         var guid = new Guid(config.publicConfig().guidPrefix(), readerEntityId);
-        return ParameterList.ofProtocolParameters(
-                new ImmutableMultiMap<>(
-                        Map.entry(ParameterId.PID_UNICAST_LOCATOR, defaultUnicastLocator),
-                        Map.entry(ParameterId.PID_PARTICIPANT_GUID, config.localParticipantGuid()),
-                        Map.entry(ParameterId.PID_TOPIC_NAME, topicId.name()),
-                        Map.entry(ParameterId.PID_TYPE_NAME, topicId.type()),
-                        Map.entry(ParameterId.PID_ENDPOINT_GUID, guid),
-                        Map.entry(
-                                ParameterId.PID_RELIABILITY,
-                                new ReliabilityQosPolicy(
-                                        qosPolicy.reliabilityKind(),
-                                        DurationT.Predefined.ZERO.getValue())),
-                        Map.entry(
-                                ParameterId.PID_DURABILITY,
-                                new DurabilityQosPolicy(qosPolicy.durabilityKind())),
-                        Map.entry(ParameterId.PID_KEY_HASH, guid),
-                        Map.entry(
-                                ParameterId.PID_PROTOCOL_VERSION,
-                                ProtocolVersion.Predefined.Version_2_3.getValue()),
-                        Map.entry(
-                                ParameterId.PID_VENDORID,
-                                VendorId.Predefined.RTPSTALK.getValue())));
+        var params =
+                new ArrayList<Map.Entry<ParameterId, Object>>(
+                        List.of(
+                                Map.entry(ParameterId.PID_UNICAST_LOCATOR, defaultUnicastLocator),
+                                Map.entry(
+                                        ParameterId.PID_PARTICIPANT_GUID,
+                                        config.localParticipantGuid()),
+                                Map.entry(ParameterId.PID_TOPIC_NAME, topicId.name()),
+                                Map.entry(ParameterId.PID_TYPE_NAME, topicId.type()),
+                                Map.entry(ParameterId.PID_ENDPOINT_GUID, guid),
+                                Map.entry(
+                                        ParameterId.PID_RELIABILITY,
+                                        new ReliabilityQosPolicy(
+                                                qosPolicy.reliabilityKind(),
+                                                DurationT.Predefined.ZERO.getValue())),
+                                Map.entry(
+                                        ParameterId.PID_DURABILITY,
+                                        new DurabilityQosPolicy(qosPolicy.durabilityKind())),
+                                Map.entry(ParameterId.PID_KEY_HASH, guid),
+                                Map.entry(
+                                        ParameterId.PID_PROTOCOL_VERSION,
+                                        ProtocolVersion.Predefined.Version_2_3.getValue()),
+                                Map.entry(
+                                        ParameterId.PID_VENDORID,
+                                        VendorId.Predefined.RTPSTALK.getValue())));
+        multicastLocator.ifPresent(
+                locator -> params.add(1, Map.entry(ParameterId.PID_MULTICAST_LOCATOR, locator)));
+        return ParameterList.ofProtocolParameters(new ImmutableMultiMap<>(params));
     }
 }
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.messages;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only view of the user data which is backed directly by the network buffer where it was
+ * received (see {@link pinorobotics.rtpstalk.RtpsTalkConfiguration.Builder#zeroCopyPayloads}).
+ *
+ * <p>Network buffers are reused by <b>rtpstalk</b> and to know when buffer can be reused again each
+ * view is reference counted. Once user is done with the view it should {@link #release()} it. Views
+ * which are not released are left to garbage collector.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public interface PayloadView {
+
+    /**
+     * Read-only buffer with the user data, which starts at position 0 and ends at its limit.
+     *
+     * <p>Each call returns new buffer so that users can change its position independently.
+     */
+    ByteBuffer buffer();
+
+    /** Size of the user data */
+    int size();
+
+    /**
+     * Increment reference count of the view. Users should call it when they pass the view to
+     * somebody else who is going to release it independently.
+     */
+    PayloadView retain();
+
+    /**
+     * Decrement reference count of the view. When it drops to zero the network buffer is reused and
+     * the view should not be accessed anymore.
+     */
+    void release();
+
+    /** Copy user data to the new array */
+    default byte[] toArray() {
+        var a = new byte[size()];
+        buffer().get(a);
+        return a;
+    }
+}
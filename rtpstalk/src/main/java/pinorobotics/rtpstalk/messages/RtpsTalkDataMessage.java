@@ -17,6 +17,7 @@
  */
 package pinorobotics.rtpstalk.messages;
 
+import id.xfunction.Preconditions;
 import id.xfunction.XByte;
 import id.xfunction.XJsonStringBuilder;
 import java.util.Optional;
@@ -26,11 +27,31 @@ import java.util.Optional;
  *
  * <p>This is main type of messages in RTPS which is used to transfer user data.
  *
+ * <p>User data can be stored either in the array or, for received messages when {@link
+ * pinorobotics.rtpstalk.RtpsTalkConfiguration.Builder#zeroCopyPayloads} is enabled, in the {@link
+ * PayloadView}. Subscribers which receive messages with {@link PayloadView} should {@link
+ * #release()} them once they are done with them.
+ *
  * @author aeon_flux aeon_flux@eclipso.ch
  */
-public record RtpsTalkDataMessage(Optional<Parameters> userInlineQos, Optional<byte[]> data)
+public record RtpsTalkDataMessage(
+        Optional<Parameters> userInlineQos, Optional<byte[]> data, Optional<PayloadView> dataView)
         implements RtpsTalkMessage {
 
+    public RtpsTalkDataMessage {
+        Preconditions.isTrue(
+                data.isEmpty() || dataView.isEmpty(),
+                "User data can be stored either in the array or in the view but not in both");
+    }
+
+    public RtpsTalkDataMessage(Optional<Parameters> userInlineQos, Optional<byte[]> data) {
+        this(userInlineQos, data, Optional.empty());
+    }
+
+    public RtpsTalkDataMessage(Optional<Parameters> inlineQos, PayloadView dataView) {
+        this(inlineQos, Optional.empty(), Optional.of(dataView));
+    }
+
     public RtpsTalkDataMessage(Parameters inlineQos, byte[] data) {
         this(Optional.of(inlineQos), Optional.of(data));
     }
@@ -57,16 +78,39 @@ public record RtpsTalkDataMessage(Optional<Parameters> userInlineQos, Optional<b
         return userInlineQos;
     }
 
-    /** Transfered user data */
+    /**
+     * Transfered user data.
+     *
+     * <p>When user data is stored in {@link #dataView()} each call to this method copies it to the
+     * new array.
+     */
     public Optional<byte[]> data() {
-        return data;
+        return data.or(() -> dataView.map(PayloadView::toArray));
+    }
+
+    /**
+     * Transfered user data which is backed directly by the network buffer (see {@link
+     * PayloadView})
+     */
+    public Optional<PayloadView> dataView() {
+        return dataView;
+    }
+
+    /**
+     * Release {@link #dataView()} when it is present, otherwise do nothing.
+     *
+     * <p>Subscribers can call it for all received messages regardless of how they store user data.
+     */
+    public void release() {
+        dataView.ifPresent(PayloadView::release);
     }
 
     @Override
     public String toString() {
         XJsonStringBuilder builder = new XJsonStringBuilder(this);
         builder.append("inlineQos", userInlineQos);
-        builder.append("data", data.map(XByte::toHexPairs));
+        if (dataView.isPresent()) builder.append("dataSize", dataView.get().size());
+        else builder.append("data", data.map(XByte::toHexPairs));
         return builder.toString();
     }
 }
@@ -86,4 +86,19 @@ public interface RtpsTalkMetrics {
     String FRAGMENTED_MESSAGES_READ_COUNT_METRIC = "fragmented_messages_read_total";
     String FRAGMENTED_MESSAGES_READ_COUNT_METRIC_DESCRIPTION =
             "Number of fragmented data messages which were joined back to original data message";
+
+    String FRAGMENTED_MESSAGES_DROPPED_COUNT_METRIC = "fragmented_messages_dropped_total";
+    String FRAGMENTED_MESSAGES_DROPPED_COUNT_METRIC_DESCRIPTION =
+            "Number of fragmented data messages which were dropped before all their fragments were"
+                    + " received (due to timeout, memory limit or because writer does not have them"
+                    + " anymore)";
+
+    String BUFFER_POOL_ALLOCATIONS_COUNT_METRIC = "buffer_pool_allocations_total";
+    String BUFFER_POOL_ALLOCATIONS_COUNT_METRIC_DESCRIPTION =
+            "Number of network buffers allocated because the buffer pool was empty";
+
+    String BUFFER_POOL_LEAKS_COUNT_METRIC = "buffer_pool_leaks_total";
+    String BUFFER_POOL_LEAKS_COUNT_METRIC_DESCRIPTION =
+            "Number of network buffers which were garbage collected without being released back to"
+                    + " the buffer pool";
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2026 pinorobotics
+ * 
+ * Website: https://github.com/pinorobotics/rtpstalk
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package pinorobotics.rtpstalk.qos;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public enum HistoryType {
+    /**
+     * Keep only the most recent messages. Once messages are delivered to the Subscriber only the
+     * last "depth" of them are kept for each remote Publisher.
+     */
+    KEEP_LAST_HISTORY_QOS,
+
+    /** Keep all messages, including the ones which were already delivered to the Subscriber */
+    KEEP_ALL_HISTORY_QOS,
+}
@@ -17,12 +17,23 @@
  */
 package pinorobotics.rtpstalk.qos;
 
+import id.xfunction.Preconditions;
 import id.xfunction.XJsonStringBuilder;
 
 /**
+ * @param historyDepth number of messages kept for each remote Publisher once they are delivered to
+ *     the Subscriber. Used only with {@link HistoryType#KEEP_LAST_HISTORY_QOS}.
  * @author aeon_flux aeon_flux@eclipso.ch
  */
-public record SubscriberQosPolicy(ReliabilityType reliabilityType, DurabilityType durabilityType) {
+public record SubscriberQosPolicy(
+        ReliabilityType reliabilityType,
+        DurabilityType durabilityType,
+        HistoryType historyType,
+        int historyDepth) {
+
+    public SubscriberQosPolicy {
+        Preconditions.isTrue(historyDepth > 0, "History depth must be positive");
+    }
 
     /**
      * Creates default Qos policy which is:
@@ -30,17 +41,25 @@ public record SubscriberQosPolicy(ReliabilityType reliabilityType, DurabilityTyp
      * <ul>
      *   <li>{@link ReliabilityType#RELIABLE}
      *   <li>{@link DurabilityType#TRANSIENT_LOCAL_DURABILITY_QOS}
+     *   <li>{@link HistoryType#KEEP_LAST_HISTORY_QOS} with depth 1
      * </ul>
      */
     public SubscriberQosPolicy() {
         this(ReliabilityType.RELIABLE, DurabilityType.TRANSIENT_LOCAL_DURABILITY_QOS);
     }
 
+    /** Creates Qos policy with {@link HistoryType#KEEP_LAST_HISTORY_QOS} with depth 1 */
+    public SubscriberQosPolicy(ReliabilityType reliabilityType, DurabilityType durabilityType) {
+        this(reliabilityType, durabilityType, HistoryType.KEEP_LAST_HISTORY_QOS, 1);
+    }
+
     @Override
     public String toString() {
         XJsonStringBuilder builder = new XJsonStringBuilder(this);
         builder.append("reliabilityKind", reliabilityType);
         builder.append("durabilityKind", durabilityType);
+        builder.append("historyKind", historyType);
+        builder.append("historyDepth", historyDepth);
         return builder.toString();
     }
 }